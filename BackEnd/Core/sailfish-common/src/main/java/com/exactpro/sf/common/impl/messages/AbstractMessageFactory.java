@@ -103,23 +103,34 @@ public abstract class AbstractMessageFactory implements IMessageFactory {
 
     @Override
     public IMessage createMessage(MsgMetaData metaData) {
+        IMessageStructure messageStructure = null;
+
         if (metaData.getMsgNamespace().equals(namespace)) {
             metaData.setDictionaryURI(dictionaryURI);
             metaData.setProtocol(getProtocol());
 
             if (dictionary != null) { //FIXME: Remove this check after removing init(String namespace, SailfishURI dictionaryURI) method
-                IMessageStructure messageStructure = dictionary.getMessages().get(metaData.getMsgName());
+                messageStructure = dictionary.getMessages().get(metaData.getMsgName());
                 if (messageStructure != null) {
                     Boolean isAdmin = getAttributeValue(messageStructure, ATTRIBUTE_IS_ADMIN);
                     metaData.setAdmin(BooleanUtils.toBoolean(isAdmin));
                 }
             }
         }
-        IMessage message = new MapMessage(metaData);
+        IMessage message = newMessage(metaData, messageStructure);
         createComplexFields(message);
         return message;
     }
 
+    /**
+     * Creates an empty message instance
+     * @param metaData message metadata
+     * @param messageStructure structure of the message from the factory dictionary or {@code null} if it is unknown
+     */
+    protected IMessage newMessage(MsgMetaData metaData, IMessageStructure messageStructure) {
+        return new MapMessage(metaData);
+    }
+
     protected void createComplexFields(IMessage message) {
         if (dictionary != null) { //FIXME: Remove this check after removing init(String namespace, SailfishURI dictionaryURI) method
             IMessageStructure messageStructure = dictionary.getMessages().get(message.getName());
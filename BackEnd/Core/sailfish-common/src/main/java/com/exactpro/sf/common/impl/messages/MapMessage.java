@@ -205,12 +205,6 @@ public class MapMessage implements IMessage
 			throw new IllegalArgumentException("[message] could not be null");
 		}
 
-		if ( !( message instanceof MapMessage ))
-		{
-			return false;
-			//throw new IllegalArgumentException("[message] is not instance of MapMessage");
-		}
-
 		boolean equal = true;
 
         if(!namespace.equals(message.getNamespace()))
@@ -241,15 +235,15 @@ public class MapMessage implements IMessage
 				}
 				else
 				{
-                    if((getField(fldName) instanceof MapMessage)
-                            || (getField(fldName) instanceof MapMessage[])
-						|| ( message.getField( fldName ) instanceof MapMessage)
-						|| (message.getField( fldName ) instanceof MapMessage[]))
+                    if((getField(fldName) instanceof IMessage)
+                            || (getField(fldName) instanceof IMessage[])
+						|| ( message.getField( fldName ) instanceof IMessage)
+						|| (message.getField( fldName ) instanceof IMessage[]))
 					{
-                        if(!(((getField(fldName) instanceof MapMessage[]) &&
-								( message.getField( fldName ) instanceof MapMessage[] ))
-                                || ((getField(fldName) instanceof MapMessage) &&
-									( message.getField( fldName ) instanceof MapMessage ))))
+                        if(!(((getField(fldName) instanceof IMessage[]) &&
+								( message.getField( fldName ) instanceof IMessage[] ))
+                                || ((getField(fldName) instanceof IMessage) &&
+									( message.getField( fldName ) instanceof IMessage ))))
 						{
 							equal = false;
 
@@ -305,14 +299,14 @@ public class MapMessage implements IMessage
 					}
 					else
 					{
-                        if(getFieldType(fldName) != ((MapMessage)message).getFieldType(fldName))
+                        if(getFieldType(fldName) != getValueType(message.getField(fldName)))
 						{
 							equal = false;
 
 							logger.debug("Comparision failed. Message name [{}]. Field name: [{}]. FieldType mismatch. this: [{}], other: [{}].",
                                     name, fldName,
                                     getFieldType(fldName),
-									((MapMessage)message).getFieldType(fldName));
+									getValueType(message.getField(fldName)));
                             return equal;
 						}
 						else
@@ -400,8 +394,7 @@ public class MapMessage implements IMessage
 		}
 
         if(fieldsMap.containsKey(name)) {
-            Object field = fieldsMap.get(name);
-            return JavaType.fromValue(field.getClass().getCanonicalName());
+            return getValueType(fieldsMap.get(name));
 		}
 		else
 		{
@@ -412,6 +405,10 @@ public class MapMessage implements IMessage
         }
     }
 
+    private static JavaType getValueType(Object value) {
+        return JavaType.fromValue(value.getClass().getCanonicalName());
+    }
+
 	@Override
     public String toString() {
         StringBuilder toString = new StringBuilder(1024);
@@ -465,13 +462,13 @@ public class MapMessage implements IMessage
 	}
 
 
-	private class MapFieldInfo implements IFieldInfo
+	static class MapFieldInfo implements IFieldInfo
 	{
         private final String fldName;
         private final Object value;
 
 
-		private MapFieldInfo(String name, Object value)
+		MapFieldInfo(String name, Object value)
 		{
 			this.fldName = name;
 			this.value = value;
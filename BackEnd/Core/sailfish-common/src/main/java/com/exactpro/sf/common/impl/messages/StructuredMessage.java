@@ -0,0 +1,584 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.common.impl.messages;
+
+import java.math.BigDecimal;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.exactpro.sf.common.messages.FieldMetaData;
+import com.exactpro.sf.common.messages.IFieldInfo;
+import com.exactpro.sf.common.messages.IMessage;
+import com.exactpro.sf.common.messages.MetadataProperty;
+import com.exactpro.sf.common.messages.MsgMetaData;
+import com.exactpro.sf.common.messages.structures.IMessageStructure;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+
+/**
+ * Message which stores values of the fields declared in the dictionary structure
+ * in an array indexed by the field position in the structure.
+ * Fields which are absent in the structure (e.g. dirty or service fields) are stored in an overflow map.
+ * The field index is shared by all messages of the same structure (see {@link Schema}).
+ * Messages restored from JSON don't have a structure, so all their fields are stored in the overflow map.
+ */
+public class StructuredMessage implements IMessage {
+    private static final Logger logger = LoggerFactory.getLogger(StructuredMessage.class);
+
+    /** Marks a field which is explicitly set to {@code null} */
+    private static final Object NULL_VALUE = new Object();
+
+    private final Schema schema;
+    private final Object[] values;
+    private int valueCount;
+    private Map<String, Object> overflowFields;
+    private Map<String, FieldMetaData> fieldsMetaData;
+    private MsgMetaData msgMetaData;
+    private final String namespace;
+    private final String name;
+
+    public StructuredMessage(MsgMetaData metaData, Schema schema) {
+        this.msgMetaData = Objects.requireNonNull(metaData, "metaData cannot be null");
+        this.schema = Objects.requireNonNull(schema, "schema cannot be null");
+        this.values = new Object[schema.getFieldCount()];
+        this.namespace = metaData.getMsgNamespace();
+        this.name = metaData.getMsgName();
+    }
+
+    @JsonCreator
+    public StructuredMessage(@JsonProperty("namespace") String namespace, @JsonProperty("name") String name) {
+        if(namespace == null) {
+            throw new IllegalArgumentException("[namespace] could not be null");
+        }
+
+        if(name == null) {
+            throw new IllegalArgumentException("[name] could not be null");
+        }
+
+        this.namespace = namespace;
+        this.name = name;
+        this.msgMetaData = new MsgMetaData(namespace, name);
+        this.schema = Schema.EMPTY;
+        this.values = new Object[0];
+    }
+
+    private StructuredMessage(MsgMetaData metaData, Schema schema, String namespace, String name) {
+        this.msgMetaData = metaData;
+        this.schema = schema;
+        this.values = new Object[schema.getFieldCount()];
+        this.namespace = namespace;
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getNamespace() {
+        return namespace;
+    }
+
+    @Override
+    public MsgMetaData getMetaData() {
+        return msgMetaData;
+    }
+
+    /**
+     * JSON setter. Don't use it in your code
+     */
+    @Deprecated
+    public void setMetaData(MsgMetaData msgMetaData) {
+        this.msgMetaData = msgMetaData;
+    }
+
+    @Override
+    public void addField(String name, Object value) {
+        checkName(name);
+        int index = schema.indexOf(name);
+
+        if(index < 0) {
+            if(overflowFields == null) {
+                overflowFields = new LinkedHashMap<>();
+            }
+
+            overflowFields.put(name, value);
+            return;
+        }
+
+        if(values[index] == null) {
+            valueCount++;
+        }
+
+        values[index] = value == null ? NULL_VALUE : value;
+    }
+
+    @Override
+    public Object removeField(String name) {
+        checkName(name);
+        int index = schema.indexOf(name);
+
+        if(index < 0) {
+            return overflowFields == null ? null : overflowFields.remove(name);
+        }
+
+        Object value = values[index];
+
+        if(value != null) {
+            values[index] = null;
+            valueCount--;
+        }
+
+        return unwrap(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T getField(String name) {
+        checkName(name);
+        int index = schema.indexOf(name);
+
+        if(index < 0) {
+            return overflowFields == null ? null : (T)overflowFields.get(name);
+        }
+
+        return (T)unwrap(values[index]);
+    }
+
+    @Override
+    public FieldMetaData getFieldMetaData(String name) {
+        if(fieldsMetaData == null) {
+            fieldsMetaData = new HashMap<>();
+        }
+
+        return fieldsMetaData.computeIfAbsent(name, fieldName -> new FieldMetaData());
+    }
+
+    @Override
+    public boolean isFieldSet(String name) {
+        return getField(name) != null;
+    }
+
+    @Override
+    public boolean hasField(String name) {
+        checkName(name);
+        int index = schema.indexOf(name);
+
+        if(index < 0) {
+            return overflowFields != null && overflowFields.containsKey(name);
+        }
+
+        return values[index] != null;
+    }
+
+    /**
+     * Returns a view of the field names: fields from the structure in their declaration order
+     * followed by other fields in the order they were added
+     */
+    @Override
+    @JsonIgnore
+    public Set<String> getFieldNames() {
+        return new FieldNames();
+    }
+
+    @Override
+    @JsonIgnore
+    public int getFieldCount() {
+        return valueCount + (overflowFields == null ? 0 : overflowFields.size());
+    }
+
+    public Map<String, Object> getFieldsMap() {
+        Map<String, Object> fieldsMap = new LinkedHashMap<>();
+
+        for(String fieldName : getFieldNames()) {
+            fieldsMap.put(fieldName, getField(fieldName));
+        }
+
+        return fieldsMap;
+    }
+
+    @JsonSetter("fieldsMap")
+    public void addFieldsMap(Map<String, Object> fieldsMap) {
+        for(Entry<String, Object> entry : fieldsMap.entrySet()) {
+            if(entry.getValue() != null) {
+                addField(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public IFieldInfo getFieldInfo(String name) {
+        return hasField(name) ? new MapMessage.MapFieldInfo(name, getField(name)) : null;
+    }
+
+    @Override
+    public StructuredMessage cloneMessage() {
+        StructuredMessage cloned = new StructuredMessage(msgMetaData.clone(), schema, namespace, name);
+
+        for(int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            cloned.values[i] = value == NULL_VALUE ? NULL_VALUE : clone(value);
+        }
+
+        cloned.valueCount = valueCount;
+
+        if(overflowFields != null) {
+            cloned.overflowFields = new LinkedHashMap<>();
+
+            for(Entry<String, Object> entry : overflowFields.entrySet()) {
+                cloned.overflowFields.put(entry.getKey(), clone(entry.getValue()));
+            }
+        }
+
+        return cloned;
+    }
+
+    private Object clone(Object value) {
+        if(value instanceof IMessage) {
+            return ((IMessage)value).cloneMessage();
+        }
+
+        if(value instanceof List) {
+            List<Object> list = new ArrayList<>();
+
+            for(Object element : (List<?>)value) {
+                list.add(clone(element));
+            }
+
+            return list;
+        }
+
+        return value;
+    }
+
+    /**
+     * Compares names and field values with another message of any implementation.
+     * Sub-messages are compared recursively.
+     */
+    @Override
+    public boolean compare(IMessage message) {
+        if(message == null) {
+            throw new IllegalArgumentException("[message] could not be null");
+        }
+
+        if(!namespace.equals(message.getNamespace())) {
+            logger.debug("Comparision failed. Message name [{}]. Namespaces mismatch: this [{}], other [{}].",
+                    name, namespace, message.getNamespace());
+            return false;
+        }
+
+        if(!name.equals(message.getName())) {
+            logger.debug("Comparision failed. Message name [{}]. Names mismatch: this [{}], other [{}].",
+                    name, name, message.getName());
+            return false;
+        }
+
+        for(String fieldName : getFieldNames()) {
+            if(!message.hasField(fieldName)) {
+                logger.debug("Comparision failed. Message name [{}]. Other message does not contain field: [{}].",
+                        name, fieldName);
+                return false;
+            }
+
+            if(!compareValues(fieldName, getField(fieldName), message.getField(fieldName))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean compareValues(String fieldName, Object valueThis, Object valueThat) {
+        if(valueThis == null || valueThat == null) {
+            return valueThis == valueThat;
+        }
+
+        if(valueThis instanceof IMessage && valueThat instanceof IMessage) {
+            return ((IMessage)valueThis).compare((IMessage)valueThat);
+        }
+
+        if(valueThis instanceof IMessage[] && valueThat instanceof IMessage[]) {
+            IMessage[] thisArr = (IMessage[])valueThis;
+            IMessage[] thatArr = (IMessage[])valueThat;
+
+            if(thisArr.length != thatArr.length) {
+                logger.debug("Comparision failed. Message name [{}]. Field name: [{}]. Arrays lengths are not equal. this: [{}], other: [{}].",
+                        name, fieldName, thisArr.length, thatArr.length);
+                return false;
+            }
+
+            for(int i = 0; i < thisArr.length; i++) {
+                if(!thisArr[i].compare(thatArr[i])) {
+                    logger.debug("Comparision failed. Message name [{}]. Field name: [{}]. Sub messages at index [{}] are not equal.",
+                            name, fieldName, i);
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        if(valueThis.getClass() != valueThat.getClass()) {
+            logger.debug("Comparision failed. Message name [{}]. Field name: [{}]. Types mismatch. this: [{}], other: [{}].",
+                    name, fieldName, valueThis.getClass(), valueThat.getClass());
+            return false;
+        }
+
+        boolean equal = valueThis instanceof BigDecimal
+                ? ((BigDecimal)valueThis).compareTo((BigDecimal)valueThat) == 0
+                : valueThis.equals(valueThat);
+
+        if(!equal) {
+            logger.debug("Comparision failed. Message name [{}]. Field name: [{}]. Values mismatch. this: [{}], other: [{}].",
+                    name, fieldName, valueThis, valueThat);
+        }
+
+        return equal;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder toString = new StringBuilder(1024);
+
+        for(String fieldName : getFieldNames()) {
+            if(toString.length() > 0) {
+                toString.append('|');
+            }
+
+            Object value = getField(fieldName);
+
+            if(value instanceof IMessage) {
+                toString.append(value);
+            } else {
+                toString.append(fieldName).append('=');
+
+                if(value instanceof BigDecimal) {
+                    toString.append(((BigDecimal)value).toPlainString());
+                } else {
+                    toString.append(value);
+                }
+            }
+        }
+
+        if(toString.length() > 0) {
+            toString.append('|');
+        }
+
+        byte[] rawMessage = msgMetaData.getRawMessage();
+        toString.append(MetadataProperty.RAW_MESSAGE.getPropertyName())
+                .append('=')
+                .append(rawMessage == null ? "" : Hex.encodeHexString(rawMessage));
+        return toString.toString();
+    }
+
+    /**
+     * Messages are equal if they have the same fields regardless of how the fields are stored
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if(obj == this) {
+            return true;
+        }
+
+        if(!(obj instanceof StructuredMessage)) {
+            return false;
+        }
+
+        StructuredMessage that = (StructuredMessage)obj;
+        EqualsBuilder builder = new EqualsBuilder();
+
+        builder.append(name, that.name);
+        builder.append(namespace, that.namespace);
+        builder.append(msgMetaData, that.msgMetaData);
+        builder.append(getFieldsMap(), that.getFieldsMap());
+        builder.append(getFieldsMetaData(), that.getFieldsMetaData());
+
+        return builder.isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        HashCodeBuilder builder = new HashCodeBuilder();
+
+        builder.append(name);
+        builder.append(namespace);
+        builder.append(msgMetaData);
+        // a map hash code doesn't depend on the order of the entries
+        builder.append(getFieldsMap());
+        builder.append(getFieldsMetaData());
+
+        return builder.toHashCode();
+    }
+
+    private Map<String, FieldMetaData> getFieldsMetaData() {
+        return fieldsMetaData == null ? Collections.emptyMap() : fieldsMetaData;
+    }
+
+    private static Object unwrap(Object value) {
+        return value == NULL_VALUE ? null : value;
+    }
+
+    private static void checkName(String name) {
+        if(name == null) {
+            throw new IllegalArgumentException("[name] could not be null");
+        }
+    }
+
+    /**
+     * Live view of the field names which supports removal
+     */
+    private class FieldNames extends AbstractSet<String> {
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private int index = nextIndex(0);
+                private int lastIndex = -1;
+                private Iterator<String> overflowIterator;
+
+                @Override
+                public boolean hasNext() {
+                    if(index < values.length) {
+                        return true;
+                    }
+
+                    if(overflowIterator == null) {
+                        if(overflowFields == null) {
+                            return false;
+                        }
+
+                        overflowIterator = overflowFields.keySet().iterator();
+                    }
+
+                    return overflowIterator.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    if(!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    if(overflowIterator != null) {
+                        lastIndex = -1;
+                        return overflowIterator.next();
+                    }
+
+                    lastIndex = index;
+                    index = nextIndex(index + 1);
+                    return schema.getFieldName(lastIndex);
+                }
+
+                @Override
+                public void remove() {
+                    if(lastIndex < 0) {
+                        if(overflowIterator == null) {
+                            throw new IllegalStateException();
+                        }
+
+                        overflowIterator.remove();
+                        return;
+                    }
+
+                    if(values[lastIndex] == null) {
+                        throw new IllegalStateException();
+                    }
+
+                    values[lastIndex] = null;
+                    valueCount--;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return getFieldCount();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof String && hasField((String)o);
+        }
+
+        private int nextIndex(int from) {
+            int index = from;
+
+            while(index < values.length && values[index] == null) {
+                index++;
+            }
+
+            return index;
+        }
+    }
+
+    /**
+     * Positions of the fields of a message structure.
+     * It's immutable and shared by all messages created for the structure.
+     */
+    public static final class Schema {
+        static final Schema EMPTY = new Schema(new String[0]);
+
+        private final String[] fieldNames;
+        private final Map<String, Integer> indexes;
+
+        public Schema(IMessageStructure structure) {
+            this(structure.getFields().keySet().toArray(new String[0]));
+        }
+
+        private Schema(String[] fieldNames) {
+            this.fieldNames = fieldNames;
+            this.indexes = new HashMap<>(fieldNames.length * 2);
+
+            for(int i = 0; i < fieldNames.length; i++) {
+                indexes.put(fieldNames[i], i);
+            }
+        }
+
+        public int getFieldCount() {
+            return fieldNames.length;
+        }
+
+        public String getFieldName(int index) {
+            return fieldNames[index];
+        }
+
+        /**
+         * @return position of the field or -1 if the structure doesn't contain it
+         */
+        public int indexOf(String fieldName) {
+            Integer index = indexes.get(fieldName);
+            return index == null ? -1 : index;
+        }
+    }
+}
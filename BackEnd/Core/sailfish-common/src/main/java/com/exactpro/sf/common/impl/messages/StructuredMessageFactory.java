@@ -0,0 +1,50 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.common.impl.messages;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.exactpro.sf.common.impl.messages.StructuredMessage.Schema;
+import com.exactpro.sf.common.messages.IMessage;
+import com.exactpro.sf.common.messages.MsgMetaData;
+import com.exactpro.sf.common.messages.structures.IDictionaryStructure;
+import com.exactpro.sf.common.messages.structures.IMessageStructure;
+import com.exactpro.sf.configuration.suri.SailfishURI;
+
+/**
+ * Factory which creates compact {@link StructuredMessage} for messages described in its dictionary.
+ * Messages of other namespaces or unknown messages are created as {@link MapMessage}.
+ * Protocol factories which keep a lot of decoded messages in memory should extend this one
+ */
+public abstract class StructuredMessageFactory extends AbstractMessageFactory {
+    private final Map<IMessageStructure, Schema> schemas = new ConcurrentHashMap<>();
+
+    @Override
+    public void init(SailfishURI dictionaryURI, IDictionaryStructure dictionary) {
+        super.init(dictionaryURI, dictionary);
+        schemas.clear();
+    }
+
+    @Override
+    protected IMessage newMessage(MsgMetaData metaData, IMessageStructure messageStructure) {
+        if (messageStructure == null) {
+            return super.newMessage(metaData, messageStructure);
+        }
+
+        return new StructuredMessage(metaData, schemas.computeIfAbsent(messageStructure, Schema::new));
+    }
+}
@@ -0,0 +1,109 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.comparison;
+
+import java.util.Arrays;
+
+/**
+ * Solves assignment problem (Hungarian algorithm) for square weight matrix in O(n^3).
+ */
+final class AssignmentSolver {
+    private AssignmentSolver() {
+        // utility class
+    }
+
+    /**
+     * @param weights square matrix of non-negative weights: {@code weights[row][column]}
+     * @return column assigned to each row, so the total weight of assignment is maximal
+     */
+    public static int[] maximize(long[][] weights) {
+        int size = weights.length;
+        long max = 0;
+
+        for(long[] row : weights) {
+            for(long weight : row) {
+                max = Math.max(max, weight);
+            }
+        }
+
+        // rows and columns are 1-based, 0 is a fictive column used as a start of augmenting path
+        long[] rowPotentials = new long[size + 1];
+        long[] columnPotentials = new long[size + 1];
+        int[] columnToRow = new int[size + 1];
+        int[] way = new int[size + 1];
+        long[] minSlack = new long[size + 1];
+        boolean[] used = new boolean[size + 1];
+
+        for(int row = 1; row <= size; row++) {
+            columnToRow[0] = row;
+            int column = 0;
+
+            Arrays.fill(minSlack, Long.MAX_VALUE);
+            Arrays.fill(used, false);
+
+            do {
+                used[column] = true;
+                int currentRow = columnToRow[column];
+                long delta = Long.MAX_VALUE;
+                int nextColumn = 0;
+
+                for(int j = 1; j <= size; j++) {
+                    if(used[j]) {
+                        continue;
+                    }
+
+                    // maximization is done by minimizing the complement of weight
+                    long slack = max - weights[currentRow - 1][j - 1] - rowPotentials[currentRow] - columnPotentials[j];
+
+                    if(slack < minSlack[j]) {
+                        minSlack[j] = slack;
+                        way[j] = column;
+                    }
+
+                    if(minSlack[j] < delta) {
+                        delta = minSlack[j];
+                        nextColumn = j;
+                    }
+                }
+
+                for(int j = 0; j <= size; j++) {
+                    if(used[j]) {
+                        rowPotentials[columnToRow[j]] += delta;
+                        columnPotentials[j] -= delta;
+                    } else {
+                        minSlack[j] -= delta;
+                    }
+                }
+
+                column = nextColumn;
+            } while(columnToRow[column] != 0);
+
+            do {
+                int previousColumn = way[column];
+                columnToRow[column] = columnToRow[previousColumn];
+                column = previousColumn;
+            } while(column != 0);
+        }
+
+        int[] rowToColumn = new int[size];
+
+        for(int j = 1; j <= size; j++) {
+            rowToColumn[columnToRow[j] - 1] = j - 1;
+        }
+
+        return rowToColumn;
+    }
+}
@@ -22,6 +22,8 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +53,15 @@ public class MessageComparator {
         return compare(actual, expected, settings, true);
     }
 
+    /**
+     * Resolves everything that depends only on the expected message and settings once,
+     * so the returned filter can be compared against many actual messages.
+     * Neither the expected message nor the settings must be changed while the filter is used.
+     */
+    public static PreparedMessageFilter prepare(IMessage expected, ComparatorSettings settings) {
+        return new PreparedMessageFilter(expected, settings);
+    }
+
     @SuppressWarnings("deprecation")
     public static ComparisonResult compare(IMessage actual, IMessage expected, ComparatorSettings settings, boolean checkNames) {
         String name = actual.getName();
@@ -270,111 +281,406 @@ public class MessageComparator {
 
                 result.addResult(compareValues(subName, actualElement, expectedElement, unchecked, keyFieldsOnly, structure, subMetaContainers, settings));
             }
+        } else if(keyFieldsOnly) {
+            matchGreedy(result, actualList, expectedList, unchecked, keyFieldsOnly, structure, metaContainers, settings);
         } else {
-            int[][] countMatrix = new int[maxSize][maxSize];
-            ComparisonResult[][] resultMatrix = new ComparisonResult[maxSize][maxSize];
-            int actualSize = actualList.size();
-            int expectedSize = expectedList.size();
-            List<List<MetaContainer>> metaContainersCache = new ArrayList<>(maxSize);
+            matchOptimal(result, actualList, expectedList, unchecked, structure, metaContainers, settings);
+        }
+
+        return result;
+    }
+
+    /**
+     * Matches elements of unordered collections by comparing every pair and picking the best pairs one by one
+     */
+    private static void matchGreedy(ComparisonResult result, List<?> actualList, List<?> expectedList, boolean unchecked, boolean keyFieldsOnly,
+            IFieldStructure structure, List<MetaContainer> metaContainers, ComparatorSettings settings) {
+        int maxSize = Math.max(actualList.size(), expectedList.size());
+        int[][] countMatrix = new int[maxSize][maxSize];
+        ComparisonResult[][] resultMatrix = new ComparisonResult[maxSize][maxSize];
+        int actualSize = actualList.size();
+        int expectedSize = expectedList.size();
+        List<List<MetaContainer>> metaContainersCache = new ArrayList<>(maxSize);
+
+        for (int i = 0; i < maxSize; i++) {
+            metaContainersCache.add(getMetaContainers(metaContainers, i, keyFieldsOnly));
+        }
+
+        for(int actualIndex = 0; actualIndex < actualSize; actualIndex++) {
+            for(int expectedIndex = 0; expectedIndex < expectedSize; expectedIndex++) {
+                Object actualElement = actualList.get(actualIndex);
+                Object expectedElement = expectedList.get(expectedIndex);
+
+                if(actualElement == null && expectedElement == null) {
+                    continue;
+                }
+
+                List<MetaContainer> subMetaContainers = metaContainersCache.get(expectedIndex);
+
+                if (keyFieldsOnly && !subMetaContainers.get(0).hasKeyFields()) {
+                    continue;
+                }
+
+                ComparisonResult subResult = compareValues(DUMMY, actualElement, expectedElement, unchecked, keyFieldsOnly, structure, subMetaContainers, settings);
+                ComparisonResult calculationResult = subResult;
 
-            for (int i = 0; i < maxSize; i++) {
-                metaContainersCache.add(getMetaContainers(metaContainers, i, keyFieldsOnly));
+                if (settings.getPostValidation() != null &&
+                        actualElement instanceof IMessage &&
+                        expectedElement instanceof IMessage) {
+                    calculationResult = new ComparisonResult(calculationResult);
+                    settings.getPostValidation().doValidate((IMessage)actualElement, (IMessage)expectedElement, settings, calculationResult);
+                }
+
+                resultMatrix[actualIndex][expectedIndex] = subResult;
+                countMatrix[actualIndex][expectedIndex] = ComparisonUtil.getResultCount(calculationResult, StatusType.PASSED) * 1_000_000
+                        + ComparisonUtil.getResultCount(calculationResult, StatusType.CONDITIONALLY_PASSED);
             }
+        }
 
-            for(int actualIndex = 0; actualIndex < actualSize; actualIndex++) {
-                for(int expectedIndex = 0; expectedIndex < expectedSize; expectedIndex++) {
-                    Object actualElement = actualList.get(actualIndex);
-                    Object expectedElement = expectedList.get(expectedIndex);
+        boolean[] usedActual = new boolean[maxSize];
+        boolean[] usedExpected = new boolean[maxSize];
+        ComparisonResult[] sortedResults = new ComparisonResult[maxSize];
 
-                    if(actualElement == null && expectedElement == null) {
-                        continue;
-                    }
+        for(int i = 0; i < maxSize; i++) {
+            int maxCount = -1;
+            int maxActualIndex = -1;
+            int maxExpectedIndex = -1;
 
-                    List<MetaContainer> subMetaContainers = metaContainersCache.get(expectedIndex);
+            if (keyFieldsOnly && !metaContainersCache.get(i).get(0).hasKeyFields()) {
+                usedExpected[i] = true;
+                continue;
+            }
 
-                    if (keyFieldsOnly && !subMetaContainers.get(0).hasKeyFields()) {
+            for(int actualIndex = 0; actualIndex < maxSize; actualIndex++) {
+                if(usedActual[actualIndex]) {
+                    continue;
+                }
+
+                for(int expectedIndex = 0; expectedIndex < maxSize; expectedIndex++) {
+                    if(usedExpected[expectedIndex]) {
                         continue;
                     }
 
-                    ComparisonResult subResult = compareValues(DUMMY, actualElement, expectedElement, unchecked, keyFieldsOnly, structure, subMetaContainers, settings);
-                    ComparisonResult calculationResult = subResult;
+                    int currentCount = countMatrix[actualIndex][expectedIndex];
 
-                    if (settings.getPostValidation() != null &&
-                            actualElement instanceof IMessage &&
-                            expectedElement instanceof IMessage) {
-                        calculationResult = new ComparisonResult(calculationResult);
-                        settings.getPostValidation().doValidate((IMessage)actualElement, (IMessage)expectedElement, settings, calculationResult);
+                    if(maxCount < currentCount) {
+                        maxCount = currentCount;
+                        maxActualIndex = actualIndex;
+                        maxExpectedIndex = expectedIndex;
                     }
+                }
+            }
+
+            usedActual[maxActualIndex] = true;
+            usedExpected[maxExpectedIndex] = true;
+            ComparisonResult subResult;
+
+            if(maxActualIndex >= actualSize) {
+                List<MetaContainer> subMetaContainers = metaContainersCache.get(maxExpectedIndex);
+                subResult = compareValues(DUMMY, null, expectedList.get(maxExpectedIndex), unchecked, keyFieldsOnly, structure, subMetaContainers, settings);
+            } else if(maxExpectedIndex >= expectedSize) {
+                List<MetaContainer> subMetaContainers = metaContainersCache.get(maxExpectedIndex);
+                subResult = compareValues(DUMMY, actualList.get(maxActualIndex), null, unchecked, keyFieldsOnly, structure, subMetaContainers, settings);
+            } else {
+                subResult = resultMatrix[maxActualIndex][maxExpectedIndex];
+            }
 
-                    resultMatrix[actualIndex][expectedIndex] = subResult;
-                    countMatrix[actualIndex][expectedIndex] = ComparisonUtil.getResultCount(calculationResult, StatusType.PASSED) * 1_000_000
-                            + ComparisonUtil.getResultCount(calculationResult, StatusType.CONDITIONALLY_PASSED);
+            // We need to place the result right to a position that corresponds to the actual element in collection
+            // Otherwise, we can use the total counter that will place the result from best match to worse match
+            int resultIndex = settings.isKeepResultGroupOrder() ? maxActualIndex : i;
+            String subName = Integer.toString(resultIndex);
+            sortedResults[resultIndex] = subResult.setName(subName);
+        }
+
+        for (ComparisonResult subResult : sortedResults) {
+            if (subResult != null) { // because when we compare only key fields some comparison might be skipped
+                result.addResult(subResult);
+            }
+        }
+    }
+
+    /**
+     * Matches elements of unordered collections with maximal total number of passed fields.
+     * <br>
+     * Elements equal to expected ones are paired first using hash of their values, so they are compared once.
+     * The rest are compared pairwise and assigned by {@link AssignmentSolver}. Only the results of chosen pairs are kept:
+     * they are compared again instead of storing the whole matrix of results.
+     * Results are ordered from the best match to the worst one (or by actual elements if {@link ComparatorSettings#isKeepResultGroupOrder()}).
+     */
+    private static void matchOptimal(ComparisonResult result, List<?> actualList, List<?> expectedList, boolean unchecked,
+            IFieldStructure structure, List<MetaContainer> metaContainers, ComparatorSettings settings) {
+        int actualSize = actualList.size();
+        int expectedSize = expectedList.size();
+        int maxSize = Math.max(actualSize, expectedSize);
+        List<List<MetaContainer>> metaContainersCache = new ArrayList<>(maxSize);
+
+        for (int i = 0; i < maxSize; i++) {
+            metaContainersCache.add(getMetaContainers(metaContainers, i, false));
+        }
+
+        List<MatchedPair> pairs = new ArrayList<>(maxSize);
+        boolean[] usedActual = new boolean[maxSize];
+        boolean[] usedExpected = new boolean[maxSize];
+
+        // post validation can change the counts, so equal elements aren't necessarily the best pairs
+        if (settings.getPostValidation() == null) {
+            Map<Integer, List<Integer>> hashToExpected = new HashMap<>();
+
+            for (int expectedIndex = 0; expectedIndex < expectedSize; expectedIndex++) {
+                Object expectedElement = expectedList.get(expectedIndex);
+
+                if (isExactlyComparable(expectedElement)) {
+                    hashToExpected.computeIfAbsent(exactHash(expectedElement), hash -> new ArrayList<>()).add(expectedIndex);
                 }
             }
 
-            boolean[] usedActual = new boolean[maxSize];
-            boolean[] usedExpected = new boolean[maxSize];
-            ComparisonResult[] sortedResults = new ComparisonResult[maxSize];
+            for (int actualIndex = 0; actualIndex < actualSize && !hashToExpected.isEmpty(); actualIndex++) {
+                Object actualElement = actualList.get(actualIndex);
 
-            for(int i = 0; i < maxSize; i++) {
-                int maxCount = -1;
-                int maxActualIndex = -1;
-                int maxExpectedIndex = -1;
+                if (actualElement == null) {
+                    continue;
+                }
 
-                if (keyFieldsOnly && !metaContainersCache.get(i).get(0).hasKeyFields()) {
-                    usedExpected[i] = true;
+                List<Integer> candidates = hashToExpected.get(exactHash(actualElement));
+
+                if (candidates == null) {
                     continue;
                 }
 
-                for(int actualIndex = 0; actualIndex < maxSize; actualIndex++) {
-                    if(usedActual[actualIndex]) {
-                        continue;
-                    }
+                for (int i = 0; i < candidates.size(); i++) {
+                    int expectedIndex = candidates.get(i);
+                    Object expectedElement = expectedList.get(expectedIndex);
 
-                    for(int expectedIndex = 0; expectedIndex < maxSize; expectedIndex++) {
-                        if(usedExpected[expectedIndex]) {
-                            continue;
-                        }
+                    if (exactlyEquals(actualElement, expectedElement)) {
+                        candidates.remove(i);
+                        usedActual[actualIndex] = true;
+                        usedExpected[expectedIndex] = true;
 
-                        int currentCount = countMatrix[actualIndex][expectedIndex];
+                        ComparisonResult subResult = compareValues(DUMMY, actualElement, expectedElement, unchecked, false, structure, metaContainersCache.get(expectedIndex), settings);
+                        pairs.add(new MatchedPair(actualIndex, subResult, getMatchCount(subResult)));
 
-                        if(maxCount < currentCount) {
-                            maxCount = currentCount;
-                            maxActualIndex = actualIndex;
-                            maxExpectedIndex = expectedIndex;
-                        }
+                        break;
                     }
                 }
+            }
+        }
+
+        int[] restActual = new int[maxSize - pairs.size()];
+        int[] restExpected = new int[restActual.length];
+
+        for (int i = 0, actualIndex = 0, expectedIndex = 0; i < restActual.length; i++, actualIndex++, expectedIndex++) {
+            while (usedActual[actualIndex]) {
+                actualIndex++;
+            }
+
+            while (usedExpected[expectedIndex]) {
+                expectedIndex++;
+            }
+
+            restActual[i] = actualIndex;
+            restExpected[i] = expectedIndex;
+        }
+
+        long[][] weights = new long[restActual.length][restExpected.length];
+
+        for (int i = 0; i < restActual.length; i++) {
+            int actualIndex = restActual[i];
+
+            if (actualIndex >= actualSize) {
+                continue;
+            }
+
+            for (int j = 0; j < restExpected.length; j++) {
+                int expectedIndex = restExpected[j];
+
+                if (expectedIndex >= expectedSize) {
+                    continue;
+                }
+
+                Object actualElement = actualList.get(actualIndex);
+                Object expectedElement = expectedList.get(expectedIndex);
+
+                if (actualElement == null && expectedElement == null) {
+                    continue;
+                }
+
+                ComparisonResult subResult = compareValues(DUMMY, actualElement, expectedElement, unchecked, false, structure, metaContainersCache.get(expectedIndex), settings);
+
+                if (settings.getPostValidation() != null &&
+                        actualElement instanceof IMessage &&
+                        expectedElement instanceof IMessage) {
+                    subResult = new ComparisonResult(subResult);
+                    settings.getPostValidation().doValidate((IMessage)actualElement, (IMessage)expectedElement, settings, subResult);
+                }
+
+                weights[i][j] = getMatchCount(subResult);
+            }
+        }
+
+        int[] assignment = AssignmentSolver.maximize(weights);
+
+        for (int i = 0; i < assignment.length; i++) {
+            int actualIndex = restActual[i];
+            int expectedIndex = restExpected[assignment[i]];
+            Object actualElement = actualIndex < actualSize ? actualList.get(actualIndex) : null;
+            Object expectedElement = expectedIndex < expectedSize ? expectedList.get(expectedIndex) : null;
+            ComparisonResult subResult = compareValues(DUMMY, actualElement, expectedElement, unchecked, false, structure, metaContainersCache.get(expectedIndex), settings);
+
+            pairs.add(new MatchedPair(actualIndex, subResult, weights[i][assignment[i]]));
+        }
+
+        pairs.sort(Comparator.comparingLong(MatchedPair::getCount).reversed().thenComparingInt(MatchedPair::getActualIndex));
+
+        ComparisonResult[] sortedResults = new ComparisonResult[maxSize];
+
+        for (int i = 0; i < pairs.size(); i++) {
+            MatchedPair pair = pairs.get(i);
+            int resultIndex = settings.isKeepResultGroupOrder() ? pair.getActualIndex() : i;
+            sortedResults[resultIndex] = pair.getResult().setName(Integer.toString(resultIndex));
+        }
+
+        for (ComparisonResult subResult : sortedResults) {
+            result.addResult(subResult);
+        }
+    }
+
+    private static long getMatchCount(ComparisonResult result) {
+        return ComparisonUtil.getResultCount(result, StatusType.PASSED) * 1_000_000L
+                + ComparisonUtil.getResultCount(result, StatusType.CONDITIONALLY_PASSED);
+    }
+
+    /**
+     * Checks that an equal actual value passes comparison with this expected value in every field
+     */
+    private static boolean isExactlyComparable(Object expected) {
+        if (expected instanceof IMessage) {
+            IMessage message = (IMessage)expected;
+
+            for (String fieldName : message.getFieldNames()) {
+                if (!isExactlyComparable(message.getField(fieldName))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
 
-                usedActual[maxActualIndex] = true;
-                usedExpected[maxExpectedIndex] = true;
-                ComparisonResult subResult;
-
-                if(maxActualIndex >= actualSize) {
-                    List<MetaContainer> subMetaContainers = metaContainersCache.get(maxExpectedIndex);
-                    subResult = compareValues(DUMMY, null, expectedList.get(maxExpectedIndex), unchecked, keyFieldsOnly, structure, subMetaContainers, settings);
-                } else if(maxExpectedIndex >= expectedSize) {
-                    List<MetaContainer> subMetaContainers = metaContainersCache.get(maxExpectedIndex);
-                    subResult = compareValues(DUMMY, actualList.get(maxActualIndex), null, unchecked, keyFieldsOnly, structure, subMetaContainers, settings);
-                } else {
-                    subResult = resultMatrix[maxActualIndex][maxExpectedIndex];
+        if (expected instanceof List<?>) {
+            for (Object element : (List<?>)expected) {
+                if (!isExactlyComparable(element)) {
+                    return false;
                 }
+            }
 
-                // We need to place the result right to a position that corresponds to the actual element in collection
-                // Otherwise, we can use the total counter that will place the result from best match to worse match
-                int resultIndex = settings.isKeepResultGroupOrder() ? maxActualIndex : i;
-                String subName = Integer.toString(resultIndex);
-                sortedResults[resultIndex] = subResult.setName(subName);
+            return true;
+        }
+
+        if (!isObject(expected) || Convention.isConventionedValuePresent(expected) || Convention.isConventionedValueMissed(expected)) {
+            return false;
+        }
+
+        if (expected instanceof String) {
+            String value = (String)expected;
+            return !value.startsWith(ComparatorConst.REGEX_FIELD_START) || !value.endsWith(ComparatorConst.REGEX_FIELD_END);
+        }
+
+        return true;
+    }
+
+    private static int exactHash(Object value) {
+        if (value instanceof IMessage) {
+            IMessage message = (IMessage)value;
+            int hash = 0;
+
+            // order of fields doesn't matter
+            for (String fieldName : message.getFieldNames()) {
+                hash += fieldName.hashCode() ^ exactHash(message.getField(fieldName));
             }
 
-            for (ComparisonResult subResult : sortedResults) {
-                if (subResult != null) { // because when we compare only key fields some comparison might be skipped
-                    result.addResult(subResult);
+            return hash;
+        }
+
+        if (value instanceof List<?>) {
+            int hash = 1;
+
+            for (Object element : (List<?>)value) {
+                hash = 31 * hash + exactHash(element);
+            }
+
+            return hash;
+        }
+
+        return value == null ? 0 : value.hashCode();
+    }
+
+    private static boolean exactlyEquals(Object actual, Object expected) {
+        if (expected instanceof IMessage) {
+            if (!(actual instanceof IMessage)) {
+                return false;
+            }
+
+            IMessage actualMessage = (IMessage)actual;
+            IMessage expectedMessage = (IMessage)expected;
+
+            if (actualMessage.getFieldCount() != expectedMessage.getFieldCount()) {
+                return false;
+            }
+
+            for (String fieldName : expectedMessage.getFieldNames()) {
+                if (!actualMessage.hasField(fieldName) || !exactlyEquals(actualMessage.getField(fieldName), expectedMessage.getField(fieldName))) {
+                    return false;
                 }
             }
+
+            return true;
         }
 
-        return result;
+        if (expected instanceof List<?>) {
+            if (!(actual instanceof List<?>)) {
+                return false;
+            }
+
+            List<?> actualList = (List<?>)actual;
+            List<?> expectedList = (List<?>)expected;
+
+            if (actualList.size() != expectedList.size()) {
+                return false;
+            }
+
+            for (int i = 0; i < expectedList.size(); i++) {
+                if (!exactlyEquals(actualList.get(i), expectedList.get(i))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return actual != null && actual.getClass() == expected.getClass() && expected.equals(actual);
+    }
+
+    private static class MatchedPair {
+        private final int actualIndex;
+        private final ComparisonResult result;
+        private final long count;
+
+        public MatchedPair(int actualIndex, ComparisonResult result, long count) {
+            this.actualIndex = actualIndex;
+            this.result = result;
+            this.count = count;
+        }
+
+        public int getActualIndex() {
+            return actualIndex;
+        }
+
+        public ComparisonResult getResult() {
+            return result;
+        }
+
+        public long getCount() {
+            return count;
+        }
     }
 
     private static ComparisonResult compareMessages(String name, Object actual, Object expected, boolean unchecked, boolean keyFieldsOnly, IFieldStructure structure, List<MetaContainer> metaContainers, ComparatorSettings settings) {
@@ -424,7 +730,7 @@ public class MessageComparator {
     }
 
     @Nullable
-    private static Object replaceByNullSubstitute(@Nullable Object value, boolean hasValue) {
+    static Object replaceByNullSubstitute(@Nullable Object value, boolean hasValue) {
         return value == null && hasValue ? NullValueSubstitute.INSTANCE : value;
     }
 
@@ -497,7 +803,7 @@ public class MessageComparator {
         return result;
     }
 
-    private static boolean isKeyField(String name, MetaContainer metaContainer) {
+    static boolean isKeyField(String name, MetaContainer metaContainer) {
         return BooleanUtils.isFalse(metaContainer.getKeyFields().get(name));
     }
 
@@ -603,7 +909,7 @@ public class MessageComparator {
         return Collections.singletonList(metaContainer);
     }
 
-    private static List<MetaContainer> getMetaContainers(List<MetaContainer> metaContainers, String name, boolean removeInheritedKeyFields) {
+    static List<MetaContainer> getMetaContainers(List<MetaContainer> metaContainers, String name, boolean removeInheritedKeyFields) {
         if (metaContainers.size() != 1) {
             throw new IllegalStateException("Expected one meta container per message, but got " + metaContainers.size());
         }
@@ -663,7 +969,7 @@ public class MessageComparator {
         return value == null || value == NullValueSubstitute.INSTANCE;
     }
 
-    private static boolean isObject(Object value) {
+    static boolean isObject(Object value) {
         return !(isNull(value)
                     || value instanceof List<?>
                     || value instanceof IMessage
@@ -0,0 +1,458 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.comparison;
+
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.exactpro.sf.aml.script.MetaContainer;
+import com.exactpro.sf.common.messages.IMessage;
+import com.exactpro.sf.common.messages.structures.IDictionaryStructure;
+import com.exactpro.sf.common.messages.structures.IFieldStructure;
+import com.exactpro.sf.scriptrunner.StatusType;
+
+/**
+ * Expected message compiled together with {@link ComparatorSettings} into a comparison plan.
+ * <br>
+ * Message structure, meta containers, unchecked flags and expected values of top-level fields are resolved once.
+ * Every top-level field also gets a check strategy: plain values (with their precisions and regex pattern) and filters
+ * are checked directly without building {@link ComparisonResult}, other fields (nested messages, collections, conventions,
+ * ignored fields) are checked by {@link MessageComparator}.
+ * <br>
+ * Key fields are checked first, one by one, starting from plain values, and the check stops at the first failed field.
+ * {@link #matches(IMessage)} checks the rest of the fields the same way, so the result tree is built only by
+ * {@link #compare(IMessage)}, whose result is the same as result of {@link MessageComparator#compare(IMessage, IMessage, ComparatorSettings)}.
+ * <br>
+ * Filter is immutable and can be used by several threads.
+ */
+public class PreparedMessageFilter {
+    private final IMessage expected;
+    private final ComparatorSettings settings;
+    private final String name;
+    private final String namespace;
+
+    // null if the message name is ignored or the dictionary describes it as a simple value,
+    // such filter isn't compiled and every comparison is delegated to MessageComparator
+    private final List<MetaContainer> metaContainers;
+    private final IFieldStructure structure;
+    private final boolean key;
+    private final int expectedFieldCount;
+    private final List<FieldPlan> keyPlans;
+    private final Map<String, FieldPlan> plans;
+
+    PreparedMessageFilter(IMessage expected, ComparatorSettings settings) {
+        this.expected = expected;
+        this.settings = settings;
+        this.name = expected.getName();
+        this.namespace = expected.getNamespace();
+
+        IDictionaryStructure dictionaryStructure = settings.getDictionaryStructure();
+        IFieldStructure messageStructure = dictionaryStructure != null ? dictionaryStructure.getMessages().get(name) : null;
+
+        // rare cases which produce a special result for the whole message are left to the comparator
+        if(settings.getIgnoredFields().contains(name) || messageStructure != null && !messageStructure.isComplex()) {
+            this.metaContainers = null;
+            this.structure = null;
+            this.key = false;
+            this.expectedFieldCount = 0;
+            this.keyPlans = Collections.emptyList();
+            this.plans = Collections.emptyMap();
+            return;
+        }
+
+        MetaContainer metaContainer = settings.getMetaContainer();
+
+        this.metaContainers = Collections.singletonList(metaContainer);
+        this.structure = messageStructure;
+        this.key = MessageComparator.isKeyField(name, metaContainer);
+        this.expectedFieldCount = expected.getFieldCount();
+        this.keyPlans = createKeyPlans(metaContainer);
+        this.plans = createPlans();
+    }
+
+    public IMessage getExpected() {
+        return expected;
+    }
+
+    public ComparatorSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Checks that {@link #compare(IMessage)} returns a result without failed fields,
+     * i.e. without {@link StatusType#FAILED} and {@link StatusType#CONDITIONALLY_FAILED} statuses.
+     * The result itself is built only if the filter has negative fields or post validation
+     * because they can change statuses of the whole tree.
+     */
+    public boolean matches(IMessage actual) {
+        if(!isSameType(actual)) {
+            return false;
+        }
+
+        if(metaContainers == null || !settings.getNegativeMap().isEmpty() || settings.getPostValidation() != null) {
+            ComparisonResult result = compare(actual);
+            return result != null && !isFailed(result);
+        }
+
+        if(!matchesKeyFields(actual)) {
+            return false;
+        }
+
+        for(FieldPlan plan : plans.values()) {
+            if(plan.isFailed(actual)) {
+                return false;
+            }
+        }
+
+        if(structure != null) {
+            return true;
+        }
+
+        for(String fieldName : actual.getFieldNames()) {
+            if(!plans.containsKey(fieldName) && isUnexpectedFailed(fieldName, actual)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public ComparisonResult compare(IMessage actual) {
+        if(!isSameType(actual)) {
+            return null;
+        }
+
+        if(metaContainers == null) {
+            return MessageComparator.compare(actual, expected, settings);
+        }
+
+        if(!matchesKeyFields(actual)) {
+            return null;
+        }
+
+        ComparisonResult result = new ComparisonResult(name)
+                .setActual(actual.getFieldCount())
+                .setExpected(expectedFieldCount);
+
+        result.setKey(key);
+
+        for(String fieldName : getFieldNames(actual)) {
+            FieldPlan plan = plans.get(fieldName);
+
+            if(plan == null) {
+                plan = new FieldPlan(fieldName, false);
+            }
+
+            ComparisonResult subResult = plan.compare(actual);
+
+            if(subResult != null) {
+                result.addResult(subResult);
+            }
+        }
+
+        Map<String, Boolean> negativeMap = settings.getNegativeMap();
+
+        if(!negativeMap.isEmpty()) {
+            MessageComparator.invertResults(result, negativeMap);
+        }
+
+        IPostValidation validation = settings.getPostValidation();
+
+        if(validation != null) {
+            validation.doValidate(actual, expected, settings, result);
+        }
+
+        return result.setMetaData(actual.getMetaData());
+    }
+
+    private boolean isSameType(IMessage actual) {
+        return name.equals(actual.getName()) && namespace.equals(actual.getNamespace());
+    }
+
+    private boolean matchesKeyFields(IMessage actual) {
+        for(FieldPlan plan : keyPlans) {
+            if(plan.isFailed(actual)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks a field which is present only in the actual message the same way as {@link MessageComparator} does
+     */
+    private boolean isUnexpectedFailed(String fieldName, IMessage actual) {
+        if(settings.getIgnoredFields().contains(fieldName) || settings.getUncheckedFields().contains(fieldName)) {
+            return false;
+        }
+
+        MetaContainer metaContainer = MessageComparator.getMetaContainers(metaContainers, fieldName, false).get(0);
+        String failUnexpected = StringUtils.lowerCase(metaContainer.getFailUnexpected());
+
+        if(ComparatorConst.ALL.equals(failUnexpected)) {
+            return true;
+        }
+
+        Object actualValue = MessageComparator.replaceByNullSubstitute(actual.getField(fieldName), true);
+
+        return ComparatorConst.YES.equals(failUnexpected) && MessageComparator.isObject(actualValue) && !StringUtils.isNumeric(fieldName);
+    }
+
+    private static boolean isFailed(ComparisonResult result) {
+        return ComparisonUtil.getResultCount(result, StatusType.FAILED) > 0
+                || ComparisonUtil.getResultCount(result, StatusType.CONDITIONALLY_FAILED) > 0;
+    }
+
+    private Collection<String> getFieldNames(IMessage actual) {
+        if(structure != null) {
+            return plans.keySet();
+        }
+
+        Collection<String> fieldNames = new LinkedHashSet<>(actual.getFieldNames());
+        fieldNames.addAll(expected.getFieldNames());
+        return fieldNames;
+    }
+
+    private List<FieldPlan> createKeyPlans(MetaContainer metaContainer) {
+        List<FieldPlan> result = new ArrayList<>();
+
+        for(Entry<String, Boolean> entry : metaContainer.getKeyFields().entrySet()) {
+            result.add(new FieldPlan(entry.getKey(), entry.getValue()));
+        }
+
+        // plain values are the cheapest to compare, filters and nested structures go last
+        result.sort(Comparator.comparingInt(FieldPlan::getCost));
+
+        return result;
+    }
+
+    private Map<String, FieldPlan> createPlans() {
+        Collection<String> fieldNames = structure != null ? structure.getFields().keySet() : expected.getFieldNames();
+        Map<String, FieldPlan> result = new LinkedHashMap<>();
+
+        for(String fieldName : fieldNames) {
+            result.put(fieldName, new FieldPlan(fieldName, false));
+        }
+
+        return result;
+    }
+
+    private enum Strategy {
+        VALUE,
+        FILTER,
+        COMPARE
+    }
+
+    private class FieldPlan {
+        private final String fieldName;
+        private final boolean keyFieldsOnly;
+        private final boolean unchecked;
+        private final boolean keyField;
+        private final IFieldStructure fieldStructure;
+        private final List<MetaContainer> subMetaContainers;
+        private final boolean hasExpected;
+        private final Object expectedValue;
+        private final Strategy strategy;
+        private final double doublePrecision;
+        private final BigDecimal bigDecimalPrecision;
+        private final BigDecimal systemPrecision;
+        private final Pattern pattern;
+
+        public FieldPlan(String fieldName, boolean keyFieldsOnly) {
+            this.fieldName = fieldName;
+            this.keyFieldsOnly = keyFieldsOnly;
+            this.unchecked = settings.getUncheckedFields().contains(fieldName);
+            this.keyField = MessageComparator.isKeyField(fieldName, metaContainers.get(0));
+            this.fieldStructure = structure != null ? structure.getFields().get(fieldName) : null;
+            this.subMetaContainers = MessageComparator.getMetaContainers(metaContainers, fieldName, keyFieldsOnly);
+            this.hasExpected = expected.hasField(fieldName);
+            this.expectedValue = MessageComparator.replaceByNullSubstitute(expected.getField(fieldName), hasExpected);
+
+            MetaContainer metaContainer = subMetaContainers.get(0);
+            Double fieldSystemPrecision = metaContainer.getSystemPrecision(fieldName);
+
+            this.doublePrecision = defaultIfNull(metaContainer.getDoublePrecision(fieldName), MessageComparator.COMPARISON_PRECISION);
+            this.bigDecimalPrecision = BigDecimal.valueOf(doublePrecision);
+            this.systemPrecision = fieldSystemPrecision != null ? BigDecimal.valueOf(fieldSystemPrecision) : null;
+            this.pattern = compileRegex(expectedValue);
+            this.strategy = getStrategy();
+        }
+
+        public ComparisonResult compare(IMessage actual) {
+            boolean hasActual = actual.hasField(fieldName);
+
+            if(!(hasActual || hasExpected)) {
+                return null;
+            }
+
+            Object actualValue = MessageComparator.replaceByNullSubstitute(actual.getField(fieldName), hasActual);
+            ComparisonResult result = MessageComparator.compareValues(fieldName, actualValue, expectedValue, unchecked, keyFieldsOnly,
+                    fieldStructure, subMetaContainers, settings);
+
+            result.setKey(keyField);
+
+            return result;
+        }
+
+        /**
+         * Checks whether the result of {@link #compare(IMessage)} contains failed fields
+         */
+        public boolean isFailed(IMessage actual) {
+            switch(strategy) {
+            case VALUE:
+                return isValueFailed(actual);
+            case FILTER:
+                return isFilterFailed(actual);
+            default:
+                ComparisonResult result = compare(actual);
+                return result != null && PreparedMessageFilter.isFailed(result);
+            }
+        }
+
+        public int getCost() {
+            if(expectedValue instanceof IComparisonFilter) {
+                return 1;
+            }
+
+            return MessageComparator.isObject(expectedValue) ? 0 : 2;
+        }
+
+        private Strategy getStrategy() {
+            if(settings.getIgnoredFields().contains(fieldName)) {
+                return Strategy.COMPARE;
+            }
+
+            if(expectedValue instanceof IComparisonFilter) {
+                return Strategy.FILTER;
+            }
+
+            boolean plainValue = MessageComparator.isObject(expectedValue)
+                    && !Convention.isConventionedValuePresent(expectedValue)
+                    && !Convention.isConventionedValueMissed(expectedValue);
+            boolean validRegex = pattern != null || !isRegex(expectedValue);
+
+            return plainValue && validRegex && !isComplex() ? Strategy.VALUE : Strategy.COMPARE;
+        }
+
+        /**
+         * Mirrors comparison of plain values in {@link MessageComparator}: a missing field, null value,
+         * collection or message can't match a plain expected value
+         */
+        private boolean isValueFailed(IMessage actual) {
+            Object actualValue = actual.getField(fieldName);
+
+            if(!MessageComparator.isObject(actualValue)) {
+                return true;
+            }
+
+            if(actualValue instanceof Float && expectedValue instanceof Float) {
+                return Math.abs((float)actualValue - (float)expectedValue) > doublePrecision;
+            } else if(actualValue instanceof Double && expectedValue instanceof Double) {
+                return Math.abs((double)actualValue - (double)expectedValue) > doublePrecision;
+            } else if(actualValue instanceof BigDecimal && expectedValue instanceof BigDecimal) {
+                return ((BigDecimal)actualValue).subtract((BigDecimal)expectedValue).abs().compareTo(bigDecimalPrecision) > 0;
+            }
+
+            if(systemPrecision != null) {
+                BigDecimal value = null;
+
+                if(actualValue instanceof Float) {
+                    value = BigDecimal.valueOf((float)actualValue);
+                } else if(actualValue instanceof Double) {
+                    value = BigDecimal.valueOf((double)actualValue);
+                } else if(actualValue instanceof BigDecimal) {
+                    value = (BigDecimal)actualValue;
+                }
+
+                if(value != null && value.remainder(systemPrecision).compareTo(BigDecimal.ZERO) != 0) {
+                    return true;
+                }
+            }
+
+            if(pattern != null && actualValue instanceof String) {
+                return !pattern.matcher((String)actualValue).matches();
+            }
+
+            return actualValue.getClass() != expectedValue.getClass() || !expectedValue.equals(actualValue);
+        }
+
+        private boolean isFilterFailed(IMessage actual) {
+            boolean hasActual = actual.hasField(fieldName);
+            Object actualValue = MessageComparator.replaceByNullSubstitute(actual.getField(fieldName), hasActual);
+            boolean plainValue = MessageComparator.isObject(actualValue);
+
+            // collections and messages can be checked by embedded filters
+            if(!plainValue && actualValue != null && actualValue != NullValueSubstitute.INSTANCE) {
+                ComparisonResult result = compare(actual);
+                return result != null && PreparedMessageFilter.isFailed(result);
+            }
+
+            if(plainValue && isComplex()) {
+                return true;
+            }
+
+            try {
+                return !((IComparisonFilter)expectedValue).validate(actualValue).getResult();
+            } catch(RuntimeException e) {
+                return true;
+            }
+        }
+
+        private boolean isComplex() {
+            return fieldStructure != null && fieldStructure.isComplex();
+        }
+    }
+
+    private static boolean isRegex(Object value) {
+        if(!(value instanceof String)) {
+            return false;
+        }
+
+        String text = (String)value;
+
+        return text.startsWith(ComparatorConst.REGEX_FIELD_START) && text.endsWith(ComparatorConst.REGEX_FIELD_END);
+    }
+
+    private static Pattern compileRegex(Object value) {
+        if(!isRegex(value)) {
+            return null;
+        }
+
+        String regex = StringUtils.substringBetween((String)value, ComparatorConst.REGEX_FIELD_START, ComparatorConst.REGEX_FIELD_END);
+
+        try {
+            return regex != null ? Pattern.compile(regex) : null;
+        } catch(PatternSyntaxException e) {
+            // invalid pattern fails every comparison, it's left to the comparator to report it
+            return null;
+        }
+    }
+}
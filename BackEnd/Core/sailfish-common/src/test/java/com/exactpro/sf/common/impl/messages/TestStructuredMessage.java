@@ -0,0 +1,217 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.common.impl.messages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.exactpro.sf.common.impl.messages.xml.configuration.JavaType;
+import com.exactpro.sf.common.messages.IMessage;
+import com.exactpro.sf.common.messages.MsgMetaData;
+import com.exactpro.sf.common.messages.structures.IDictionaryStructure;
+import com.exactpro.sf.common.messages.structures.IFieldStructure;
+import com.exactpro.sf.common.messages.structures.IMessageStructure;
+import com.exactpro.sf.common.messages.structures.StructureType;
+import com.exactpro.sf.common.messages.structures.impl.DictionaryStructure;
+import com.exactpro.sf.common.messages.structures.impl.FieldStructure;
+import com.exactpro.sf.common.messages.structures.impl.MessageStructure;
+import com.exactpro.sf.comparison.ComparatorSettings;
+import com.exactpro.sf.comparison.ComparisonResult;
+import com.exactpro.sf.comparison.ComparisonUtil;
+import com.exactpro.sf.comparison.MessageComparator;
+import com.exactpro.sf.configuration.suri.SailfishURI;
+import com.exactpro.sf.scriptrunner.StatusType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectMapper.DefaultTyping;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+public class TestStructuredMessage {
+    private static final String NAMESPACE = "test";
+
+    private StructuredMessageFactory factory;
+
+    @Before
+    public void setUp() {
+        Map<String, IFieldStructure> fields = new LinkedHashMap<>();
+        fields.put("Symbol", new FieldStructure("Symbol", NAMESPACE, JavaType.JAVA_LANG_STRING, false, StructureType.SIMPLE));
+        fields.put("Size", new FieldStructure("Size", NAMESPACE, JavaType.JAVA_LANG_INTEGER, false, StructureType.SIMPLE));
+        fields.put("Side", new FieldStructure("Side", NAMESPACE, JavaType.JAVA_LANG_STRING, false, StructureType.SIMPLE));
+
+        IMessageStructure quote = new MessageStructure("Quote", NAMESPACE, "", fields, Collections.emptyMap(), null);
+        IDictionaryStructure dictionary = new DictionaryStructure(NAMESPACE, "", Collections.emptyMap(),
+                Collections.singletonMap(quote.getName(), quote), Collections.emptyMap());
+
+        factory = new StructuredMessageFactory() {
+            @Override
+            public String getProtocol() {
+                return "TEST";
+            }
+        };
+        factory.init(SailfishURI.unsafeParse("test"), dictionary);
+    }
+
+    @Test
+    public void testFields() {
+        IMessage message = factory.createMessage("Quote");
+
+        assertTrue(message instanceof StructuredMessage);
+        assertEquals(0, message.getFieldCount());
+
+        message.addField("Dirty", "value");
+        message.addField("Side", null);
+        message.addField("Symbol", "ABC");
+
+        assertEquals(Arrays.asList("Symbol", "Side", "Dirty"), Arrays.asList(message.getFieldNames().toArray()));
+        assertEquals(3, message.getFieldCount());
+        assertTrue(message.hasField("Side"));
+        assertFalse(message.isFieldSet("Side"));
+        assertFalse(message.hasField("Size"));
+        assertEquals("ABC", message.getField("Symbol"));
+        assertEquals("value", message.getField("Dirty"));
+
+        assertEquals("ABC", message.removeField("Symbol"));
+        assertNull(message.removeField("Symbol"));
+
+        Iterator<String> iterator = message.getFieldNames().iterator();
+        iterator.next();
+        iterator.remove();
+        iterator.next();
+        iterator.remove();
+
+        assertEquals(0, message.getFieldCount());
+        assertFalse(message.hasField("Dirty"));
+    }
+
+    @Test
+    public void testUnknownMessages() {
+        assertTrue(factory.createMessage("Unknown") instanceof MapMessage);
+        assertTrue(factory.createMessage("Quote", "other") instanceof MapMessage);
+    }
+
+    @Test
+    public void testClone() {
+        IMessage message = createQuote();
+        IMessage cloned = message.cloneMessage();
+
+        cloned.addField("Size", 20);
+
+        assertEquals(10, (int)message.getField("Size"));
+        assertEquals(message.getFieldNames(), cloned.getFieldNames());
+    }
+
+    @Test
+    public void testCompareWithMapMessage() {
+        IMessage message = createQuote();
+        IMessage filter = new MapMessage(NAMESPACE, "Quote");
+
+        filter.addField("Symbol", "ABC");
+        filter.addField("Size", 10);
+        filter.addField("Dirty", "value");
+
+        ComparisonResult result = MessageComparator.compare(message, filter, new ComparatorSettings());
+
+        assertEquals(3, ComparisonUtil.getResultCount(result, StatusType.PASSED));
+        assertEquals(0, ComparisonUtil.getResultCount(result, StatusType.FAILED));
+        assertTrue(message.compare(filter));
+    }
+
+    @Test
+    public void testCompareMapMessageWithStructured() {
+        IMessage message = createQuote();
+        IMessage subMessage = createQuote();
+        IMessage mapMessage = createMapQuote();
+
+        message.addField("Message", subMessage);
+        message.addField("MessageArray", new IMessage[] { createQuote() });
+        mapMessage.addField("Message", createMapQuote());
+        mapMessage.addField("MessageArray", new IMessage[] { createMapQuote() });
+
+        assertTrue(mapMessage.compare(message));
+        assertTrue(message.compare(mapMessage));
+
+        subMessage.addField("Size", 20);
+
+        assertFalse(mapMessage.compare(message));
+        assertFalse(message.compare(mapMessage));
+    }
+
+    @Test
+    public void testSerializationWithJson() throws IOException {
+        IMessage message = createQuote();
+        IMessage subMessage = createQuote();
+
+        message.addField("Message", subMessage);
+        message.addField("MessageArray", Arrays.asList(subMessage, subMessage));
+
+        PolymorphicTypeValidator ptv = BasicPolymorphicTypeValidator
+                .builder()
+                .allowIfSubType(IMessage.class)
+                .allowIfSubType(Map.class)
+                .allowIfSubType(Temporal.class)
+                .allowIfSubType(List.class)
+                .allowIfSubType(Character.class)
+                .allowIfBaseType(String.class)
+                .allowIfSubType(Number.class)
+                .allowIfBaseType(MsgMetaData.class)
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper()
+                .activateDefaultTyping(ptv, DefaultTyping.NON_FINAL)
+                .registerModule(new JavaTimeModule());
+        ObjectReader reader = objectMapper.readerFor(IMessage.class);
+
+        IMessage restored = reader.readValue(objectMapper.writeValueAsString(message));
+
+        assertEquals(message, restored);
+        assertEquals(message.hashCode(), restored.hashCode());
+    }
+
+    private IMessage createQuote() {
+        IMessage message = factory.createMessage("Quote");
+
+        message.addField("Symbol", "ABC");
+        message.addField("Size", 10);
+        message.addField("Dirty", "value");
+
+        return message;
+    }
+
+    private static IMessage createMapQuote() {
+        IMessage message = new MapMessage(NAMESPACE, "Quote");
+
+        message.addField("Symbol", "ABC");
+        message.addField("Size", 10);
+        message.addField("Dirty", "value");
+
+        return message;
+    }
+}
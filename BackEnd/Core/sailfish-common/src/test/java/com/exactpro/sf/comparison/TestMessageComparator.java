@@ -1751,6 +1751,60 @@ public class TestMessageComparator {
         assertEquals(0, ComparisonUtil.getResultCount(result, StatusType.FAILED));
     }
     
+    @Test
+    public void testUnorderedGroupOptimalMatching() {
+        // greedy matching would pair the first elements (3 passed fields) and leave 0 passed fields for the second pair
+        IMessage message = createMessage(msg -> msg.addField("group", asList(
+                createGroupEntry(1, 1, 1, 0),
+                createGroupEntry(8, 9, 1, 5))));
+
+        IMessage filter = createMessage(msg -> msg.addField("group", asList(
+                createGroupEntry(1, 1, 1, 5),
+                createGroupEntry(1, 1, 7, 7))));
+
+        ComparisonResult result = MessageComparator.compare(message, filter, new ComparatorSettings().setKeepResultGroupOrder(true));
+        ComparisonResult group = result.getResult("group");
+
+        assertEquals(4, ComparisonUtil.getResultCount(result, StatusType.PASSED));
+        assertEquals(4, ComparisonUtil.getResultCount(result, StatusType.FAILED));
+        assertEquals(7, (int)group.getResult("0").getResult("f3").getExpected());
+        assertEquals(5, (int)group.getResult("1").getResult("f4").getExpected());
+    }
+
+    @Test
+    public void testUnorderedGroupEqualEntries() {
+        IMessage message = createMessage(msg -> msg.addField("group", asList(
+                createGroupEntry(3, 3, 3, 3),
+                createGroupEntry(1, 1, 1, 1),
+                createGroupEntry(2, 2, 2, 2))));
+
+        IMessage filter = createMessage(msg -> msg.addField("group", asList(
+                createGroupEntry(1, 1, 1, 1),
+                createGroupEntry(2, 2, 2, 2),
+                createGroupEntry(3, 3, 3, 3),
+                createGroupEntry(4, 4, 4, 4))));
+
+        ComparisonResult result = MessageComparator.compare(message, filter, new ComparatorSettings());
+        ComparisonResult group = result.getResult("group");
+
+        assertEquals(12, ComparisonUtil.getResultCount(result, StatusType.PASSED));
+        // missing entry is failed as a whole
+        assertEquals(1, ComparisonUtil.getResultCount(result, StatusType.FAILED));
+        // the best matches go first
+        assertEquals(3, (int)group.getResult("0").getResult("f1").getActual());
+        assertEquals(4, (int)group.getResult("3").getResult("f1").getExpected());
+        Assert.assertNull(group.getResult("3").getResult("f1").getActual());
+    }
+
+    private static IMessage createGroupEntry(int f1, int f2, int f3, int f4) {
+        return createMessage(entry -> {
+            entry.addField("f1", f1);
+            entry.addField("f2", f2);
+            entry.addField("f3", f3);
+            entry.addField("f4", f4);
+        });
+    }
+
     private static IMessage createMessage(String namespace, String name) {
         return DefaultMessageFactory.getFactory().createMessage( name, namespace);
     }
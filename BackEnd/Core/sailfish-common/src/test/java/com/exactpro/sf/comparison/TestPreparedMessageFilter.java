@@ -0,0 +1,219 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.comparison;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.exactpro.sf.aml.script.MetaContainer;
+import com.exactpro.sf.common.impl.messages.DefaultMessageFactory;
+import com.exactpro.sf.common.messages.IMessage;
+import com.exactpro.sf.common.messages.IMessageFactory;
+import com.exactpro.sf.common.messages.structures.IDictionaryStructure;
+import com.exactpro.sf.common.messages.structures.loaders.XmlDictionaryStructureLoader;
+import com.exactpro.sf.scriptrunner.StatusType;
+
+public class TestPreparedMessageFilter {
+    private IMessageFactory messageFactory;
+    private IDictionaryStructure dictionary;
+
+    @Before
+    public void init() throws IOException {
+        messageFactory = DefaultMessageFactory.getFactory();
+
+        try(InputStream stream = Thread.currentThread().getContextClassLoader().getResourceAsStream("message-comparator.xml")) {
+            dictionary = new XmlDictionaryStructureLoader().load(stream);
+        }
+    }
+
+    @Test
+    public void testWithoutDictionary() {
+        IMessage filter = createSimpleMessage(1, "abc");
+        filter.addField("FString", ComparisonNotNullFilter.INSTANCE);
+        filter.addField("FMissing", ComparisonNullFilter.INSTANCE);
+
+        IMessage actual = createSimpleMessage(2, "abc");
+        actual.addField("FExtra", "extra");
+
+        ComparatorSettings settings = new ComparatorSettings();
+        MetaContainer metaContainer = settings.getMetaContainer();
+
+        metaContainer.setFailUnexpected("Y");
+        settings.setUncheckedFields(singleton("FLong"));
+        settings.setNegativeMap(Collections.singletonMap("FDouble", true));
+
+        assertSameResults(filter, settings, actual, createSimpleMessage(1, "abc"), messageFactory.createMessage("Other", "namespace"));
+    }
+
+    @Test
+    public void testWithDictionary() {
+        IMessage filter = createComplexMessage(1, "abc");
+        IMessage actual = createComplexMessage(2, "abc");
+        ComparatorSettings settings = new ComparatorSettings().setDictionaryStructure(dictionary);
+
+        assertSameResults(filter, settings, actual, createComplexMessage(1, "abc"), createComplexMessage(1, "def"));
+    }
+
+    @Test
+    public void testKeyFields() {
+        IMessage filter = createComplexMessage(1, "abc");
+        ComparatorSettings settings = new ComparatorSettings().setDictionaryStructure(dictionary);
+        MetaContainer metaContainer = settings.getMetaContainer();
+
+        metaContainer.setKeyFields(new HashSet<>(asList("simple-value", "message-value")));
+        metaContainer.add("message-value", new MetaContainer().setKeyFields(singleton("FInteger")));
+
+        IMessage differentKey = createComplexMessage(1, "abc");
+        differentKey.<IMessage>getField("message-value").addField("FInteger", 2);
+
+        IMessage differentNonKey = createComplexMessage(1, "abc");
+        differentNonKey.<IMessage>getField("message-value").addField("FLong", 2L);
+
+        assertSameResults(filter, settings, createComplexMessage(1, "abc"), createComplexMessage(1, "def"), differentKey, differentNonKey);
+        Assert.assertNull(MessageComparator.prepare(filter, settings).compare(differentKey));
+    }
+
+    @Test
+    public void testMatches() {
+        IMessage filter = createSimpleMessage(1, "Regexp[a.c]");
+        filter.addField("FNotNull", ComparisonNotNullFilter.INSTANCE);
+        filter.addField("FMissing", ComparisonNullFilter.INSTANCE);
+
+        IMessage closeValues = createSimpleMessage(1, "abc");
+        closeValues.addField("FDouble", 1.4);
+        closeValues.addField("FBigDecimal", new BigDecimal("1.4"));
+        closeValues.addField("FNotNull", 1);
+
+        IMessage otherTypes = createSimpleMessage(1, "abc");
+        otherTypes.addField("FLong", 1);
+        otherTypes.addField("FNotNull", 1);
+
+        IMessage nullValues = createSimpleMessage(1, "abc");
+        nullValues.addField("FInteger", null);
+        nullValues.addField("FNotNull", null);
+
+        IMessage extraFields = createSimpleMessage(1, "adc");
+        extraFields.addField("FNotNull", "value");
+        extraFields.addField("FExtra", "extra");
+        extraFields.addField("FExtraList", asList(1, 2));
+
+        IMessage[] actualMessages = { createSimpleMessage(1, "abc"), createSimpleMessage(1, "abd"), closeValues, otherTypes,
+                nullValues, extraFields, createComplexMessage(1, "abc"), messageFactory.createMessage("SimpleMessage", "other") };
+
+        for(String failUnexpected : asList("N", "Y", "A")) {
+            ComparatorSettings settings = new ComparatorSettings();
+            MetaContainer metaContainer = settings.getMetaContainer();
+
+            metaContainer.setFailUnexpected(failUnexpected);
+            metaContainer.addDoublePrecision("FDouble=0.5;FBigDecimal=0.5");
+            metaContainer.addSystemPrecision("FFloat=0.5");
+
+            assertSameMatches(filter, settings, actualMessages);
+
+            metaContainer.setKeyFields(new HashSet<>(asList("FInteger", "FString")));
+            assertSameMatches(filter, settings, actualMessages);
+
+            settings.setNegativeMap(Collections.singletonMap("FString", true));
+            assertSameMatches(filter, settings, actualMessages);
+        }
+
+        IMessage complexFilter = createComplexMessage(1, "abc");
+        complexFilter.addField("simple-value", "Regexp[a.c]");
+        ComparatorSettings settings = new ComparatorSettings().setDictionaryStructure(dictionary);
+
+        assertSameMatches(complexFilter, settings, createComplexMessage(1, "adc"), createComplexMessage(1, "def"), createComplexMessage(2, "abc"));
+    }
+
+    private void assertSameMatches(IMessage filter, ComparatorSettings settings, IMessage... actualMessages) {
+        PreparedMessageFilter preparedFilter = MessageComparator.prepare(filter, settings);
+
+        for(IMessage actual : actualMessages) {
+            ComparisonResult result = MessageComparator.compare(actual, filter, settings);
+            boolean expectedMatch = result != null && ComparisonUtil.getResultCount(result, StatusType.FAILED) == 0
+                    && ComparisonUtil.getResultCount(result, StatusType.CONDITIONALLY_FAILED) == 0;
+
+            Assert.assertEquals(String.valueOf(actual), expectedMatch, preparedFilter.matches(actual));
+        }
+    }
+
+    private void assertSameResults(IMessage filter, ComparatorSettings settings, IMessage... actualMessages) {
+        PreparedMessageFilter preparedFilter = MessageComparator.prepare(filter, settings);
+
+        for(IMessage actual : actualMessages) {
+            ComparisonResult expectedResult = MessageComparator.compare(actual, filter, settings);
+            ComparisonResult actualResult = preparedFilter.compare(actual);
+
+            assertSameResult(expectedResult, actualResult);
+        }
+    }
+
+    private static void assertSameResult(ComparisonResult expected, ComparisonResult actual) {
+        if(expected == null || actual == null) {
+            Assert.assertSame(expected, actual);
+            return;
+        }
+
+        String path = expected.getName();
+
+        Assert.assertEquals(path, expected.getName(), actual.getName());
+        Assert.assertEquals(path, expected.getStatus(), actual.getStatus());
+        Assert.assertEquals(path, (Object)expected.getActual(), actual.getActual());
+        Assert.assertEquals(path, (Object)expected.getExpected(), actual.getExpected());
+        Assert.assertEquals(path, expected.isKey(), actual.isKey());
+        Assert.assertEquals(path, expected.getExceptionMessage(), actual.getExceptionMessage());
+        Assert.assertEquals(path, expected.getResults().size(), actual.getResults().size());
+
+        Iterator<ComparisonResult> actualIterator = actual.iterator();
+
+        for(ComparisonResult subResult : expected) {
+            assertSameResult(subResult, actualIterator.next());
+        }
+    }
+
+    private IMessage createSimpleMessage(int value, String text) {
+        IMessage message = messageFactory.createMessage("SimpleMessage", "namespace");
+
+        message.addField("FInteger", value);
+        message.addField("FLong", (long)value);
+        message.addField("FDouble", (double)value);
+        message.addField("FBigDecimal", BigDecimal.valueOf(value));
+        message.addField("FString", text);
+
+        return message;
+    }
+
+    private IMessage createComplexMessage(int value, String text) {
+        IMessage message = messageFactory.createMessage("ComplexMessage", "namespace");
+
+        message.addField("simple-value", text);
+        message.addField("simple-value-list", asList(text, text + value));
+        message.addField("message-value", createSimpleMessage(value, text));
+        message.addField("message-value-list", asList(createSimpleMessage(value, text), createSimpleMessage(value + 1, text)));
+
+        return message;
+    }
+}
@@ -0,0 +1,191 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.aml.iomatrix;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads a whole generated matrix with each reader.
+ * Run with '-prof gc' to compare allocations; run with a small heap (e.g. '-jvmArgs -Xmx256m')
+ * to check that the streaming XLSX reader doesn't depend on the matrix size.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MatrixReaderBenchmark {
+
+    // HOW TO RUN:
+    // $ gradle jmhJar
+    // $ java -jar build/libs/testtools-std-1.0-SNAPSHOT-jmh.jar MatrixReaderBenchmark -prof gc
+
+    private static final String[] HEADER = { "#id", "#service_name", "#reference", "#action", "#message_type",
+            "Field1", "Field2", "Field3", "Field4", "Field5" };
+    private static final int TEST_CASE_SIZE = 100;
+
+    public enum Format {
+        XLSX_DOM,
+        XLSX_STREAMING,
+        CSV,
+        JSON
+    }
+
+    @State(Scope.Benchmark)
+    public static class BMState {
+
+        /**
+         * Number of action rows, it should be a multiple of the test case size
+         */
+        @Param({ "10000", "200000" })
+        public int rows;
+
+        @Param
+        public Format format;
+
+        public File matrix;
+
+        private File directory;
+
+        @Setup(Level.Trial)
+        public void init() throws Exception {
+            directory = Files.createTempDirectory("matrix-benchmark").toFile();
+
+            switch (format) {
+            case XLSX_DOM:
+            case XLSX_STREAMING:
+                matrix = new File(directory, "matrix.xlsx");
+                writeXlsx(matrix, rows);
+                break;
+            case CSV:
+                matrix = new File(directory, "matrix.csv");
+                try (IMatrixWriter writer = new CSVMatrixWriter(matrix.getAbsolutePath())) {
+                    write(writer, rows);
+                }
+                break;
+            case JSON:
+                matrix = new File(directory, "matrix.json");
+                try (IMatrixWriter writer = new JSONMatrixWriter(matrix, MatrixFileTypes.JSON)) {
+                    write(writer, rows);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown format: " + format);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void dispose() {
+            FileUtils.deleteQuietly(directory);
+        }
+
+        public IMatrixReader createReader() throws Exception {
+            switch (format) {
+            case XLSX_DOM:
+                return new ExcelMatrixReader(matrix.getAbsolutePath(), true);
+            case XLSX_STREAMING:
+                return new StreamingExcelMatrixReader(matrix.getAbsolutePath());
+            case CSV:
+                return new CSVMatrixReader(matrix.getAbsolutePath());
+            case JSON:
+                return new JSONMatrixReader(matrix, MatrixFileTypes.JSON);
+            default:
+                throw new IllegalStateException("Unknown format: " + format);
+            }
+        }
+    }
+
+    @Benchmark
+    public int readMatrix(BMState state) throws Exception {
+        int cells = 0;
+
+        try (IMatrixReader reader = state.createReader()) {
+            while (reader.hasNext()) {
+                cells += reader.readCells().length;
+            }
+        }
+
+        return cells;
+    }
+
+    private static void write(IMatrixWriter writer, int rows) throws Exception {
+        writer.write(HEADER);
+
+        for (int i = 1; i <= rows; i++) {
+            writer.write(createRow(i));
+        }
+    }
+
+    private static void writeXlsx(File file, int rows) throws Exception {
+        // shared strings are used like in files saved by Excel
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, 100, false, true);
+
+        try (OutputStream outputStream = new FileOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+
+            for (int i = 0; i <= rows; i++) {
+                String[] values = i == 0 ? HEADER : createRow(i);
+                Row row = sheet.createRow(i);
+
+                for (int j = 0; j < values.length; j++) {
+                    row.createCell(j).setCellValue(values[j]);
+                }
+            }
+
+            workbook.write(outputStream);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private static String[] createRow(int index) {
+        int position = (index - 1) % TEST_CASE_SIZE;
+
+        if (position == 0) {
+            return new String[] { String.valueOf(index), "", "", "Test case start", "", "", "", "", "", "" };
+        }
+
+        if (position == TEST_CASE_SIZE - 1) {
+            return new String[] { "", "", "", "Test case end", "", "", "", "", "", "" };
+        }
+
+        return new String[] { "", "service", "ref" + index, "send", "Message",
+                String.valueOf(index), "value" + index % 50, "1.5", "Y", "text" };
+    }
+}
@@ -0,0 +1,165 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.common.impl.messages;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jol.info.GraphLayout;
+
+import com.exactpro.sf.common.messages.IMessage;
+import com.exactpro.sf.common.messages.IMessageFactory;
+import com.exactpro.sf.common.messages.structures.IDictionaryStructure;
+import com.exactpro.sf.common.messages.structures.loaders.XmlDictionaryStructureLoader;
+import com.exactpro.sf.common.util.EPSCommonException;
+import com.exactpro.sf.configuration.suri.SailfishURI;
+
+/**
+ * Compares {@link MapMessage} and {@link StructuredMessage}.
+ * Benchmarks measure creation and reading of a message, run them with '-prof gc' to compare allocations.
+ * The main method prints the retained size of a message measured by JOL.
+ */
+public class MessageFootprintBenchmark {
+
+    // HOW TO RUN:
+    // $ gradle jmhJar
+    // $ java -jar build/libs/testtools-std-1.0-SNAPSHOT-jmh.jar MessageFootprintBenchmark -prof gc
+    // $ java -cp build/libs/testtools-std-1.0-SNAPSHOT-jmh.jar com.exactpro.sf.common.impl.messages.MessageFootprintBenchmark
+
+    private static final String MESSAGE_NAME = "SimpleMessage";
+    private static final int FOOTPRINT_MESSAGES = 100_000;
+
+    public enum Implementation {
+        MAP,
+        STRUCTURED
+    }
+
+    public static void main(String[] args) {
+        for (Implementation implementation : Implementation.values()) {
+            IMessageFactory factory = createFactory(implementation, loadDictionary());
+            List<IMessage> messages = new ArrayList<>(FOOTPRINT_MESSAGES);
+
+            for (int i = 0; i < FOOTPRINT_MESSAGES; i++) {
+                messages.add(createMessage(factory, i));
+            }
+
+            long size = GraphLayout.parseInstance(messages).totalSize();
+            System.out.printf("%s: %d bytes per message%n", implementation, size / FOOTPRINT_MESSAGES);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BMState {
+        @Param
+        public Implementation implementation;
+
+        public IMessageFactory factory;
+        public IMessage message;
+        public int index;
+
+        @Setup(Level.Trial)
+        public void init() {
+            factory = createFactory(implementation, loadDictionary());
+            message = createMessage(factory, 0);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public IMessage benchmarkCreateMessage(BMState state) {
+        return createMessage(state.factory, state.index++);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void benchmarkReadMessage(BMState state, Blackhole blackhole) {
+        for (String fieldName : state.message.getFieldNames()) {
+            blackhole.consume(state.message.<Object>getField(fieldName));
+        }
+    }
+
+    private static IDictionaryStructure loadDictionary() {
+        File dictionaryFile = new File("src/main/workspace/cfg/dictionaries/test_aml.xml");
+
+        try (InputStream dictionaryStream = new FileInputStream(dictionaryFile)) {
+            return new XmlDictionaryStructureLoader().load(dictionaryStream);
+        } catch (IOException e) {
+            throw new EPSCommonException(e);
+        }
+    }
+
+    private static IMessageFactory createFactory(Implementation implementation, IDictionaryStructure dictionary) {
+        IMessageFactory factory;
+
+        switch (implementation) {
+        case MAP:
+            factory = new AbstractMessageFactory() {
+                @Override
+                public String getProtocol() {
+                    return "TEST";
+                }
+            };
+            break;
+        case STRUCTURED:
+            factory = new StructuredMessageFactory() {
+                @Override
+                public String getProtocol() {
+                    return "TEST";
+                }
+            };
+            break;
+        default:
+            throw new IllegalStateException("Unknown implementation: " + implementation);
+        }
+
+        factory.init(SailfishURI.unsafeParse("TestAML"), dictionary);
+        return factory;
+    }
+
+    /**
+     * Creates a message similar to a decoded market data message
+     */
+    private static IMessage createMessage(IMessageFactory factory, int index) {
+        IMessage message = factory.createMessage(MESSAGE_NAME);
+
+        message.addField("FBoolean", index % 2 == 0);
+        message.addField("FByte", (byte)index);
+        message.addField("FCharacter", (char)('A' + index % 26));
+        message.addField("FShort", (short)index);
+        message.addField("FInteger", index);
+        message.addField("FLong", (long)index);
+        message.addField("FFloat", index / 2f);
+        message.addField("FDouble", index / 2d);
+        message.addField("FBigDecimal", BigDecimal.valueOf(index, 2));
+        message.addField("FString", "value" + index);
+
+        return message;
+    }
+}
@@ -54,6 +54,7 @@ public class MessageComparatorBenchmark {
         public IMessage actual;
         public IMessage expected;
         public ComparatorSettings settings;
+        public PreparedMessageFilter preparedFilter;
 
         @Setup(Level.Trial)
         public void init() {
@@ -69,6 +70,7 @@ public class MessageComparatorBenchmark {
             actual = createActualMessage();
             expected = createExpectedMessage();
             settings = new ComparatorSettings().setDictionaryStructure(dictionary);
+            preparedFilter = MessageComparator.prepare(expected, settings);
         }
 
         public abstract IMessage createActualMessage();
@@ -171,4 +173,28 @@ public class MessageComparatorBenchmark {
     public void benchmarkComplexFilterMessage(ComplexFilterState state, Blackhole blackhole) {
         blackhole.consume(benchmark(state, blackhole));
     }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void benchmarkPreparedSimpleMessage(SimpleState state, Blackhole blackhole) {
+        blackhole.consume(state.preparedFilter.compare(state.actual));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void benchmarkPreparedComplexFilterMessage(ComplexFilterState state, Blackhole blackhole) {
+        blackhole.consume(state.preparedFilter.compare(state.actual));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void benchmarkPreparedSimpleMessageMatches(SimpleState state, Blackhole blackhole) {
+        blackhole.consume(state.preparedFilter.matches(state.actual));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void benchmarkPreparedComplexFilterMessageMatches(ComplexFilterState state, Blackhole blackhole) {
+        blackhole.consume(state.preparedFilter.matches(state.actual));
+    }
 }
@@ -18,8 +18,6 @@ package com.exactpro.sf.aml;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -28,11 +26,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 
-import javax.tools.JavaCompiler;
-import javax.tools.JavaFileObject;
-import javax.tools.StandardJavaFileManager;
-import javax.tools.ToolProvider;
-
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +34,7 @@ import com.exactpro.sf.aml.generator.Alert;
 import com.exactpro.sf.aml.generator.AlertCollector;
 import com.exactpro.sf.aml.generator.AlertType;
 import com.exactpro.sf.aml.generator.GeneratedScript;
+import com.exactpro.sf.aml.generator.ScriptCompiler;
 import com.exactpro.sf.aml.iomatrix.AdvancedMatrixReader;
 import com.exactpro.sf.aml.iomatrix.SimpleCell;
 import com.exactpro.sf.aml.reader.AMLReader;
@@ -55,7 +49,6 @@ import com.exactpro.sf.configuration.workspace.FolderType;
 import com.exactpro.sf.configuration.workspace.IWorkspaceDispatcher;
 import com.exactpro.sf.scriptrunner.IProgressListener;
 import com.exactpro.sf.scriptrunner.ScriptContext;
-import com.exactpro.sf.scriptrunner.ScriptRunException;
 import com.exactpro.sf.scriptrunner.TestScriptDescription;
 import com.exactpro.sf.scriptrunner.actionmanager.IActionManager;
 import com.exactpro.sf.scriptrunner.languagemanager.LanguageManager;
@@ -80,14 +73,10 @@ public class AML {
 
     private static final Logger logger = LoggerFactory.getLogger(AML.class);
 
-    private static final String EOL = System.getProperty("line.separator");
-
     public static final String PACKAGE_NAME = "com.exactpro.sf.testscript.matrix";
     public static final String CLASS_NAME = "Matrix";
     public static final String PACKAGE_PATH = PACKAGE_NAME.replace(".", File.separator) + File.separator;
 
-    private static final long M10 = 10 * 1024 * 1024L;
-
     private final AMLSettings amlSettings;
     private final AlertCollector alertCollector;
 
@@ -258,73 +247,14 @@ public class AML {
             logger.debug("compileScript: {}", description);
         }
 
-        List<String> option = new LinkedList<>();
-        option.add("-g");
-        option.add("-classpath");
-
-        String cp = compilerClassPath + File.pathSeparator + binFolderPath.getAbsolutePath();
-
-        logger.debug("Classpath: {}", cp);
-
-        option.add(cp);
-        option.add("-d");
-        option.add(binFolderPath.getAbsolutePath());
-
+        logger.debug("Classpath: {}", compilerClassPath);
         logger.debug("Compiling java files: {}", script.getFilesList());
-        int filesSize = 1 + script.getFilesList().size();
-        int filesCount = 0;
-        List<File> javaFiles = new LinkedList<>();
-        long fLength = 0;
-        for (File file : script.getFilesList() )
-        {
-            fLength += file.length();
-            javaFiles.add(file);
-            filesCount++;
-
-            if (fLength > M10) {
-                doCompile(option, javaFiles);
-                if (description != null) {
-                    description.setProgress(70+30*filesCount/filesSize);
-                }
-                javaFiles.clear();
-                fLength = file.length();
-            }
-            logger.trace(file.getAbsolutePath());
-        }
-
-        logger.debug(script.getMainFile().getAbsolutePath());
-        javaFiles.add(script.getMainFile());
 
-        doCompile(option, javaFiles);
-        if (description != null) {
-            description.setProgress(100);
-        }
-    }
-
-    private static void doCompile(List<String> option, List<File> javaFiles) throws InterruptedException, IOException {
-        logger.debug("doCompile");
-        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
-            for (int i = 0; i < javaFiles.size(); i++) {
-                if (!javaFiles.get(i).exists()) {
-                    throw new ScriptRunException("Could not find file: '" + javaFiles.get(i) + "'");
-                }
+        ScriptCompiler.getDefault().compile(script, binFolderPath, compilerClassPath, progress -> {
+            if (description != null) {
+                description.setProgress(70 + 30 * progress / 100);
             }
-
-            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(
-                    javaFiles.toArray(new File[javaFiles.size()])
-            );
-
-            Thread.sleep(0); // let interrupt script compilation
-            StringWriter writer = new StringWriter();
-            PrintWriter printWriter = new PrintWriter(writer);
-            printWriter.flush();
-            boolean isCompiled = compiler.getTask(printWriter, fileManager, null, option, null, units).call();
-
-            if (!isCompiled) {
-                throw new ScriptRunException("Could not compile sources: " + EOL + writer);
-            }
-        }
+        });
     }
 
     public void cleanup()
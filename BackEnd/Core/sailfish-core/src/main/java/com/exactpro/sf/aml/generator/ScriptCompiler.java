@@ -0,0 +1,440 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.aml.generator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.exactpro.sf.scriptrunner.ScriptRunException;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Compiles generated scripts with a compiler instance which is shared by all scripts.
+ * Compiled classes are kept in memory until the whole script is compiled.
+ * Action classes don't depend on each other, so they are compiled in parallel groups and the main class is compiled after them.
+ * Standard file managers are reused between compilations, so opened class path archives aren't read again for each script.
+ */
+public class ScriptCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScriptCompiler.class);
+
+    private static final String EOL = System.getProperty("line.separator");
+    private static final long MAX_GROUP_SIZE = 10 * 1024 * 1024L;
+    private static final int MAX_ERRORS_PER_CLASS = 100;
+
+    private final JavaCompiler compiler;
+    private final int parallelism;
+    private final ExecutorService executor;
+    private final BlockingQueue<StandardJavaFileManager> fileManagers;
+
+    public ScriptCompiler(int parallelism) {
+        this.compiler = ToolProvider.getSystemJavaCompiler();
+
+        if (compiler == null) {
+            throw new IllegalStateException("Java compiler is not available, Sailfish must be run on JDK");
+        }
+
+        this.parallelism = Math.max(parallelism, 1);
+        this.executor = Executors.newFixedThreadPool(this.parallelism, new ThreadFactoryBuilder()
+                .setNameFormat("script-compiler-%d")
+                .setDaemon(true)
+                .build());
+        // one more file manager for the main class which is compiled by the caller thread
+        this.fileManagers = new LinkedBlockingQueue<>(this.parallelism + 1);
+    }
+
+    public static ScriptCompiler getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Compiles files of the script and writes compiled classes into the folder
+     * @param progressListener receives percentage of compiled files
+     */
+    public void compile(GeneratedScript script, File binFolder, String classPath, IntConsumer progressListener) throws InterruptedException, IOException {
+        List<File> files = new ArrayList<>(script.getFilesList());
+
+        for (File file : files) {
+            checkExists(file);
+        }
+
+        checkExists(script.getMainFile());
+
+        List<String> options = createOptions(classPath, 1);
+        Map<String, ClassFile> classes = new ConcurrentHashMap<>();
+        List<List<File>> groups = split(files);
+        int total = groups.size() + 1;
+        AtomicInteger compiled = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (List<File> group : groups) {
+            tasks.add(() -> {
+                compileFiles(options, group, classes);
+                progressListener.accept(100 * compiled.incrementAndGet() / total);
+                return null;
+            });
+        }
+
+        logger.debug("Compiling {} files in {} groups", files.size(), groups.size());
+        invokeAll(tasks);
+
+        // the main class refers to the action classes which are already compiled
+        compileFiles(options, Collections.singletonList(script.getMainFile()), classes);
+
+        for (ClassFile classFile : classes.values()) {
+            FileUtils.writeByteArrayToFile(new File(binFolder, classFile.getBinaryName().replace('.', File.separatorChar) + Kind.CLASS.extension), classFile.getBytes());
+        }
+
+        progressListener.accept(100);
+    }
+
+    /**
+     * Checks that the sources can be compiled. Compiled classes are discarded.
+     * @param sources source code by class name
+     * @return compiler output or {@code null} if the sources are compiled successfully
+     */
+    public String validate(String classPath, Map<String, String> sources) throws InterruptedException, IOException {
+        if (sources.isEmpty()) {
+            return null;
+        }
+
+        StringWriter output = new StringWriter();
+
+        if (compile(createOptions(classPath, sources.size()), toSourceFiles(sources), new ConcurrentHashMap<>(), output)) {
+            return null;
+        }
+
+        if (sources.size() == 1) {
+            return output.toString();
+        }
+
+        // compiler doesn't check other classes if one of them has syntax errors, so classes are checked separately to get all errors
+        List<Callable<String>> tasks = new ArrayList<>();
+
+        for (Entry<String, String> source : sources.entrySet()) {
+            tasks.add(() -> validate(classPath, Collections.singletonMap(source.getKey(), source.getValue())));
+        }
+
+        StringBuilder errors = new StringBuilder();
+
+        for (String error : invokeAll(tasks)) {
+            if (error != null) {
+                errors.append(error);
+            }
+        }
+
+        return errors.length() > 0 ? errors.toString() : output.toString();
+    }
+
+    private void compileFiles(List<String> options, List<File> files, Map<String, ClassFile> classes) throws InterruptedException, IOException {
+        Thread.sleep(0); // let interrupt script compilation
+
+        List<JavaFileObject> units = new ArrayList<>();
+
+        for (File file : files) {
+            units.add(new SourceFile(file.toURI(), null));
+        }
+
+        StringWriter output = new StringWriter();
+
+        if (!compile(options, units, classes, output)) {
+            throw new ScriptRunException("Could not compile sources: " + EOL + output);
+        }
+    }
+
+    private boolean compile(List<String> options, Collection<? extends JavaFileObject> units, Map<String, ClassFile> classes, Writer output) throws IOException {
+        StandardJavaFileManager standardFileManager = fileManagers.poll();
+
+        if (standardFileManager == null) {
+            standardFileManager = compiler.getStandardFileManager(null, null, null);
+        }
+
+        boolean reusable = false;
+
+        try {
+            boolean compiled = compiler.getTask(output, new MemoryFileManager(standardFileManager, classes), null, options, null, units).call();
+            reusable = true;
+            return compiled;
+        } finally {
+            if (!reusable || !fileManagers.offer(standardFileManager)) {
+                standardFileManager.close();
+            }
+        }
+    }
+
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) throws InterruptedException, IOException {
+        List<Future<T>> futures = new ArrayList<>();
+
+        for (Callable<T> task : tasks) {
+            futures.add(executor.submit(task));
+        }
+
+        try {
+            List<T> results = new ArrayList<>();
+
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+
+            return results;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            }
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException)cause;
+            }
+
+            throw new ScriptRunException(cause);
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Splits files into groups of similar size.
+     * Number of groups isn't less than parallelism and size of each group is limited, so compiler doesn't need too much memory.
+     */
+    private List<List<File>> split(List<File> files) {
+        if (files.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        long totalSize = 0;
+
+        for (File file : files) {
+            totalSize += file.length();
+        }
+
+        int count = (int)Math.min(files.size(), Math.max(parallelism, (totalSize + MAX_GROUP_SIZE - 1) / MAX_GROUP_SIZE));
+        List<List<File>> groups = new ArrayList<>(count);
+        long[] sizes = new long[count];
+
+        for (int i = 0; i < count; i++) {
+            groups.add(new ArrayList<>());
+        }
+
+        files.sort(Comparator.comparingLong(File::length).reversed());
+
+        for (File file : files) {
+            int smallest = 0;
+
+            for (int i = 1; i < count; i++) {
+                if (sizes[i] < sizes[smallest]) {
+                    smallest = i;
+                }
+            }
+
+            groups.get(smallest).add(file);
+            sizes[smallest] += file.length();
+        }
+
+        return groups;
+    }
+
+    private static List<String> createOptions(String classPath, int classes) {
+        return Arrays.asList("-g", "-classpath", classPath, "-Xmaxerrs", String.valueOf(MAX_ERRORS_PER_CLASS * classes));
+    }
+
+    private static List<JavaFileObject> toSourceFiles(Map<String, String> sources) {
+        List<JavaFileObject> units = new ArrayList<>();
+
+        for (Entry<String, String> source : sources.entrySet()) {
+            units.add(new SourceFile(URI.create("string:///" + source.getKey().replace('.', '/') + Kind.SOURCE.extension), source.getValue()));
+        }
+
+        return units;
+    }
+
+    private static void checkExists(File file) {
+        if (!file.exists()) {
+            throw new ScriptRunException("Could not find file: '" + file + "'");
+        }
+    }
+
+    private static class DefaultHolder {
+        private static final ScriptCompiler INSTANCE = new ScriptCompiler(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Source which is read from the file or is kept in memory
+     */
+    private static class SourceFile extends SimpleJavaFileObject {
+
+        private final String content;
+
+        public SourceFile(URI uri, String content) {
+            super(uri, Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) throws IOException {
+            // generated files are written in the default charset
+            return content != null ? content : new String(Files.readAllBytes(new File(toUri()).toPath()), Charset.defaultCharset());
+        }
+    }
+
+    private static class ClassFile extends SimpleJavaFileObject {
+
+        private final String binaryName;
+        private volatile byte[] bytes = new byte[0];
+
+        public ClassFile(String binaryName) {
+            super(URI.create("memory:///" + binaryName.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+            this.binaryName = binaryName;
+        }
+
+        public String getBinaryName() {
+            return binaryName;
+        }
+
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public InputStream openInputStream() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    bytes = toByteArray();
+                }
+            };
+        }
+    }
+
+    /**
+     * Keeps compiled classes in memory and adds them to the class path
+     */
+    private static class MemoryFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+
+        private final Map<String, ClassFile> classes;
+
+        public MemoryFileManager(JavaFileManager fileManager, Map<String, ClassFile> classes) {
+            super(fileManager);
+            this.classes = classes;
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, Kind kind, FileObject sibling) throws IOException {
+            if (kind != Kind.CLASS) {
+                return super.getJavaFileForOutput(location, className, kind, sibling);
+            }
+
+            ClassFile classFile = new ClassFile(className);
+            classes.put(className, classFile);
+            return classFile;
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForInput(Location location, String className, Kind kind) throws IOException {
+            ClassFile classFile = location == StandardLocation.CLASS_PATH && kind == Kind.CLASS ? classes.get(className) : null;
+            return classFile != null ? classFile : super.getJavaFileForInput(location, className, kind);
+        }
+
+        @Override
+        public Iterable<JavaFileObject> list(Location location, String packageName, Set<Kind> kinds, boolean recurse) throws IOException {
+            Iterable<JavaFileObject> files = super.list(location, packageName, kinds, recurse);
+
+            if (location != StandardLocation.CLASS_PATH || !kinds.contains(Kind.CLASS)) {
+                return files;
+            }
+
+            List<JavaFileObject> result = new ArrayList<>();
+
+            for (ClassFile classFile : classes.values()) {
+                String name = classFile.getBinaryName();
+                int index = name.lastIndexOf('.');
+                String classPackage = index < 0 ? "" : name.substring(0, index);
+
+                if (classPackage.equals(packageName) || (recurse && classPackage.startsWith(packageName + '.'))) {
+                    result.add(classFile);
+                }
+            }
+
+            if (result.isEmpty()) {
+                return files;
+            }
+
+            files.forEach(result::add);
+            return result;
+        }
+
+        @Override
+        public String inferBinaryName(Location location, JavaFileObject file) {
+            return file instanceof ClassFile ? ((ClassFile)file).getBinaryName() : super.inferBinaryName(location, file);
+        }
+    }
+}
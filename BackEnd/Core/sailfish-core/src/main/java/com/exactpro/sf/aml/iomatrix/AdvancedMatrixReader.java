@@ -107,7 +107,7 @@ public class AdvancedMatrixReader implements AutoCloseable {
         case XLS:
             return new ExcelMatrixReader(matrixPath.getAbsolutePath(), false);
         case XLSX:
-            return new ExcelMatrixReader(matrixPath.getAbsolutePath(), true);
+            return new StreamingExcelMatrixReader(matrixPath.getAbsolutePath());
         case CSV:
             return new CSVMatrixReader(matrixPath.getAbsolutePath());
         case JSON:
@@ -124,7 +124,7 @@ public class AdvancedMatrixReader implements AutoCloseable {
         case XLS:
             return new ExcelMatrixReader(matrixPath.getAbsolutePath(), false);
         case XLSX:
-            return new ExcelMatrixReader(matrixPath.getAbsolutePath(), true);
+            return new StreamingExcelMatrixReader(matrixPath.getAbsolutePath());
         case CSV:
             return new CSVMatrixReader(matrixPath.getAbsolutePath(), encoding);
         case JSON:
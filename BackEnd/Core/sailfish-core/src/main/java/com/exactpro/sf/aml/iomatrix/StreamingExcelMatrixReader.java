@@ -0,0 +1,319 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.aml.iomatrix;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+/**
+ * Reads XLSX matrices row by row from the XML of the sheet without building the workbook in memory.
+ * Only shared strings and cell styles are kept in memory, so memory usage doesn't depend on the number of rows.
+ * Values of formula cells are taken from the values cached in the file instead of evaluating the formulas.
+ * Rows are returned the same way as by {@link ExcelMatrixReader}.
+ */
+public class StreamingExcelMatrixReader implements IMatrixReader {
+
+    private static final String ROW = "row";
+    private static final String CELL = "c";
+    private static final String VALUE = "v";
+    private static final String INLINE_STRING = "is";
+    private static final String TEXT = "t";
+    private static final String REFERENCE = "r";
+    private static final String TYPE = "t";
+    private static final String STYLE = "s";
+
+    private final OPCPackage opcPackage;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final InputStream sheetStream;
+    private final XMLStreamReader xmlReader;
+    private final DataFormatter dataFormatter;
+    private SimpleCell[] nextRow;
+    private int nextRowIndex = -1;
+    private int lastRowIndex = -1;
+
+    public StreamingExcelMatrixReader(String fileName) throws IOException {
+        this(fileName, 0);
+    }
+
+    public StreamingExcelMatrixReader(String fileName, int sheetNumber) throws IOException {
+        this(openPackage(fileName), sheetNumber);
+    }
+
+    /**
+     * The package is read from the stream into memory in the compressed form
+     */
+    public StreamingExcelMatrixReader(InputStream inputStream, int sheetNumber) throws IOException {
+        this(openPackage(inputStream), sheetNumber);
+    }
+
+    private StreamingExcelMatrixReader(OPCPackage opcPackage, int sheetNumber) throws IOException {
+        this.opcPackage = opcPackage;
+        this.dataFormatter = new DataFormatter(Locale.US, false, true);
+
+        try {
+            XSSFReader xssfReader = new XSSFReader(opcPackage);
+
+            this.sharedStrings = new ReadOnlySharedStringsTable(opcPackage, false);
+            this.styles = xssfReader.getStylesTable();
+            this.sheetStream = getSheet(xssfReader, sheetNumber);
+            this.xmlReader = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheetStream);
+
+            readRecord();
+        } catch (OpenXML4JException | SAXException | XMLStreamException | RuntimeException e) {
+            opcPackage.revert();
+            throw new IOException("Failed to read sheet " + sheetNumber, e);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            xmlReader.close();
+            sheetStream.close();
+        } finally {
+            // the package is opened for reading, so it is reverted instead of being saved on close
+            opcPackage.revert();
+        }
+    }
+
+    @Override
+    public SimpleCell[] readCells() throws IOException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        if (++lastRowIndex < nextRowIndex) {
+            return new SimpleCell[0];
+        }
+
+        SimpleCell[] cells = nextRow;
+
+        try {
+            readRecord();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to read row " + (lastRowIndex + 2), e);
+        }
+
+        return cells;
+    }
+
+    @Override
+    public String[] read() throws IOException {
+        SimpleCell[] cells = readCells();
+        String[] values = new String[cells.length];
+
+        for (int i = 0; i < cells.length; i++) {
+            values[i] = cells[i].getValue();
+        }
+
+        return values;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextRow != null;
+    }
+
+    private void readRecord() throws XMLStreamException {
+        nextRow = null;
+
+        while (xmlReader.hasNext()) {
+            if (xmlReader.next() == XMLStreamConstants.START_ELEMENT && ROW.equals(xmlReader.getLocalName())) {
+                String reference = xmlReader.getAttributeValue(null, REFERENCE);
+                nextRowIndex = reference != null ? Integer.parseInt(reference) - 1 : nextRowIndex + 1;
+                nextRow = readRow();
+                return;
+            }
+        }
+    }
+
+    private SimpleCell[] readRow() throws XMLStreamException {
+        List<SimpleCell> cells = new ArrayList<>();
+        boolean allEmpty = true;
+
+        while (xmlReader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (!CELL.equals(xmlReader.getLocalName())) {
+                skipElement();
+                continue;
+            }
+
+            String reference = xmlReader.getAttributeValue(null, REFERENCE);
+            int columnIndex = reference != null
+                    ? CellReference.convertColStringToIndex(StringUtils.stripEnd(reference, "0123456789")) : cells.size();
+
+            while (cells.size() < columnIndex) {
+                cells.add(new SimpleCell(""));
+            }
+
+            XSSFCellStyle style = getStyle(xmlReader.getAttributeValue(null, STYLE));
+            String value = readCellValue(xmlReader.getAttributeValue(null, TYPE), style).trim();
+
+            allEmpty &= value.isEmpty();
+
+            cells.add(new SimpleCell(value, style, nextRowIndex));
+        }
+
+        if (allEmpty) {
+            return new SimpleCell[0];
+        }
+
+        // drop all values after last non-empty cell
+        // otherwise a lot of empty (but styled) cells will be returned
+        int size = cells.size();
+
+        while (cells.get(size - 1).getValue().isEmpty()) {
+            size--;
+        }
+
+        return cells.subList(0, size).toArray(new SimpleCell[size]);
+    }
+
+    private String readCellValue(String type, XSSFCellStyle style) throws XMLStreamException {
+        String value = null;
+        StringBuilder inlineString = null;
+
+        while (xmlReader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String name = xmlReader.getLocalName();
+
+            if (VALUE.equals(name)) {
+                value = xmlReader.getElementText();
+            } else if (INLINE_STRING.equals(name)) {
+                inlineString = new StringBuilder();
+                readInlineString(inlineString);
+            } else {
+                // formula and other elements
+                skipElement();
+            }
+        }
+
+        if (inlineString != null) {
+            return inlineString.toString();
+        }
+
+        if (StringUtils.isEmpty(value)) {
+            return "";
+        }
+
+        switch (StringUtils.defaultString(type, "n")) {
+        case "s":
+            return sharedStrings.getItemAt(Integer.parseInt(value)).getString();
+        case "b":
+            return "0".equals(value) ? "FALSE" : "TRUE";
+        case "n":
+            return style != null
+                    ? dataFormatter.formatRawCellContents(Double.parseDouble(value), style.getDataFormat(), style.getDataFormatString())
+                    : dataFormatter.formatRawCellContents(Double.parseDouble(value), 0, "General");
+        default:
+            // formula strings, errors and ISO dates
+            return value;
+        }
+    }
+
+    private void readInlineString(StringBuilder builder) throws XMLStreamException {
+        int depth = 1;
+
+        while (depth > 0) {
+            int event = xmlReader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (TEXT.equals(xmlReader.getLocalName())) {
+                    builder.append(xmlReader.getElementText());
+                } else {
+                    depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+
+        while (depth > 0) {
+            int event = xmlReader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private XSSFCellStyle getStyle(String index) {
+        if (styles == null || styles.getNumCellStyles() == 0) {
+            return null;
+        }
+
+        return styles.getStyleAt(index != null ? Integer.parseInt(index) : 0);
+    }
+
+    private static InputStream getSheet(XSSFReader xssfReader, int sheetNumber) throws IOException, OpenXML4JException {
+        Iterator<InputStream> sheets = xssfReader.getSheetsData();
+
+        for (int i = 0; sheets.hasNext(); i++) {
+            InputStream sheet = sheets.next();
+
+            if (i == sheetNumber) {
+                return sheet;
+            }
+
+            sheet.close();
+        }
+
+        throw new IllegalArgumentException("Sheet index (" + sheetNumber + ") is out of range");
+    }
+
+    private static OPCPackage openPackage(String fileName) throws IOException {
+        try {
+            return OPCPackage.open(fileName, PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Failed to open " + fileName, e);
+        }
+    }
+
+    private static OPCPackage openPackage(InputStream inputStream) throws IOException {
+        try (InputStream stream = inputStream) {
+            return OPCPackage.open(stream);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Failed to open matrix", e);
+        }
+    }
+}
@@ -52,6 +52,7 @@ import com.exactpro.sf.comparison.ComparisonUtil;
 import com.exactpro.sf.comparison.Formatter;
 import com.exactpro.sf.comparison.IPostValidation;
 import com.exactpro.sf.comparison.MessageComparator;
+import com.exactpro.sf.comparison.PreparedMessageFilter;
 import com.exactpro.sf.configuration.IDataManager;
 import com.exactpro.sf.configuration.suri.SailfishURI;
 import com.exactpro.sf.configuration.suri.SailfishURIException;
@@ -273,7 +274,8 @@ public class WaitAction {
     // this is public because it's used in tests
     public static List<Pair<IMessage, ComparisonResult>> waitMessage(IServiceHandler handler, ISession session, ServiceHandlerRoute route, CheckPoint checkPoint, long timeout, IMessage filter, ComparatorSettings settings, Collection<String> storedMessageTypes, boolean invertStoredMessageTypes)
             throws InterruptedException {
-        CSHIterator<IMessage> messagesIterator = handler.getIterator(session, route, checkPoint);
+        // messages with other names are never matched by the filter
+        CSHIterator<IMessage> messagesIterator = handler.getIterator(session, route, checkPoint, filter.getName());
         return waitMessage(settings, filter, messagesIterator, timeout, storedMessageTypes, invertStoredMessageTypes);
     }
 
@@ -292,10 +294,12 @@ public class WaitAction {
             throw new WaitMessageException(String.format("Message - '%s' is not allowed. Check the 'Stored Message Type' and 'Invert Stored Message Types' options in your service settings", filter.getName()));
         }
 
+        PreparedMessageFilter preparedFilter = MessageComparator.prepare(filter, settings);
+
         while(messagesIterator.hasNext(endTime - System.currentTimeMillis())) {
             IMessage message = messagesIterator.next();
 
-            ComparisonResult result = MessageComparator.compare(message, filter, settings);
+            ComparisonResult result = preparedFilter.compare(message);
 
             if(result == null) {
                 continue;
@@ -548,7 +552,7 @@ public class WaitAction {
         log.debug("countMessages 1");
 
         List<Pair<IMessage, ComparisonResult>> allResults = new ArrayList<>();
-        CSHIterator<IMessage> messagesIterator = handler.getIterator(isession, fromApp ? FROM_APP : FROM_ADMIN, checkPoint);
+        CSHIterator<IMessage> messagesIterator = handler.getIterator(isession, fromApp ? FROM_APP : FROM_ADMIN, checkPoint, messageFilter.getName());
 
         countMessages(messageFilter, messagesIterator, settings, allResults);
 
@@ -617,28 +621,21 @@ public class WaitAction {
                                            CheckPoint checkPoint, boolean fromApp, ComparatorSettings settings,
                                            List<Pair<IMessage, ComparisonResult>> allResults) {
 
-        CSHIterator<IMessage> messagesIterator = handler.getIterator(isession, fromApp ? FROM_APP : FROM_ADMIN, checkPoint);
+        CSHIterator<IMessage> messagesIterator = handler.getIterator(isession, fromApp ? FROM_APP : FROM_ADMIN, checkPoint, messageFilter.getName());
         countMessages(messageFilter, messagesIterator, settings, allResults);
     }
 
     public static void countMessages(IMessage messageFilter, ICSHIterator<IMessage> messagesIterator,
                                      ComparatorSettings settings, List<Pair<IMessage, ComparisonResult>> allResults) {
 
+        PreparedMessageFilter preparedFilter = MessageComparator.prepare(messageFilter, settings);
+
         while (messagesIterator.hasNext()) {
             IMessage message = messagesIterator.next();
-            ComparisonResult result = MessageComparator.compare(message, messageFilter, settings);
-
-            if (result == null) {
-                continue;
-            }
-
-            // calculate number with failed status
-            // accept message if no fail results found
-            int count = ComparisonUtil.getResultCount(result, StatusType.FAILED);
-            count += ComparisonUtil.getResultCount(result, StatusType.CONDITIONALLY_FAILED);
 
-            if (count == 0) {
-                allResults.add(new Pair<>(message, result));
+            // accept message if no fail results found, the result is built only for accepted ones
+            if (preparedFilter.matches(message)) {
+                allResults.add(new Pair<>(message, preparedFilter.compare(message)));
                 messagesIterator.updateCheckPoint();
             }
         }
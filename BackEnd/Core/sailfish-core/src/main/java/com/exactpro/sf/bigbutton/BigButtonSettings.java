@@ -52,6 +52,9 @@ public class BigButtonSettings implements IMapableSettings, Serializable {
     private String emailFailedRecipients = "";
     private boolean showPreCeanDialog = true;
     private boolean cloneLoggingConfiguration;
+    private boolean durationAwareScheduling = true;
+    private boolean splitScriptLists;
+    private int schedulingHistoryDepth = 5;
 
     public BigButtonSettings() {
     }
@@ -70,6 +73,9 @@ public class BigButtonSettings implements IMapableSettings, Serializable {
         this.emailFailedRecipients = settings.emailFailedRecipients;
         this.showPreCeanDialog = settings.showPreCeanDialog;
         this.cloneLoggingConfiguration = settings.cloneLoggingConfiguration;
+        this.durationAwareScheduling = settings.durationAwareScheduling;
+        this.splitScriptLists = settings.splitScriptLists;
+        this.schedulingHistoryDepth = settings.schedulingHistoryDepth;
     }
 
     public boolean isShowPreCeanDialog() {
@@ -137,6 +143,30 @@ public class BigButtonSettings implements IMapableSettings, Serializable {
         this.cloneLoggingConfiguration = cloneLoggingConfiguration;
     }
 
+    public boolean isDurationAwareScheduling() {
+        return durationAwareScheduling;
+    }
+
+    public void setDurationAwareScheduling(boolean durationAwareScheduling) {
+        this.durationAwareScheduling = durationAwareScheduling;
+    }
+
+    public boolean isSplitScriptLists() {
+        return splitScriptLists;
+    }
+
+    public void setSplitScriptLists(boolean splitScriptLists) {
+        this.splitScriptLists = splitScriptLists;
+    }
+
+    public int getSchedulingHistoryDepth() {
+        return schedulingHistoryDepth;
+    }
+
+    public void setSchedulingHistoryDepth(int schedulingHistoryDepth) {
+        this.schedulingHistoryDepth = schedulingHistoryDepth;
+    }
+
     @SuppressWarnings("incomplete-switch")
     public List<String> getFinalRecipients(StatusType status) {
         StringBuilder emailRecipients = new StringBuilder(this.emailRecipients);
@@ -20,7 +20,9 @@ import static com.exactpro.sf.util.LogUtils.LOG4J_PROPERTIES_FILE_NAME;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Semaphore;
 
 import org.slf4j.Logger;
@@ -31,6 +33,8 @@ import com.exactpro.sf.bigbutton.execution.ExecutionProgressMonitor;
 import com.exactpro.sf.bigbutton.execution.ExecutorClient;
 import com.exactpro.sf.bigbutton.execution.ProgressView;
 import com.exactpro.sf.bigbutton.execution.RegressionRunnerUtils;
+import com.exactpro.sf.bigbutton.execution.ScriptDurationEstimator;
+import com.exactpro.sf.bigbutton.execution.ScriptListScheduler;
 import com.exactpro.sf.bigbutton.importing.LibraryImportResult;
 import com.exactpro.sf.bigbutton.library.Executor;
 import com.exactpro.sf.bigbutton.library.Library;
@@ -127,6 +131,8 @@ public class RegressionRunner implements AutoCloseable {
 
 	private void fillQueue(CombineQueue<ScriptList> listsQueue) {
 
+        List<ScriptList> scriptLists = new ArrayList<>();
+
 		for (ScriptList list : library.getScriptLists()) {
 
             if (list.isRejected()) {
@@ -134,6 +140,16 @@ public class RegressionRunner implements AutoCloseable {
                 continue;
             }
 
+            scriptLists.add(list);
+
+		}
+
+        if (settings.isDurationAwareScheduling()) {
+            scriptLists = schedule(scriptLists);
+        }
+
+        for (ScriptList list : scriptLists) {
+
 			monitor.listEnqueued(list);
 
 			listsQueue.add(list.getExecutor(), list);
@@ -142,6 +158,33 @@ public class RegressionRunner implements AutoCloseable {
 
 	}
 
+    private List<ScriptList> schedule(List<ScriptList> scriptLists) {
+
+        new ScriptDurationEstimator(statisticsService, settings.getSchedulingHistoryDepth()).estimate(scriptLists);
+
+        Set<String> executorNames = new HashSet<>();
+
+        for (ExecutorClient client : executorClients) {
+            if (!client.getExecutor().isRejected()) {
+                executorNames.add(client.getExecutor().getName());
+            }
+        }
+
+        List<ScriptList> result = scriptLists;
+
+        if (settings.isSplitScriptLists()) {
+            result = ScriptListScheduler.split(scriptLists, executorNames.size());
+            logger.info("{} script lists were split into {} lists", scriptLists.size(), result.size());
+        }
+
+        long predictedDuration = ScriptListScheduler.predictMakespan(result, executorNames);
+
+        logger.info("Predicted execution time on {} executors: {} ms", executorNames.size(), predictedDuration);
+        monitor.setPredictedDuration(predictedDuration);
+
+        return result;
+    }
+
 	// clear run results
 	public void reset() {
         logger.info("BigButton reset has been called");
@@ -184,7 +227,9 @@ public class RegressionRunner implements AutoCloseable {
 
 				this.executorClients = new ArrayList<>();
 
-				CombineQueue<ScriptList> listsQueue = new CombineQueue<>();
+				CombineQueue<ScriptList> listsQueue = settings.isDurationAwareScheduling()
+                        ? new CombineQueue<>(ScriptListScheduler.ORDER)
+                        : new CombineQueue<>();
 
 				ExecutionProgressMonitor newMonitor = new ExecutionProgressMonitor(this);
 
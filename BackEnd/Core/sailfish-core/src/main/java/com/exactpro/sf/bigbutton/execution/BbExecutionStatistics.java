@@ -35,6 +35,8 @@ public class BbExecutionStatistics implements Serializable {
 
     private long numNonPreparedScripts;
 
+    private long predictedDuration;
+
 	public BbExecutionStatistics() {
 
 	}
@@ -49,6 +51,7 @@ public class BbExecutionStatistics implements Serializable {
 		this.numFailedTcs = toClone.numFailedTcs;
 		this.numInitFailed = toClone.numInitFailed;
         this.numNonPreparedScripts = toClone.numNonPreparedScripts;
+        this.predictedDuration = toClone.predictedDuration;
 	}
 
     public void incNumPassedTcs(long value) {
@@ -106,4 +109,15 @@ public class BbExecutionStatistics implements Serializable {
     public long getNumNonPreparedScripts() {
         return numNonPreparedScripts;
     }
+
+    /**
+     * @return predicted execution time in milliseconds or 0 if it was not predicted
+     */
+    public long getPredictedDuration() {
+        return predictedDuration;
+    }
+
+    public void setPredictedDuration(long predictedDuration) {
+        this.predictedDuration = predictedDuration;
+    }
 }
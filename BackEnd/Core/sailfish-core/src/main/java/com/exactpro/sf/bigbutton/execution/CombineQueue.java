@@ -15,26 +15,47 @@
  ******************************************************************************/
 package com.exactpro.sf.bigbutton.execution;
 
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Queue of elements for named consumers. Each consumer takes elements from its own queue first and from the common queue
+ * when its own queue is empty. Elements are taken in the order of the comparator and in the order of addition when
+ * the comparator considers them equal.
+ */
 public class CombineQueue<T> {
+
+    private final Comparator<? super T> comparator;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final BlockingQueue<Entry<T>> commonQueue;
     
-    private final BlockingQueue<T> commonQueue = new LinkedBlockingQueue<>();
-    
-    private final Map<String, BlockingQueue<T>> exeutorToQueue = new HashMap<>();
+    private final Map<String, BlockingQueue<Entry<T>>> exeutorToQueue = new HashMap<>();
+
+    public CombineQueue() {
+        this((first, second) -> 0);
+    }
+
+    public CombineQueue(Comparator<? super T> comparator) {
+        this.comparator = Objects.requireNonNull(comparator, "comparator cannot be null");
+        this.commonQueue = createQueue();
+    }
     
     public void register(String name) {
-        if(exeutorToQueue.put(name, new LinkedBlockingQueue<>()) != null) {
+        if(exeutorToQueue.put(name, createQueue()) != null) {
             throw new IllegalArgumentException("Name '"+ name +"' is already registered");
         }
     }
 
     public void add(String name, T element) {
-        getQueue(name).add(element);
+        getQueue(name).add(new Entry<>(element, sequence.getAndIncrement()));
     }
     
     public void add(T element) {
@@ -42,21 +63,29 @@ public class CombineQueue<T> {
     }
     
     public T poll(String name, long timeout, TimeUnit unit) throws InterruptedException {
-        return getNamedOrCommonQueue(name).poll(timeout, unit);
+        Entry<T> entry = getNamedOrCommonQueue(name).poll(timeout, unit);
+        return entry != null ? entry.element : null;
     }
     
     public T poll(long timeout, TimeUnit unit) throws InterruptedException {
         return poll(null, timeout, unit);
     }
+
+    private BlockingQueue<Entry<T>> createQueue() {
+        return new PriorityBlockingQueue<>(11, (first, second) -> {
+            int result = comparator.compare(first.element, second.element);
+            return result != 0 ? result : Long.compare(first.sequence, second.sequence);
+        });
+    }
     
-    private BlockingQueue<T> getNamedOrCommonQueue(String name) {
-        BlockingQueue<T> result = getQueue(name);
+    private BlockingQueue<Entry<T>> getNamedOrCommonQueue(String name) {
+        BlockingQueue<Entry<T>> result = getQueue(name);
         return result.isEmpty() ? commonQueue : result;
     }
     
-    private BlockingQueue<T> getQueue(String name) {
+    private BlockingQueue<Entry<T>> getQueue(String name) {
         if (name != null) {
-            BlockingQueue<T> queue = exeutorToQueue.get(name);
+            BlockingQueue<Entry<T>> queue = exeutorToQueue.get(name);
             if (queue != null) {
                 return queue;
             } else {
@@ -66,4 +95,14 @@ public class CombineQueue<T> {
 
         return commonQueue;
     }
+
+    private static class Entry<T> {
+        private final T element;
+        private final long sequence;
+
+        public Entry(T element, long sequence) {
+            this.element = element;
+            this.sequence = sequence;
+        }
+    }
 }
@@ -122,6 +122,13 @@ public class ExecutionProgressMonitor {
 		}
 
         executionStatistics.setFinished(new Date());
+
+        if (executionStatistics.getPredictedDuration() > 0 && executionStatistics.getStarted() != null) {
+            logger.info("BigButton execution took {} ms, predicted {} ms",
+                    executionStatistics.getFinished().getTime() - executionStatistics.getStarted().getTime(),
+                    executionStatistics.getPredictedDuration());
+        }
+
 		this.finished = true;
         this.importErrors = null;
         try {
@@ -202,6 +209,10 @@ public class ExecutionProgressMonitor {
         executionStatistics.incNumNonPreparedScripts(list.getScripts().size());
     }
 
+    public synchronized void setPredictedDuration(long predictedDuration) {
+        executionStatistics.setPredictedDuration(predictedDuration);
+    }
+
 	public synchronized void decreaseTotalScriptCount(int count) {
 
 		this.totalScriptsCount -= count;
@@ -92,6 +92,10 @@ import com.google.common.collect.Iterators;
 public class ExecutorClient {
 
     private static final int TIMEOUT_FOR_CHECK_TEST_SCRIPT_STATUS = 500;
+
+    private static final int TIMEOUT_FOR_CHECK_TEST_SCRIPT_EXECUTION = 1000;
+
+    private static final int TIMEOUT_FOR_WAIT_TEST_SCRIPT_CHANGE = 5000;
 	
 	private static final Logger logger = LoggerFactory.getLogger(ExecutorClient.class);
 	
@@ -559,6 +563,8 @@ public class ExecutorClient {
 
 			ScriptExecutionStatistics statistics = script.getStatistics();
 
+			XmlTestScriptShortReport response = null;
+
 			while(true) {
 
 				try {
@@ -569,9 +575,7 @@ public class ExecutorClient {
 						return null;
 					}
 
-					Thread.sleep(1000);
-
-					XmlTestScriptShortReport response = apiClient.getTestScriptRunShortReport(id);
+					response = waitForTestScriptChange(id, response, TIMEOUT_FOR_CHECK_TEST_SCRIPT_EXECUTION);
 
 					if(response != null) {
 						logger.debug("Status: {}", response);
@@ -713,11 +717,12 @@ public class ExecutorClient {
          */
         private void waitForCompileTestScript(int testScriptId) throws InterruptedException{
             try {
+                XmlTestScriptShortReport report = null;
                 ScriptState scriptState;
-                while (!(scriptState = apiClient.getTestScriptRunInfo(testScriptId).getScriptState()).isTerminateState()
-                    && scriptState != ScriptState.READY) {
-                    Thread.sleep(TIMEOUT_FOR_CHECK_TEST_SCRIPT_STATUS);
-                }
+                do {
+                    report = waitForTestScriptChange(testScriptId, report, TIMEOUT_FOR_CHECK_TEST_SCRIPT_STATUS);
+                    scriptState = ScriptState.valueOf(report.getState());
+                } while (!scriptState.isTerminateState() && scriptState != ScriptState.READY);
             } catch (APICallException | APIResponseException e) {
                 throw new EPSCommonException("Could not get scripts state for test script with id + {" + testScriptId + '}', e);
             }
@@ -1250,14 +1255,38 @@ public class ExecutorClient {
         try {
             //FIXME: !!! isTerminateState in ScriptState is mean that TestScriptRunReport may not locked.
             // If report isn`t locked we can`t delete testScript
-            while (apiClient.getTestScriptRunShortReport(testScriptId).isLocked()) {
-                Thread.sleep(TIMEOUT_FOR_CHECK_TEST_SCRIPT_STATUS);
-            }
+            XmlTestScriptShortReport report = null;
+            do {
+                report = waitForTestScriptChange(testScriptId, report, TIMEOUT_FOR_CHECK_TEST_SCRIPT_STATUS);
+            } while (report.isLocked());
         } catch (APIResponseException | APICallException e) {
             throw new EPSCommonException("Could not perform api call for getting test script status with id: " + testScriptId, e);
         }
     }
 
+    /**
+     * Waits for the next change of the test script run on the executor.
+     * Executors which support waiting for changes return the revision in the short report,
+     * other executors are polled with the specified interval.
+     * @param testScriptId id of the test script run
+     * @param previous the last received report or null to get the current one immediately
+     * @param pollingInterval interval between requests when polling is used
+     */
+    private XmlTestScriptShortReport waitForTestScriptChange(int testScriptId, XmlTestScriptShortReport previous, long pollingInterval)
+            throws InterruptedException, APICallException, APIResponseException {
+        if (previous == null) {
+            return apiClient.getTestScriptRunShortReport(testScriptId);
+        }
+
+        if (previous.getRevision() != null) {
+            return apiClient.waitTestScriptRunShortReport(testScriptId, previous.getRevision(), TIMEOUT_FOR_WAIT_TEST_SCRIPT_CHANGE);
+        }
+
+        Thread.sleep(pollingInterval);
+
+        return apiClient.getTestScriptRunShortReport(testScriptId);
+    }
+
     private void deleteMatrix() {
         try {
             if (currentList != null) {
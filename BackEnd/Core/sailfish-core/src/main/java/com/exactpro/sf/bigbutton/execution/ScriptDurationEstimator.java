@@ -0,0 +1,122 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.bigbutton.execution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FilenameUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.exactpro.sf.bigbutton.library.Script;
+import com.exactpro.sf.bigbutton.library.ScriptList;
+import com.exactpro.sf.embedded.statistics.StatisticsService;
+import com.exactpro.sf.util.DateTimeUtility;
+
+/**
+ * Estimates execution time of scripts by the durations of their previous runs stored in the statistics DB.
+ * A matrix is looked up by the name it is uploaded to executors with.
+ */
+public class ScriptDurationEstimator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScriptDurationEstimator.class);
+
+    private static final long DEFAULT_DURATION = TimeUnit.MINUTES.toMillis(1);
+
+    private static final int HISTORY_DAYS = 90;
+
+    private final StatisticsService statisticsService;
+
+    private final int historyDepth;
+
+    public ScriptDurationEstimator(StatisticsService statisticsService, int historyDepth) {
+        this.statisticsService = statisticsService;
+        this.historyDepth = Math.max(historyDepth, 1);
+    }
+
+    /**
+     * Sets estimated duration of each script to the median duration of its last runs.
+     * Scripts without history get the average estimate of the other scripts.
+     */
+    public void estimate(Collection<ScriptList> scriptLists) {
+        Map<String, List<Script>> matrixToScripts = new HashMap<>();
+
+        for (ScriptList list : scriptLists) {
+            for (Script script : list.getScripts()) {
+                matrixToScripts.computeIfAbsent(FilenameUtils.getName(script.getPath()), name -> new ArrayList<>()).add(script);
+            }
+        }
+
+        Map<String, List<Long>> history = loadHistory(matrixToScripts.keySet());
+        List<Script> unknown = new ArrayList<>();
+        long knownSum = 0;
+        int knownCount = 0;
+
+        for (Map.Entry<String, List<Script>> entry : matrixToScripts.entrySet()) {
+            List<Long> durations = history.get(entry.getKey());
+
+            if (durations == null || durations.isEmpty()) {
+                unknown.addAll(entry.getValue());
+                continue;
+            }
+
+            long estimate = median(durations);
+
+            for (Script script : entry.getValue()) {
+                script.setEstimatedDuration(estimate);
+                knownSum += estimate;
+                knownCount++;
+            }
+        }
+
+        long defaultEstimate = knownCount > 0 ? knownSum / knownCount : DEFAULT_DURATION;
+
+        for (Script script : unknown) {
+            script.setEstimatedDuration(defaultEstimate);
+        }
+
+        logger.info("Estimated durations of {} scripts; {} scripts without history got {} ms", knownCount + unknown.size(),
+                unknown.size(), defaultEstimate);
+    }
+
+    private Map<String, List<Long>> loadHistory(Collection<String> matrixNames) {
+        if (statisticsService == null || !statisticsService.isConnected()) {
+            logger.info("Statistics service is not connected. Scripts durations are unknown");
+            return Collections.emptyMap();
+        }
+
+        try {
+            return statisticsService.getReportingStorage().getMatrixRunDurations(matrixNames,
+                    DateTimeUtility.nowLocalDateTime().minusDays(HISTORY_DAYS), historyDepth);
+        } catch (Exception e) {
+            logger.error("Failed to load scripts durations", e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static long median(List<Long> durations) {
+        List<Long> sorted = new ArrayList<>(durations);
+        Collections.sort(sorted);
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 0 ? (sorted.get(middle - 1) + sorted.get(middle)) / 2 : sorted.get(middle);
+    }
+}
@@ -0,0 +1,156 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.bigbutton.execution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.exactpro.sf.bigbutton.library.Script;
+import com.exactpro.sf.bigbutton.library.ScriptList;
+
+/**
+ * Longest-processing-time-first scheduling of script lists by their estimated durations.
+ * Free executors take the longest list of the highest priority, so the order of {@link #ORDER} in {@link CombineQueue}
+ * is enough to get LPT assignment at run time, including lists returned to the queue by failed executors.
+ */
+public class ScriptListScheduler {
+
+    /**
+     * Higher priority first, longer estimated duration first within the same priority
+     */
+    public static final Comparator<ScriptList> ORDER = Comparator.comparingLong(ScriptList::getPriority).reversed()
+            .thenComparing(Comparator.comparingLong(ScriptList::getEstimatedDuration).reversed());
+
+    private ScriptListScheduler() {
+    }
+
+    /**
+     * Splits lists which are not bound to an executor and which are longer than the lower bound of the makespan
+     * (the total duration divided by the number of executors or the longest script) into consecutive parts not longer than the bound.
+     * @param scriptLists lists to split
+     * @param executorsCount number of executors the lists will be executed on
+     * @return lists to enqueue
+     */
+    public static List<ScriptList> split(List<ScriptList> scriptLists, int executorsCount) {
+        if (executorsCount < 2) {
+            return scriptLists;
+        }
+
+        long total = 0;
+        long longestScript = 0;
+
+        for (ScriptList list : scriptLists) {
+            for (Script script : list.getScripts()) {
+                total += script.getEstimatedDuration();
+                longestScript = Math.max(longestScript, script.getEstimatedDuration());
+            }
+        }
+
+        long limit = Math.max(total / executorsCount, longestScript);
+        List<ScriptList> result = new ArrayList<>();
+
+        for (ScriptList list : scriptLists) {
+            result.addAll(split(list, limit));
+        }
+
+        return result;
+    }
+
+    static List<ScriptList> split(ScriptList list, long limit) {
+        if (list.getExecutor() != null || list.getScripts().size() < 2 || list.getEstimatedDuration() <= limit) {
+            return Collections.singletonList(list);
+        }
+
+        List<List<Script>> parts = new ArrayList<>();
+        List<Script> part = new ArrayList<>();
+        long partDuration = 0;
+
+        for (Script script : list.getScripts()) {
+            if (!part.isEmpty() && partDuration + script.getEstimatedDuration() > limit) {
+                parts.add(part);
+                part = new ArrayList<>();
+                partDuration = 0;
+            }
+
+            part.add(script);
+            partDuration += script.getEstimatedDuration();
+        }
+
+        parts.add(part);
+
+        if (parts.size() == 1) {
+            return Collections.singletonList(list);
+        }
+
+        List<ScriptList> result = new ArrayList<>(parts.size());
+
+        for (int i = 0; i < parts.size(); i++) {
+            ScriptList partList = new ScriptList(list.getName() + "_" + (i + 1), null, list.getServiceLists(), list.getApiOptions(),
+                    list.getPriority(), list.getLineNumber(), list.getVariableSet());
+
+            for (Script script : parts.get(i)) {
+                partList.addNested(script);
+            }
+
+            result.add(partList);
+        }
+
+        return result;
+    }
+
+    /**
+     * Simulates execution of the lists: each executor runs the lists bound to it first,
+     * then lists from the common queue are taken in {@link #ORDER} by the least loaded executor.
+     * @param scriptLists lists to execute
+     * @param executorNames names of the executors which take part in execution
+     * @return predicted duration of the whole execution in milliseconds
+     */
+    public static long predictMakespan(Collection<ScriptList> scriptLists, Collection<String> executorNames) {
+        if (executorNames.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Long> loads = new HashMap<>();
+        List<ScriptList> common = new ArrayList<>();
+
+        for (String executorName : executorNames) {
+            loads.put(executorName, 0L);
+        }
+
+        for (ScriptList list : scriptLists) {
+            if (list.getExecutor() == null) {
+                common.add(list);
+            } else if (loads.containsKey(list.getExecutor())) {
+                loads.merge(list.getExecutor(), list.getEstimatedDuration(), Long::sum);
+            }
+        }
+
+        common.sort(ORDER);
+
+        for (ScriptList list : common) {
+            Entry<String, Long> leastLoaded = Collections.min(loads.entrySet(), Entry.comparingByValue());
+            leastLoaded.setValue(leastLoaded.getValue() + list.getEstimatedDuration());
+        }
+
+        return Collections.max(loads.values());
+    }
+}
@@ -55,6 +55,8 @@ public class Script implements Serializable, IBBActionExecutor {
 
     private ScriptRemoteInformation remoteInformation = null;
 
+    private long estimatedDuration;
+
     public static class ScriptRemoteInformation {
         private long testScriptId;
         private long matrixId;
@@ -180,6 +182,17 @@ public class Script implements Serializable, IBBActionExecutor {
         this.cause = cause;
     }
 
+    /**
+     * @return expected execution time in milliseconds or 0 if it is unknown
+     */
+    public long getEstimatedDuration() {
+        return estimatedDuration;
+    }
+
+    public void setEstimatedDuration(long estimatedDuration) {
+        this.estimatedDuration = estimatedDuration;
+    }
+
     public ScriptRemoteInformation getRemoteInformation() {
         return remoteInformation;
     }
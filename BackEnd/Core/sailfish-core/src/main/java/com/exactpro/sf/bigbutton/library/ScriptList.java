@@ -130,6 +130,19 @@ public class ScriptList extends AbstractLibraryItem implements Comparable<Script
 		return priority;
 	}
 
+    /**
+     * @return expected execution time of the scripts in milliseconds
+     */
+    public long getEstimatedDuration() {
+        long result = 0;
+
+        for (Script script : scripts) {
+            result += script.getEstimatedDuration();
+        }
+
+        return result;
+    }
+
 	public ListExecutionStatistics getExecutionStatistics() {
 		return executionStatistics;
 	}
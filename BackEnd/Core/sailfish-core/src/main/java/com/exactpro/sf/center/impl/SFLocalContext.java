@@ -87,6 +87,7 @@ import com.exactpro.sf.services.IServiceContext;
 import com.exactpro.sf.services.ITaskExecutor;
 import com.exactpro.sf.services.ServiceMarshalManager;
 import com.exactpro.sf.services.TaskExecutor;
+import com.exactpro.sf.services.VirtualThreadTaskExecutor;
 import com.exactpro.sf.storage.BaseStorageSettings;
 import com.exactpro.sf.storage.DBStorageSettings;
 import com.exactpro.sf.storage.IAuthStorage;
@@ -286,7 +287,7 @@ public class SFLocalContext implements ISFContext {
 
 		optionsStorage = createOptionsStorage(envSettings, storage, workspaceDispatcher);
 
-        taskExecutor = new TaskExecutor();
+        taskExecutor = createTaskExecutor(envSettings);
         disposables.add(taskExecutor);
 
 		loggingConfigurator = new LoggingConfigurator(wd, loggingConfiguration);
@@ -357,7 +358,8 @@ public class SFLocalContext implements ISFContext {
         		serviceStorage,
         		createEnvironmentStorage(envSettings, storage, workspaceDispatcher),
                 createVariableSetStorage(envSettings, storage, workspaceDispatcher),
-                serviceContext);
+                serviceContext,
+                envSettings.getServiceStartParallelism());
         disposables.add(connectionManager);
 
         this.serviceMarshalManager = new ServiceMarshalManager(staticServiceManager, dictionaryManager);
@@ -375,6 +377,7 @@ public class SFLocalContext implements ISFContext {
 		ScriptRunnerSettings runnerSettings = new ScriptRunnerSettings();
 		runnerSettings.setCompilerPriority(envSettings.getMatrixCompilerPriority());
 		runnerSettings.setExcludedMessages(envSettings.getExcludedMessages());
+		runnerSettings.setCompiledScriptCacheSize(envSettings.getCompiledScriptCacheSize());
 		this.scriptRunner = envSettings.isAsyncRunMatrix()
 				? new AsyncScriptRunner(workspaceDispatcher, dictionaryManager, actionManager, utilityManager, languageManager, preprocessorLoader, validatorLoader, runnerSettings, statisticsService, environmentManager, testScriptStorage, adapterManager, staticServiceManager, compilerClassPath)
 				: new SyncScriptRunner(workspaceDispatcher, dictionaryManager, actionManager, utilityManager, languageManager, preprocessorLoader, validatorLoader, runnerSettings, statisticsService, environmentManager, testScriptStorage, adapterManager, staticServiceManager, compilerClassPath);
@@ -443,6 +446,17 @@ public class SFLocalContext implements ISFContext {
         }
 	}
 
+    private ITaskExecutor createTaskExecutor(EnvironmentSettings envSettings) {
+        switch(envSettings.getTaskExecutorType()) {
+        case THREAD_POOL:
+            return new TaskExecutor();
+        case VIRTUAL_THREADS:
+            return new VirtualThreadTaskExecutor();
+        default:
+            throw new EPSCommonException("Unsupported task executor type: " + envSettings.getTaskExecutorType());
+        }
+    }
+
     private IServiceStorage createServiceStorage(EnvironmentSettings envSettings, SessionFactory sessionFactory, IWorkspaceDispatcher workspaceDispatcher, IStaticServiceManager staticServiceManager, IDictionaryManager dictionaryManager,
             IMessageStorage messageStorage, List<IServiceStorage> secondaryStorages) {
 	    IServiceStorage primaryStorage;
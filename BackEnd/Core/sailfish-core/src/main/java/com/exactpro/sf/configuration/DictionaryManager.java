@@ -33,8 +33,13 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
@@ -88,17 +93,19 @@ public class DictionaryManager implements IDictionaryManager, ILoadableManager {
 	private final UtilityManager utilityManager;
 
 	// URI -> file_name (relative to DICTIONARIES)
-	private final Map<SailfishURI, String> location = new HashMap<>();
+	private final Map<SailfishURI, String> location = new ConcurrentHashMap<>();
 	// URI -> DictionarySettings
-	private final Map<SailfishURI, DictionarySettings> dictSettings = new HashMap<>();
+	private final Map<SailfishURI, DictionarySettings> dictSettings = new ConcurrentHashMap<>();
 	// URI -> DictionaryStructure
-	private final Map<SailfishURI, IDictionaryStructure> dicts = new HashMap<>();
+	// Caches are read without locking. A future is published before loading so concurrent first requests wait for the same load.
+	// Invalidation of all dictionaries replaces the whole map, so readers see either the old or the new cache
+	private volatile ConcurrentMap<SailfishURI, CompletableFuture<IDictionaryStructure>> dicts = new ConcurrentHashMap<>();
 	// URI -> IMessageFactory
-	private final Map<SailfishURI, IMessageFactory> factories = new HashMap<>();
+	private volatile ConcurrentMap<SailfishURI, CompletableFuture<IMessageFactory>> factories = new ConcurrentHashMap<>();
 	// plugin alias -> list of dictionary URI's
 	private final SetMultimap<String, SailfishURI> pluginDictTitles = HashMultimap.create();
 
-    private long dictLoadedCounter;
+    private final AtomicLong dictLoadedCounter = new AtomicLong();
 
     private final Map<SailfishURI, Long> dictionaryIds = new ConcurrentHashMap<>();
 
@@ -231,69 +238,105 @@ public class DictionaryManager implements IDictionaryManager, ILoadableManager {
     }
 
 	@Override
-	public synchronized IDictionaryStructure getDictionary(SailfishURI uri) throws RuntimeException {
-        IDictionaryStructure dict = SailfishURIUtils.getMatchingValue(uri, dicts, SailfishURIRule.REQUIRE_RESOURCE);
+	public IDictionaryStructure getDictionary(SailfishURI uri) throws RuntimeException {
+	    return getOrLoad(dicts, uri, this::loadDictionary);
+	}
 
-		if (dict == null) {
+	@Override
+	public DictionarySettings getSettings(SailfishURI uri) {
+	    return SailfishURIUtils.getMatchingValue(uri, dictSettings, SailfishURIRule.REQUIRE_RESOURCE);
+	}
 
-			this.dictLoadedCounter++;
-            dictionaryIds.put(uri, dictLoadedCounter);
+	@Override
+	public IMessageFactory getMessageFactory(SailfishURI uri) {
+	    return getOrLoad(factories, uri, key -> ObjectUtils.defaultIfNull(loadFactory(key), DefaultMessageFactory.getFactory()));
+	}
 
-            String resource = SailfishURIUtils.getMatchingValue(uri, location, SailfishURIRule.REQUIRE_RESOURCE);
+	/**
+	 * Returns cached value for the URI or loads it. Only the first of concurrent callers loads the value, the others wait for it.
+	 * A failed load isn't cached, including a load failed with an {@link Error}, so waiting callers don't hang.
+	 */
+	static <T> T getOrLoad(ConcurrentMap<SailfishURI, CompletableFuture<T>> cache, SailfishURI uri, Function<SailfishURI, T> loader) {
+	    CompletableFuture<T> future = cache.get(uri);
 
-			if (resource == null) {
-				throw new RuntimeException("No dictionary found for URI: " + uri);
-			}
+	    if (future == null) {
+	        future = SailfishURIUtils.getMatchingValue(uri, cache, SailfishURIRule.REQUIRE_RESOURCE);
+	    }
 
-            dict = createMessageDictionary(resource);
+	    if (future == null) {
+	        CompletableFuture<T> loading = new CompletableFuture<>();
+	        future = cache.putIfAbsent(uri, loading);
+
+	        if (future == null) {
+	            try {
+	                loading.complete(loader.apply(uri));
+	            } catch (Throwable t) {
+	                cache.remove(uri, loading);
+	                loading.completeExceptionally(t);
+	                throw t;
+	            }
+	            return loading.join();
+	        }
+	    }
 
-			if (dict == null) {
-				throw new RuntimeException("Can not create dictionary for URI: " + uri +", resource = "+resource);
-			}
+	    try {
+	        return future.join();
+	    } catch (CompletionException e) {
+	        if (e.getCause() instanceof RuntimeException) {
+	            throw (RuntimeException)e.getCause();
+	        }
+	        if (e.getCause() instanceof Error) {
+	            throw (Error)e.getCause();
+	        }
+	        throw e;
+	    }
+	}
 
-            dicts.put(uri, dict);
+	private IDictionaryStructure loadDictionary(SailfishURI uri) {
+	    dictionaryIds.put(uri, dictLoadedCounter.incrementAndGet());
 
-			logger.info("Dictionary {} was loaded", uri);
-		}
+	    String resource = SailfishURIUtils.getMatchingValue(uri, location, SailfishURIRule.REQUIRE_RESOURCE);
 
-		return dict;
-	}
+	    if (resource == null) {
+	        throw new RuntimeException("No dictionary found for URI: " + uri);
+	    }
 
-	@Override
-	public synchronized DictionarySettings getSettings(SailfishURI uri) {
-	    return SailfishURIUtils.getMatchingValue(uri, dictSettings, SailfishURIRule.REQUIRE_RESOURCE);
-	}
+	    IDictionaryStructure dict = createMessageDictionary(resource);
 
-	@Override
-	public synchronized  IMessageFactory getMessageFactory(SailfishURI uri) {
-		IMessageFactory factory = SailfishURIUtils.getMatchingValue(uri, factories, SailfishURIRule.REQUIRE_RESOURCE);
-		if (factory == null) {
-            factory = ObjectUtils.defaultIfNull(loadFactory(uri), DefaultMessageFactory.getFactory());
-			factories.put(uri, factory);
-		}
-		return factory;
+	    if (dict == null) {
+	        throw new RuntimeException("Can not create dictionary for URI: " + uri +", resource = "+resource);
+	    }
+
+	    logger.info("Dictionary {} was loaded", uri);
+
+	    return dict;
 	}
 
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-        for(Entry<SailfishURI, IDictionaryStructure> e : dicts.entrySet()) {
+        for(Entry<SailfishURI, CompletableFuture<IDictionaryStructure>> e : dicts.entrySet()) {
+            IDictionaryStructure dictionary = e.getValue().getNow(null);
+            if(dictionary == null) {
+                continue;
+            }
             if(sb.length() > 0) {
                 sb.append(", ");
             }
 			sb.append(e.getKey());
 			sb.append(" = ");
-			sb.append(e.getValue().getNamespace());
+			sb.append(dictionary.getNamespace());
 		}
 		return sb.toString();
 	}
 
 	@Override
 	public synchronized void invalidateDictionaries(SailfishURI ... uris) {
+	    // dictionaries go first, so a factory created concurrently isn't based on an invalidated dictionary
 	    if (uris == null || uris.length == 0) {
-            dicts.clear();
+            dicts = new ConcurrentHashMap<>();
             dictionaryIds.clear();
-            factories.clear();
+            factories = new ConcurrentHashMap<>();
             invalidateEvent(Collections.unmodifiableSet(dicts.keySet()));
             logger.info("All dictionaries have been invalidated");
 	    } else {
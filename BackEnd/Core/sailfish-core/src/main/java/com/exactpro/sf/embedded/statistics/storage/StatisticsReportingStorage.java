@@ -21,11 +21,13 @@ import static com.exactpro.sf.embedded.statistics.storage.utils.Conditions.wrap;
 
 import java.math.BigInteger;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -1293,6 +1295,59 @@ public class StatisticsReportingStorage implements IAdditionalStatisticsLoader {
 
     }
 
+    /**
+     * Loads durations of the finished runs of the matrices started after the specified time
+     * @param matrixNames names of the matrices
+     * @param from minimal start time of the runs
+     * @param depth maximum number of runs for each matrix
+     * @return durations in milliseconds of the last runs (the most recent first) by matrix name
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, List<Long>> getMatrixRunDurations(Collection<String> matrixNames, LocalDateTime from, int depth) {
+        String queryString = "select M.name, MR.startTime, MR.finishTime "
+                + "from MatrixRun as MR "
+                + "join MR.matrix as M "
+                + "where M.name in (:names) and MR.startTime >= :from and MR.finishTime is not null "
+                + "order by MR.startTime desc";
+
+        Map<String, List<Long>> result = new HashMap<>();
+
+        if (matrixNames.isEmpty()) {
+            return result;
+        }
+
+        Session session = null;
+
+        try {
+
+            session = sessionFactory.openSession();
+
+            for (List<String> namesPart : Iterables.partition(new HashSet<>(matrixNames), ID_LIMIT)) {
+                Query query = session.createQuery(queryString);
+
+                query.setParameterList("names", namesPart);
+                query.setParameter("from", from);
+
+                for (Object[] row : (List<Object[]>)query.list()) {
+                    List<Long> durations = result.computeIfAbsent((String)row[0], name -> new ArrayList<>());
+
+                    if (durations.size() < depth) {
+                        durations.add(Duration.between((LocalDateTime)row[1], (LocalDateTime)row[2]).toMillis());
+                    }
+                }
+            }
+
+            return result;
+
+        } finally {
+
+            if(session != null) {
+                session.close();
+            }
+
+        }
+    }
+
     private void enrichAggregatedReportResults(List<AggregatedReportRow> reportRows) {
         if (!reportRows.isEmpty()) {
             loadFailedActions(reportRows, false);
@@ -33,6 +33,7 @@ import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -40,6 +41,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.configuration2.XMLConfiguration;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Filter.Result;
@@ -57,11 +59,13 @@ import com.exactpro.sf.aml.AMLSettings;
 import com.exactpro.sf.aml.IPreprocessor;
 import com.exactpro.sf.aml.IValidator;
 import com.exactpro.sf.aml.generator.Alert;
+import com.exactpro.sf.aml.generator.AlertCollector;
 import com.exactpro.sf.aml.generator.AlertType;
 import com.exactpro.sf.aml.generator.GeneratedScript;
 import com.exactpro.sf.center.IDisposable;
 import com.exactpro.sf.center.ISFContext;
 import com.exactpro.sf.common.adapting.IAdapterManager;
+import com.exactpro.sf.common.services.ServiceName;
 import com.exactpro.sf.common.util.EPSCommonException;
 import com.exactpro.sf.common.util.StringUtil;
 import com.exactpro.sf.configuration.IDictionaryManager;
@@ -73,6 +77,7 @@ import com.exactpro.sf.configuration.workspace.WorkspaceSecurityException;
 import com.exactpro.sf.configuration.workspace.WorkspaceStructureException;
 import com.exactpro.sf.embedded.statistics.StatisticsService;
 import com.exactpro.sf.embedded.statistics.entities.Tag;
+import com.exactpro.sf.scriptrunner.CompiledScriptCache.KeyBuilder;
 import com.exactpro.sf.scriptrunner.EnvironmentSettings.ReportOutputFormat;
 import com.exactpro.sf.scriptrunner.ScriptProgress.IScriptRunProgressListener;
 import com.exactpro.sf.scriptrunner.actionmanager.IActionManager;
@@ -90,6 +95,7 @@ import com.exactpro.sf.scriptrunner.services.IStaticServiceManager;
 import com.exactpro.sf.scriptrunner.state.ScriptState;
 import com.exactpro.sf.scriptrunner.state.ScriptStatus;
 import com.exactpro.sf.scriptrunner.utilitymanager.IUtilityManager;
+import com.exactpro.sf.services.ServiceDescription;
 import com.exactpro.sf.storage.ITestScriptStorage;
 import com.exactpro.sf.storage.LoadedTestScriptDescriptions;
 import com.exactpro.sf.storage.ScriptRun;
@@ -103,11 +109,13 @@ public abstract class AbstractScriptRunner implements IDisposable {
     protected static final int DEFAULT_TIMEOUT = 1000;
     protected static final String forbiddenChars = " ?#;";
     protected static final SimpleDateFormat scriptFolderSuffix = new SimpleDateFormat("ddMMyyyy_HHmmss_SSS");
+    protected static final String COMPILED_SCRIPTS_FOLDER = "compiled_scripts";
 
     protected final List<IScriptRunListener> listeners;
     protected final IScriptRunProgressListener progressListener;
     protected final IPauseListener pauseListener;
     protected final IScriptRunListener stateListener;
+    protected final ScriptRunRevisions revisions;
 
     protected final IWorkspaceDispatcher workspaceDispatcher;
     protected final IDictionaryManager dictionaryManager;
@@ -138,6 +146,9 @@ public abstract class AbstractScriptRunner implements IDisposable {
     private final IAdapterManager adapterManager;
     private final IStaticServiceManager staticServiceManager;
     private final String compilerClassPath;
+    private final CompiledScriptCache compiledScriptCache;
+    private final Map<Long, String> compiledScriptKeys = new ConcurrentHashMap<>();
+    private volatile String classPathStamp;
 
     private AtomicInteger totalScriptRunsCount = new AtomicInteger();
     private AtomicInteger loadedScriptRunsCount = new AtomicInteger();
@@ -176,9 +187,14 @@ public abstract class AbstractScriptRunner implements IDisposable {
         this.adapterManager = adapterManager;
         this.staticServiceManager = staticServiceManager;
         this.compilerClassPath = compilerClassPath;
+        this.compiledScriptCache = createCompiledScriptCache(wd, settings.getCompiledScriptCacheSize());
 
         listeners = new ArrayList<>();
 
+        revisions = new ScriptRunRevisions();
+
+        listeners.add(revisions);
+
         progressListener = new InternalProgressListener();
 
         pauseListener = new PauseListener();
@@ -336,6 +352,7 @@ public abstract class AbstractScriptRunner implements IDisposable {
             }
             if (!descr.isLocked()) {
                 testScripts.remove(descr.getId());
+                revisions.remove(descr.getId());
 
                 toRemove.add(descr);
             }
@@ -513,6 +530,10 @@ public abstract class AbstractScriptRunner implements IDisposable {
         }
     }
 
+    public ScriptRunRevisions getRevisions() {
+        return revisions;
+    }
+
     public void addScriptRunListener(IScriptRunListener listener) {
         synchronized (listeners) {
             listeners.add(listener);
@@ -703,9 +724,17 @@ public abstract class AbstractScriptRunner implements IDisposable {
     protected GeneratedScript prepareScript(TestScriptDescription description) throws Exception {
         logger.info("Prepare script started [{}]", description.getMatrixFileName());
 
-        GeneratedScript script = generateJavaSourcesFromMatrix(description);
-
         File binFolder = workspaceDispatcher.createFolder(FolderType.REPORT, description.getWorkFolder(), "bin");
+        String compiledScriptKey = getCompiledScriptKey(description);
+        GeneratedScript script = null;
+
+        if (compiledScriptKey == null || !restoreCompiledScript(compiledScriptKey, binFolder, description)) {
+            script = generateJavaSourcesFromMatrix(description);
+
+            if (compiledScriptKey != null) {
+                compiledScriptKeys.put(description.getId(), compiledScriptKey);
+            }
+        }
 
         // parent class loader must be specified for new web-gui
         ILanguageFactory languageFactory = languageManager.getLanguageFactory(description.getLanguageURI());
@@ -729,14 +758,28 @@ public abstract class AbstractScriptRunner implements IDisposable {
 
     protected void compileScript(GeneratedScript script, TestScriptDescription description) throws InterruptedException {
 
+        if (script == null) {
+            // compiled classes have been restored from the cache by prepareScript
+            description.setProgress(100);
+            logger.info("Compile script #{} skipped (matrix {}), compiled script is taken from the cache", description.getId(), description.getMatrixFileName());
+            return;
+        }
+
         logger.info("Compile script #{} started (matrix {})", description.getId(), description.getMatrixFileName());
         Thread t = new Thread(new Runnable() {
 
             @Override
             public void run() {
+                String compiledScriptKey = compiledScriptKeys.remove(description.getId());
+
                 try {
                     File binFolderPath = workspaceDispatcher.getFile(FolderType.REPORT, description.getWorkFolder(), "bin");
                     AML.compileScript(script, binFolderPath, description, compilerClassPath);
+
+                    if (compiledScriptKey != null) {
+                        storeCompiledScript(compiledScriptKey, binFolderPath, description);
+                    }
+
                     description.setProgress(100);
                 } catch (InterruptedException e) {
                     logger.info("Break compile script #{} (matrix {})", description.getId(), description.getMatrixFileName());
@@ -776,6 +819,146 @@ public abstract class AbstractScriptRunner implements IDisposable {
         logger.info("Compile script #{} completed (matrix {})", description.getId(), description.getMatrixFileName());
     }
 
+    private static CompiledScriptCache createCompiledScriptCache(IWorkspaceDispatcher wd, int maxEntries) {
+        if (maxEntries == 0) {
+            return null;
+        }
+
+        try {
+            return new CompiledScriptCache(wd.createFolder(FolderType.ROOT, COMPILED_SCRIPTS_FOLDER), maxEntries);
+        } catch (WorkspaceStructureException | RuntimeException e) {
+            logger.warn("Compiled script cache is disabled, its folder can't be created", e);
+            return null;
+        }
+    }
+
+    /**
+     * Creates the key of the compiled script from everything which affects the generated code:
+     * content of the matrix, AML settings, environment services, dictionary files and compiler class path
+     * @return key or {@code null} if the compiled script can't be cached
+     */
+    protected String getCompiledScriptKey(TestScriptDescription description) {
+        if (compiledScriptCache == null) {
+            return null;
+        }
+
+        if (!preprocessorLoader.getPreprocessors().isEmpty()) {
+            // preprocessors can change the matrix and the workspace during code generation
+            logger.debug("Compiled script cache is not used because preprocessors are loaded");
+            return null;
+        }
+
+        try {
+            EnvironmentSettings environmentSettings = environmentManager.getEnvironmentSettings();
+            Map<String, String> staticVariables = description.getStaticVariables();
+            KeyBuilder builder = new KeyBuilder()
+                    .addContent("matrix", workspaceDispatcher.getFile(FolderType.REPORT, description.getMatrixPath()))
+                    .add("encoding", description.getEncoding())
+                    .add("range", description.getRange())
+                    .add("continueOnFailed", description.getContinueOnFailed())
+                    .add("autoStart", description.getAutoStart())
+                    .add("autoRun", description.getAutoRun())
+                    .add("suppressAskForContinue", description.isSuppressAskForContinue())
+                    .add("runNetDumper", description.isRunNetDumper())
+                    .add("skipOptional", description.isSkipOptional())
+                    .add("language", description.getLanguageURI())
+                    .add("staticVariables", staticVariables != null ? new TreeMap<>(staticVariables) : null)
+                    .add("environment", description.getContext().getEnvironmentName())
+                    .add("notificationIfServicesNotStarted", environmentSettings.isNotificationIfServicesNotStarted())
+                    .add("failUnexpected", environmentSettings.getFailUnexpected())
+                    .add("classPath", getClassPathStamp());
+
+            for (IValidator validator : validatorLoader.getValidators()) {
+                builder.add("validator", validator.getName());
+            }
+
+            IConnectionManager connectionManager = environmentManager.getConnectionManager();
+            Map<String, ServiceDescription> services = new TreeMap<>();
+
+            for (ServiceName serviceName : connectionManager.getServiceNames()) {
+                services.put(serviceName.toString(), connectionManager.getServiceDescription(serviceName));
+            }
+
+            for (Map.Entry<String, ServiceDescription> service : services.entrySet()) {
+                ServiceDescription serviceDescription = service.getValue();
+
+                builder.add("service", service.getKey())
+                        .add("type", serviceDescription != null ? serviceDescription.getType() : null)
+                        .add("dictionary", serviceDescription != null && serviceDescription.getSettings() != null
+                                ? serviceDescription.getSettings().getDictionaryName() : null);
+            }
+
+            // dictionary ids are assigned in the order of loading, so files are checked instead of them
+            for (Map.Entry<SailfishURI, String> location : new TreeMap<>(dictionaryManager.getDictionaryLocations()).entrySet()) {
+                builder.add("dictionary", location.getKey());
+
+                if (workspaceDispatcher.exists(FolderType.ROOT, location.getValue())) {
+                    builder.addStamp("file", workspaceDispatcher.getFile(FolderType.ROOT, location.getValue()));
+                }
+            }
+
+            return builder.build();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to create key of compiled script for matrix {}", description.getMatrixFileName(), e);
+            return null;
+        }
+    }
+
+    private String getClassPathStamp() {
+        String stamp = classPathStamp;
+
+        if (stamp == null) {
+            // class path isn't changed until restart
+            KeyBuilder builder = new KeyBuilder().add("java", System.getProperty("java.specification.version"));
+
+            for (String element : StringUtils.split(StringUtils.defaultString(compilerClassPath), File.pathSeparatorChar)) {
+                File file = new File(element);
+
+                if (file.isDirectory()) {
+                    List<File> files = new ArrayList<>(FileUtils.listFiles(file, null, true));
+                    files.sort(Comparator.naturalOrder());
+
+                    for (File child : files) {
+                        builder.addStamp("file", child);
+                    }
+                } else {
+                    builder.addStamp("file", file);
+                }
+            }
+
+            classPathStamp = stamp = builder.build();
+        }
+
+        return stamp;
+    }
+
+    private boolean restoreCompiledScript(String key, File binFolder, TestScriptDescription description) throws Exception {
+        CompiledScriptCache.Entry entry = compiledScriptCache.restore(key, binFolder);
+
+        if (entry == null) {
+            return false;
+        }
+
+        logger.info("Compiled script {} is found in the cache for matrix {}", key, description.getMatrixFileName());
+
+        AlertCollector alertCollector = entry.getAlertCollector();
+
+        description.setLanguageURI(SailfishURI.parse(entry.getLanguageURI()));
+        description.setAlertCollector(alertCollector);
+        description.getContext().getServiceList().addAll(entry.getServices());
+        description.getContext().getReport().addAlerts(alertCollector.aggregate(AlertType.WARNING));
+
+        return true;
+    }
+
+    private void storeCompiledScript(String key, File binFolder, TestScriptDescription description) {
+        AlertCollector alertCollector = description.getAlertCollector();
+        CompiledScriptCache.Entry entry = new CompiledScriptCache.Entry(description.getLanguageURI().toString(),
+                description.getContext().getServiceList(), alertCollector != null ? alertCollector : new AlertCollector());
+
+        compiledScriptCache.store(key, binFolder, entry);
+    }
+
     protected void scriptExceptionProcessing(TestScriptDescription descr, Throwable cause) {
         if (descr != null) {
             if (cause instanceof InterruptedException) {
@@ -0,0 +1,243 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.scriptrunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.exactpro.sf.aml.generator.AlertCollector;
+
+/**
+ * Persistent cache of compiled matrices.
+ * Each entry is a folder named by the key which contains the compiled classes
+ * and the information produced by the code generation which is required to run the script.
+ * The least recently used entries are removed when the number of entries exceeds the limit.
+ */
+public class CompiledScriptCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompiledScriptCache.class);
+
+    private static final String CLASSES_FOLDER = "bin";
+    private static final String ENTRY_FILE = "entry.ser";
+    private static final String TEMP_PREFIX = ".tmp-";
+
+    private final File folder;
+    private final int maxEntries;
+
+    public CompiledScriptCache(File folder, int maxEntries) {
+        this.folder = folder;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Copies the compiled classes of the entry into the bin folder
+     * @return information about the compiled script or {@code null} if there is no entry for the key
+     */
+    public synchronized Entry restore(String key, File binFolder) {
+        File entryFolder = new File(folder, key);
+
+        if (!entryFolder.isDirectory()) {
+            return null;
+        }
+
+        try {
+            Entry entry;
+
+            try (InputStream inputStream = Files.newInputStream(new File(entryFolder, ENTRY_FILE).toPath());
+                    ObjectInputStream objectStream = new ObjectInputStream(inputStream)) {
+                entry = (Entry)objectStream.readObject();
+            }
+
+            FileUtils.copyDirectory(new File(entryFolder, CLASSES_FOLDER), binFolder);
+
+            // the modification time is used to find the least recently used entries
+            entryFolder.setLastModified(System.currentTimeMillis());
+
+            return entry;
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            logger.warn("Failed to restore compiled script {}, it will be removed from the cache", key, e);
+            FileUtils.deleteQuietly(entryFolder);
+            return null;
+        }
+    }
+
+    /**
+     * Copies the compiled classes from the bin folder into the entry for the key.
+     * Errors are logged because a script can be run without the cache.
+     */
+    public void store(String key, File binFolder, Entry entry) {
+        File tempFolder = new File(folder, TEMP_PREFIX + UUID.randomUUID());
+
+        try {
+            FileUtils.copyDirectory(binFolder, new File(tempFolder, CLASSES_FOLDER));
+
+            try (OutputStream outputStream = Files.newOutputStream(new File(tempFolder, ENTRY_FILE).toPath());
+                    ObjectOutputStream objectStream = new ObjectOutputStream(outputStream)) {
+                objectStream.writeObject(entry);
+            }
+
+            synchronized (this) {
+                File entryFolder = new File(folder, key);
+
+                if (entryFolder.exists()) {
+                    // the same script has been compiled by another runner thread
+                    return;
+                }
+
+                try {
+                    Files.move(tempFolder.toPath(), entryFolder.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFolder.toPath(), entryFolder.toPath());
+                }
+
+                evict();
+            }
+        } catch (FileAlreadyExistsException e) {
+            logger.debug("Compiled script {} is already cached", key);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to store compiled script {}", key, e);
+        } finally {
+            FileUtils.deleteQuietly(tempFolder);
+        }
+    }
+
+    private void evict() {
+        File[] entries = folder.listFiles(file -> file.isDirectory() && !file.getName().startsWith(TEMP_PREFIX));
+
+        if (entries == null || entries.length <= maxEntries) {
+            return;
+        }
+
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+
+        for (int i = 0; i < entries.length - maxEntries; i++) {
+            logger.debug("Removing compiled script {} from the cache", entries[i].getName());
+            FileUtils.deleteQuietly(entries[i]);
+        }
+    }
+
+    /**
+     * Information produced by the code generation which isn't contained in the compiled classes
+     */
+    public static class Entry implements Serializable {
+
+        private static final long serialVersionUID = 4371852210946313018L;
+
+        private final String languageURI;
+        private final List<String> services;
+        private final AlertCollector alertCollector;
+
+        public Entry(String languageURI, List<String> services, AlertCollector alertCollector) {
+            this.languageURI = languageURI;
+            this.services = new ArrayList<>(services);
+            this.alertCollector = alertCollector;
+        }
+
+        public String getLanguageURI() {
+            return languageURI;
+        }
+
+        public List<String> getServices() {
+            return services;
+        }
+
+        public AlertCollector getAlertCollector() {
+            return alertCollector;
+        }
+    }
+
+    /**
+     * Builds a key of the cache entry as a SHA-256 hash of the values
+     * which affect the generated code
+     */
+    public static class KeyBuilder {
+
+        private final MessageDigest digest;
+
+        public KeyBuilder() {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public KeyBuilder add(String name, Object value) {
+            update(name);
+            update(String.valueOf(value));
+            return this;
+        }
+
+        /**
+         * Adds content of the file
+         */
+        public KeyBuilder addContent(String name, File file) throws IOException {
+            update(name);
+            digest.update(Files.readAllBytes(file.toPath()));
+            return this;
+        }
+
+        /**
+         * Adds path, size and modification time of the file instead of its content
+         */
+        public KeyBuilder addStamp(String name, File file) {
+            update(name);
+            update(file.getAbsolutePath());
+            update(String.valueOf(file.length()));
+            update(String.valueOf(file.lastModified()));
+            return this;
+        }
+
+        public String build() {
+            StringBuilder builder = new StringBuilder();
+
+            for (byte b : digest.digest()) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+
+            return builder.toString();
+        }
+
+        private void update(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            // length prefix keeps adjacent values from being mixed up
+            digest.update(String.valueOf(bytes.length).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte)':');
+            digest.update(bytes);
+        }
+    }
+}
@@ -35,6 +35,8 @@ import com.exactpro.sf.aml.Description;
 import com.exactpro.sf.aml.ValidateRegex;
 import com.exactpro.sf.common.util.ICommonSettings;
 import com.exactpro.sf.configuration.dictionary.interfaces.IDictionaryValidator;
+import com.exactpro.sf.services.TaskExecutorType;
+import com.exactpro.sf.storage.OverflowPolicy;
 import com.google.common.collect.ImmutableSet;
 
 import static com.exactpro.sf.util.Configuration2Utils.createNode;
@@ -146,14 +148,23 @@ public class EnvironmentSettings implements ICommonSettings
     private static final String REPORT_OUTPUT_FORMAT = "ReportOutputFormat";
     private static final String RELEVANT_MESSAGES_SORTING_MODE = "RelevantMessagesSortingMode";
     private static final String MAX_STORAGE_QUEUE_SIZE = "MaxStorageQueueSize";
+    private static final String LAZY_MESSAGE_RENDERING = "LazyMessageRendering";
+    private static final String STORAGE_OVERFLOW_POLICY = "StorageOverflowPolicy";
+    private static final String TASK_EXECUTOR = "TaskExecutor";
+    private static final String SERVICE_START_PARALLELISM = "ServiceStartParallelism";
 
     private static final String VERIFICATION_LIMIT = "VerificationLimit";
+    private static final String COMPILED_SCRIPT_CACHE_SIZE = "CompiledScriptCacheSize";
 
 	private StorageType storageType = StorageType.DB;
 	private String fileStoragePath = "storage";
 	private boolean storeAdminMessages;
 	private boolean asyncRunMatrix;
 	private long maxQueueSize;
+	private boolean lazyMessageRendering;
+	private OverflowPolicy storageOverflowPolicy = OverflowPolicy.DROP_NEWEST;
+	private TaskExecutorType taskExecutorType = TaskExecutorType.THREAD_POOL;
+	private int serviceStartParallelism = 1;
 
 	private boolean notificationIfServicesNotStarted;
 	private int matrixCompilerPriority;
@@ -164,6 +175,7 @@ public class EnvironmentSettings implements ICommonSettings
     private BigDecimal comparisonPrecision = MathProcessor.COMPARISON_PRECISION;
 
     private int verificationLimit;
+    private int compiledScriptCacheSize;
 
     // this config is one per SF
     private final HierarchicalConfiguration<ImmutableNode> config;
@@ -193,7 +205,12 @@ public class EnvironmentSettings implements ICommonSettings
         result.relevantMessagesSortingMode = relevantMessagesSortingMode;
         result.comparisonPrecision = comparisonPrecision;
         result.maxQueueSize = maxQueueSize;
+        result.lazyMessageRendering = lazyMessageRendering;
+        result.storageOverflowPolicy = storageOverflowPolicy;
+        result.taskExecutorType = taskExecutorType;
+        result.serviceStartParallelism = serviceStartParallelism;
         result.verificationLimit = verificationLimit;
+        result.compiledScriptCacheSize = compiledScriptCacheSize;
 
         return result;
     }
@@ -210,7 +227,12 @@ public class EnvironmentSettings implements ICommonSettings
         this.relevantMessagesSortingMode = other.relevantMessagesSortingMode;
         this.comparisonPrecision = other.comparisonPrecision;
         this.maxQueueSize = other.maxQueueSize;
+        this.lazyMessageRendering = other.lazyMessageRendering;
+        this.storageOverflowPolicy = other.storageOverflowPolicy;
+        this.taskExecutorType = other.taskExecutorType;
+        this.serviceStartParallelism = other.serviceStartParallelism;
         this.verificationLimit = other.verificationLimit;
+        this.compiledScriptCacheSize = other.compiledScriptCacheSize;
 
         update();
     }
@@ -297,6 +319,72 @@ public class EnvironmentSettings implements ICommonSettings
 	    update();
     }
 
+    public boolean isLazyMessageRendering() {
+        return lazyMessageRendering;
+    }
+
+    @Description("If this option is enabled, messages are stored in a compact binary form, " +
+            "and their human-readable and JSON views are rendered only when they are requested " +
+            "(e.g. on the Messages page or by the retrieve action). It reduces CPU usage of storing messages on high-rate feeds.<br>" +
+            "Messages stored in this mode aren't found by the search by message content in the 'db' storage.<br><br>" +
+            "NOTE: Changes of this setting will be applied only after Sailfish restart.") //TODO color highlight
+    @ValidateRegex(regex = "^(true|false)$")
+    public void setLazyMessageRendering(boolean lazyMessageRendering) {
+        this.lazyMessageRendering = lazyMessageRendering;
+        update();
+    }
+
+    public OverflowPolicy getStorageOverflowPolicy() {
+        return storageOverflowPolicy;
+    }
+
+    @Description("Defines what happens with a message when the storage queue reaches the 'Max Storage Queue Size'.<br>" +
+            "Supported policies:<br>" +
+            "<ul>" +
+                "<li>drop_newest – the arrived message is not stored (by default).</li>" +
+                "<li>drop_oldest – the oldest queued messages are not stored to free space for the arrived one.</li>" +
+                "<li>block – the service thread waits until the storage frees space. It can slow down the services.</li>" +
+                "<li>spill_to_disk – the arrived messages are written to a temporary file and stored after the queued ones.</li>" +
+            "</ul><br>" +
+            "NOTE: Changes of this setting will be applied only after Sailfish restart.") //TODO color highlight
+    @ValidateRegex(regex = "(?i)^(drop_newest|drop_oldest|block|spill_to_disk)$")
+    public void setStorageOverflowPolicy(OverflowPolicy storageOverflowPolicy) {
+        this.storageOverflowPolicy = storageOverflowPolicy;
+        update();
+    }
+
+    public TaskExecutorType getTaskExecutorType() {
+        return taskExecutorType;
+    }
+
+    @Description("Defines how services, matrices and other components run their background tasks.<br>" +
+            "Supported executors:<br>" +
+            "<ul>" +
+                "<li>thread_pool – a pool of up to 350 threads, new tasks are rejected when all of them are busy (by default).</li>" +
+                "<li>virtual_threads – each task runs on its own virtual thread on Java 21+, " +
+                "otherwise tasks are queued to a work-stealing pool of 350 threads.</li>" +
+            "</ul><br>" +
+            "NOTE: Changes of this setting will be applied only after Sailfish restart.") //TODO color highlight
+    @ValidateRegex(regex = "(?i)^(thread_pool|virtual_threads)$")
+    public void setTaskExecutorType(TaskExecutorType taskExecutorType) {
+        this.taskExecutorType = taskExecutorType;
+        update();
+    }
+
+    public int getServiceStartParallelism() {
+        return serviceStartParallelism;
+    }
+
+    @Description("Maximum number of services which are started at the same time when a matrix starts its services.<br>" +
+            "Services are started in alphabetical order and a service waits for the services listed in its 'Start After' setting.<br>" +
+            "Value 1 starts services one by one (by default).<br><br>" +
+            "NOTE: Changes of this setting will be applied only after Sailfish restart.") //TODO color highlight
+    @ValidateRegex(regex = "^[1-9]\\d*$")
+    public void setServiceStartParallelism(int serviceStartParallelism) {
+        this.serviceStartParallelism = serviceStartParallelism;
+        update();
+    }
+
 	public boolean isNotificationIfServicesNotStarted() {
 		return notificationIfServicesNotStarted;
 	}
@@ -409,6 +497,20 @@ public class EnvironmentSettings implements ICommonSettings
         update();
     }
 
+    public int getCompiledScriptCacheSize() {
+        return compiledScriptCacheSize;
+    }
+
+    @Description("Maximum number of compiled matrices which are kept in the 'compiled_scripts' folder of the workspace.<br>" +
+            "A matrix is not generated and compiled again if it is run with the same settings, environment, dictionaries and plugins.<br>" +
+            "Value 0 disables the cache (by default).<br><br>" +
+            "NOTE: Changes of this setting will be applied only after Sailfish restart.") //TODO color highlight
+    @ValidateRegex(regex = "^\\d+$")
+    public void setCompiledScriptCacheSize(int compiledScriptCacheSize) {
+        this.compiledScriptCacheSize = compiledScriptCacheSize;
+        update();
+    }
+
 	@Override
 	public void load(HierarchicalConfiguration<ImmutableNode> config)
 	{
@@ -467,6 +569,16 @@ public class EnvironmentSettings implements ICommonSettings
 
 		this.maxQueueSize = config.getLong(MAX_STORAGE_QUEUE_SIZE, 1024*1024*512);
 
+		this.lazyMessageRendering = config.getBoolean(LAZY_MESSAGE_RENDERING, false);
+
+		OverflowPolicy overflowPolicy = OverflowPolicy.parse(config.getString(STORAGE_OVERFLOW_POLICY, OverflowPolicy.DROP_NEWEST.getName()));
+		this.storageOverflowPolicy = overflowPolicy != null ? overflowPolicy : OverflowPolicy.DROP_NEWEST;
+
+		TaskExecutorType executorType = TaskExecutorType.parse(config.getString(TASK_EXECUTOR, TaskExecutorType.THREAD_POOL.getName()));
+		this.taskExecutorType = executorType != null ? executorType : TaskExecutorType.THREAD_POOL;
+
+		this.serviceStartParallelism = Math.max(config.getInt(SERVICE_START_PARALLELISM, 1), 1);
+
 		this.storageType = StorageType.parse(config.getString("StorageType", StorageType.DB.getName()));
 
         this.comparisonPrecision = config.getBigDecimal(COMPARISON_PRECISION, MathProcessor.COMPARISON_PRECISION);
@@ -479,6 +591,10 @@ public class EnvironmentSettings implements ICommonSettings
         config.setProperty("StorageType", storageType.getName());
         config.setProperty(COMPARISON_PRECISION, comparisonPrecision);
         config.setProperty(MAX_STORAGE_QUEUE_SIZE, maxQueueSize);
+        config.setProperty(LAZY_MESSAGE_RENDERING, lazyMessageRendering);
+        config.setProperty(STORAGE_OVERFLOW_POLICY, storageOverflowPolicy.getName());
+        config.setProperty(TASK_EXECUTOR, taskExecutorType.getName());
+        config.setProperty(SERVICE_START_PARALLELISM, serviceStartParallelism);
 	}
 
     private void loadScriptRunSettings(HierarchicalConfiguration<ImmutableNode> config) {
@@ -489,6 +605,7 @@ public class EnvironmentSettings implements ICommonSettings
         excludedMessages = parseSet(config, EXCLUDED_MESSAGES_FROM_REPORT, IDictionaryValidator.NAME_REGEX, excludedMessages);
         relevantMessagesSortingMode = RelevantMessagesSortingMode.parse(config.getString(RELEVANT_MESSAGES_SORTING_MODE, RelevantMessagesSortingMode.ARRIVAL_TIME.getName()));
         verificationLimit = config.getInt(VERIFICATION_LIMIT, 200);
+        compiledScriptCacheSize = Math.max(config.getInt(COMPILED_SCRIPT_CACHE_SIZE, 0), 0);
     }
 
     private void updateScriptRunSettings(HierarchicalConfiguration<ImmutableNode> config) {
@@ -499,6 +616,7 @@ public class EnvironmentSettings implements ICommonSettings
         config.setProperty(REPORT_OUTPUT_FORMAT, reportOutputFormat);
         config.setProperty(RELEVANT_MESSAGES_SORTING_MODE, relevantMessagesSortingMode.getName());
         config.setProperty(VERIFICATION_LIMIT, verificationLimit);
+        config.setProperty(COMPILED_SCRIPT_CACHE_SIZE, compiledScriptCacheSize);
     }
 
 }
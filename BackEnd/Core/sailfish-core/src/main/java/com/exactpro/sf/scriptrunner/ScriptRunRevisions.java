@@ -0,0 +1,100 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.scriptrunner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * Counts events of each script run (state, progress and report lock changes)
+ * and notifies about the next event of a script run instead of polling its state.
+ */
+public class ScriptRunRevisions implements IScriptRunListener {
+
+    private final Map<Long, Long> revisions = new HashMap<>();
+
+    private final Map<Long, List<CompletableFuture<Long>>> waiters = new HashMap<>();
+
+    @Override
+    public void onScriptRunEvent(TestScriptDescription testScriptDescription) {
+        if (testScriptDescription == null) {
+            return;
+        }
+
+        long revision;
+        List<CompletableFuture<Long>> changed;
+
+        synchronized (this) {
+            revision = revisions.merge(testScriptDescription.getId(), 1L, Long::sum);
+            changed = waiters.remove(testScriptDescription.getId());
+        }
+
+        complete(changed, revision);
+    }
+
+    /**
+     * @return number of events of the script run
+     */
+    public synchronized long getRevision(long testScriptRunId) {
+        return revisions.getOrDefault(testScriptRunId, 0L);
+    }
+
+    /**
+     * Returns a future which is completed with the current revision of the script run as soon as it differs from the known one.
+     * The future is already completed if the known revision is outdated. Waiting is stopped by cancelling the future.
+     * @param testScriptRunId id of the script run
+     * @param knownRevision revision known by the caller
+     */
+    public synchronized CompletableFuture<Long> awaitChange(long testScriptRunId, long knownRevision) {
+        long revision = getRevision(testScriptRunId);
+
+        if (revision != knownRevision) {
+            return CompletableFuture.completedFuture(revision);
+        }
+
+        List<CompletableFuture<Long>> scriptRunWaiters = waiters.computeIfAbsent(testScriptRunId, id -> new ArrayList<>());
+        CompletableFuture<Long> change = new CompletableFuture<>();
+
+        scriptRunWaiters.removeIf(Future::isDone);
+        scriptRunWaiters.add(change);
+
+        return change;
+    }
+
+    public void remove(long testScriptRunId) {
+        List<CompletableFuture<Long>> changed;
+
+        synchronized (this) {
+            revisions.remove(testScriptRunId);
+            changed = waiters.remove(testScriptRunId);
+        }
+
+        complete(changed, 0L);
+    }
+
+    // waiters are completed outside of the lock because their actions can take a while
+    private static void complete(List<CompletableFuture<Long>> changed, long revision) {
+        if (changed != null) {
+            for (CompletableFuture<Long> change : changed) {
+                change.complete(revision);
+            }
+        }
+    }
+}
@@ -30,6 +30,10 @@ public class ScriptRunnerSettings {
      * Exclude messages from information block about all messages in report
      */
     private Set<String> excludedMessages = Collections.emptySet();
+    /**
+     * Maximum number of compiled matrices which are kept in the workspace, 0 disables the cache
+     */
+    private int compiledScriptCacheSize;
     
     public int getCompilerPriority() {
         return compilerPriority;
@@ -52,4 +56,12 @@ public class ScriptRunnerSettings {
     public void setExcludedMessages(Set<String> excludedMessages) {
         this.excludedMessages = ObjectUtils.defaultIfNull(excludedMessages, Collections.emptySet());
     }
+    
+    public int getCompiledScriptCacheSize() {
+        return compiledScriptCacheSize;
+    }
+    
+    public void setCompiledScriptCacheSize(int compiledScriptCacheSize) {
+        this.compiledScriptCacheSize = Math.max(compiledScriptCacheSize, 0);
+    }
 }
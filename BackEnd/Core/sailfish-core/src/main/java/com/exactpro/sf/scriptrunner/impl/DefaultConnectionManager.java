@@ -58,6 +58,7 @@ import com.exactpro.sf.scriptrunner.IServiceNotifyListener;
 import com.exactpro.sf.scriptrunner.services.IServiceFactory;
 import com.exactpro.sf.services.ChangeEnvironmentEvent;
 import com.exactpro.sf.services.ChangeEnvironmentEvent.Status;
+import com.exactpro.sf.services.CSHRetentionPolicy;
 import com.exactpro.sf.services.CollectorServiceHandler;
 import com.exactpro.sf.services.DefaultServiceContext;
 import com.exactpro.sf.services.EnvironmentEvent;
@@ -92,6 +93,7 @@ public final class DefaultConnectionManager implements IConnectionManager {
     private static final IServiceNotifyListener EMPTY_NOTIFY_LISTENER = new ServiceNotifyListener();
     private static final Set<ServiceStatus> ALLOWED_TO_INIT_STATUSES = ImmutableSet.of(ServiceStatus.CREATED, ServiceStatus.INITIALIZED,
             ServiceStatus.ERROR, ServiceStatus.DISPOSED);
+    private static final int DEFAULT_EXECUTOR_THREADS = 5;
 
 	private final ExecutorService serviceExecutor;
 	private final IServiceFactory staticServiceFactory;
@@ -118,6 +120,20 @@ public final class DefaultConnectionManager implements IConnectionManager {
             IEnvironmentStorage envStorage,
             IVariableSetStorage variableSetStorage,
             IServiceContext serviceContext) {
+        this(staticServiceFactory, storage, envStorage, variableSetStorage, serviceContext, DEFAULT_EXECUTOR_THREADS);
+    }
+
+    /**
+     * @param executorThreads number of threads which initialize, start and dispose services;
+     *                        it is not less than {@value #DEFAULT_EXECUTOR_THREADS}
+     */
+    public DefaultConnectionManager(
+            IServiceFactory staticServiceFactory,
+            IServiceStorage storage,
+            IEnvironmentStorage envStorage,
+            IVariableSetStorage variableSetStorage,
+            IServiceContext serviceContext,
+            int executorThreads) {
 
 		this.staticServiceFactory = Objects.requireNonNull(staticServiceFactory, "'Static service factory' parameter");
 
@@ -129,7 +145,7 @@ public final class DefaultConnectionManager implements IConnectionManager {
 
         this.variablesLock = new ReentrantReadWriteLock();
 
-        this.serviceExecutor = Executors.newFixedThreadPool(5, new ThreadFactoryBuilder().setNameFormat("connection-manager-%d").build());
+        this.serviceExecutor = Executors.newFixedThreadPool(Math.max(executorThreads, DEFAULT_EXECUTOR_THREADS), new ThreadFactoryBuilder().setNameFormat("connection-manager-%d").build());
 
         this.envStorage = Objects.requireNonNull(envStorage, "envStorage cannot be null");
 
@@ -509,6 +525,10 @@ public final class DefaultConnectionManager implements IConnectionManager {
                 IServiceContext serviceContext = this.serviceContext;
                 IServiceHandler serviceHandler = staticServiceFactory.createServiceHandler(serviceURI, description.getServiceHandlerClassName());
 
+                if (serviceHandler instanceof CollectorServiceHandler) {
+                    ((CollectorServiceHandler)serviceHandler).setRetentionPolicy(CSHRetentionPolicy.fromSettings(description.getSettings()));
+                }
+
                 Set<String> processedMessageTypes = loadProcessedMessageTypes(description);
                 if (!processedMessageTypes.isEmpty()) {
                     serviceHandler = new FilterServiceHandlerWrapper(serviceHandler, processedMessageTypes, !description.getSettings().isInvertStoredMessageTypes());
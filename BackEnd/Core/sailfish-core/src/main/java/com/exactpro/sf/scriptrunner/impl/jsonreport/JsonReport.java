@@ -81,12 +81,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
@@ -100,6 +100,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -114,6 +115,8 @@ public class JsonReport implements IScriptReport {
     private static final String REPORT_JSONP_DIRECTORY_NAME = "jsonp";
     private static final byte[] REPORT_JSONP_WRAPPER_START = "window.loadJsonp(".getBytes();
     private static final byte[] REPORT_JSONP_WRAPPER_END = ")".getBytes();
+    // report root contains metadata of all test cases, so it's rewritten not more often than this interval
+    private static final long REPORT_ROOT_EXPORT_INTERVAL = TimeUnit.SECONDS.toMillis(1);
 
     private long actionIdCounter;
     private long knownBugIdCounter;
@@ -124,6 +127,8 @@ public class JsonReport implements IScriptReport {
     private AtomicLong actionNodeDepth = new AtomicLong(0);
 
     private JsonpTestcaseWriter jsonpTestcaseWriter;
+    private JsonTestCaseWriter jsonTestCaseWriter;
+    private long lastReportRootExport;
     private final Map<Long, Set<Long>> messageToActionIdMap;
 
     private final TestScriptDescription testScriptDescription;
@@ -182,6 +187,10 @@ public class JsonReport implements IScriptReport {
     }
 
     private File getFile(String fileName, boolean jsonp) {
+        return getFile(fileName, jsonp, true);
+    }
+
+    private File getFile(String fileName, boolean jsonp, boolean overwrite) {
         String extension = jsonp ? ".js" : ".json";
         fileName = fileName.replaceAll("\\W", "_");
 
@@ -190,14 +199,14 @@ public class JsonReport implements IScriptReport {
         }
 
         return jsonp
-                ? reportJsonpDirectory.getSubNode(fileName).toFile(true)
-                : reportDataDirectory.getSubNode(fileName).toFile(true);
+                ? reportJsonpDirectory.getSubNode(fileName).toFile(overwrite)
+                : reportDataDirectory.getSubNode(fileName).toFile(overwrite);
     }
 
     private void updateMetadata(TestCase testCase, String jsonFileName) {
         TestCaseMetadata metadata = new TestCaseMetadata(
                 testCase,
-                getFile(jsonFileName, false).getName(),
+                getFile(jsonFileName, false, false).getName(),
                 jsonpTestcaseWriter == null
                         ? null
                         : reportRootDirectory.toAbsolutePath(false).relativize(jsonpTestcaseWriter.getTestCaseFile().toAbsolutePath(false)).toString());
@@ -205,28 +214,48 @@ public class JsonReport implements IScriptReport {
         reportRoot.getMetadataMap().put(metadata.getOrder(), metadata);
     }
 
-    private void exportToFile(Object data, String fileName, boolean copyToJsonp) {
+    private void exportToFile(Object data, String fileName) {
         File jsonFile = getFile(fileName, false);
 
         try {
             logger.info("saving json report - writing to file: '{}'", jsonFile);
             mapper.writeValue(jsonFile, data);
+        } catch (IOException e) {
+            throw new ScriptRunException("unable to export json report", e);
+        }
+    }
 
-            if (copyToJsonp) {
-                File jsonpFile = getFile(fileName, true);
+    private void exportReportRoot(boolean force) {
+        long now = System.currentTimeMillis();
 
-                try (OutputStream jsonpStream = new FileOutputStream(jsonpFile)) {
-                    jsonpStream.write(REPORT_JSONP_WRAPPER_START);
-                    Files.copy(jsonFile.toPath(), jsonpStream);
-                    jsonpStream.write(REPORT_JSONP_WRAPPER_END);
-                }
-            }
+        if (!force && now - lastReportRootExport < REPORT_ROOT_EXPORT_INTERVAL) {
+            return;
+        }
+
+        this.lastReportRootExport = now;
 
+        try {
+            byte[] content = mapper.writeValueAsBytes(reportRoot);
+            writeAtomically(getFile(REPORT_ROOT_FILE_NAME, false, false), content);
+            writeAtomically(getFile(REPORT_ROOT_FILE_NAME, true, false), REPORT_JSONP_WRAPPER_START, content, REPORT_JSONP_WRAPPER_END);
         } catch (IOException e) {
             throw new ScriptRunException("unable to export json report", e);
         }
     }
 
+    private static void writeAtomically(File file, byte[]... parts) throws IOException {
+        Path target = file.toPath();
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (OutputStream stream = Files.newOutputStream(temporary)) {
+            for (byte[] part : parts) {
+                stream.write(part);
+            }
+        }
+
+        JsonTestCaseWriter.replace(temporary, target);
+    }
+
     private void initProperties() {
         ScriptState state = testScriptDescription.getState();
         ScriptStatus status = testScriptDescription.getStatus();
@@ -311,7 +340,7 @@ public class JsonReport implements IScriptReport {
 
         reportRoot.setDescription(description);
 
-        exportToFile(reportRoot, REPORT_ROOT_FILE_NAME, true);
+        exportReportRoot(true);
 
         setContext(ContextType.SCRIPT, null);
     }
@@ -347,8 +376,10 @@ public class JsonReport implements IScriptReport {
         jsonpTestcaseWriter.updateTestCaseFile(testcase);
 
         updateMetadata(testcase, testcase.getName());
-        exportToFile(testcase, testcase.getName(), false);
-        exportToFile(reportRoot, REPORT_ROOT_FILE_NAME, true);
+        exportToFile(testcase, testcase.getName());
+        exportReportRoot(false);
+
+        jsonTestCaseWriter = new JsonTestCaseWriter(getFile(testcase.getName(), false, false), mapper);
     }
 
     public void closeTestCase(StatusDescription status) {
@@ -361,9 +392,15 @@ public class JsonReport implements IScriptReport {
         revertContext();
         reportStats.updateTestCaseStatus(status.getStatus());
 
+        try {
+            jsonTestCaseWriter.close(curTestCase);
+        } finally {
+            jsonTestCaseWriter = null;
+        }
+
         updateMetadata(curTestCase, curTestCase.getName());
-        exportToFile(curTestCase, curTestCase.getName(), false);
-        exportToFile(reportRoot, REPORT_ROOT_FILE_NAME, true);
+        // forced so the finished test case is visible in the report without waiting for the next export
+        exportReportRoot(true);
 
         jsonpTestcaseWriter.updateTestCaseFile(curTestCase);
         jsonpTestcaseWriter = null;
@@ -426,6 +463,11 @@ public class JsonReport implements IScriptReport {
         }
 
         jsonpTestcaseWriter.write(ObjectUtils.defaultIfNull(getCurrentRootAction(), curAction));
+
+        if (parentNode instanceof TestCase) {
+            jsonTestCaseWriter.write(((TestCase)parentNode).releaseCompletedActions());
+            exportReportRoot(false);
+        }
     }
 
     public void openGroup(String name, String description) {
@@ -632,7 +674,6 @@ public class JsonReport implements IScriptReport {
         testCase.setHasErrorLogs(levels.contains("ERROR"));
         testCase.setHasWarnLogs(levels.contains("WARN"));
 
-        exportToFile(testCase, testCase.getName(), false);
         jsonpTestcaseWriter.updateTestCaseFile(testCase);
         entries.forEach(jsonpTestcaseWriter::write);
     }
@@ -669,9 +710,16 @@ public class JsonReport implements IScriptReport {
                     closeTestCase(description);
             }
         }
+
+        if (jsonTestCaseWriter != null) {
+            // test case is abandoned if its closing has failed
+            jsonTestCaseWriter.abort();
+            jsonTestCaseWriter = null;
+        }
+
         reportRoot.setFinishTime(Instant.now());
         initProperties();
-        exportToFile(reportRoot, REPORT_ROOT_FILE_NAME, true);
+        exportReportRoot(true);
     }
 
     public void createLinkToReport(String linkToReport) {
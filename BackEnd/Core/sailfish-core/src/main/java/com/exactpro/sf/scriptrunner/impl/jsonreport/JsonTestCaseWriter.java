@@ -0,0 +1,141 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.scriptrunner.impl.jsonreport;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+
+import com.exactpro.sf.scriptrunner.ScriptRunException;
+import com.exactpro.sf.scriptrunner.impl.jsonreport.beans.TestCase;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams test case JSON file while the test case runs.
+ * Completed actions are written as soon as they are released from the test case,
+ * the rest of the test case is written on close. Until then the data is written to a temporary file
+ * so the previously exported file stays readable.
+ */
+public class JsonTestCaseWriter {
+    private static final Logger logger = LoggerFactory.getLogger(JsonTestCaseWriter.class);
+
+    private static final String ACTIONS_FIELD = "actions";
+    private static final String TEMPORARY_FILE_SUFFIX = ".part";
+
+    private final ObjectMapper mapper;
+    private final ObjectWriter nodeWriter;
+    private final Path file;
+    private final Path temporaryFile;
+    private final JsonGenerator generator;
+
+    public JsonTestCaseWriter(File file, ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.nodeWriter = mapper.writerFor(IJsonReportNode.class);
+        this.file = file.toPath();
+        this.temporaryFile = this.file.resolveSibling(this.file.getFileName() + TEMPORARY_FILE_SUFFIX);
+
+        try {
+            this.generator = mapper.getFactory().createGenerator(Files.newOutputStream(temporaryFile));
+            generator.writeStartObject();
+            generator.writeArrayFieldStart(ACTIONS_FIELD);
+        } catch (IOException e) {
+            throw new ScriptRunException("unable to create json test case file: " + temporaryFile, e);
+        }
+    }
+
+    public void write(Collection<? extends IJsonReportNode> nodes) {
+        try {
+            for (IJsonReportNode node : nodes) {
+                nodeWriter.writeValue(generator, node);
+            }
+        } catch (IOException e) {
+            abort();
+            throw new ScriptRunException("unable to write json test case file: " + temporaryFile, e);
+        }
+    }
+
+    /**
+     * Writes remaining actions and fields of the test case and replaces the test case file with the written one
+     */
+    public void close(TestCase testCase) {
+        write(testCase.releaseCompletedActions());
+        write(testCase.getActions());
+
+        try {
+            generator.writeEndArray();
+
+            TokenBuffer buffer = new TokenBuffer(mapper, false);
+            mapper.writeValue(buffer, testCase);
+
+            try (JsonParser parser = buffer.asParser()) {
+                parser.nextToken();
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    if (ACTIONS_FIELD.equals(parser.getCurrentName())) {
+                        parser.nextToken();
+                        parser.skipChildren();
+                    } else {
+                        generator.copyCurrentStructure(parser);
+                    }
+                }
+            }
+
+            generator.writeEndObject();
+            generator.close();
+
+            replace(temporaryFile, file);
+        } catch (IOException e) {
+            abort();
+            throw new ScriptRunException("unable to write json test case file: " + file, e);
+        }
+    }
+
+    /**
+     * Closes the temporary file and deletes it. The previously exported test case file is left as is
+     */
+    public void abort() {
+        try {
+            generator.close();
+        } catch (IOException e) {
+            logger.warn("unable to close json test case file: {}", temporaryFile, e);
+        }
+
+        try {
+            Files.deleteIfExists(temporaryFile);
+        } catch (IOException e) {
+            logger.warn("unable to delete json test case file: {}", temporaryFile, e);
+        }
+    }
+
+    static void replace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -55,6 +55,11 @@ public class TestCase implements IJsonReportNode {
     @JsonIgnore private final BugCategory bugRoot;
     @JsonIgnore private Map<Bug, List<String>> bugToCategoryMap;
 
+    // statistics of root actions which were already written to file and removed from the test case
+    @JsonIgnore private Long firstReleasedActionId;
+    @JsonIgnore private Long lastReleasedActionId;
+    @JsonIgnore private int releasedFailedActionsCount;
+
 
     public TestCase() {
         this.outcomes = new ArrayList<>();
@@ -97,11 +102,49 @@ public class TestCase implements IJsonReportNode {
         return this.actions.stream().filter(n -> n instanceof Action).map(n -> (Action)n).collect(Collectors.toList());
     }
 
+    /**
+     * Removes completed nodes from the beginning of the action list.
+     * Nodes after the first running action are kept to preserve the order.
+     * @return removed nodes
+     */
+    public List<IJsonReportNode> releaseCompletedActions() {
+        int count = 0;
+
+        for (IJsonReportNode node : actions) {
+            if (node instanceof Action && ((Action)node).getIsRunning()) {
+                break;
+            }
+            count++;
+        }
+
+        List<IJsonReportNode> completed = actions.subList(0, count);
+        List<IJsonReportNode> released = new ArrayList<>(completed);
+        completed.clear();
+
+        for (IJsonReportNode node : released) {
+            if (node instanceof Action) {
+                Action action = (Action)node;
+
+                if (firstReleasedActionId == null) {
+                    this.firstReleasedActionId = action.getId();
+                }
+
+                this.lastReleasedActionId = action.getId();
+
+                if (isFailed(action)) {
+                    releasedFailedActionsCount++;
+                }
+            }
+        }
+
+        return released;
+    }
+
     @JsonIgnore
     public Long getFirstActionId() {
         List<Action> rootActions = getRootActions();
-        if (rootActions.size() == 0) {
-            return null;
+        if (firstReleasedActionId != null || rootActions.size() == 0) {
+            return firstReleasedActionId;
         }
         else {
             return rootActions.get(0).getId();
@@ -112,7 +155,7 @@ public class TestCase implements IJsonReportNode {
     public Long getLastActionId() {
         List<Action> rootActions = getRootActions();
         if (rootActions.size() == 0) {
-            return null;
+            return lastReleasedActionId;
         }
         else {
             return rootActions.get(rootActions.size() - 1).getId();
@@ -121,7 +164,11 @@ public class TestCase implements IJsonReportNode {
 
     @JsonIgnore
     public int getFailedActionsCount() {
-        return (int)getRootActions().stream().filter(a -> a.getStatus().getStatus() == StatusType.FAILED).count();
+        return releasedFailedActionsCount + (int)getRootActions().stream().filter(TestCase::isFailed).count();
+    }
+
+    private static boolean isFailed(Action action) {
+        return action.getStatus().getStatus() == StatusType.FAILED;
     }
 
     public List<IJsonReportNode> getActions() {
@@ -38,12 +38,30 @@ public abstract class AbstractServiceSettings implements IServiceSettings, Seria
     @Description("This option inverts the behavior of Stored Message Types. If selected, messages listed in Stored Message Types will be excluded.")
     protected boolean invertStoredMessageTypes;
 
+    @Description("Maximum number of received messages which are kept in memory for checking by matrix actions (per session and direction).\n"
+            + "The oldest messages are evicted first. Value '0' disables the limit")
+    private int storedMessagesLimit;
+
+    @Description("Maximum total size in bytes of raw data of received messages which are kept in memory for checking by matrix actions (per session and direction).\n"
+            + "The oldest messages are evicted first. Value '0' disables the limit")
+    private long storedMessagesSizeLimit;
+
+    @Description("Received messages which are older than the oldest checkpoint still used by matrices will be evicted from memory")
+    private boolean evictStoredMessagesBeforeCheckPoint;
+
+    @Description("Messages evicted by Stored Messages Limit or Stored Messages Size Limit are written to a temporary file instead of being discarded")
+    private boolean spillEvictedMessages;
+
     @Description("How long to wait in milliseconds before attempting to start next service")
     protected long expectedTimeOfStarting = 2000;
 
     @Description("How long to wait in milliseconds before attempting to start a service")
     protected long waitingTimeBeforeStarting;
 
+    @Description("Names of services of the same environment which must be started before this service when services are started by a matrix.\n"
+            + "Example: 'serviceA, serviceB'")
+    protected String startAfter;
+
     @Description("User comment")
     protected String comment;
 
@@ -81,6 +99,42 @@ public abstract class AbstractServiceSettings implements IServiceSettings, Seria
         this.invertStoredMessageTypes = invertStoredMessageTypes;
     }
     
+    @Override
+    public int getStoredMessagesLimit() {
+        return storedMessagesLimit;
+    }
+
+    public void setStoredMessagesLimit(int storedMessagesLimit) {
+        this.storedMessagesLimit = storedMessagesLimit;
+    }
+
+    @Override
+    public long getStoredMessagesSizeLimit() {
+        return storedMessagesSizeLimit;
+    }
+
+    public void setStoredMessagesSizeLimit(long storedMessagesSizeLimit) {
+        this.storedMessagesSizeLimit = storedMessagesSizeLimit;
+    }
+
+    @Override
+    public boolean isEvictStoredMessagesBeforeCheckPoint() {
+        return evictStoredMessagesBeforeCheckPoint;
+    }
+
+    public void setEvictStoredMessagesBeforeCheckPoint(boolean evictStoredMessagesBeforeCheckPoint) {
+        this.evictStoredMessagesBeforeCheckPoint = evictStoredMessagesBeforeCheckPoint;
+    }
+
+    @Override
+    public boolean isSpillEvictedMessages() {
+        return spillEvictedMessages;
+    }
+
+    public void setSpillEvictedMessages(boolean spillEvictedMessages) {
+        this.spillEvictedMessages = spillEvictedMessages;
+    }
+
     public long getExpectedTimeOfStarting() {
         return expectedTimeOfStarting;
     }
@@ -107,6 +161,15 @@ public abstract class AbstractServiceSettings implements IServiceSettings, Seria
         this.waitingTimeBeforeStarting = expectedTimeBeforeStarting;
     }
 
+    @Override
+    public String getStartAfter() {
+        return startAfter;
+    }
+
+    public void setStartAfter(String startAfter) {
+        this.startAfter = startAfter;
+    }
+
     // getter and setter are here because we don't want to annotate setter in every subclass
     public abstract SailfishURI getDictionaryName();
 
@@ -15,48 +15,183 @@
  ******************************************************************************/
 package com.exactpro.sf.services;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.exactpro.sf.aml.script.CheckPoint;
 
-public class CSHArrayList<E> extends ArrayList<E> {
+/**
+ * Unbounded append-only list. Elements are stored in fixed-size chunks which are never moved,
+ * so readers can access elements up to the published size without synchronization.
+ * If key function is set each chunk keeps positions of its elements grouped by key.
+ */
+public class CSHArrayList<E> extends AbstractList<E> implements ICSHList<E>, RandomAccess {
 	private static final Logger logger = LoggerFactory.getLogger(CSHArrayList.class);
-	private static final long serialVersionUID = -2751265570161216250L;
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_CHUNKS = 4;
 
 	private static final AtomicLong HASH_COUNTER = new AtomicLong(0);
 	private final long id = HASH_COUNTER.incrementAndGet();
 
 	private final Map<CheckPoint, Integer> checkPointToIndex = new HashMap<>();
+    private final CSHSignal signal = new CSHSignal();
+    private final Function<? super E, String> keyFunction;
+
+    // chunks are published before size, so a reader which has seen size sees the chunk as well
+    private volatile Chunk[] chunks = new Chunk[INITIAL_CHUNKS];
+    private volatile int size;
 
 	public CSHArrayList() {
-		logger.debug("create handler list: {}", id);
+        this(null);
 	}
 
+    /**
+     * @param keyFunction function which returns key of element used by {@link #indexOf(String, int, int)} or {@code null}
+     */
+    public CSHArrayList(Function<? super E, String> keyFunction) {
+        this.keyFunction = keyFunction;
+        logger.debug("create handler list: {}", id);
+    }
+
+    @Override
+    public boolean add(E element) {
+        int index = size;
+        int chunkIndex = index >>> CHUNK_BITS;
+        Chunk[] current = chunks;
+
+        if(chunkIndex == current.length) {
+            current = Arrays.copyOf(current, current.length << 1);
+            chunks = current;
+        }
+
+        Chunk chunk = current[chunkIndex];
+
+        if(chunk == null) {
+            chunk = new Chunk(keyFunction != null);
+            current[chunkIndex] = chunk;
+        }
+
+        chunk.elements[index & CHUNK_MASK] = element;
+
+        if(keyFunction != null) {
+            String key = keyFunction.apply(element);
+
+            if(key != null) {
+                chunk.index.add(key, index);
+            }
+        }
+
+        size = index + 1;
+        modCount++;
+        signal.signalAll();
+
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        Chunk chunk = getChunk(chunks, index >>> CHUNK_BITS);
+
+        // list has been cleared after the size check
+        if(chunk == null) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        return (E)chunk.elements[index & CHUNK_MASK];
+    }
+
+    @Override
+    public int indexOf(String key, int fromIndex, int toIndex) {
+        int to = Math.min(toIndex, size);
+        int from = Math.max(fromIndex, 0);
+
+        if(keyFunction == null) {
+            return from < to ? from : -1;
+        }
+
+        Chunk[] current = chunks;
+
+        while(from < to) {
+            int chunkIndex = from >>> CHUNK_BITS;
+            Chunk chunk = getChunk(current, chunkIndex);
+
+            if(chunk == null) {
+                return -1;
+            }
+
+            int index = chunk.index.next(key, from, to);
+
+            if(index != -1) {
+                return index;
+            }
+
+            from = (chunkIndex + 1) << CHUNK_BITS;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean awaitElement(int index, long timeout) throws InterruptedException {
+        return signal.await(this::size, index, timeout);
+    }
+
+	@Override
 	public void addCheckPoint(CheckPoint checkPoint) {
         putCheckPoint(checkPoint, size());
 	}
 
-	protected void putCheckPoint(CheckPoint checkPoint, int index) {
+	@Override
+	public void putCheckPoint(CheckPoint checkPoint, int index) {
 	    checkPointToIndex.put(checkPoint, index);
 	}
 
+    @Override
     public int getIndex(CheckPoint checkPoint) {
         Integer index = checkPointToIndex.get(checkPoint);
         return index != null ? index : 0;
     }
 
+    @Override
+    public int firstIndex() {
+        return 0;
+    }
+
+    @Override
+    public E peekLast() {
+        return isEmpty() ? null : get(size() - 1);
+    }
+
+    @Override
     public List<E> subList(int fromIndex) {
         int size = size();
         return fromIndex < size ? new ArrayList<>(subList(fromIndex, size)) : new ArrayList<>();
     }
 
+	@Override
 	public long getID() {
 		return id;
 	}
@@ -64,7 +199,22 @@ public class CSHArrayList<E> extends ArrayList<E> {
 	@Override
 	public void clear() {
 		logger.debug("clear handler list: {}", id);
-		super.clear();
+        size = 0;
+        chunks = new Chunk[INITIAL_CHUNKS];
+        modCount++;
 		checkPointToIndex.clear();
 	}
+
+    private static Chunk getChunk(Chunk[] chunks, int chunkIndex) {
+        return chunkIndex < chunks.length ? chunks[chunkIndex] : null;
+    }
+
+    private static class Chunk {
+        private final Object[] elements = new Object[CHUNK_SIZE];
+        private final CSHKeyIndex index;
+
+        public Chunk(boolean indexed) {
+            this.index = indexed ? new CSHKeyIndex() : null;
+        }
+    }
 }
@@ -15,26 +15,39 @@
  ******************************************************************************/
 package com.exactpro.sf.services;
 
-import java.util.List;
 import java.util.NoSuchElementException;
 
 import com.exactpro.sf.aml.script.CheckPoint;
 
+/**
+ * Cursor over {@link ICSHList}. Elements are read from the list directly without copying,
+ * the only state of the iterator is the position of the next element and the visible end.
+ * <br>
+ * If key is set, the iterator returns only candidates found by {@link ICSHList#indexOf(String, int, int)}.
+ */
 public class CSHIterator<E> implements ICSHIterator<E> {
-    private final CSHArrayList<E> list;
+    private final ICSHList<E> list;
     private final CheckPoint checkPoint;
+    private final String key;
 
-    private final List<E> cache;
-    private final int offset;
     private int index;
+    private int end;
 
-    public CSHIterator(CSHArrayList<E> list, CheckPoint checkPoint) {
+    public CSHIterator(ICSHList<E> list, CheckPoint checkPoint) {
+        this(list, checkPoint, null);
+    }
+
+    /**
+     * @param key key of elements to iterate over or {@code null} to iterate over all elements
+     */
+    public CSHIterator(ICSHList<E> list, CheckPoint checkPoint, String key) {
         this.list = list;
         this.checkPoint = checkPoint;
+        this.key = key;
 
         synchronized(list) {
-            offset = list.getIndex(checkPoint);
-            cache = list.subList(offset);
+            index = list.getIndex(checkPoint);
+            end = list.size();
         }
     }
 
@@ -47,18 +60,18 @@ public class CSHIterator<E> implements ICSHIterator<E> {
                 return false;
             }
 
-            long waitUntil = timeout + System.currentTimeMillis();
+            long waitUntil = System.currentTimeMillis() + timeout;
+            long remaining = timeout;
 
-            synchronized(list) {
-                int listSize = cache.size() + offset;
+            // new elements can be skipped by key, so wait until a candidate is found
+            while(remaining > 0 && list.awaitElement(end, remaining)) {
+                end = list.size();
 
-                while(listSize == list.size() && waitUntil > System.currentTimeMillis()) {
-                    list.wait(waitUntil - System.currentTimeMillis());
+                if(hasNext()) {
+                    return true;
                 }
 
-                if(listSize < list.size()) {
-                    cache.addAll(list.subList(listSize));
-                }
+                remaining = waitUntil - System.currentTimeMillis();
             }
         }
 
@@ -69,18 +82,31 @@ public class CSHIterator<E> implements ICSHIterator<E> {
      * @see com.exactpro.sf.services.ICSHIterator#hasNext()
      */
     public boolean hasNext() {
-        return cache.size() > index;
+        skipEvicted();
+
+        if(key != null && index < end) {
+            int next = list.indexOf(key, index, end);
+            index = next != -1 ? next : end;
+        }
+
+        return index < end;
     }
 
     /* (non-Javadoc)
      * @see com.exactpro.sf.services.ICSHIterator#next()
      */
     public E next() {
-        if(!hasNext()) {
-            throw new NoSuchElementException();
+        while(hasNext()) {
+            try {
+                E element = list.get(index);
+                index++;
+                return element;
+            } catch(IndexOutOfBoundsException e) {
+                // element has been evicted after the check, try the first retained one
+            }
         }
 
-        return cache.get(index++);
+        throw new NoSuchElementException();
     }
 
     /* (non-Javadoc)
@@ -89,8 +115,21 @@ public class CSHIterator<E> implements ICSHIterator<E> {
     public void updateCheckPoint() {
         if(checkPoint != null && checkPoint.isSmart()) {
             synchronized(list) {
-                list.putCheckPoint(checkPoint, index + offset);
+                list.putCheckPoint(checkPoint, index);
             }
         }
     }
+
+    private void skipEvicted() {
+        int firstIndex = list.firstIndex();
+
+        if(index < firstIndex) {
+            index = firstIndex;
+        }
+
+        // list has been cleared
+        if(end > list.size()) {
+            end = list.size();
+        }
+    }
 }
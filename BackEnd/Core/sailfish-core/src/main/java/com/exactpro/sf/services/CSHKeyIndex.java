@@ -0,0 +1,88 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Positions of elements grouped by key for one chunk (segment) of {@link ICSHList}.
+ * <br>
+ * Has a single writer which must add a position before the element at it is published,
+ * readers access the index without synchronization.
+ */
+final class CSHKeyIndex {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final ConcurrentMap<String, Postings> keyToPostings = new ConcurrentHashMap<>();
+
+    public void add(String key, int index) {
+        Postings postings = keyToPostings.get(key);
+
+        if(postings == null) {
+            postings = new Postings();
+            keyToPostings.put(key, postings);
+        }
+
+        postings.add(index);
+    }
+
+    /**
+     * @return first position of element with the specified key in range [fromIndex, toIndex) or -1 if there is none
+     */
+    public int next(String key, int fromIndex, int toIndex) {
+        Postings postings = keyToPostings.get(key);
+        return postings != null ? postings.next(fromIndex, toIndex) : -1;
+    }
+
+    private static class Postings {
+        private volatile int[] positions = new int[INITIAL_CAPACITY];
+        private volatile int count;
+
+        public void add(int index) {
+            int[] current = positions;
+
+            if(count == current.length) {
+                current = Arrays.copyOf(current, current.length << 1);
+                positions = current;
+            }
+
+            current[count] = index;
+            count++;
+        }
+
+        public int next(int fromIndex, int toIndex) {
+            int count = this.count;
+            int[] current = positions;
+            int low = 0;
+            int high = count;
+
+            // positions are added in ascending order
+            while(low < high) {
+                int middle = (low + high) >>> 1;
+
+                if(current[middle] < fromIndex) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low < count && current[low] < toIndex ? current[low] : -1;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.temporal.Temporal;
+import java.util.List;
+import java.util.Map;
+
+import com.exactpro.sf.common.messages.IMessage;
+import com.exactpro.sf.common.messages.MsgMetaData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectMapper.DefaultTyping;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Serializes messages together with their metadata (including raw data) as typed JSON
+ */
+public class CSHMessageSpillSerializer implements ICSHSpillSerializer<IMessage> {
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public CSHMessageSpillSerializer() {
+        PolymorphicTypeValidator ptv = BasicPolymorphicTypeValidator
+                .builder()
+                .allowIfSubType(IMessage.class)
+                .allowIfSubType(Map.class)
+                .allowIfSubType(Temporal.class)
+                .allowIfSubType(List.class)
+                .allowIfSubType(Character.class)
+                .allowIfBaseType(String.class)
+                .allowIfSubType(Number.class)
+                .allowIfBaseType(MsgMetaData.class)
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper()
+                .activateDefaultTyping(ptv, DefaultTyping.NON_FINAL)
+                .registerModule(new JavaTimeModule());
+
+        this.reader = objectMapper.readerFor(IMessage.class);
+        this.writer = objectMapper.writer();
+    }
+
+    @Override
+    public void write(IMessage element, DataOutput output) throws IOException {
+        byte[] data = writer.writeValueAsBytes(element);
+        output.writeInt(data.length);
+        output.write(data);
+    }
+
+    @Override
+    public IMessage read(DataInput input) throws IOException {
+        byte[] data = new byte[input.readInt()];
+        input.readFully(data);
+        return reader.readValue(data);
+    }
+}
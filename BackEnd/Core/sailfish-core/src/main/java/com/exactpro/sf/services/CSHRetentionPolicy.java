@@ -0,0 +1,123 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Describes how many received messages {@link CollectorServiceHandler} keeps in memory for each session and route
+ */
+public class CSHRetentionPolicy {
+    public static final int DEFAULT_SEGMENT_SIZE = 4096;
+    /**
+     * Limits are split into this number of segments, so at least 7/8 of a limit stays in memory after eviction
+     */
+    private static final int SEGMENTS_PER_LIMIT = 8;
+    public static final CSHRetentionPolicy UNBOUNDED = new CSHRetentionPolicy(0, 0, false, false);
+
+    private final int maxMessages;
+    private final long maxBytes;
+    private final boolean evictBeforeCheckPoint;
+    private final boolean spillToDisk;
+    private final int segmentSize;
+    private final long segmentBytes;
+
+    public CSHRetentionPolicy(int maxMessages, long maxBytes, boolean evictBeforeCheckPoint, boolean spillToDisk) {
+        this(maxMessages, maxBytes, evictBeforeCheckPoint, spillToDisk,
+                maxMessages > 0 ? Math.max(Math.min(DEFAULT_SEGMENT_SIZE, maxMessages / SEGMENTS_PER_LIMIT), 1) : DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param maxMessages maximum number of messages kept in memory, {@code 0} means unlimited
+     * @param maxBytes maximum total size of raw data of messages kept in memory, {@code 0} means unlimited
+     * @param evictBeforeCheckPoint evict messages received before the oldest checkpoint which is still in use
+     * @param spillToDisk write evicted messages to a temporary file instead of discarding them
+     * @param segmentSize maximum number of messages in one segment. Messages are evicted by whole segments.
+     *                    If the size limit is set a segment is also closed when its messages take 1/8 of the limit
+     */
+    public CSHRetentionPolicy(int maxMessages, long maxBytes, boolean evictBeforeCheckPoint, boolean spillToDisk, int segmentSize) {
+        if(maxMessages < 0) {
+            throw new IllegalArgumentException("Max messages cannot be negative: " + maxMessages);
+        }
+
+        if(maxBytes < 0) {
+            throw new IllegalArgumentException("Max bytes cannot be negative: " + maxBytes);
+        }
+
+        if(segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive: " + segmentSize);
+        }
+
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.evictBeforeCheckPoint = evictBeforeCheckPoint;
+        this.spillToDisk = spillToDisk;
+        this.segmentSize = segmentSize;
+        this.segmentBytes = maxBytes > 0 ? Math.max(maxBytes / SEGMENTS_PER_LIMIT, 1) : 0;
+    }
+
+    public static CSHRetentionPolicy fromSettings(IServiceSettings settings) {
+        if(settings == null) {
+            return UNBOUNDED;
+        }
+
+        return new CSHRetentionPolicy(settings.getStoredMessagesLimit(), settings.getStoredMessagesSizeLimit(),
+                settings.isEvictStoredMessagesBeforeCheckPoint(), settings.isSpillEvictedMessages());
+    }
+
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public boolean isEvictBeforeCheckPoint() {
+        return evictBeforeCheckPoint;
+    }
+
+    public boolean isSpillToDisk() {
+        return spillToDisk;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * @return size of messages after which a segment is closed, {@code 0} means unlimited
+     */
+    public long getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    public boolean isBounded() {
+        return maxMessages > 0 || maxBytes > 0 || evictBeforeCheckPoint;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("maxMessages", maxMessages)
+                .append("maxBytes", maxBytes)
+                .append("evictBeforeCheckPoint", evictBeforeCheckPoint)
+                .append("spillToDisk", spillToDisk)
+                .append("segmentSize", segmentSize)
+                .toString();
+    }
+}
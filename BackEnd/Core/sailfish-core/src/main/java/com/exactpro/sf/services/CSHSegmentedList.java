@@ -0,0 +1,557 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.exactpro.sf.aml.script.CheckPoint;
+import com.exactpro.sf.common.util.EPSCommonException;
+
+/**
+ * Append-only list which stores elements in segments and evicts the oldest segments
+ * according to {@link CSHRetentionPolicy}. Evicted segments are either discarded or written to disk.
+ * <br>
+ * A segment is closed when it reaches the segment size or the segment bytes of the policy.
+ * Only closed segments are evicted and a segment is never bigger than the limits, so limits are kept
+ * with precision of one segment (or one element which is bigger than the size limit).
+ * Checkpoints are weakly referenced: a checkpoint which is not used by anyone anymore doesn't prevent eviction,
+ * if there are no checkpoints in use all closed segments are evicted.
+ * <br>
+ * Segments are published copy-on-write, so elements kept in memory are read without synchronization.
+ * Modifications and reading of spilled elements synchronize on the list.
+ * If key function is set each segment keeps positions of its elements grouped by key,
+ * the index stays in memory when the segment is spilled.
+ */
+public class CSHSegmentedList<E> implements ICSHList<E> {
+    private static final Logger logger = LoggerFactory.getLogger(CSHSegmentedList.class);
+
+    private static final AtomicLong HASH_COUNTER = new AtomicLong(0);
+    private final long id = HASH_COUNTER.incrementAndGet();
+
+    private final CSHRetentionPolicy policy;
+    private final int segmentSize;
+    private final long segmentBytes;
+    private final ToLongFunction<? super E> sizeEstimator;
+    private final ICSHSpillSerializer<E> serializer;
+    private final Function<? super E, String> keyFunction;
+
+    private final Map<CheckPoint, Integer> checkPointToIndex = new WeakHashMap<>();
+    private final CSHSignal signal = new CSHSignal();
+
+    // spilled segments first, then segments in memory. All segments except the active one are closed.
+    // The list is replaced on every change and published before size
+    private volatile List<Segment<E>> segments = Collections.emptyList();
+    // the last segment if it's not closed yet
+    private Segment<E> active;
+
+    private int spilledSegments;
+    private volatile int firstIndex;
+    private volatile int size;
+    private int memoryCount;
+    private long memoryBytes;
+
+    private File spillDir;
+    private Segment<E> loadedSegment;
+    private List<E> loadedElements;
+
+    public CSHSegmentedList(CSHRetentionPolicy policy, ToLongFunction<? super E> sizeEstimator, ICSHSpillSerializer<E> serializer) {
+        this(policy, sizeEstimator, serializer, null);
+    }
+
+    /**
+     * @param keyFunction function which returns key of element used by {@link #indexOf(String, int, int)} or {@code null}
+     */
+    public CSHSegmentedList(CSHRetentionPolicy policy, ToLongFunction<? super E> sizeEstimator, ICSHSpillSerializer<E> serializer,
+            Function<? super E, String> keyFunction) {
+        if(policy.isSpillToDisk() && serializer == null) {
+            throw new IllegalArgumentException("Serializer is required to spill evicted elements to disk");
+        }
+
+        this.policy = policy;
+        this.segmentSize = policy.getSegmentSize();
+        this.segmentBytes = policy.getSegmentBytes();
+        this.sizeEstimator = sizeEstimator;
+        this.serializer = serializer;
+        this.keyFunction = keyFunction;
+
+        logger.debug("create handler list: {} with policy: {}", id, policy);
+    }
+
+    @Override
+    public long getID() {
+        return id;
+    }
+
+    @Override
+    public synchronized boolean add(E element) {
+        if(active == null) {
+            active = new Segment<>(size, segmentSize, keyFunction != null);
+            List<Segment<E>> newSegments = new ArrayList<>(segments.size() + 1);
+            newSegments.addAll(segments);
+            newSegments.add(active);
+            segments = newSegments;
+
+            if(policy.isEvictBeforeCheckPoint()) {
+                evictBeforeCheckPoint();
+            }
+        }
+
+        long bytes = sizeEstimator.applyAsLong(element);
+
+        active.add(element, bytes);
+
+        if(keyFunction != null) {
+            String key = keyFunction.apply(element);
+
+            if(key != null) {
+                active.index.add(key, size);
+            }
+        }
+
+        size++;
+        memoryCount++;
+        memoryBytes += bytes;
+
+        if(active.isFull() || (segmentBytes > 0 && active.bytes >= segmentBytes)) {
+            active.close();
+            active = null;
+        }
+
+        evictByLimits();
+        signal.signalAll();
+
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == firstIndex;
+    }
+
+    @Override
+    public int firstIndex() {
+        return firstIndex;
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+
+        List<Segment<E>> current = segments;
+        int segmentIndex = indexOfSegment(current, index);
+
+        // evicted after the index check
+        if(segmentIndex < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", retained: [" + firstIndex + ", " + size + ')');
+        }
+
+        Segment<E> segment = current.get(segmentIndex);
+        Object[] elements = segment.elements;
+
+        if(elements != null) {
+            return Segment.cast(elements[index - segment.start]);
+        }
+
+        // segment has been spilled, loading requires exclusive access
+        synchronized(this) {
+            checkIndex(index);
+            segment = getSegment(index);
+            return segment.inMemory() ? segment.get(index) : load(segment).get(index - segment.start);
+        }
+    }
+
+    @Override
+    public int indexOf(String key, int fromIndex, int toIndex) {
+        int from = Math.max(fromIndex, firstIndex);
+        int to = Math.min(toIndex, size);
+
+        if(from >= to) {
+            return -1;
+        }
+
+        if(keyFunction == null) {
+            return from;
+        }
+
+        List<Segment<E>> current = segments;
+
+        // segments evicted after the range check are skipped
+        for(int i = Math.max(indexOfSegment(current, from), 0); i < current.size(); i++) {
+            Segment<E> segment = current.get(i);
+
+            if(segment.start >= to) {
+                break;
+            }
+
+            int index = segment.index.next(key, from, to);
+
+            if(index != -1) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public boolean awaitElement(int index, long timeout) throws InterruptedException {
+        return signal.await(this::size, index, timeout);
+    }
+
+    @Override
+    public E peekLast() {
+        return isEmpty() ? null : get(size - 1);
+    }
+
+    @Override
+    public List<E> subList(int fromIndex) {
+        List<E> result = copy(fromIndex, false);
+
+        if(result != null) {
+            return result;
+        }
+
+        // some segments have been spilled, loading requires exclusive access
+        synchronized(this) {
+            return copy(fromIndex, true);
+        }
+    }
+
+    @Override
+    public void addCheckPoint(CheckPoint checkPoint) {
+        putCheckPoint(checkPoint, size);
+    }
+
+    @Override
+    public void putCheckPoint(CheckPoint checkPoint, int index) {
+        checkPointToIndex.put(checkPoint, index);
+    }
+
+    @Override
+    public int getIndex(CheckPoint checkPoint) {
+        Integer index = checkPointToIndex.get(checkPoint);
+        return index != null ? Math.max(index, firstIndex) : firstIndex;
+    }
+
+    @Override
+    public synchronized void clear() {
+        logger.debug("clear handler list: {}", id);
+
+        segments = Collections.emptyList();
+        active = null;
+        checkPointToIndex.clear();
+        spilledSegments = 0;
+        firstIndex = 0;
+        size = 0;
+        memoryCount = 0;
+        memoryBytes = 0;
+        loadedSegment = null;
+        loadedElements = null;
+
+        if(spillDir != null) {
+            FileUtils.deleteQuietly(spillDir);
+            spillDir = null;
+        }
+    }
+
+    @Override
+    public synchronized void dispose() {
+        while(spilledSegments > 0) {
+            discardFirst();
+        }
+
+        if(spillDir != null) {
+            FileUtils.deleteQuietly(spillDir);
+            spillDir = null;
+        }
+    }
+
+    private void checkIndex(int index) {
+        if(index < firstIndex || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", retained: [" + firstIndex + ", " + size + ')');
+        }
+    }
+
+    /**
+     * @return position of the segment which contains the index or {@code -1} if the index is before the first segment
+     */
+    private static <E> int indexOfSegment(List<Segment<E>> segments, int index) {
+        int low = 0;
+        int high = segments.size() - 1;
+        int result = -1;
+
+        while(low <= high) {
+            int middle = (low + high) >>> 1;
+
+            if(segments.get(middle).start <= index) {
+                result = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Copies elements retained at the moment of the call starting from the index
+     * @param loadSpilled loads spilled segments if {@code true}, must be called under the lock of the list in this case
+     * @return copied elements or {@code null} if a segment is spilled and loading isn't allowed
+     */
+    private List<E> copy(int fromIndex, boolean loadSpilled) {
+        // size is published after elements and segments, so all elements before it are visible
+        int to = size;
+        int from = Math.max(fromIndex, firstIndex);
+
+        if(from >= to) {
+            return new ArrayList<>();
+        }
+
+        List<E> result = new ArrayList<>(to - from);
+        List<Segment<E>> current = segments;
+
+        for(int i = Math.max(indexOfSegment(current, from), 0); i < current.size(); i++) {
+            Segment<E> segment = current.get(i);
+
+            if(segment.start >= to) {
+                break;
+            }
+
+            int offset = Math.max(from - segment.start, 0);
+            // elements are read once because the segment can be spilled concurrently
+            Object[] elements = segment.elements;
+
+            if(elements != null) {
+                int end = Math.min(to - segment.start, elements.length);
+
+                for(int j = offset; j < end; j++) {
+                    result.add(Segment.cast(elements[j]));
+                }
+            } else if(loadSpilled) {
+                List<E> loaded = load(segment);
+                result.addAll(loaded.subList(offset, Math.min(to - segment.start, loaded.size())));
+            } else {
+                return null;
+            }
+        }
+
+        return result;
+    }
+
+    private Segment<E> getSegment(int index) {
+        return segments.get(indexOfSegment(segments, index));
+    }
+
+    private void evictByLimits() {
+        int maxMessages = policy.getMaxMessages();
+        long maxBytes = policy.getMaxBytes();
+
+        while((maxMessages > 0 && memoryCount > maxMessages) || (maxBytes > 0 && memoryBytes > maxBytes)) {
+            // active segment is never evicted
+            if(spilledSegments >= segments.size() - (active != null ? 1 : 0)) {
+                return;
+            }
+
+            Segment<E> oldest = segments.get(spilledSegments);
+
+            memoryCount -= oldest.count;
+            memoryBytes -= oldest.bytes;
+
+            if(policy.isSpillToDisk() && spill(oldest)) {
+                spilledSegments++;
+            } else {
+                // spilled segments cannot be kept after a gap
+                while(segments.get(0) != oldest) {
+                    discardFirst();
+                }
+
+                discardFirst();
+            }
+        }
+    }
+
+    private void evictBeforeCheckPoint() {
+        // without checkpoints in use all closed segments are evicted
+        int bound = size;
+
+        for(Integer index : checkPointToIndex.values()) {
+            bound = Math.min(bound, index);
+        }
+
+        while(segments.size() > 1 && segments.get(0).end() <= bound) {
+            Segment<E> oldest = segments.get(0);
+
+            if(oldest.inMemory()) {
+                memoryCount -= oldest.count;
+                memoryBytes -= oldest.bytes;
+            }
+
+            discardFirst();
+        }
+    }
+
+    private void discardFirst() {
+        Segment<E> segment = segments.get(0);
+        segments = new ArrayList<>(segments.subList(1, segments.size()));
+
+        if(!segment.inMemory()) {
+            spilledSegments--;
+            FileUtils.deleteQuietly(segment.file);
+        }
+
+        if(segment == loadedSegment) {
+            loadedSegment = null;
+            loadedElements = null;
+        }
+
+        // elements are left to readers which still see the segment
+        firstIndex = segment.end();
+    }
+
+    private boolean spill(Segment<E> segment) {
+        try {
+            if(spillDir == null) {
+                spillDir = Files.createTempDirectory("csh-" + id + '-').toFile();
+                spillDir.deleteOnExit();
+            }
+
+            File file = new File(spillDir, segment.start + ".seg");
+
+            try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+                output.writeInt(segment.count);
+
+                for(int i = 0; i < segment.count; i++) {
+                    serializer.write(segment.elementAt(i), output);
+                }
+            }
+
+            file.deleteOnExit();
+            segment.file = file;
+            segment.elements = null;
+
+            return true;
+        } catch(IOException e) {
+            logger.error("Failed to spill segment [{}, {}) of handler list {} to disk, segment will be discarded", segment.start, segment.end(), id, e);
+            return false;
+        }
+    }
+
+    private List<E> load(Segment<E> segment) {
+        if(segment == loadedSegment) {
+            return loadedElements;
+        }
+
+        try(DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(segment.file)))) {
+            int count = input.readInt();
+            List<E> elements = new ArrayList<>(count);
+
+            for(int i = 0; i < count; i++) {
+                elements.add(serializer.read(input));
+            }
+
+            loadedSegment = segment;
+            loadedElements = Collections.unmodifiableList(elements);
+
+            return loadedElements;
+        } catch(IOException e) {
+            throw new EPSCommonException("Failed to load segment [" + segment.start + ", " + segment.end() + ") of handler list " + id, e);
+        }
+    }
+
+    private static class Segment<E> {
+        private final int start;
+        private final int capacity;
+        private final CSHKeyIndex index;
+        private volatile Object[] elements;
+        // modified and read under the lock of the list only, readers without the lock are bounded by the size of the list
+        private int count;
+        private long bytes;
+        private File file;
+
+        public Segment(int start, int capacity, boolean indexed) {
+            this.start = start;
+            this.capacity = capacity;
+            this.elements = new Object[capacity];
+            this.index = indexed ? new CSHKeyIndex() : null;
+        }
+
+        public boolean inMemory() {
+            return elements != null;
+        }
+
+        public boolean isFull() {
+            return count == capacity;
+        }
+
+        public int end() {
+            return start + count;
+        }
+
+        /**
+         * Releases unused capacity of a segment closed before it's full
+         */
+        public void close() {
+            if(count < capacity) {
+                elements = Arrays.copyOf(elements, count);
+            }
+        }
+
+        public void add(E element, long size) {
+            elements[count++] = element;
+            bytes += size;
+        }
+
+        public E get(int index) {
+            return elementAt(index - start);
+        }
+
+        public E elementAt(int offset) {
+            return cast(elements[offset]);
+        }
+
+        @SuppressWarnings("unchecked")
+        public static <E> E cast(Object element) {
+            return (E)element;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+
+/**
+ * Wakes up readers of {@link ICSHList} waiting for new elements.
+ * <br>
+ * Only threads which are actually waiting are registered, so the writer doesn't pay for idle readers
+ * and a reader is woken up only by appends to the list it waits on.
+ */
+final class CSHSignal {
+    private final Queue<Thread> waiters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Wakes up all waiting readers. Must be called after the new size of the list is published.
+     */
+    public void signalAll() {
+        if(waiters.isEmpty()) {
+            return;
+        }
+
+        for(Thread waiter : waiters) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    /**
+     * Waits until the size supplied by {@code size} becomes greater than {@code position}
+     * @param size supplier of the current size, must be safe to call without synchronization
+     * @param position position of the element to wait for
+     * @param timeout maximum time to wait in milliseconds
+     * @return {@code true} if the element at {@code position} is available
+     */
+    public boolean await(IntSupplier size, int position, long timeout) throws InterruptedException {
+        if(size.getAsInt() > position) {
+            return true;
+        }
+
+        if(timeout <= 0) {
+            return false;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        Thread current = Thread.currentThread();
+
+        // registration must precede the size check, otherwise a signal can be missed
+        waiters.add(current);
+
+        try {
+            while(size.getAsInt() <= position) {
+                if(Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+
+                long remaining = deadline - System.nanoTime();
+
+                if(remaining <= 0) {
+                    return false;
+                }
+
+                LockSupport.parkNanos(this, remaining);
+            }
+
+            return true;
+        } finally {
+            waiters.remove(current);
+        }
+    }
+}
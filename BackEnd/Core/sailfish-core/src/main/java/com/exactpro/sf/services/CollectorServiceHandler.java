@@ -19,6 +19,7 @@ import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -29,23 +30,38 @@ import org.slf4j.LoggerFactory;
 import com.exactpro.sf.aml.script.CheckPoint;
 import com.exactpro.sf.common.messages.IMessage;
 import com.exactpro.sf.common.util.EvolutionBatch;
-import com.google.common.collect.Iterables;
 
 public class CollectorServiceHandler implements IServiceHandler {
 	private static final Logger logger = LoggerFactory.getLogger(CollectorServiceHandler.class);
 
-    private final Map<ServiceHandlerRoute, ConcurrentMap<ISession, CSHArrayList<IMessage>>> routeToMessages;
+    // used for messages without raw data
+    private static final int ESTIMATED_FIELD_SIZE = 64;
+
+    private final Map<ServiceHandlerRoute, ConcurrentMap<ISession, ICSHList<IMessage>>> routeToMessages;
+
+    private volatile CSHRetentionPolicy retentionPolicy = CSHRetentionPolicy.UNBOUNDED;
 
 	public CollectorServiceHandler() {
-        Map<ServiceHandlerRoute, ConcurrentMap<ISession, CSHArrayList<IMessage>>> map = new EnumMap<>(ServiceHandlerRoute.class);
+        Map<ServiceHandlerRoute, ConcurrentMap<ISession, ICSHList<IMessage>>> map = new EnumMap<>(ServiceHandlerRoute.class);
 
         for (ServiceHandlerRoute route : ServiceHandlerRoute.values()) {
-            map.put(route, new ConcurrentHashMap<ISession, CSHArrayList<IMessage>>());
+            map.put(route, new ConcurrentHashMap<ISession, ICSHList<IMessage>>());
         }
 
         this.routeToMessages = Collections.unmodifiableMap(map);
 	}
 
+    public CSHRetentionPolicy getRetentionPolicy() {
+        return retentionPolicy;
+    }
+
+    /**
+     * Sets retention policy for message lists which will be created after this call
+     */
+    public void setRetentionPolicy(CSHRetentionPolicy retentionPolicy) {
+        this.retentionPolicy = Objects.requireNonNull(retentionPolicy, "retentionPolicy cannot be null");
+    }
+
 	@Override
 	public void exceptionCaught(ISession session, Throwable cause) {
 		logger.error("exception caught for session: {}", session, cause);
@@ -65,7 +81,7 @@ public class CollectorServiceHandler implements IServiceHandler {
 	        return;
 	    }
 	    
-	    CSHArrayList<IMessage> a = getList(session, route);
+	    ICSHList<IMessage> a = getList(session, route);
 
         synchronized (a) {
             if (logger.isDebugEnabled()) {
@@ -74,17 +90,17 @@ public class CollectorServiceHandler implements IServiceHandler {
                 logger.debug("{}: put message to array {}", route.getAlias(), a.getID());
             }
 
+            // waiting readers are signalled by the list itself
             a.add(message);
-            a.notifyAll();
         }
     }
 
-    private CSHArrayList<IMessage> getList(ISession session, ServiceHandlerRoute route) {
-        ConcurrentMap<ISession, CSHArrayList<IMessage>> map = routeToMessages.get(route);
-        CSHArrayList<IMessage> list = map.get(session);
+    private ICSHList<IMessage> getList(ISession session, ServiceHandlerRoute route) {
+        ConcurrentMap<ISession, ICSHList<IMessage>> map = routeToMessages.get(route);
+        ICSHList<IMessage> list = map.get(session);
 
 		if (list == null) {
-            CSHArrayList<IMessage> newList = new CSHArrayList<>();
+            ICSHList<IMessage> newList = createList();
 			list = map.putIfAbsent(session, newList);
 			//putIfAbsent returns old association of key (null) if map did not contain a key
 			if (list == null) {
@@ -96,9 +112,24 @@ public class CollectorServiceHandler implements IServiceHandler {
 		return list;
 	}
 
+    protected ICSHList<IMessage> createList() {
+        CSHRetentionPolicy policy = retentionPolicy;
+
+        if (!policy.isBounded()) {
+            return new CSHArrayList<>(IMessage::getName);
+        }
+
+        return new CSHSegmentedList<>(policy, CollectorServiceHandler::estimateSize, policy.isSpillToDisk() ? new CSHMessageSpillSerializer() : null, IMessage::getName);
+    }
+
+    private static long estimateSize(IMessage message) {
+        byte[] rawMessage = message.getMetaData().getRawMessage();
+        return rawMessage != null ? rawMessage.length : (long)message.getFieldCount() * ESTIMATED_FIELD_SIZE;
+    }
+
     //FIXME: Used only for test purposes. Think of a better way to get checkpoint index
     public int getCheckPointIndex(ISession session, ServiceHandlerRoute route, CheckPoint checkPoint) {
-        CSHArrayList<IMessage> list = getList(session, route);
+        ICSHList<IMessage> list = getList(session, route);
 
         synchronized(list) {
             return list.getIndex(checkPoint);
@@ -107,13 +138,19 @@ public class CollectorServiceHandler implements IServiceHandler {
 
     @Override
     public CSHIterator<IMessage> getIterator(ISession session, ServiceHandlerRoute route, CheckPoint checkPoint) {
-        CSHArrayList<IMessage> list = getList(session, route);
+        ICSHList<IMessage> list = getList(session, route);
         return new CSHIterator<>(list, checkPoint);
     }
 
+    @Override
+    public CSHIterator<IMessage> getIterator(ISession session, ServiceHandlerRoute route, CheckPoint checkPoint, String messageName) {
+        ICSHList<IMessage> list = getList(session, route);
+        return new CSHIterator<>(list, checkPoint, messageName);
+    }
+
     @Override
     public List<IMessage> getMessages(ISession session, ServiceHandlerRoute route, CheckPoint checkPoint) {
-        CSHArrayList<IMessage> list = getList(session, route);
+        ICSHList<IMessage> list = getList(session, route);
 
         synchronized(list) {
             return list.subList(list.getIndex(checkPoint));
@@ -140,11 +177,12 @@ public class CollectorServiceHandler implements IServiceHandler {
      */
     @Override
     public void registerCheckPoint(ISession session, ServiceHandlerRoute route, CheckPoint checkPoint) {
-        CSHArrayList<IMessage> list = getList(session, route);
+        ICSHList<IMessage> list = getList(session, route);
 
         synchronized(list) {
-            if (!list.isEmpty()) {
-                IMessage lastMessage = Iterables.getLast(list);
+            IMessage lastMessage = list.peekLast();
+
+            if (lastMessage != null) {
                 checkPoint.addMessage(lastMessage);
             }
             list.addCheckPoint(checkPoint);
@@ -157,7 +195,15 @@ public class CollectorServiceHandler implements IServiceHandler {
             logger.debug("clean: {}", (Object) routes);
 
             for (ServiceHandlerRoute route : routes) {
-                routeToMessages.get(route).clear();
+                ConcurrentMap<ISession, ICSHList<IMessage>> lists = routeToMessages.get(route);
+
+                for (ICSHList<IMessage> list : lists.values()) {
+                    synchronized (list) {
+                        list.dispose();
+                    }
+                }
+
+                lists.clear();
             }
 	    }
     }
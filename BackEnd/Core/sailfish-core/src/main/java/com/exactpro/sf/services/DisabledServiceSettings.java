@@ -73,6 +73,11 @@ public class DisabledServiceSettings implements IServiceSettings, Serializable {
         return 0;
     }
 
+    @Override
+    public String getStartAfter() {
+        return null;
+    }
+
     @Override
     public boolean isPerformDump() {
         return false;
@@ -98,6 +103,26 @@ public class DisabledServiceSettings implements IServiceSettings, Serializable {
         return false;
     }
 
+    @Override
+    public int getStoredMessagesLimit() {
+        return 0;
+    }
+
+    @Override
+    public long getStoredMessagesSizeLimit() {
+        return 0;
+    }
+
+    @Override
+    public boolean isEvictStoredMessagesBeforeCheckPoint() {
+        return false;
+    }
+
+    @Override
+    public boolean isSpillEvictedMessages() {
+        return false;
+    }
+
     @Override
     public long getSendMessageTimeout() {
         return 1000;
@@ -0,0 +1,106 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services;
+
+import java.util.List;
+
+import com.exactpro.sf.aml.script.CheckPoint;
+
+/**
+ * Append-only storage of messages received by {@link CollectorServiceHandler} for one session and route.
+ * <br>
+ * Positions are absolute: position of an element never changes even if older elements are evicted.
+ * <br>
+ * The list has a single writer: modifications must be synchronized on the list itself.
+ * {@link #size()}, {@link #firstIndex()}, {@link #get(int)}, {@link #indexOf(String, int, int)}
+ * and {@link #awaitElement(int, long)} can be called by readers without synchronization, other methods require it.
+ */
+public interface ICSHList<E> {
+
+    long getID();
+
+    boolean add(E element);
+
+    /**
+     * @return position after the last added element
+     */
+    int size();
+
+    /**
+     * @return {@code true} if there are no retained elements
+     */
+    boolean isEmpty();
+
+    /**
+     * @return position of the first retained element
+     */
+    int firstIndex();
+
+    /**
+     * @param index absolute position of element
+     * @return element at the specified position
+     * @throws IndexOutOfBoundsException if element is not added yet or has been already evicted
+     */
+    E get(int index);
+
+    /**
+     * Looks for the next element with the specified key (e.g. message name).
+     * A list without key index treats every element as a candidate.
+     * @param key key of element
+     * @param fromIndex absolute position to start search from (inclusive)
+     * @param toIndex absolute position to end search at (exclusive)
+     * @return position of the first candidate in the specified range or -1 if there is none
+     */
+    int indexOf(String key, int fromIndex, int toIndex);
+
+    /**
+     * Waits until an element is added at the specified position
+     * @param index absolute position of element
+     * @param timeout maximum time to wait in milliseconds
+     * @return {@code true} if element at the specified position has been added
+     */
+    boolean awaitElement(int index, long timeout) throws InterruptedException;
+
+    /**
+     * @return last added element or {@code null} if there are no retained elements
+     */
+    E peekLast();
+
+    /**
+     * Returns copy of the retained elements starting from the specified position
+     * @param fromIndex absolute position of the first element
+     */
+    List<E> subList(int fromIndex);
+
+    void addCheckPoint(CheckPoint checkPoint);
+
+    void putCheckPoint(CheckPoint checkPoint, int index);
+
+    /**
+     * @return position associated with checkpoint or position of the first retained element
+     */
+    int getIndex(CheckPoint checkPoint);
+
+    void clear();
+
+    /**
+     * Releases resources held outside of the heap (e.g. evicted elements written to disk).
+     * Elements retained in memory stay available for readers which still use the list.
+     */
+    default void dispose() {
+        // nothing to release
+    }
+}
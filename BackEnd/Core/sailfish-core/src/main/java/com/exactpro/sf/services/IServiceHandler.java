@@ -34,6 +34,14 @@ public interface IServiceHandler {
 
     CSHIterator<IMessage> getIterator(ISession session, ServiceHandlerRoute route, CheckPoint checkPoint);
 
+    /**
+     * Returns iterator which may skip messages with name other than {@code messageName}.
+     * Handlers without index by message name return all messages.
+     */
+    default CSHIterator<IMessage> getIterator(ISession session, ServiceHandlerRoute route, CheckPoint checkPoint, String messageName) {
+        return getIterator(session, route, checkPoint);
+    }
+
     List<IMessage> getMessages(ISession session, ServiceHandlerRoute route, CheckPoint checkPoint);
 
     void registerCheckPoint(ISession session, ServiceHandlerRoute route, CheckPoint checkPoint);
@@ -30,6 +30,10 @@ public interface IServiceSettings extends IEvolutionSettings {
 
 	long getWaitingTimeBeforeStarting();
 
+    default String getStartAfter() {
+        return null;
+    }
+
 	long getSendMessageTimeout();
 
 	String getStoredMessageTypes();
@@ -42,4 +46,20 @@ public interface IServiceSettings extends IEvolutionSettings {
 
     boolean isInvertStoredMessageTypes();
 
+    default int getStoredMessagesLimit() {
+        return 0;
+    }
+
+    default long getStoredMessagesSizeLimit() {
+        return 0;
+    }
+
+    default boolean isEvictStoredMessagesBeforeCheckPoint() {
+        return false;
+    }
+
+    default boolean isSpillEvictedMessages() {
+        return false;
+    }
+
 }
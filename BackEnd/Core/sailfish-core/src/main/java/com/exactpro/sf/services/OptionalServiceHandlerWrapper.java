@@ -62,6 +62,11 @@ public class OptionalServiceHandlerWrapper implements IServiceHandler {
         return currentServiceHandler.getIterator(session, route, checkPoint);
     }
 
+    @Override
+    public CSHIterator<IMessage> getIterator(ISession session, ServiceHandlerRoute route, CheckPoint checkPoint, String messageName) {
+        return currentServiceHandler.getIterator(session, route, checkPoint, messageName);
+    }
+
     @Override
     public List<IMessage> getMessages(ISession session, ServiceHandlerRoute route, CheckPoint checkPoint) {
         return currentServiceHandler.getMessages(session, route, checkPoint);
@@ -58,6 +58,11 @@ public abstract class ServiceHandlerWrapper implements IServiceHandler {
         return serviceHandler.getIterator(session, route, checkPoint);
     }
 
+    @Override
+    public CSHIterator<IMessage> getIterator(ISession session, ServiceHandlerRoute route, CheckPoint checkPoint, String messageName) {
+        return serviceHandler.getIterator(session, route, checkPoint, messageName);
+    }
+
     @Override
     public List<IMessage> getMessages(ISession session, ServiceHandlerRoute route, CheckPoint checkPoint) {
         return serviceHandler.getMessages(session, route, checkPoint);
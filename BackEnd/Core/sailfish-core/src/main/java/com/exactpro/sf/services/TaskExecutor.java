@@ -48,29 +48,29 @@ public class TaskExecutor implements ITaskExecutor
 	}
 
 	@Override
-	public synchronized <T> Future<T> addTask(Callable<T> task)
+	public <T> Future<T> addTask(Callable<T> task)
 	{
 		return threadPool.submit(new TaskCallableWrapper<T>(task));
 	}
 
 	@Override
-	public synchronized Future<?> addTask(Runnable task)
+	public Future<?> addTask(Runnable task)
 	{
 		return threadPool.submit(new TaskRunnableWrapper(task));
 	}
 
     @Override
-	public synchronized Future<?> schedule(Runnable task, long delay, TimeUnit timeUnit) {
+	public Future<?> schedule(Runnable task, long delay, TimeUnit timeUnit) {
 		return scheduledThreadPool.schedule(new TaskRunnableWrapper(task, timeUnit.toMillis(delay)), delay, timeUnit);
 	}
 
     @Override
-    public synchronized <V> Future<?> schedule(Callable<V> task, long delay, TimeUnit timeUnit) {
+    public <V> Future<?> schedule(Callable<V> task, long delay, TimeUnit timeUnit) {
         return scheduledThreadPool.schedule(new TaskCallableWrapper<V>(task, timeUnit.toMillis(delay)), delay, timeUnit);
     }
 
 	@Override
-	public synchronized Future<?> addRepeatedTask(Runnable task, long initialDelay, long delay, TimeUnit timeUnit) {
+	public Future<?> addRepeatedTask(Runnable task, long initialDelay, long delay, TimeUnit timeUnit) {
 		return scheduledThreadPool.scheduleWithFixedDelay(new TaskRepeatableWrapper(task, initialDelay, delay), initialDelay, delay, timeUnit);
 	}
 
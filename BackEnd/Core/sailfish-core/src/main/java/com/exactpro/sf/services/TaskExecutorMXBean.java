@@ -0,0 +1,49 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services;
+
+/**
+ * Task executor metrics exported via JMX
+ */
+public interface TaskExecutorMXBean {
+    /**
+     * @return {@code true} if tasks are executed on virtual threads
+     */
+    boolean isVirtualThreads();
+
+    /**
+     * @return number of tasks submitted for execution but not started yet
+     */
+    long getQueueDepth();
+
+    /**
+     * @return number of tasks waiting for their delay in the timer
+     */
+    long getScheduledCount();
+
+    long getCompletedCount();
+
+    long getFailedCount();
+
+    /**
+     * @return delay between the time a task was due and the time it started
+     */
+    long getLastTaskLatencyMicros();
+
+    long getMaxTaskLatencyMicros();
+
+    long getAverageTaskLatencyMicros();
+}
@@ -0,0 +1,53 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services;
+
+/**
+ * Implementation of {@link ITaskExecutor} used by the environment
+ */
+public enum TaskExecutorType {
+    /**
+     * {@link TaskExecutor} backed by a cached thread pool and a scheduled thread pool
+     */
+    THREAD_POOL("thread_pool"),
+    /**
+     * {@link VirtualThreadTaskExecutor} which runs tasks on virtual threads
+     * or on a bounded work-stealing pool if the JVM doesn't support them
+     */
+    VIRTUAL_THREADS("virtual_threads");
+
+    private final String name;
+
+    TaskExecutorType(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static TaskExecutorType parse(String value) {
+        if(value != null) {
+            for(TaskExecutorType type : values()) {
+                if(type.name.equalsIgnoreCase(value)) {
+                    return type;
+                }
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,461 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * {@link ITaskExecutor} which runs tasks on virtual threads if the JVM supports them (Java 21+),
+ * otherwise on a work-stealing pool limited by the specified number of threads.
+ * Submission doesn't take locks. Delayed and repeated tasks wait in a hashed wheel timer
+ * with {@value #TICK_MILLIS} ms resolution and are executed by the same executor when they are due.
+ * <p>
+ * {@link #getThreadPool()} returns a separate cached pool of platform threads because
+ * third-party libraries (MINA, QuickFIX/J) run long-lived I/O loops on it.
+ */
+public class VirtualThreadTaskExecutor implements ITaskExecutor, TaskExecutorMXBean {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadTaskExecutor.class);
+
+    private static final String MBEAN_DOMAIN = "com.exactpro.sf.services";
+    private static final String EXECUTOR_PREFIX = TaskExecutor.class.getSimpleName() + '-';
+    private static final long TICK_MILLIS = 10;
+    private static final long POSSIBLE_DELAY = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int DEFAULT_MAX_THREADS = 350;
+
+    private static final AtomicLong taskCounter = new AtomicLong();
+    private static final AtomicInteger instanceCounter = new AtomicInteger();
+
+    private final int maxThreads;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final HashedWheelTimer timer;
+    private volatile ExecutorService threadPool;
+    private final AtomicBoolean disposed = new AtomicBoolean();
+
+    private final LongAdder queueDepth = new LongAdder();
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder startedCount = new LongAdder();
+    private final LongAdder latencySum = new LongAdder();
+    private final AtomicLong lastLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    private ObjectName objectName;
+
+    public VirtualThreadTaskExecutor() {
+        this(DEFAULT_MAX_THREADS);
+    }
+
+    /**
+     * @param maxThreads parallelism of the work-stealing pool used when virtual threads aren't supported
+     *                   and the maximum size of the {@link #getThreadPool()} pool
+     */
+    public VirtualThreadTaskExecutor(int maxThreads) {
+        this.maxThreads = maxThreads;
+        ExecutorService virtualThreadExecutor = createVirtualThreadExecutor();
+        this.virtualThreads = virtualThreadExecutor != null;
+        this.executor = virtualThreads ? virtualThreadExecutor : createWorkStealingPool(maxThreads);
+        this.timer = new HashedWheelTimer(new DefaultThreadFactory(EXECUTOR_PREFIX + "timer", true), TICK_MILLIS, TimeUnit.MILLISECONDS);
+
+        logger.info("Tasks are executed on {}", virtualThreads ? "virtual threads" : "work-stealing pool with parallelism " + maxThreads);
+        registerMBean();
+    }
+
+    @Override
+    public <T> Future<T> addTask(Callable<T> task) {
+        return submit(new TrackedTask<>(task, task, false));
+    }
+
+    @Override
+    public Future<?> addTask(Runnable task) {
+        return submit(new TrackedTask<>(task, Executors.callable(task), true));
+    }
+
+    @Override
+    public Future<?> schedule(Runnable task, long delay, TimeUnit timeUnit) {
+        return new ScheduledTask<>(new TrackedTask<>(task, Executors.callable(task), true), 0).schedule(timeUnit.toNanos(delay));
+    }
+
+    @Override
+    public <V> Future<?> schedule(Callable<V> task, long delay, TimeUnit timeUnit) {
+        return new ScheduledTask<>(new TrackedTask<>(task, task, false), 0).schedule(timeUnit.toNanos(delay));
+    }
+
+    @Override
+    public Future<?> addRepeatedTask(Runnable task, long initialDelay, long delay, TimeUnit timeUnit) {
+        if(delay <= 0) {
+            throw new IllegalArgumentException("Delay must be positive: " + delay);
+        }
+        return new ScheduledTask<>(new TrackedTask<>(task, Executors.callable(task), true), timeUnit.toNanos(delay)).schedule(timeUnit.toNanos(initialDelay));
+    }
+
+    @Override
+    public ExecutorService getThreadPool() {
+        ExecutorService threadPool = this.threadPool;
+        if(threadPool == null) {
+            synchronized(this) {
+                threadPool = this.threadPool;
+                if(threadPool == null) {
+                    this.threadPool = threadPool = new ThreadPoolExecutor(0, maxThreads, 30L, TimeUnit.SECONDS, new SynchronousQueue<>());
+                }
+            }
+        }
+        return threadPool;
+    }
+
+    @Override
+    public void dispose() {
+        if(!disposed.compareAndSet(false, true)) {
+            return;
+        }
+
+        logger.info("TaskExecutor disposing started...");
+
+        for(Timeout timeout : timer.stop()) {
+            ((ScheduledTask<?>)timeout.task()).cancel(false);
+        }
+
+        shutdown(executor, "Some tasks remained running");
+
+        ExecutorService threadPool;
+        synchronized(this) {
+            threadPool = this.threadPool;
+        }
+        if(threadPool != null) {
+            shutdown(threadPool, "Some Threads from cachedThreadPool remained alive");
+        }
+
+        unregisterMBean();
+    }
+
+    @Override
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    @Override
+    public long getQueueDepth() {
+        return queueDepth.sum();
+    }
+
+    @Override
+    public long getScheduledCount() {
+        return timer.pendingTimeouts();
+    }
+
+    @Override
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    @Override
+    public long getLastTaskLatencyMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(lastLatency.get());
+    }
+
+    @Override
+    public long getMaxTaskLatencyMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxLatency.get());
+    }
+
+    @Override
+    public long getAverageTaskLatencyMicros() {
+        long count = startedCount.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(latencySum.sum() / count);
+    }
+
+    private <T> Future<T> submit(TrackedTask<T> task) {
+        // ForkJoinPool.submit returns ForkJoinTask which doesn't interrupt the task on cancel(true)
+        QueuedFuture<T> future = new QueuedFuture<>(task);
+        queueDepth.increment();
+        try {
+            executor.execute(future);
+            return future;
+        } catch(RejectedExecutionException e) {
+            queueDepth.decrement();
+            throw e;
+        }
+    }
+
+    private void recordLatency(long latency) {
+        lastLatency.set(latency);
+        maxLatency.accumulateAndGet(latency, Math::max);
+        latencySum.add(latency);
+        startedCount.increment();
+    }
+
+    @Nullable
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, EXECUTOR_PREFIX, 0L);
+            ThreadFactory threadFactory = (ThreadFactory)builderClass.getMethod("factory").invoke(builder);
+            return (ExecutorService)Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+        } catch(ReflectiveOperationException | RuntimeException e) {
+            logger.debug("Virtual threads aren't supported", e);
+            return null;
+        }
+    }
+
+    private static ExecutorService createWorkStealingPool(int parallelism) {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(EXECUTOR_PREFIX + "worker-" + thread.getPoolIndex());
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        };
+        return new ForkJoinPool(parallelism, threadFactory, null, true);
+    }
+
+    private static void shutdown(ExecutorService executorService, String warning) {
+        try {
+            executorService.shutdownNow();
+            if(!executorService.awaitTermination(5000, TimeUnit.MILLISECONDS)) {
+                logger.warn(warning);
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+    private void registerMBean() {
+        try {
+            ObjectName beanName = new ObjectName(MBEAN_DOMAIN + ":type=TaskExecutor,id=" + instanceCounter.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, beanName);
+            this.objectName = beanName;
+        } catch(JMException e) {
+            logger.warn("Failed to register metrics", e);
+        }
+    }
+
+    private void unregisterMBean() {
+        if(objectName == null) {
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch(JMException e) {
+            logger.warn("Failed to unregister metrics: {}", objectName, e);
+        } finally {
+            objectName = null;
+        }
+    }
+
+    private static void setThreadName(Thread thread, String name) {
+        try {
+            thread.setName(name);
+        } catch(Exception e) {
+            logger.warn("Failed to set the thread name.", e);
+        }
+    }
+
+    /**
+     * Tracks latency and result of a task and names the thread after it while the task is running
+     */
+    private class TrackedTask<T> implements Callable<T> {
+        private final Object origin;
+        private final Callable<T> callable;
+        private final boolean logErrors;
+        private volatile long dueTime = System.nanoTime();
+
+        TrackedTask(Object origin, Callable<T> callable, boolean logErrors) {
+            this.origin = origin;
+            this.callable = callable;
+            this.logErrors = logErrors;
+        }
+
+        @Override
+        public T call() throws Exception {
+            long latency = System.nanoTime() - dueTime;
+            recordLatency(latency);
+
+            if(latency > POSSIBLE_DELAY) {
+                logger.warn("Task [{}] delay exceed on {}", origin, TimeUnit.NANOSECONDS.toMillis(latency));
+            }
+
+            Thread currentThread = Thread.currentThread();
+            String oldName = currentThread.getName();
+            setThreadName(currentThread, EXECUTOR_PREFIX + origin + '-' + taskCounter.incrementAndGet());
+
+            try {
+                T result = callable.call();
+                completedCount.increment();
+                return result;
+            } catch(Exception e) {
+                failedCount.increment();
+                if(logErrors) {
+                    logger.error(e.getMessage(), e);
+                }
+                throw e;
+            } finally {
+                setThreadName(currentThread, oldName);
+            }
+        }
+    }
+
+    /**
+     * Future of a submitted task which leaves the queue either when it's run or when it's cancelled before that
+     */
+    private class QueuedFuture<T> extends FutureTask<T> {
+        private final AtomicBoolean queued = new AtomicBoolean(true);
+
+        QueuedFuture(Callable<T> callable) {
+            super(callable);
+        }
+
+        @Override
+        public void run() {
+            dequeue();
+            super.run();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if(cancelled) {
+                dequeue();
+            }
+            return cancelled;
+        }
+
+        private void dequeue() {
+            if(queued.compareAndSet(true, false)) {
+                queueDepth.decrement();
+            }
+        }
+    }
+
+    /**
+     * Delayed or repeated (with fixed delay) task. The timer only hands it over to the executor,
+     * a repeated task is put back to the timer after it completes.
+     * Like {@link java.util.concurrent.ScheduledExecutorService} a failed repeated task isn't run anymore.
+     */
+    private class ScheduledTask<V> extends CompletableFuture<V> implements TimerTask, Runnable {
+        private final TrackedTask<V> task;
+        private final long periodNanos;
+        private volatile Timeout timeout;
+        private volatile Thread runner;
+
+        ScheduledTask(TrackedTask<V> task, long periodNanos) {
+            this.task = task;
+            this.periodNanos = periodNanos;
+        }
+
+        ScheduledTask<V> schedule(long delayNanos) {
+            task.dueTime = System.nanoTime() + delayNanos;
+            Timeout timeout = timer.newTimeout(this, delayNanos, TimeUnit.NANOSECONDS);
+            this.timeout = timeout;
+            if(isDone()) {
+                timeout.cancel();
+            }
+            return this;
+        }
+
+        @Override
+        public void run(Timeout timeout) {
+            if(isDone()) {
+                return;
+            }
+
+            queueDepth.increment();
+            try {
+                executor.execute(this);
+            } catch(RejectedExecutionException e) {
+                queueDepth.decrement();
+                completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            queueDepth.decrement();
+            if(isDone()) {
+                return;
+            }
+
+            runner = Thread.currentThread();
+            try {
+                V result = task.call();
+                if(periodNanos == 0) {
+                    complete(result);
+                } else if(!isDone()) {
+                    schedule(periodNanos);
+                }
+            } catch(Throwable e) {
+                completeExceptionally(e);
+            } finally {
+                runner = null;
+                if(isCancelled()) {
+                    // clear interruption caused by cancel(true) so it doesn't affect the next task on this thread
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Timeout timeout = this.timeout;
+            if(timeout != null) {
+                timeout.cancel();
+            }
+            Thread runner = this.runner;
+            if(cancelled && mayInterruptIfRunning && runner != null) {
+                runner.interrupt();
+            }
+            return cancelled;
+        }
+    }
+}
@@ -33,7 +33,6 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.socket.nio.NioSocketChannel;
 
 public abstract class AbstractNettyClient extends AbstractNettyService {
     
@@ -42,8 +41,8 @@ public abstract class AbstractNettyClient extends AbstractNettyService {
     @Override
     public void connect() throws Exception {
         Bootstrap cb = new Bootstrap();
-        cb.group(nioEventLoopGroup);
-        cb.channel(NioSocketChannel.class);
+        cb.group(eventLoopGroup.getGroup());
+        cb.channel(eventLoopGroup.getSocketChannelClass());
         cb.option(ChannelOption.SO_REUSEADDR, true);
         cb.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
         cb.handler(NOOP_CHANNEL_INITIALIZER);
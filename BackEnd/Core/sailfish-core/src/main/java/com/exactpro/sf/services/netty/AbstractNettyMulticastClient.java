@@ -35,7 +35,6 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.socket.InternetProtocolFamily;
-import io.netty.channel.socket.nio.NioDatagramChannel;
 
 public abstract class AbstractNettyMulticastClient extends AbstractNettyClient {
     
@@ -65,8 +64,8 @@ public abstract class AbstractNettyMulticastClient extends AbstractNettyClient {
         this.multicastGroup = new InetSocketAddress(InetAddress.getByName(mcastIp), mcastPort);
         
         Bootstrap cb = new Bootstrap();
-        cb.group(nioEventLoopGroup);
-        cb.channelFactory(new NettyChannelFactory());
+        cb.group(eventLoopGroup.getGroup());
+        cb.channelFactory(new NettyChannelFactory(eventLoopGroup));
         cb.option(ChannelOption.SO_REUSEADDR, true);
         cb.option(ChannelOption.IP_MULTICAST_IF, localNetworkInterface);
         cb.option(ChannelOption.IP_MULTICAST_TTL, getSettings().getTtl());
@@ -124,9 +123,15 @@ public abstract class AbstractNettyMulticastClient extends AbstractNettyClient {
     }
     
     private static class NettyChannelFactory implements ChannelFactory<Channel> {
+        private final SharedEventLoopGroup eventLoopGroup;
+
+        NettyChannelFactory(SharedEventLoopGroup eventLoopGroup) {
+            this.eventLoopGroup = eventLoopGroup;
+        }
+
         @Override
         public Channel newChannel() {
-            return new NioDatagramChannel(InternetProtocolFamily.IPv4);
+            return eventLoopGroup.newDatagramChannel(InternetProtocolFamily.IPv4);
         }
     }
 }
@@ -46,7 +46,6 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelId;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 
 public abstract class AbstractNettyServer extends AbstractNettyService implements IAcceptorService {
 
@@ -94,8 +93,8 @@ public abstract class AbstractNettyServer extends AbstractNettyService implement
     @Override
     public void connect() throws Exception {
         ServerBootstrap serverBootstrap = new ServerBootstrap();
-        serverBootstrap.group(nioEventLoopGroup, nioEventLoopGroup)
-                .channel(NioServerSocketChannel.class)
+        serverBootstrap.group(eventLoopGroup.getGroup(), eventLoopGroup.getGroup())
+                .channel(eventLoopGroup.getServerSocketChannelClass())
                 .option(ChannelOption.SO_REUSEADDR, true)
                 .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                 .childHandler(new ChannelInitializer<Channel>() {
@@ -117,6 +116,23 @@ public abstract class AbstractNettyServer extends AbstractNettyService implement
         mainSession.withWriteLock(this::initChannelCloseFuture);
     }
     
+    @Override
+    protected void internalDispose() {
+        try {
+            // the event loop group may be used by other services, so accepted channels have to be closed explicitly
+            for (NettyClientSession session : activeSessionMap.values()) {
+                try {
+                    session.close();
+                } catch (RuntimeException e) {
+                    logger.error("Failed to close client session {}", session, e);
+                }
+            }
+            activeSessionMap.clear();
+        } finally {
+            super.internalDispose();
+        }
+    }
+
     @Override
     public NettyServerSettings getSettings() {
         return (NettyServerSettings)settings;
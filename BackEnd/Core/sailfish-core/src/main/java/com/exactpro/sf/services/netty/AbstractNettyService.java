@@ -56,6 +56,14 @@ public abstract class AbstractNettyService extends AbstractService implements II
     protected IMessageFactory msgFactory;
     protected IWorkspaceDispatcher workspaceDispatcher;
     
+    @Nullable
+    protected volatile SharedEventLoopGroup eventLoopGroup;
+    /**
+     * Group of {@link #eventLoopGroup} if it uses NIO transport, otherwise {@code null}.
+     * It's shared with other services, so it's read-only: it must not be shut down or used to register channels after dispose
+     * @deprecated use {@link #eventLoopGroup} which supports any transport
+     */
+    @Deprecated
     @Nullable
     protected volatile NioEventLoopGroup nioEventLoopGroup;
     protected volatile AbstractNettySession mainSession;
@@ -110,7 +118,8 @@ public abstract class AbstractNettyService extends AbstractService implements II
     @Override
     protected void internalStart() throws Exception {
         super.internalStart();
-        nioEventLoopGroup = new NioEventLoopGroup();
+        eventLoopGroup = NettyEventLoopGroups.getInstance().acquire(settings);
+        nioEventLoopGroup = eventLoopGroup.getGroup() instanceof NioEventLoopGroup ? (NioEventLoopGroup)eventLoopGroup.getGroup() : null;
         connect();
     }
     
@@ -129,17 +138,16 @@ public abstract class AbstractNettyService extends AbstractService implements II
     @Override
     protected void disposeResources() {
         try {
-            NioEventLoopGroup nioEventLoopGroup = this.nioEventLoopGroup;
-            if (nioEventLoopGroup != null) {
-                if (!nioEventLoopGroup.isShutdown()) {
-                    try {
-                        if (!nioEventLoopGroup.shutdownGracefully().awaitUninterruptibly(5, TimeUnit.SECONDS)) {
-                            serviceMonitor.onEvent(ServiceEventFactory.createEventError(getServiceName(), Type.DISPOSING, "Events executor close", "Events executor '" + serviceName + "' has not been closed for 5 seconds"));
-                        }
-                        this.nioEventLoopGroup = null;
-                    } catch (Exception e) {
-                        logger.error(e.getMessage(), e);
+            SharedEventLoopGroup eventLoopGroup = this.eventLoopGroup;
+            if (eventLoopGroup != null) {
+                this.eventLoopGroup = null;
+                this.nioEventLoopGroup = null;
+                try {
+                    if (!NettyEventLoopGroups.getInstance().release(eventLoopGroup).awaitUninterruptibly(5, TimeUnit.SECONDS)) {
+                        serviceMonitor.onEvent(ServiceEventFactory.createEventError(getServiceName(), Type.DISPOSING, "Events executor close", "Events executor '" + serviceName + "' has not been closed for 5 seconds"));
                     }
+                } catch (Exception e) {
+                    logger.error(e.getMessage(), e);
                 }
             }
         } finally {
@@ -0,0 +1,39 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.netty;
+
+/**
+ * Settings of a Netty based service which select the shared event loop group the service runs on
+ * @see NettyEventLoopGroups
+ */
+public interface INettyEventLoopSettings {
+
+    /**
+     * @return name of the shared event loop group, services with the same name share I/O threads
+     */
+    String getEventLoopGroup();
+
+    /**
+     * @return number of threads for the group, {@code 0} means Netty default (two per CPU core).
+     * Only the service which creates the group defines its size
+     */
+    int getEventLoopThreads();
+
+    /**
+     * @return {@code true} if the native epoll transport should be used when it is available
+     */
+    boolean isUseEpoll();
+}
@@ -68,7 +68,6 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.MessageToMessageDecoder;
 import io.netty.util.internal.TypeParameterMatcher;
 
@@ -94,6 +93,14 @@ public abstract class NettyClientService implements IInitiatorService {
 	protected volatile ServiceStatus serviceStatus = ServiceStatus.CREATED;
 
 	protected volatile NettySession nettySession; // FIXME volatile??
+    protected volatile SharedEventLoopGroup eventLoopGroup;
+    /**
+     * Group of {@link #eventLoopGroup} if it uses NIO transport, otherwise {@code null}.
+     * It's shared with other services, so it's read-only: it must not be shut down or used to register channels after dispose
+     * @deprecated use {@link #eventLoopGroup} which supports any transport
+     */
+    @Deprecated
+    @Nullable
     protected volatile NioEventLoopGroup nioEventLoopGroup;
 
 	protected IMessageFactory msgFactory;
@@ -182,7 +189,8 @@ public abstract class NettyClientService implements IInitiatorService {
             logConfigurator.createAndRegister(getServiceName(), this);
             onStarting();
 			nettySession = createSession();
-			nioEventLoopGroup = new NioEventLoopGroup();
+			eventLoopGroup = NettyEventLoopGroups.getInstance().acquire(getSettings());
+			nioEventLoopGroup = eventLoopGroup.getGroup() instanceof NioEventLoopGroup ? (NioEventLoopGroup)eventLoopGroup.getGroup() : null;
 			connect();
 
 			changeStatus(ServiceStatus.STARTED, "Service " + serviceName + " started", null);
@@ -214,8 +222,8 @@ public abstract class NettyClientService implements IInitiatorService {
             RawSendHandler rawSendHandler = new RawSendHandler(embeddedPipeline, this::acceptToSendRaw);
             Bootstrap cb = new Bootstrap();
             // Fixme: use ITaskExecutor ?
-            cb.group(nioEventLoopGroup);
-            cb.channel(NioSocketChannel.class);
+            cb.group(eventLoopGroup.getGroup());
+            cb.channel(eventLoopGroup.getSocketChannelClass());
             cb.option(ChannelOption.SO_REUSEADDR, true);
             // we can configure java -Dio.netty.allocator.numDirectArenas=... -Dio.netty.allocator.numHeapArenas=...
             cb.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
@@ -317,21 +325,17 @@ public abstract class NettyClientService implements IInitiatorService {
                 channelLock.writeLock().unlock();
             }
                 
-            NioEventLoopGroup nioEventLoopGroup = this.nioEventLoopGroup;
-
-            if (nioEventLoopGroup != null) {
-                if (!nioEventLoopGroup.isShutdown()) {
-                    try {
-                        if (!nioEventLoopGroup.shutdownGracefully().awaitUninterruptibly(5, TimeUnit.SECONDS)) {
-                            changeStatus(ServiceStatus.ERROR, "Events executor '" + serviceName + "' has not been closed for 5 secons", null);
-                        }
-                    } catch (Exception e) {
-                        logger.error(e.getMessage(), e);
+            SharedEventLoopGroup eventLoopGroup = this.eventLoopGroup;
+
+            if (eventLoopGroup != null) {
+                this.eventLoopGroup = null;
+                this.nioEventLoopGroup = null;
+                try {
+                    if (!NettyEventLoopGroups.getInstance().release(eventLoopGroup).awaitUninterruptibly(5, TimeUnit.SECONDS)) {
+                        changeStatus(ServiceStatus.ERROR, "Events executor '" + serviceName + "' has not been closed for 5 secons", null);
                     }
-                }
-
-                if (this.nioEventLoopGroup.isShutdown()) {
-                    this.nioEventLoopGroup = null;
+                } catch (Exception e) {
+                    logger.error(e.getMessage(), e);
                 }
             }
             
@@ -29,7 +29,7 @@ import com.exactpro.sf.services.ServiceException;
 import org.apache.commons.configuration2.tree.ImmutableNode;
 
 @XmlRootElement
-public abstract class NettyClientSettings extends AbstractServiceSettings {
+public abstract class NettyClientSettings extends AbstractServiceSettings implements INettyEventLoopSettings {
     private static final long serialVersionUID = -8964085667583828258L;
 
     @Description("Idle timeout (minutes)")
@@ -39,6 +39,15 @@ public abstract class NettyClientSettings extends AbstractServiceSettings {
     @DictionaryProperty(type = DictionaryType.MAIN)
 	protected SailfishURI dictionaryName;
 
+    @Description("Name of the shared Netty event loop group. Services with the same group name share I/O threads")
+    protected String eventLoopGroup = NettyEventLoopGroups.DEFAULT_GROUP;
+
+    @Description("Number of threads in the event loop group, 0 - two threads per CPU core. Only the service which creates the group defines its size")
+    protected int eventLoopThreads;
+
+    @Description("Use native epoll transport when it is available, otherwise NIO is used")
+    protected boolean useEpoll;
+
 	public int getIdleTimeout() {
 		return idleTimeout;
 	}
@@ -57,6 +66,33 @@ public abstract class NettyClientSettings extends AbstractServiceSettings {
 		this.dictionaryName = dictionaryName;
 	}
 
+    @Override
+    public String getEventLoopGroup() {
+        return eventLoopGroup;
+    }
+
+    public void setEventLoopGroup(String eventLoopGroup) {
+        this.eventLoopGroup = eventLoopGroup;
+    }
+
+    @Override
+    public int getEventLoopThreads() {
+        return eventLoopThreads;
+    }
+
+    public void setEventLoopThreads(int eventLoopThreads) {
+        this.eventLoopThreads = eventLoopThreads;
+    }
+
+    @Override
+    public boolean isUseEpoll() {
+        return useEpoll;
+    }
+
+    public void setUseEpoll(boolean useEpoll) {
+        this.useEpoll = useEpoll;
+    }
+
 	@Override
 	public void load(HierarchicalConfiguration<ImmutableNode> cfg) {
 		super.load(cfg);
@@ -0,0 +1,136 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.netty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.channel.epoll.Epoll;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GlobalEventExecutor;
+
+/**
+ * Process-wide registry of named event loop groups shared by Netty services.
+ * A group is created by the first service which acquires it and is shut down gracefully
+ * when the last service releases it, so stopping one service doesn't affect the others.
+ */
+public class NettyEventLoopGroups {
+
+    private static final Logger logger = LoggerFactory.getLogger(NettyEventLoopGroups.class);
+
+    public static final String DEFAULT_GROUP = "default";
+
+    private static final NettyEventLoopGroups INSTANCE = new NettyEventLoopGroups();
+
+    private final Map<String, SharedEventLoopGroup> groups = new HashMap<>();
+
+    private NettyEventLoopGroups() {
+    }
+
+    public static NettyEventLoopGroups getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Acquires the group selected by the service settings or the default one
+     * if the settings don't implement {@link INettyEventLoopSettings}
+     */
+    public SharedEventLoopGroup acquire(@Nullable Object settings) {
+        if(settings instanceof INettyEventLoopSettings) {
+            INettyEventLoopSettings loopSettings = (INettyEventLoopSettings)settings;
+            return acquire(loopSettings.getEventLoopGroup(), loopSettings.getEventLoopThreads(), loopSettings.isUseEpoll());
+        }
+        return acquire(DEFAULT_GROUP, 0, false);
+    }
+
+    /**
+     * Acquires the group with the specified name, creates it if it doesn't exist
+     * @param name group name, the default group is used if it's blank
+     * @param threads number of threads for a new group, {@code 0} means Netty default
+     * @param useEpoll use native epoll transport for a new group if it is available
+     */
+    public synchronized SharedEventLoopGroup acquire(@Nullable String name, int threads, boolean useEpoll) {
+        String groupName = StringUtils.defaultIfBlank(name, DEFAULT_GROUP).trim();
+        boolean epoll = useEpoll && isEpollAvailable();
+        SharedEventLoopGroup group = groups.get(groupName);
+
+        // the group can be shut down by a legacy service through its deprecated nioEventLoopGroup field
+        if(group != null && group.getGroup().isShuttingDown()) {
+            logger.warn("Event loop group {} has been shut down while in use, a new one is created", group);
+            groups.remove(groupName);
+            group.unregisterMBean();
+            group = null;
+        }
+
+        if(group == null) {
+            group = new SharedEventLoopGroup(groupName, threads, epoll);
+            groups.put(groupName, group);
+            group.registerMBean();
+            logger.info("Created event loop group '{}' with {} threads and {} transport",
+                    groupName, group.getGroup().executorCount(), epoll ? "epoll" : "nio");
+        } else if(group.getThreads() != threads || group.isEpoll() != epoll) {
+            logger.warn("Event loop group '{}' already exists with {} threads and {} transport, requested {} threads and {} transport are ignored",
+                    groupName, group.getThreads(), group.isEpoll() ? "epoll" : "nio", threads, epoll ? "epoll" : "nio");
+        }
+
+        group.retain();
+        return group;
+    }
+
+    /**
+     * Releases the group acquired by a service. The group is shut down if no other service uses it
+     * @return future of the group termination or a completed future if the group is still in use
+     */
+    @NotNull
+    public synchronized Future<?> release(@NotNull SharedEventLoopGroup group) {
+        if(groups.get(group.getName()) != group) {
+            logger.warn("Event loop group {} is already released", group.getName());
+            return GlobalEventExecutor.INSTANCE.newSucceededFuture(null);
+        }
+
+        if(group.release() > 0) {
+            return GlobalEventExecutor.INSTANCE.newSucceededFuture(null);
+        }
+
+        groups.remove(group.getName());
+        group.unregisterMBean();
+        logger.info("Shutting down event loop group {}", group);
+        return group.getGroup().shutdownGracefully();
+    }
+
+    /**
+     * @return snapshot of the currently used groups, e.g. to report their metrics
+     */
+    public synchronized List<SharedEventLoopGroup> getGroups() {
+        return new ArrayList<>(groups.values());
+    }
+
+    private static boolean isEpollAvailable() {
+        if(Epoll.isAvailable()) {
+            return true;
+        }
+        logger.warn("Native epoll transport isn't available, NIO is used instead", Epoll.unavailabilityCause());
+        return false;
+    }
+}
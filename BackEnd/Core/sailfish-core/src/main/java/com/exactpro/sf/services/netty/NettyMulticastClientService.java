@@ -37,10 +37,8 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.socket.InternetProtocolFamily;
-import io.netty.channel.socket.nio.NioDatagramChannel;
 
 /**
  * @deprecated Please use {@link AbstractNettyMulticastClient}
@@ -67,7 +65,7 @@ public abstract class NettyMulticastClientService extends NettyClientService {
             logConfigurator.createAndRegister(getServiceName(), this);
 
 			nettySession = createSession();
-            nioEventLoopGroup = new NioEventLoopGroup();
+            eventLoopGroup = NettyEventLoopGroups.getInstance().acquire(getSettings());
 
             initChannelHandlers(serviceContext);
 
@@ -101,12 +99,13 @@ public abstract class NettyMulticastClientService extends NettyClientService {
 
             Bootstrap cb = new Bootstrap();
             // Fixme: use ITaskExecutor ?
-            cb.group(nioEventLoopGroup);
+            SharedEventLoopGroup eventLoopGroup = this.eventLoopGroup;
+            cb.group(eventLoopGroup.getGroup());
             cb.channelFactory(new ChannelFactory<Channel>() {
                 @Override
                 public Channel newChannel() {
                     // Force IPv4
-                    return new NioDatagramChannel(InternetProtocolFamily.IPv4);
+                    return eventLoopGroup.newDatagramChannel(InternetProtocolFamily.IPv4);
                 }
             });
             cb.option(ChannelOption.SO_REUSEADDR, true);
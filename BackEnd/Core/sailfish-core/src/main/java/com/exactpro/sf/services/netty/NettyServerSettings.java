@@ -21,7 +21,7 @@ import com.exactpro.sf.externalapi.DictionaryProperty;
 import com.exactpro.sf.externalapi.DictionaryType;
 import com.exactpro.sf.services.AbstractServiceSettings;
 
-public abstract class NettyServerSettings extends AbstractServiceSettings {
+public abstract class NettyServerSettings extends AbstractServiceSettings implements INettyEventLoopSettings {
     
     @Description("The server binds to this port")
     private int port;
@@ -29,6 +29,15 @@ public abstract class NettyServerSettings extends AbstractServiceSettings {
     @Description("Dictionary name")
     @DictionaryProperty(type = DictionaryType.MAIN)
     protected SailfishURI dictionaryName;
+
+    @Description("Name of the shared Netty event loop group. Services with the same group name share I/O threads")
+    protected String eventLoopGroup = NettyEventLoopGroups.DEFAULT_GROUP;
+
+    @Description("Number of threads in the event loop group, 0 - two threads per CPU core. Only the service which creates the group defines its size")
+    protected int eventLoopThreads;
+
+    @Description("Use native epoll transport when it is available, otherwise NIO is used")
+    protected boolean useEpoll;
     
     @Override
     public SailfishURI getDictionaryName() {
@@ -40,6 +49,33 @@ public abstract class NettyServerSettings extends AbstractServiceSettings {
         this.dictionaryName = dictionaryName;
     }
     
+    @Override
+    public String getEventLoopGroup() {
+        return eventLoopGroup;
+    }
+
+    public void setEventLoopGroup(String eventLoopGroup) {
+        this.eventLoopGroup = eventLoopGroup;
+    }
+
+    @Override
+    public int getEventLoopThreads() {
+        return eventLoopThreads;
+    }
+
+    public void setEventLoopThreads(int eventLoopThreads) {
+        this.eventLoopThreads = eventLoopThreads;
+    }
+
+    @Override
+    public boolean isUseEpoll() {
+        return useEpoll;
+    }
+
+    public void setUseEpoll(boolean useEpoll) {
+        this.useEpoll = useEpoll;
+    }
+
     public int getPort() {
         return port;
     }
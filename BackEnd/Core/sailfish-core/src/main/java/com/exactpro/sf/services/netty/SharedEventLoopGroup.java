@@ -0,0 +1,199 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.netty;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.channel.MultithreadEventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.InternetProtocolFamily;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
+/**
+ * Event loop group shared by several Netty services. Instances are obtained from {@link NettyEventLoopGroups}
+ * and have to be released there, the group is shut down when the last service releases it.
+ * Channels must be created with the classes provided by the group because they depend on the transport.
+ * Metrics of the group are exported via JMX while the group is in use.
+ */
+public class SharedEventLoopGroup implements SharedEventLoopGroupMXBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedEventLoopGroup.class);
+
+    private static final long PROBE_PERIOD_MILLIS = 1000;
+    private static final String MBEAN_DOMAIN = "com.exactpro.sf.services";
+
+    private final String name;
+    private final int threads;
+    private final boolean epoll;
+    private final MultithreadEventLoopGroup group;
+    /** the last measured delay between a task submission and its execution per event loop */
+    private final AtomicLongArray latencies;
+
+    private int references;
+    private ObjectName objectName;
+
+    SharedEventLoopGroup(String name, int threads, boolean epoll) {
+        this.name = name;
+        this.threads = threads;
+        this.epoll = epoll;
+        ThreadFactory threadFactory = new DefaultThreadFactory("netty-" + name);
+        this.group = epoll ? new EpollEventLoopGroup(threads, threadFactory) : new NioEventLoopGroup(threads, threadFactory);
+        this.latencies = new AtomicLongArray(group.executorCount());
+
+        int index = 0;
+        for(EventExecutor executor : group) {
+            int loopIndex = index++;
+            executor.scheduleAtFixedRate(() -> {
+                long submitted = System.nanoTime();
+                executor.execute(() -> latencies.set(loopIndex, System.nanoTime() - submitted));
+            }, PROBE_PERIOD_MILLIS, PROBE_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return requested number of threads, {@code 0} means Netty default
+     */
+    @Override
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public boolean isEpoll() {
+        return epoll;
+    }
+
+    public MultithreadEventLoopGroup getGroup() {
+        return group;
+    }
+
+    public Class<? extends SocketChannel> getSocketChannelClass() {
+        return epoll ? EpollSocketChannel.class : NioSocketChannel.class;
+    }
+
+    public Class<? extends ServerChannel> getServerSocketChannelClass() {
+        return epoll ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    }
+
+    public DatagramChannel newDatagramChannel(InternetProtocolFamily family) {
+        return epoll ? new EpollDatagramChannel(family) : new NioDatagramChannel(family);
+    }
+
+    /**
+     * @return number of tasks waiting for execution in all event loops of the group
+     */
+    @Override
+    public int getPendingTasks() {
+        int pendingTasks = 0;
+        for(EventExecutor executor : group) {
+            if(executor instanceof SingleThreadEventExecutor) {
+                pendingTasks += ((SingleThreadEventExecutor)executor).pendingTasks();
+            }
+        }
+        return pendingTasks;
+    }
+
+    /**
+     * @return the worst delay between a task submission and its execution over all event loops
+     * measured by the last probe, in the given unit
+     */
+    public long getLoopLatency(TimeUnit unit) {
+        long latency = 0;
+        for(int i = 0; i < latencies.length(); i++) {
+            latency = Math.max(latency, latencies.get(i));
+        }
+        return unit.convert(latency, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public long getLoopLatencyMicros() {
+        return getLoopLatency(TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * @return number of services using the group
+     */
+    @Override
+    public int getReferences() {
+        synchronized(NettyEventLoopGroups.getInstance()) {
+            return references;
+        }
+    }
+
+    int retain() {
+        return ++references;
+    }
+
+    int release() {
+        return --references;
+    }
+
+    void registerMBean() {
+        try {
+            ObjectName beanName = new ObjectName(MBEAN_DOMAIN + ":type=EventLoopGroup,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, beanName);
+            this.objectName = beanName;
+        } catch(JMException e) {
+            logger.warn("Failed to register metrics: {}", name, e);
+        }
+    }
+
+    void unregisterMBean() {
+        if(objectName == null) {
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch(JMException e) {
+            logger.warn("Failed to unregister metrics: {}", objectName, e);
+        } finally {
+            objectName = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[threads: %s, transport: %s, services: %s, pending tasks: %s, latency: %s us]",
+                name, group.executorCount(), epoll ? "epoll" : "nio", getReferences(), getPendingTasks(), getLoopLatency(TimeUnit.MICROSECONDS));
+    }
+}
@@ -0,0 +1,45 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.netty;
+
+/**
+ * Shared event loop group metrics exported via JMX
+ */
+public interface SharedEventLoopGroupMXBean {
+    String getName();
+
+    /**
+     * @return requested number of threads, {@code 0} means Netty default
+     */
+    int getThreads();
+
+    boolean isEpoll();
+
+    /**
+     * @return number of services using the group
+     */
+    int getReferences();
+
+    /**
+     * @return number of tasks waiting for execution in all event loops of the group
+     */
+    int getPendingTasks();
+
+    /**
+     * @return the worst delay between a task submission and its execution measured by the last probe
+     */
+    long getLoopLatencyMicros();
+}
@@ -0,0 +1,392 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.exactpro.sf.common.services.ServiceName;
+import com.exactpro.sf.common.util.EPSCommonException;
+import com.exactpro.sf.scriptrunner.IConnectionManager;
+import com.exactpro.sf.scriptrunner.IEnvironmentListener;
+import com.exactpro.sf.services.EnvironmentEvent;
+import com.exactpro.sf.services.IService;
+import com.exactpro.sf.services.IServiceSettings;
+import com.exactpro.sf.services.ServiceDescription;
+import com.exactpro.sf.services.ServiceEvent;
+import com.exactpro.sf.services.ServiceStatus;
+import com.exactpro.sf.services.ServiceStatusUpdateEvent;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Starts services concurrently. A service is started only after the services listed in its
+ * {@link IServiceSettings#getStartAfter()} setting (if they are started by the same call) have started.
+ * Independent services are started without waiting for each other, their statuses are awaited afterwards
+ * via status update events of the connection manager. As before, a service with a non-zero
+ * {@link IServiceSettings#getExpectedTimeOfStarting()} holds its thread until it's started or this time is over,
+ * so with parallelism 1 the next service is started only after that.
+ */
+public class ServiceStarter {
+    private static final Logger logger = LoggerFactory.getLogger(ServiceStarter.class);
+
+    /**
+     * Status is rechecked with this interval in case a service changes it without sending an event
+     */
+    private static final long STATUS_CHECK_INTERVAL = 500L;
+
+    private final IConnectionManager connectionManager;
+    private final int parallelism;
+    private final long startTimeout;
+    private final Map<ServiceName, CompletableFuture<Void>> statusChanges = new ConcurrentHashMap<>();
+
+    /**
+     * @param connectionManager connection manager which initializes and starts services
+     * @param parallelism maximum number of services which are started at the same time
+     * @param startTimeout how long to wait in milliseconds for a service to start in addition to its expected time of starting
+     */
+    public ServiceStarter(IConnectionManager connectionManager, int parallelism, long startTimeout) {
+        this.connectionManager = connectionManager;
+        this.parallelism = Math.max(parallelism, 1);
+        this.startTimeout = startTimeout;
+    }
+
+    /**
+     * Starts the services and waits until they are started or failed.
+     * Independent services are started in the order of the collection without waiting for statuses of each other.
+     * @param services services to start
+     * @return start-up timeline of each service in the order of the collection
+     */
+    public List<ServiceStartup> start(Collection<IService> services) throws InterruptedException {
+        Map<ServiceName, ServiceStartup> startups = new LinkedHashMap<>();
+
+        for (IService service : services) {
+            startups.put(service.getServiceName(), new ServiceStartup(service));
+        }
+
+        List<ServiceStartup> order = sort(startups);
+        IEnvironmentListener listener = new StatusListener();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(order.size(), 1)),
+                new ThreadFactoryBuilder().setNameFormat("service-starter-%d").build());
+        long startTime = System.currentTimeMillis();
+
+        connectionManager.subscribeForEvents(listener);
+
+        try {
+            Map<ServiceName, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+
+            for (ServiceStartup startup : order) {
+                CompletableFuture<?>[] dependencies = startup.dependencies.stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+
+                futures.put(startup.serviceName, CompletableFuture.allOf(dependencies)
+                        .thenRunAsync(() -> start(startup, startups, startTime), executor));
+            }
+
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).get();
+
+            for (ServiceStartup startup : order) {
+                finish(startup, startTime);
+            }
+        } catch (ExecutionException e) {
+            throw new EPSCommonException("Failed to start services", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            connectionManager.unSubscribeForEvents(listener);
+        }
+
+        return new ArrayList<>(startups.values());
+    }
+
+    /**
+     * Logs start-up timeline of the services sorted by the time they got their final status
+     */
+    public static void logTimeline(List<ServiceStartup> startups) {
+        if (!logger.isInfoEnabled() || startups.isEmpty()) {
+            return;
+        }
+
+        StringBuilder builder = new StringBuilder("Services start-up timeline (ms since the start):");
+
+        startups.stream()
+                .sorted(Comparator.comparingLong(ServiceStartup::getFinishTime))
+                .forEach(startup -> builder.append(System.lineSeparator()).append(startup));
+
+        logger.info("{}", builder);
+    }
+
+    private List<ServiceStartup> sort(Map<ServiceName, ServiceStartup> startups) {
+        for (ServiceStartup startup : startups.values()) {
+            ServiceDescription description = connectionManager.getServiceDescription(startup.serviceName);
+            String startAfter = description != null ? description.getSettings().getStartAfter() : null;
+
+            for (String name : StringUtils.split(StringUtils.defaultString(startAfter), ',')) {
+                name = name.trim();
+
+                if (name.isEmpty()) {
+                    continue;
+                }
+
+                ServiceName dependency = name.contains(ServiceName.ENVIRONMENT_SEPARATOR)
+                        ? ServiceName.parse(name) : new ServiceName(startup.serviceName.getEnvironment(), name);
+
+                if (startups.containsKey(dependency)) {
+                    startup.dependencies.add(dependency);
+                } else {
+                    logger.debug("Service {} is not started with {}. The dependency is ignored", dependency, startup.serviceName);
+                }
+            }
+        }
+
+        List<ServiceStartup> result = new ArrayList<>(startups.size());
+        Set<ServiceName> sorted = new LinkedHashSet<>();
+        boolean changed = true;
+
+        while (changed) {
+            changed = false;
+
+            for (ServiceStartup startup : startups.values()) {
+                if (!sorted.contains(startup.serviceName) && sorted.containsAll(startup.dependencies)) {
+                    sorted.add(startup.serviceName);
+                    result.add(startup);
+                    changed = true;
+                }
+            }
+        }
+
+        if (result.size() != startups.size()) {
+            Set<ServiceName> cyclic = new LinkedHashSet<>(startups.keySet());
+            cyclic.removeAll(sorted);
+            throw new EPSCommonException("Services have cyclic start dependencies: " + cyclic);
+        }
+
+        return result;
+    }
+
+    /**
+     * Initializes the service and requests its start without waiting for its status.
+     * Statuses of the dependencies are awaited before that.
+     */
+    private void start(ServiceStartup startup, Map<ServiceName, ServiceStartup> startups, long startTime) {
+        IService service = startup.service;
+        ServiceName serviceName = startup.serviceName;
+
+        startup.readyTime = System.currentTimeMillis() - startTime;
+
+        try {
+            for (ServiceName dependency : startup.dependencies) {
+                ServiceStartup dependencyStartup = startups.get(dependency);
+
+                finish(dependencyStartup, startTime);
+
+                if (!dependencyStartup.isStarted()) {
+                    throw new EPSCommonException("Service " + serviceName + " is not started because service " + dependency + " is not started");
+                }
+            }
+
+            if (!isStarted(service.getStatus())) {
+                IServiceSettings settings = connectionManager.getServiceDescription(serviceName).getSettings();
+
+                if (settings.getWaitingTimeBeforeStarting() != 0) {
+                    Thread.sleep(settings.getWaitingTimeBeforeStarting());
+                }
+
+                connectionManager.initService(serviceName, null).get();
+                startup.initializedTime = System.currentTimeMillis() - startTime;
+                startup.deadline = System.currentTimeMillis() + settings.getExpectedTimeOfStarting() + startTimeout;
+                startup.startFuture = connectionManager.startService(serviceName, null);
+                startup.startedTime = System.currentTimeMillis() - startTime;
+
+                if (settings.getExpectedTimeOfStarting() != 0) {
+                    awaitStatus(service, System.currentTimeMillis() + settings.getExpectedTimeOfStarting());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Waits until the requested start of the service is finished and records its final status.
+     * Does nothing if the status is already recorded.
+     */
+    private void finish(ServiceStartup startup, long startTime) throws InterruptedException {
+        synchronized (startup) {
+            if (startup.finished) {
+                return;
+            }
+
+            try {
+                Future<?> startFuture = startup.startFuture;
+
+                if (startFuture != null) {
+                    startFuture.get(Math.max(startup.deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+                    awaitStatus(startup.service, startup.deadline);
+                }
+            } catch (ExecutionException e) {
+                logger.error("Failed to start service {}", startup.serviceName, e.getCause());
+            } catch (TimeoutException e) {
+                logger.error("Service {} is not started. Start is not finished in time", startup.serviceName);
+            } finally {
+                startup.status = startup.service.getStatus();
+                startup.finishTime = System.currentTimeMillis() - startTime;
+                startup.finished = true;
+            }
+        }
+    }
+
+    private void awaitStatus(IService service, long deadline) throws InterruptedException {
+        ServiceName serviceName = service.getServiceName();
+
+        while (true) {
+            // the future is taken before the status check so that a change between the check and the wait is not missed
+            CompletableFuture<Void> statusChange = statusChanges.computeIfAbsent(serviceName, name -> new CompletableFuture<>());
+            ServiceStatus status = service.getStatus();
+            long remaining = deadline - System.currentTimeMillis();
+
+            if (isStarted(status) || status == ServiceStatus.ERROR) {
+                return;
+            }
+
+            if (remaining <= 0) {
+                logger.error("Service {} is not started. Status {}", serviceName, status);
+                return;
+            }
+
+            try {
+                statusChange.get(Math.min(remaining, STATUS_CHECK_INTERVAL), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException ignored) {
+                // check status again
+            }
+        }
+    }
+
+    private static boolean isStarted(ServiceStatus status) {
+        return status == ServiceStatus.STARTED || status == ServiceStatus.WARNING;
+    }
+
+    private class StatusListener implements IEnvironmentListener {
+        @Override
+        public void onEvent(ServiceEvent event) {
+            if (event instanceof ServiceStatusUpdateEvent) {
+                CompletableFuture<Void> statusChange = statusChanges.remove(event.getServiceName());
+
+                if (statusChange != null) {
+                    statusChange.complete(null);
+                }
+            }
+        }
+
+        @Override
+        public void onEvent(EnvironmentEvent event) {
+            // not used
+        }
+    }
+
+    public static class ServiceStartup {
+        private final IService service;
+        private final ServiceName serviceName;
+        private final Set<ServiceName> dependencies = new LinkedHashSet<>();
+
+        private volatile ServiceStatus status;
+        private volatile long readyTime = -1;
+        private volatile long initializedTime = -1;
+        private volatile long startedTime = -1;
+        private volatile long finishTime = -1;
+
+        private volatile Future<?> startFuture;
+        private volatile long deadline;
+        private boolean finished;
+
+        private ServiceStartup(IService service) {
+            this.service = service;
+            this.serviceName = service.getServiceName();
+        }
+
+        public ServiceName getServiceName() {
+            return serviceName;
+        }
+
+        public Set<ServiceName> getDependencies() {
+            return dependencies;
+        }
+
+        /**
+         * @return status of the service when waiting for it was finished
+         */
+        public ServiceStatus getStatus() {
+            return status;
+        }
+
+        /**
+         * @return time when the dependencies of the service were started and a thread was available to start it
+         */
+        public long getReadyTime() {
+            return readyTime;
+        }
+
+        /**
+         * @return time when the service was initialized or -1 if it wasn't initialized
+         */
+        public long getInitializedTime() {
+            return initializedTime;
+        }
+
+        /**
+         * @return time when start of the service was requested or -1 if it wasn't requested
+         */
+        public long getStartedTime() {
+            return startedTime;
+        }
+
+        /**
+         * @return time when the service got its final status
+         */
+        public long getFinishTime() {
+            return finishTime;
+        }
+
+        public boolean isStarted() {
+            return ServiceStarter.isStarted(status);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: ready %d, initialized %d, start requested %d, %s %d",
+                    serviceName, readyTime, initializedTime, startedTime, status, finishTime);
+        }
+    }
+}
@@ -56,11 +56,10 @@ import com.exactpro.sf.messages.service.ServiceMessage;
 import com.exactpro.sf.scriptrunner.IConnectionManager;
 import com.exactpro.sf.services.IService;
 import com.exactpro.sf.services.IServiceMonitor;
-import com.exactpro.sf.services.IServiceSettings;
-import com.exactpro.sf.services.ServiceDescription;
 import com.exactpro.sf.services.ServiceEvent;
 import com.exactpro.sf.services.ServiceEvent.Level;
 import com.exactpro.sf.services.ServiceStatus;
+import com.exactpro.sf.services.util.ServiceStarter.ServiceStartup;
 import com.google.common.primitives.Longs;
 import com.google.common.primitives.UnsignedLong;
 
@@ -233,55 +232,24 @@ public class ServiceUtil {
         Collections.sort(serviceNames);
 
         IConnectionManager conManager = SFLocalContext.getDefault().getConnectionManager();
+        int parallelism = SFLocalContext.getDefault().getEnvironmentManager().getEnvironmentSettings().getServiceStartParallelism();
         List<IService> services = new ArrayList<>();
 
         for (String serviceName : serviceNames) {
             IService service = conManager.getService(ServiceName.parse(serviceName));
 
             if (service != null) {
-                ServiceDescription serviceDescr = conManager.getServiceDescription(service.getServiceName());
-                IServiceSettings serviceSettings = serviceDescr.getSettings();
-
-                try {
-                    if (service.getStatus() != ServiceStatus.STARTED && service.getStatus() != ServiceStatus.WARNING) {
-                        if(serviceSettings.getWaitingTimeBeforeStarting() != 0 ){
-                            Thread.sleep(serviceSettings.getWaitingTimeBeforeStarting());
-                        }
-
-                        conManager.initService(service.getServiceName(), null).get();
-                        conManager.startService(service.getServiceName(), null);
-
-                        long expectedTimeOfStarting = serviceSettings.getExpectedTimeOfStarting();
-
-                        if(expectedTimeOfStarting != 0) {
-                            Thread.sleep(expectedTimeOfStarting);
-
-                            if (service.getStatus() != ServiceStatus.STARTED && service.getStatus() != ServiceStatus.WARNING) {
-                                logger.error("Service {} is not started. Status {}", serviceName, service.getStatus());
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.error(e.getMessage(), e);
-                }
-
                 services.add(service);
             }
         }
 
-        for(IService service : services) {
-            long waitUntil = System.currentTimeMillis() + START_TIMEOUT;
+        List<ServiceStartup> startups = new ServiceStarter(conManager, parallelism, START_TIMEOUT).start(services);
 
-            while(waitUntil > System.currentTimeMillis()) {
-                if (service.getStatus() == ServiceStatus.STARTED || service.getStatus() == ServiceStatus.ERROR) {
-                    break;
-                }
-
-                Thread.sleep(1);
-            }
+        ServiceStarter.logTimeline(startups);
 
-            if (service.getStatus() != ServiceStatus.STARTED && service.getStatus() != ServiceStatus.WARNING) {
-                throw new EPSCommonException("Service " + service.getName() + " is not started.");
+        for (ServiceStartup startup : startups) {
+            if (!startup.isStarted()) {
+                throw new EPSCommonException("Service " + startup.getServiceName().getServiceName() + " is not started.");
             }
         }
     }
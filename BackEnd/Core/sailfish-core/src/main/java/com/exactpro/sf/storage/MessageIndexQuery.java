@@ -0,0 +1,65 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.storage;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Conditions of a {@link MessageFilter} which can be checked against segment summaries of a {@link SegmentedMessageList}
+ */
+public class MessageIndexQuery {
+    private final long startTime;
+    private final long finishTime;
+    private final Boolean admin;
+    @SuppressWarnings("unchecked")
+    private final Predicate<String>[] columns = new Predicate[MessageSegmentSummary.COLUMN_COUNT];
+
+    private MessageIndexQuery(MessageFilter filter) {
+        this.startTime = filter.getStartTime() != null ? filter.getStartTime().getTime() : Long.MIN_VALUE;
+        this.finishTime = filter.getFinishTime() != null ? filter.getFinishTime().getTime() : Long.MAX_VALUE;
+        this.admin = filter.getShowAdmin();
+
+        columns[MessageSegmentSummary.NAMESPACE] = ilike(filter.getMsgNameSpace());
+        columns[MessageSegmentSummary.NAME] = ilike(filter.getMsgName());
+        columns[MessageSegmentSummary.FROM] = ilike(filter.getFrom());
+        columns[MessageSegmentSummary.TO] = ilike(filter.getTo());
+        columns[MessageSegmentSummary.SERVICE_ID] = in(filter.getServicesIdSet());
+    }
+
+    public static MessageIndexQuery of(MessageFilter filter) {
+        return new MessageIndexQuery(filter);
+    }
+
+    boolean mayMatch(long minTimestamp, long maxTimestamp, int adminFlags) {
+        return minTimestamp <= finishTime && maxTimestamp >= startTime && (admin == null || (adminFlags & MessageSegmentSummary.adminFlag(admin)) != 0);
+    }
+
+    /**
+     * @return predicate for values of the column or {@code null} if the column isn't filtered
+     */
+    Predicate<String> getColumn(int column) {
+        return columns[column];
+    }
+
+    private static Predicate<String> ilike(String filter) {
+        return filter != null ? filter::equalsIgnoreCase : null;
+    }
+
+    private static Predicate<String> in(Set<String> filter) {
+        return filter != null ? filter::contains : null;
+    }
+}
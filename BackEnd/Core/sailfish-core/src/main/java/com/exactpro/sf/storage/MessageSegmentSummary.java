@@ -0,0 +1,339 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.storage;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Summary of messages in a segment of {@link SegmentedMessageList}.
+ * <p>
+ * Keeps time range and admin flags of the whole segment and of each block of records,
+ * and dictionaries of namespace, name, from, to and service ID values.
+ * Each block has a 64-bit mask of dictionary IDs ({@code 1 << (id % 64)}) per column,
+ * so a block without any matching value can be skipped without reading its records.
+ * A column with more than {@value #MAX_DICTIONARY_SIZE} distinct values isn't tracked anymore.
+ */
+final class MessageSegmentSummary {
+    private static final Logger logger = LoggerFactory.getLogger(MessageSegmentSummary.class);
+
+    static final int NAMESPACE = 0;
+    static final int NAME = 1;
+    static final int FROM = 2;
+    static final int TO = 3;
+    static final int SERVICE_ID = 4;
+    static final int COLUMN_COUNT = 5;
+
+    static final int MAX_DICTIONARY_SIZE = 4096;
+
+    private static final int VERSION = 1;
+    private static final int ADMIN = 1;
+    private static final int NOT_ADMIN = 2;
+    private static final long ALL_IDS = -1L;
+
+    private final int blockSize;
+    private final Dictionary[] dictionaries = new Dictionary[COLUMN_COUNT];
+
+    private int count;
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+    private int adminFlags;
+
+    private int blockCount;
+    private long[] blockMinTimestamps = new long[16];
+    private long[] blockMaxTimestamps = new long[16];
+    private byte[] blockAdminFlags = new byte[16];
+    private long[][] blockMasks = new long[COLUMN_COUNT][16];
+
+    public MessageSegmentSummary(int blockSize) {
+        this.blockSize = blockSize;
+
+        for(int column = 0; column < COLUMN_COUNT; column++) {
+            dictionaries[column] = new Dictionary();
+        }
+    }
+
+    static int adminFlag(boolean admin) {
+        return admin ? ADMIN : NOT_ADMIN;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @param timestamp message timestamp or {@link Long#MIN_VALUE} if it's unknown
+     * @param values column values in order of column constants
+     */
+    public void add(long timestamp, boolean admin, String... values) {
+        int block = count / blockSize;
+        int flag = adminFlag(admin);
+
+        if(block == blockCount) {
+            addBlock();
+        }
+
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+        adminFlags |= flag;
+        blockMinTimestamps[block] = Math.min(blockMinTimestamps[block], timestamp);
+        blockMaxTimestamps[block] = Math.max(blockMaxTimestamps[block], timestamp);
+        blockAdminFlags[block] |= flag;
+
+        for(int column = 0; column < COLUMN_COUNT; column++) {
+            blockMasks[column][block] |= dictionaries[column].getMask(values[column]);
+        }
+
+        count++;
+    }
+
+    private void addBlock() {
+        if(blockCount == blockMinTimestamps.length) {
+            int length = blockCount * 2;
+
+            blockMinTimestamps = Arrays.copyOf(blockMinTimestamps, length);
+            blockMaxTimestamps = Arrays.copyOf(blockMaxTimestamps, length);
+            blockAdminFlags = Arrays.copyOf(blockAdminFlags, length);
+
+            for(int column = 0; column < COLUMN_COUNT; column++) {
+                blockMasks[column] = Arrays.copyOf(blockMasks[column], length);
+            }
+        }
+
+        blockMinTimestamps[blockCount] = Long.MAX_VALUE;
+        blockMaxTimestamps[blockCount] = Long.MIN_VALUE;
+        blockCount++;
+    }
+
+    /**
+     * @return matcher of blocks or {@code null} if the segment doesn't contain matching messages
+     */
+    public Matcher matcher(MessageIndexQuery query) {
+        if(count == 0 || !query.mayMatch(minTimestamp, maxTimestamp, adminFlags)) {
+            return null;
+        }
+
+        long[] masks = new long[COLUMN_COUNT];
+
+        for(int column = 0; column < COLUMN_COUNT; column++) {
+            Predicate<String> predicate = query.getColumn(column);
+
+            if(predicate == null) {
+                masks[column] = ALL_IDS;
+                continue;
+            }
+
+            masks[column] = dictionaries[column].getMask(predicate);
+
+            if(masks[column] == 0) {
+                return null;
+            }
+        }
+
+        return new Matcher(query, masks, count);
+    }
+
+    public void save(File file) throws IOException {
+        try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(VERSION);
+            output.writeInt(blockSize);
+            output.writeInt(count);
+            output.writeLong(minTimestamp);
+            output.writeLong(maxTimestamp);
+            output.writeByte(adminFlags);
+
+            for(Dictionary dictionary : dictionaries) {
+                output.writeBoolean(dictionary.overflow);
+                output.writeInt(dictionary.values.size());
+
+                for(String value : dictionary.values) {
+                    byte[] bytes = value != null ? value.getBytes(UTF_8) : null;
+                    output.writeInt(bytes != null ? bytes.length : -1);
+
+                    if(bytes != null) {
+                        output.write(bytes);
+                    }
+                }
+            }
+
+            for(int block = 0; block < blockCount; block++) {
+                output.writeLong(blockMinTimestamps[block]);
+                output.writeLong(blockMaxTimestamps[block]);
+                output.writeByte(blockAdminFlags[block]);
+
+                for(int column = 0; column < COLUMN_COUNT; column++) {
+                    output.writeLong(blockMasks[column][block]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return loaded summary or {@code null} if the file is missing, corrupted or describes a different number of messages
+     */
+    public static MessageSegmentSummary load(File file, int blockSize, int expectedCount) {
+        if(!file.exists()) {
+            return null;
+        }
+
+        try(DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if(input.readInt() != VERSION || input.readInt() != blockSize) {
+                return null;
+            }
+
+            MessageSegmentSummary summary = new MessageSegmentSummary(blockSize);
+
+            summary.count = input.readInt();
+
+            if(summary.count != expectedCount) {
+                return null;
+            }
+
+            summary.minTimestamp = input.readLong();
+            summary.maxTimestamp = input.readLong();
+            summary.adminFlags = input.readByte();
+
+            for(Dictionary dictionary : summary.dictionaries) {
+                dictionary.overflow = input.readBoolean();
+
+                for(int i = input.readInt(); i > 0; i--) {
+                    int length = input.readInt();
+                    String value = null;
+
+                    if(length >= 0) {
+                        byte[] bytes = new byte[length];
+                        input.readFully(bytes);
+                        value = new String(bytes, UTF_8);
+                    }
+
+                    dictionary.add(value);
+                }
+            }
+
+            int blocks = (summary.count + blockSize - 1) / blockSize;
+
+            for(int block = 0; block < blocks; block++) {
+                summary.addBlock();
+                summary.blockMinTimestamps[block] = input.readLong();
+                summary.blockMaxTimestamps[block] = input.readLong();
+                summary.blockAdminFlags[block] = input.readByte();
+
+                for(int column = 0; column < COLUMN_COUNT; column++) {
+                    summary.blockMasks[column][block] = input.readLong();
+                }
+            }
+
+            return summary;
+        } catch(IOException e) {
+            logger.warn("Failed to load segment summary: {}", file, e);
+            return null;
+        }
+    }
+
+    public class Matcher {
+        private final MessageIndexQuery query;
+        private final long[] masks;
+        private final int count;
+
+        private Matcher(MessageIndexQuery query, long[] masks, int count) {
+            this.query = query;
+            this.masks = masks;
+            this.count = count;
+        }
+
+        /**
+         * @return {@code true} if the matcher was created for the query and the current state of the summary
+         */
+        public boolean isActual(MessageIndexQuery query) {
+            return this.query == query && count == MessageSegmentSummary.this.count;
+        }
+
+        public boolean mayMatch(int block) {
+            if(!query.mayMatch(blockMinTimestamps[block], blockMaxTimestamps[block], blockAdminFlags[block])) {
+                return false;
+            }
+
+            for(int column = 0; column < COLUMN_COUNT; column++) {
+                if((blockMasks[column][block] & masks[column]) == 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    private static class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private boolean overflow;
+
+        public long getMask(String value) {
+            Integer id = ids.get(value);
+
+            if(id == null) {
+                if(overflow || values.size() == MAX_DICTIONARY_SIZE) {
+                    overflow = true;
+                    return ALL_IDS;
+                }
+
+                id = add(value);
+            }
+
+            return 1L << id;
+        }
+
+        public long getMask(Predicate<String> predicate) {
+            if(overflow) {
+                return ALL_IDS;
+            }
+
+            long mask = 0;
+
+            for(int id = 0; id < values.size(); id++) {
+                if(predicate.test(values.get(id))) {
+                    mask |= 1L << id;
+                }
+            }
+
+            return mask;
+        }
+
+        private int add(String value) {
+            int id = values.size();
+            ids.put(value, id);
+            values.add(value);
+            return id;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.storage;
+
+/**
+ * Defines what a storage queue does with a new object when it is full
+ */
+public enum OverflowPolicy {
+    /**
+     * New object is dropped
+     */
+    DROP_NEWEST("drop_newest"),
+    /**
+     * Oldest queued objects are dropped until the new one fits
+     */
+    DROP_OLDEST("drop_oldest"),
+    /**
+     * Producer waits until the queue has enough space
+     */
+    BLOCK("block"),
+    /**
+     * Object is written to a temporary file and flushed after the queued ones
+     */
+    SPILL_TO_DISK("spill_to_disk");
+
+    private final String name;
+
+    OverflowPolicy(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static OverflowPolicy parse(String value) {
+        if(value != null) {
+            for(OverflowPolicy policy : values()) {
+                if(policy.name.equalsIgnoreCase(value)) {
+                    return policy;
+                }
+            }
+        }
+
+        return null;
+    }
+}
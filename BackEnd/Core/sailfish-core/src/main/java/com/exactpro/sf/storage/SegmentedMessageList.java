@@ -0,0 +1,951 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.storage;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.exactpro.sf.common.util.EPSCommonException;
+import com.exactpro.sf.configuration.workspace.FolderType;
+import com.exactpro.sf.configuration.workspace.IWorkspaceDispatcher;
+import com.exactpro.sf.configuration.workspace.WorkspaceSecurityException;
+import com.exactpro.sf.storage.impl.FileMessage;
+
+/**
+ * Append-only list of {@link FileMessage} kept in segment files instead of a file per message.
+ * <p>
+ * A segment {@code <first index>.log} holds length-prefixed records protected by a CRC.
+ * Its sparse index {@code <first index>.idx} contains the offset of every {@value #INDEX_INTERVAL}-th record,
+ * so opening a segment reads the index and scans only the records written after the last index entry.
+ * An incomplete record at the end of a segment (e.g. after a crash) is truncated on opening.
+ * <p>
+ * Each segment also has a summary {@code <first index>.sum} (see {@link MessageSegmentSummary}) which is used
+ * by {@link #seek(int, boolean, MessageIndexQuery)} to skip segments and blocks of records without matching messages.
+ * The summary is saved when the segment is full or the list is closed and rebuilt from records if it's outdated.
+ * <p>
+ * Old messages are removed with whole segments by {@link #removeOlderThan(long)}.
+ * Other removals rewrite the whole log and are expected to be rare.
+ */
+public class SegmentedMessageList extends AbstractList<FileMessage> implements RandomAccess, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(SegmentedMessageList.class);
+
+    public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    static final int INDEX_INTERVAL = 64;
+
+    private static final String LOG_EXTENSION = ".log";
+    private static final String INDEX_EXTENSION = ".idx";
+    private static final String SUMMARY_EXTENSION = ".sum";
+    private static final String REWRITE_SUFFIX = ".rewrite";
+    private static final int HEADER_SIZE = Integer.BYTES * 2; // record length + CRC
+    private static final int REWRITE_BATCH_SIZE = 1024;
+
+    private final File path;
+    private final long segmentSize;
+    private final List<Segment> segments = new ArrayList<>();
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    private final RecordBuffer record = new RecordBuffer();
+    private final RecordBuffer batch = new RecordBuffer();
+    private final CRC32 crc = new CRC32();
+
+    private int size;
+
+    public SegmentedMessageList(File path) {
+        this(path, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public SegmentedMessageList(File path, long segmentSize) {
+        this.path = Objects.requireNonNull(path, "path cannot be null");
+        this.segmentSize = segmentSize;
+
+        if(segmentSize <= 0) {
+            throw new IllegalArgumentException("segmentSize must be positive: " + segmentSize);
+        }
+
+        if(!path.exists() && !path.mkdirs()) {
+            throw new EPSCommonException("Failed to create a directory: " + path);
+        }
+
+        open();
+    }
+
+    public SegmentedMessageList(String path, IWorkspaceDispatcher dispatcher) {
+        this(resolvePath(path, dispatcher), DEFAULT_SEGMENT_SIZE);
+    }
+
+    private static File resolvePath(String path, IWorkspaceDispatcher dispatcher) {
+        Objects.requireNonNull(path, "path cannot be null");
+        Objects.requireNonNull(dispatcher, "dispatcher cannot be null");
+
+        try {
+            if(!dispatcher.exists(FolderType.ROOT, path)) {
+                return dispatcher.createFolder(FolderType.ROOT, path);
+            }
+
+            File existingDir = dispatcher.getFile(FolderType.ROOT, path);
+
+            if(!existingDir.isDirectory()) {
+                throw new EPSCommonException("Path is not a directory: " + path);
+            }
+
+            File topDir = dispatcher.createFolder(FolderType.ROOT, path);
+
+            if(!Files.isSameFile(existingDir.toPath(), topDir.toPath())) {
+                FileUtils.copyDirectory(existingDir, topDir, true);
+            }
+
+            return topDir;
+        } catch(WorkspaceSecurityException | IOException e) {
+            throw new EPSCommonException("Failed to initialize path: " + path, e);
+        }
+    }
+
+    private void open() {
+        File[] files = path.listFiles((dir, name) -> name.endsWith(LOG_EXTENSION));
+
+        if(files == null) {
+            throw new EPSCommonException("Path is not a directory: " + path);
+        }
+
+        long[] baseIndices = new long[files.length];
+
+        for(int i = 0; i < files.length; i++) {
+            String name = files[i].getName();
+
+            try {
+                baseIndices[i] = Long.parseLong(name.substring(0, name.length() - LOG_EXTENSION.length()));
+            } catch(NumberFormatException e) {
+                throw new EPSCommonException("Unexpected segment file: " + files[i], e);
+            }
+        }
+
+        Arrays.sort(baseIndices);
+
+        try {
+            for(long baseIndex : baseIndices) {
+                Segment segment = new Segment(baseIndex);
+
+                if(!segments.isEmpty() && lastSegment().getEndIndex() != baseIndex) {
+                    segment.close();
+                    throw new EPSCommonException("Inconsistent segments in: " + path);
+                }
+
+                segments.add(segment);
+                size += segment.count;
+            }
+
+            if(segments.isEmpty()) {
+                segments.add(new Segment(0));
+            }
+        } catch(IOException e) {
+            close();
+            throw new EPSCommonException("Failed to open segments in: " + path, e);
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized FileMessage get(int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        long absoluteIndex = segments.get(0).baseIndex + index;
+        Segment segment = segments.get(findSegment(absoluteIndex));
+
+        try {
+            return segment.read((int)(absoluteIndex - segment.baseIndex));
+        } catch(IOException e) {
+            throw new EPSCommonException("Failed to load element: " + index, e);
+        }
+    }
+
+    @Override
+    public boolean add(FileMessage element) {
+        return addAll(Collections.singletonList(element));
+    }
+
+    @Override
+    public void add(int index, FileMessage element) {
+        checkAppend(index);
+        add(element);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends FileMessage> c) {
+        checkAppend(index);
+        return addAll(c);
+    }
+
+    @Override
+    public synchronized boolean addAll(Collection<? extends FileMessage> c) {
+        if(c.isEmpty()) {
+            return false;
+        }
+
+        try {
+            Segment active = lastSegment();
+            batch.reset();
+
+            for(FileMessage message : c) {
+                if(active.length + batch.size() >= segmentSize && active.count + batch.records > 0) {
+                    active.append(batch);
+                    batch.reset();
+                    active.seal();
+                    active = new Segment(active.getEndIndex());
+                    segments.add(active);
+                }
+
+                encode(message);
+                batch.addRecord(record, crc);
+                active.addToSummary(message);
+            }
+
+            active.append(batch);
+            size += c.size();
+        } catch(IOException e) {
+            throw new EPSCommonException("Failed to save elements to: " + path, e);
+        } finally {
+            batch.reset();
+        }
+
+        return true;
+    }
+
+    @Override
+    public FileMessage remove(int index) {
+        FileMessage value = get(index);
+        rewrite((i, message) -> i != index);
+        return value;
+    }
+
+    // for performance improvement
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return removeIf(element -> c.contains(element));
+    }
+
+    // for performance improvement
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return removeIf(element -> !c.contains(element));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super FileMessage> filter) {
+        return rewrite((i, message) -> !filter.test(message));
+    }
+
+    @Override
+    protected synchronized void removeRange(int fromIndex, int toIndex) {
+        if(fromIndex == 0 && toIndex == size) {
+            clear();
+        } else {
+            rewrite((i, message) -> i < fromIndex || i >= toIndex);
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        for(Segment segment : segments) {
+            segment.delete();
+        }
+
+        segments.clear();
+        size = 0;
+        modCount++;
+
+        try {
+            segments.add(new Segment(0));
+        } catch(IOException e) {
+            throw new EPSCommonException("Failed to create segment in: " + path, e);
+        }
+    }
+
+    /**
+     * Removes leading segments which have only messages older than the specified time.
+     * A message is considered old when it was stored or has a timestamp before the specified time.
+     * Messages are removed with segment granularity, so some old messages can stay until the rest
+     * of their segment becomes old as well.
+     *
+     * @param epochMillis time in milliseconds since the epoch
+     * @return number of removed messages
+     */
+    public synchronized int removeOlderThan(long epochMillis) {
+        int removed = 0;
+
+        try {
+            while(true) {
+                Segment segment = segments.get(0);
+
+                if(segment.count == 0 || !segment.isOlderThan(epochMillis)) {
+                    break;
+                }
+
+                segments.remove(0);
+                segment.delete();
+                removed += segment.count;
+
+                if(segments.isEmpty()) {
+                    segments.add(new Segment(segment.getEndIndex()));
+                }
+            }
+        } catch(IOException e) {
+            throw new EPSCommonException("Failed to remove old segments from: " + path, e);
+        } finally {
+            if(removed > 0) {
+                size -= removed;
+                modCount++;
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Finds the nearest element which can match the query starting from the specified index.
+     * Elements of segments and blocks which can't contain matching messages are skipped,
+     * other elements still need to be checked against the filter.
+     *
+     * @param index index to start from
+     * @param ascending search direction
+     * @param query query to check segment summaries against
+     * @return index of the found element or {@code -1} if there are no more candidates
+     */
+    public synchronized int seek(int index, boolean ascending, MessageIndexQuery query) {
+        if(index < 0 || index >= size) {
+            return -1;
+        }
+
+        long firstIndex = segments.get(0).baseIndex;
+        long absoluteIndex = firstIndex + index;
+        int segmentIndex = findSegment(absoluteIndex);
+
+        while(true) {
+            Segment segment = segments.get(segmentIndex);
+            int found = segment.seek((int)(absoluteIndex - segment.baseIndex), ascending, query);
+
+            if(found >= 0) {
+                return (int)(segment.baseIndex + found - firstIndex);
+            }
+
+            if(ascending) {
+                if(++segmentIndex == segments.size()) {
+                    return -1;
+                }
+
+                absoluteIndex = segments.get(segmentIndex).baseIndex;
+            } else {
+                if(--segmentIndex < 0) {
+                    return -1;
+                }
+
+                absoluteIndex = segments.get(segmentIndex).getEndIndex() - 1;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        for(Segment segment : segments) {
+            try {
+                segment.close();
+            } catch(IOException e) {
+                logger.error("Failed to close segment: {}", segment.logFile, e);
+            }
+        }
+    }
+
+    private void checkAppend(int index) {
+        if(index != size()) {
+            throw new UnsupportedOperationException("Elements can be only appended to the end of the list");
+        }
+    }
+
+    private Segment lastSegment() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private int findSegment(long absoluteIndex) {
+        int low = 0;
+        int high = segments.size() - 1;
+
+        while(low < high) {
+            int middle = (low + high + 1) >>> 1;
+
+            if(segments.get(middle).baseIndex <= absoluteIndex) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Copies elements accepted by the predicate to a new log and replaces the current one with it
+     */
+    private synchronized boolean rewrite(BiPredicate<Integer, FileMessage> keep) {
+        File target = new File(path.getParentFile(), path.getName() + REWRITE_SUFFIX);
+        boolean changed = false;
+
+        try {
+            FileUtils.deleteDirectory(target);
+
+            try(SegmentedMessageList rewritten = new SegmentedMessageList(target, segmentSize)) {
+                List<FileMessage> messages = new ArrayList<>(REWRITE_BATCH_SIZE);
+
+                for(int i = 0; i < size; i++) {
+                    FileMessage message = get(i);
+
+                    if(!keep.test(i, message)) {
+                        changed = true;
+                        continue;
+                    }
+
+                    messages.add(message);
+
+                    if(messages.size() == REWRITE_BATCH_SIZE) {
+                        rewritten.addAll(messages);
+                        messages.clear();
+                    }
+                }
+
+                rewritten.addAll(messages);
+            }
+
+            if(changed) {
+                close();
+
+                for(Segment segment : segments) {
+                    segment.delete();
+                }
+
+                segments.clear();
+                size = 0;
+                modCount++;
+
+                for(File file : Objects.requireNonNull(target.listFiles())) {
+                    Files.move(file.toPath(), new File(path, file.getName()).toPath(), StandardCopyOption.ATOMIC_MOVE);
+                }
+
+                open();
+            }
+
+            FileUtils.deleteDirectory(target);
+        } catch(IOException e) {
+            throw new EPSCommonException("Failed to rewrite segments in: " + path, e);
+        }
+
+        return changed;
+    }
+
+    private void encode(FileMessage message) throws IOException {
+        record.reset();
+
+        DataOutputStream output = record.output;
+        Timestamp timestamp = message.getTimestamp();
+
+        output.writeLong(message.getID());
+        output.writeLong(message.getMetaDataID());
+        output.writeLong(timestamp != null ? timestamp.getTime() : Long.MIN_VALUE);
+        output.writeBoolean(message.isAdmin());
+        writeString(output, message.getNamespace());
+        writeString(output, message.getName());
+        writeString(output, message.getFrom());
+        writeString(output, message.getTo());
+        writeString(output, message.getServiceID());
+        writeString(output, message.getRejectReason());
+        writeString(output, message.getHumanMessage());
+        writeString(output, message.getJsonMessage());
+        writeBytes(output, message.getRawMessage());
+        writeBytes(output, message.getCompactMessage());
+        output.writeLong(message.getLastModified());
+    }
+
+    /**
+     * Decodes a record. The fields after the raw message are missing in records written by older versions,
+     * so such records get {@code defaultLastModified} as the time of writing.
+     */
+    private static FileMessage decode(ByteBuffer input, long defaultLastModified) {
+        long id = input.getLong();
+        long metaDataID = input.getLong();
+        long timestamp = input.getLong();
+        boolean admin = input.get() != 0;
+        String namespace = readString(input);
+        String name = readString(input);
+        String from = readString(input);
+        String to = readString(input);
+        String serviceID = readString(input);
+        String rejectReason = readString(input);
+        String humanMessage = readString(input);
+        String jsonMessage = readString(input);
+        byte[] rawMessage = readBytes(input);
+        byte[] compactMessage = input.hasRemaining() ? readBytes(input) : null;
+        long lastModified = input.remaining() >= Long.BYTES ? input.getLong() : defaultLastModified;
+        FileMessage message = new FileMessage(lastModified);
+
+        message.setID(id);
+        message.setMetaDataID(metaDataID);
+        message.setTimestamp(timestamp != Long.MIN_VALUE ? new Timestamp(timestamp) : null);
+        message.setAdmin(admin);
+        message.setNamespace(namespace);
+        message.setName(name);
+        message.setFrom(from);
+        message.setTo(to);
+        message.setServiceID(serviceID);
+        message.setRejectReason(rejectReason);
+        message.setHumanMessage(humanMessage);
+        message.setJsonMessage(jsonMessage);
+        message.setRawMessage(rawMessage);
+        message.setCompactMessage(compactMessage);
+
+        return message;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        writeBytes(output, value != null ? value.getBytes(UTF_8) : null);
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] value) throws IOException {
+        if(value == null) {
+            output.writeInt(-1);
+            return;
+        }
+
+        output.writeInt(value.length);
+        output.write(value);
+    }
+
+    private static String readString(ByteBuffer input) {
+        int length = input.getInt();
+
+        if(length < 0) {
+            return null;
+        }
+
+        String value = new String(input.array(), input.arrayOffset() + input.position(), length, UTF_8);
+        input.position(input.position() + length);
+
+        return value;
+    }
+
+    private static byte[] readBytes(ByteBuffer input) {
+        int length = input.getInt();
+
+        if(length < 0) {
+            return null;
+        }
+
+        byte[] value = new byte[length];
+        input.get(value);
+
+        return value;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while(buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+
+            if(read < 0) {
+                throw new IOException("Unexpected end of file at: " + position);
+            }
+
+            position += read;
+        }
+
+        buffer.flip();
+    }
+
+    private static String getFileName(long baseIndex, String extension) {
+        return String.format("%020d%s", baseIndex, extension);
+    }
+
+    private static class RecordBuffer extends ByteArrayOutputStream {
+        private final DataOutputStream output = new DataOutputStream(this);
+        private final List<Long> offsets = new ArrayList<>();
+        private int records;
+
+        public void addRecord(RecordBuffer record, CRC32 crc) throws IOException {
+            crc.reset();
+            crc.update(record.buf, 0, record.count);
+            offsets.add((long)count);
+            output.writeInt(record.count);
+            output.writeInt((int)crc.getValue());
+            record.writeTo(this);
+            records++;
+        }
+
+        public ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+
+        @Override
+        public synchronized void reset() {
+            super.reset();
+            offsets.clear();
+            records = 0;
+        }
+    }
+
+    private class Segment {
+        private final long baseIndex;
+        private final File logFile;
+        private final File indexFile;
+        private final File summaryFile;
+        private final long[] blockOffsets = new long[INDEX_INTERVAL];
+
+        private FileChannel channel;
+        private long[] index = new long[16];
+        private int indexSize;
+        private int count;
+        private long length;
+        private long lastOffset = -1;
+        private int cachedBlock = -1;
+        private int cachedBlockSize;
+        private MessageSegmentSummary summary;
+        private boolean summaryChanged;
+        private MessageSegmentSummary.Matcher matcher;
+
+        public Segment(long baseIndex) throws IOException {
+            this.baseIndex = baseIndex;
+            this.logFile = new File(path, getFileName(baseIndex, LOG_EXTENSION));
+            this.indexFile = new File(path, getFileName(baseIndex, INDEX_EXTENSION));
+            this.summaryFile = new File(path, getFileName(baseIndex, SUMMARY_EXTENSION));
+
+            recover();
+            loadSummary();
+        }
+
+        public long getEndIndex() {
+            return baseIndex + count;
+        }
+
+        private FileChannel channel() throws IOException {
+            if(channel == null) {
+                channel = FileChannel.open(logFile.toPath(), CREATE, READ, WRITE);
+            }
+
+            return channel;
+        }
+
+        private void recover() throws IOException {
+            length = channel().size();
+            loadIndex();
+
+            boolean indexChanged = false;
+            long offset = 0;
+
+            if(indexSize > 0) {
+                count = (indexSize - 1) * INDEX_INTERVAL;
+                offset = index[indexSize - 1];
+            }
+
+            while(offset + HEADER_SIZE <= length) {
+                int recordLength = readHeader(offset).getInt();
+
+                if(recordLength < 0 || offset + HEADER_SIZE + recordLength > length) {
+                    break;
+                }
+
+                if(count % INDEX_INTERVAL == 0 && count / INDEX_INTERVAL == indexSize) {
+                    addIndexEntry(offset);
+                    indexChanged = true;
+                }
+
+                lastOffset = offset;
+                offset += HEADER_SIZE + recordLength;
+                count++;
+            }
+
+            if(offset < length) {
+                logger.warn("Truncating incomplete record at {} in {}", offset, logFile);
+                channel.truncate(offset);
+                length = offset;
+
+                while(indexSize > 0 && index[indexSize - 1] >= length) {
+                    indexSize--;
+                    indexChanged = true;
+                }
+            }
+
+            if(indexChanged) {
+                saveIndex();
+            }
+        }
+
+        private void loadSummary() throws IOException {
+            summary = MessageSegmentSummary.load(summaryFile, INDEX_INTERVAL, count);
+
+            if(summary != null) {
+                return;
+            }
+
+            if(count > 0) {
+                logger.info("Rebuilding summary of segment: {}", logFile);
+            }
+
+            summary = new MessageSegmentSummary(INDEX_INTERVAL);
+            summaryChanged = true;
+
+            for(int i = 0; i < count; i++) {
+                addToSummary(read(i));
+            }
+        }
+
+        public void addToSummary(FileMessage message) {
+            Timestamp timestamp = message.getTimestamp();
+
+            summary.add(timestamp != null ? timestamp.getTime() : Long.MIN_VALUE, message.isAdmin(),
+                    message.getNamespace(), message.getName(), message.getFrom(), message.getTo(), message.getServiceID());
+            summaryChanged = true;
+        }
+
+        public int seek(int localIndex, boolean ascending, MessageIndexQuery query) {
+            if(count == 0) {
+                return -1;
+            }
+
+            if(matcher == null || !matcher.isActual(query)) {
+                matcher = summary.matcher(query);
+            }
+
+            if(matcher == null) {
+                return -1;
+            }
+
+            int block = localIndex / INDEX_INTERVAL;
+
+            while(!matcher.mayMatch(block)) {
+                if(ascending) {
+                    if(++block * INDEX_INTERVAL >= count) {
+                        return -1;
+                    }
+
+                    localIndex = block * INDEX_INTERVAL;
+                } else {
+                    if(--block < 0) {
+                        return -1;
+                    }
+
+                    localIndex = block * INDEX_INTERVAL + INDEX_INTERVAL - 1;
+                }
+            }
+
+            return localIndex;
+        }
+
+        private void loadIndex() throws IOException {
+            if(!indexFile.exists()) {
+                return;
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile.toPath()));
+            long previous = -1;
+
+            while(buffer.remaining() >= Long.BYTES) {
+                long offset = buffer.getLong();
+
+                if(offset <= previous || offset >= length || (indexSize == 0 && offset != 0)) {
+                    logger.warn("Rebuilding inconsistent index: {}", indexFile);
+                    indexSize = 0;
+                    return;
+                }
+
+                addIndexEntry(offset);
+                previous = offset;
+            }
+        }
+
+        private void saveIndex() throws IOException {
+            try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile)))) {
+                for(int i = 0; i < indexSize; i++) {
+                    output.writeLong(index[i]);
+                }
+            }
+        }
+
+        private void addIndexEntry(long offset) {
+            if(indexSize == index.length) {
+                index = Arrays.copyOf(index, indexSize * 2);
+            }
+
+            index[indexSize++] = offset;
+        }
+
+        public void append(RecordBuffer records) throws IOException {
+            if(records.records == 0) {
+                return;
+            }
+
+            ByteBuffer buffer = records.toByteBuffer();
+            FileChannel channel = channel();
+            long position = length;
+
+            while(buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+
+            int firstNewEntry = indexSize;
+
+            for(long recordOffset : records.offsets) {
+                long offset = length + recordOffset;
+
+                if(count % INDEX_INTERVAL == 0) {
+                    addIndexEntry(offset);
+                }
+
+                lastOffset = offset;
+                count++;
+            }
+
+            length = position;
+
+            if(indexSize > firstNewEntry) {
+                try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile, true)))) {
+                    for(int i = firstNewEntry; i < indexSize; i++) {
+                        output.writeLong(index[i]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Closes the channel of a full segment, it will be reopened on the next read
+         */
+        public void seal() throws IOException {
+            close();
+        }
+
+        public FileMessage read(int localIndex) throws IOException {
+            long offset = getOffset(localIndex);
+            ByteBuffer header = readHeader(offset);
+            int recordLength = header.getInt();
+            int checksum = header.getInt();
+            ByteBuffer buffer = ByteBuffer.allocate(recordLength);
+
+            readFully(channel(), buffer, offset + HEADER_SIZE);
+            crc.reset();
+            crc.update(buffer.array(), 0, recordLength);
+
+            if((int)crc.getValue() != checksum) {
+                throw new EPSCommonException("Corrupted record " + localIndex + " in " + logFile);
+            }
+
+            return decode(buffer, logFile.lastModified());
+        }
+
+        public boolean isOlderThan(long epochMillis) throws IOException {
+            if(logFile.lastModified() < epochMillis) {
+                return true;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 3);
+            readFully(channel(), buffer, lastOffset + HEADER_SIZE);
+            long timestamp = buffer.getLong(Long.BYTES * 2);
+
+            return timestamp != Long.MIN_VALUE && timestamp < epochMillis;
+        }
+
+        private long getOffset(int localIndex) throws IOException {
+            int block = localIndex / INDEX_INTERVAL;
+            int position = localIndex % INDEX_INTERVAL;
+
+            if(block != cachedBlock || position >= cachedBlockSize) {
+                int blockSize = Math.min(INDEX_INTERVAL, count - block * INDEX_INTERVAL);
+                long offset = index[block];
+
+                for(int i = 0; i < blockSize; i++) {
+                    blockOffsets[i] = offset;
+                    offset += HEADER_SIZE + readHeader(offset).getInt();
+                }
+
+                cachedBlock = block;
+                cachedBlockSize = blockSize;
+            }
+
+            return blockOffsets[position];
+        }
+
+        private ByteBuffer readHeader(long offset) throws IOException {
+            header.clear();
+            readFully(channel(), header, offset);
+            return header;
+        }
+
+        public void close() throws IOException {
+            if(summaryChanged) {
+                summary.save(summaryFile);
+                summaryChanged = false;
+            }
+
+            if(channel != null) {
+                channel.close();
+                channel = null;
+            }
+        }
+
+        public void delete() {
+            summaryChanged = false;
+
+            try {
+                close();
+            } catch(IOException e) {
+                logger.error("Failed to close segment: {}", logFile, e);
+            }
+
+            if(!FileUtils.deleteQuietly(logFile) || indexFile.exists() && !FileUtils.deleteQuietly(indexFile)
+                    || summaryFile.exists() && !FileUtils.deleteQuietly(summaryFile)) {
+                throw new EPSCommonException("Failed to remove segment: " + logFile);
+            }
+        }
+    }
+}
@@ -35,6 +35,7 @@ public class StoredMessage implements IMeasurable {
 	private String humanMessage;
 	private String jsonMessage;
 	private byte[] rawMessage;
+	private byte[] compactMessage;
 	private String rejectReason;
 	private Set<StoredField> fields;
 	private boolean subMessage;
@@ -132,6 +133,14 @@ public class StoredMessage implements IMeasurable {
 		this.rawMessage = rawMessage;
 	}
 
+	public byte[] getCompactMessage() {
+		return compactMessage;
+	}
+
+	public void setCompactMessage(byte[] compactMessage) {
+		this.compactMessage = compactMessage;
+	}
+
 	public Set<StoredField> getFields() {
 		return fields;
 	}
@@ -186,7 +195,7 @@ public class StoredMessage implements IMeasurable {
         return StorageMeasureUtils.getSize(from) + StorageMeasureUtils.getSize(to) + StorageMeasureUtils.getSize(namespace) + StorageMeasureUtils
                 .getSize(name) + StorageMeasureUtils.getSize(humanMessage)
                 + StorageMeasureUtils.getSize(jsonMessage) + StorageMeasureUtils.getSize(rejectReason) + StorageMeasureUtils.getSize(serviceId) + StorageMeasureUtils
-                .getSize(rawMessage) + (5
+                .getSize(rawMessage) + StorageMeasureUtils.getSize(compactMessage) + (5
                 << 4); //5*16 - 5 field with types other than string and byte array
     }
 }
@@ -23,46 +23,43 @@ import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.exactpro.sf.common.impl.messages.DefaultMessageFactory;
 import com.exactpro.sf.common.messages.IHumanMessage;
 import com.exactpro.sf.common.messages.IMessage;
-import com.exactpro.sf.common.messages.IMessageFactory;
-import com.exactpro.sf.common.messages.MessageUtil;
-import com.exactpro.sf.common.messages.structures.IDictionaryStructure;
-import com.exactpro.sf.common.messages.structures.IMessageStructure;
 import com.exactpro.sf.configuration.IDictionaryManager;
-import com.exactpro.sf.configuration.suri.SailfishURI;
 import com.exactpro.sf.storage.IMessageStorage;
 import com.exactpro.sf.storage.ScriptRun;
-import com.exactpro.sf.storage.util.JsonMessageConverter;
+import com.exactpro.sf.storage.impl.MessageRenderer.RenderedMessage;
 
 public abstract class AbstractMessageStorage implements IMessageStorage {
     protected final Logger logger = LoggerFactory.getLogger(getClass().getName() + "@" + Integer.toHexString(hashCode()));
 
     protected final IDictionaryManager dictionaryManager;
-    
+    protected final MessageRenderer renderer;
+    protected final boolean lazyRendering;
+
     public AbstractMessageStorage(IDictionaryManager dictionaryManager) {
+        this(dictionaryManager, false);
+    }
+
+    /**
+     * @param lazyRendering if {@code true} messages are passed to {@link #storeMessage(IMessage, IHumanMessage, String)}
+     *                      without human-readable and JSON views which should be rendered by {@link #renderer} on demand
+     */
+    public AbstractMessageStorage(IDictionaryManager dictionaryManager, boolean lazyRendering) {
         this.dictionaryManager = Objects.requireNonNull(dictionaryManager, "Dictionary manager cannot be null");
+        this.renderer = new MessageRenderer(dictionaryManager, MessageRenderer.DEFAULT_CACHE_SIZE);
+        this.lazyRendering = lazyRendering;
     }
-    
+
     @Override
     public void storeMessage(IMessage message) {
-        IMessageFactory messageFactory = DefaultMessageFactory.getFactory();
-        IDictionaryStructure dictionary = null;
-        IMessageStructure messageStructure = null;
-        
-        SailfishURI dictionaryURI = message.getMetaData().getDictionaryURI();
-        if (dictionaryURI != null) {
-            dictionary = dictionaryManager.getDictionary(dictionaryURI);
-            if (dictionary != null) {
-                messageStructure = dictionary.getMessages().get(message.getName());
-            }
-            messageFactory = dictionaryManager.getMessageFactory(dictionaryURI);
+        if(lazyRendering) {
+            storeMessage(message, null, null);
+            return;
         }
-        
-        IHumanMessage humanMessage = MessageUtil.convertToIHumanMessage(messageFactory, messageStructure, message);
-        String jsonMessage = JsonMessageConverter.toJson(message, dictionary);
-        storeMessage(message, humanMessage, jsonMessage);
+
+        RenderedMessage renderedMessage = renderer.render(message);
+        storeMessage(message, renderedMessage.getHumanMessage(), renderedMessage.getJsonMessage());
     }
 
     protected abstract void storeMessage(IMessage message, IHumanMessage humanMessage, String jsonMessage);
@@ -22,6 +22,7 @@ import com.exactpro.sf.common.messages.MsgMetaData;
 import com.exactpro.sf.common.services.ServiceInfo;
 import com.exactpro.sf.common.util.HexDumper;
 import com.exactpro.sf.configuration.workspace.WorkspaceStructureException;
+import com.exactpro.sf.scriptrunner.EnvironmentSettings;
 import com.exactpro.sf.storage.DBStorageSettings;
 import com.exactpro.sf.storage.IObjectFlusher;
 import com.exactpro.sf.storage.MessageFilter;
@@ -31,6 +32,8 @@ import com.exactpro.sf.storage.StorageException;
 import com.exactpro.sf.storage.TimestampToString;
 import com.exactpro.sf.storage.entities.StoredMessage;
 import com.exactpro.sf.storage.entities.StoredScriptRun;
+import com.exactpro.sf.storage.impl.MessageRenderer.RenderedMessage;
+import com.exactpro.sf.storage.util.CompactMessageCodec;
 import com.exactpro.sf.util.CHMInterner;
 import com.exactpro.sf.util.Interner;
 import org.apache.commons.collections4.CollectionUtils;
@@ -57,13 +60,14 @@ import java.util.Set;
 
 public class DatabaseMessageStorage extends AbstractMessageStorage {
     private static final int REMOVE_BATCH_SIZE = 5000;
+    private static final String FLUSHER_NAME = "DatabaseMessageStorage";
 
 	private final SessionFactory sessionFactory;
 	private final Interner<String> interner;
     private final IObjectFlusher<StoredMessage> flusher;
 
 	public DatabaseMessageStorage(DBStorageSettings dbStorageSettings) throws WorkspaceStructureException, FileNotFoundException {
-	    super(dbStorageSettings.getDictionaryManager());
+	    super(dbStorageSettings.getDictionaryManager(), dbStorageSettings.getEnvironmentSettings().isLazyMessageRendering());
 	    
 
 		this.sessionFactory = dbStorageSettings.getSessionFactory();
@@ -75,7 +79,10 @@ public class DatabaseMessageStorage extends AbstractMessageStorage {
 		 */
         openScriptRun("Initialisation", "Initialisation of services");
 
-        this.flusher = new ObjectFlusher<StoredMessage>(new HibernateFlushProvider<StoredMessage>(sessionFactory), BUFFER_SIZE, dbStorageSettings.getEnvironmentSettings().getMaxStorageQueueSize());
+        EnvironmentSettings environmentSettings = dbStorageSettings.getEnvironmentSettings();
+        JdbcBatchFlushProvider<StoredMessage> flushProvider = new JdbcBatchFlushProvider<>(sessionFactory, StoredMessage.class);
+        this.flusher = new ObjectFlusher<>(FLUSHER_NAME, flushProvider, Math.max(BUFFER_SIZE, flushProvider.getBatchSize()), environmentSettings.getMaxStorageQueueSize(),
+                environmentSettings.getStorageOverflowPolicy(), JSONSerializer.of(StoredMessage.class));
         flusher.start();
 	}
 
@@ -96,9 +103,10 @@ public class DatabaseMessageStorage extends AbstractMessageStorage {
 		strMsg.setTo(metaData.getToService());
 		strMsg.setName(metaData.isRejected() ? metaData.getMsgName() + MessageUtil.MESSAGE_REJECTED_POSTFIX : metaData.getMsgName());
 		strMsg.setNamespace(metaData.getMsgNamespace());
-		strMsg.setHumanMessage(humanMessage.toString());
+		strMsg.setHumanMessage(humanMessage != null ? humanMessage.toString() : null);
 		strMsg.setJsonMessage(jsonMessage);
 		strMsg.setRawMessage(metaData.getRawMessage());
+		strMsg.setCompactMessage(lazyRendering ? CompactMessageCodec.encode(message) : null);
 		strMsg.setSubMessage(false);
 		strMsg.setServiceId(serviceInfo != null ? serviceInfo.getID() : null);
 		strMsg.setStoredId(metaData.getId());
@@ -242,7 +250,7 @@ public class DatabaseMessageStorage extends AbstractMessageStorage {
 			session.close();
 
             for(int i = 0; i < resultList.size(); i++) {
-                result.add(convert(resultList.get(i), interner, true));
+                result.add(convert(resultList.get(i), interner, true, renderer));
 			}
 
 			return result;
@@ -261,7 +269,22 @@ public class DatabaseMessageStorage extends AbstractMessageStorage {
 	}
 
     public static MessageRow convert(StoredMessage message, Interner<String> interner, boolean hex) {
+        return convert(message, interner, hex, null);
+    }
+
+    /**
+     * @param renderer renderer of messages stored in compact form, if it's {@code null} such messages don't have human-readable and JSON views
+     */
+    public static MessageRow convert(StoredMessage message, Interner<String> interner, boolean hex, MessageRenderer renderer) {
         MessageRow row = new MessageRow();
+        String humanMessage = message.getHumanMessage();
+        String jsonMessage = message.getJsonMessage();
+
+        if(message.getCompactMessage() != null && renderer != null) {
+            RenderedMessage renderedMessage = renderer.render(message.getId(), message.getCompactMessage());
+            humanMessage = renderedMessage.getHumanMessage().toString();
+            jsonMessage = renderedMessage.getJsonMessage();
+        }
 
         row.setID(interner.intern(String.valueOf(message.getId())));
         row.setMsgName(interner.intern(message.getName()));
@@ -269,8 +292,8 @@ public class DatabaseMessageStorage extends AbstractMessageStorage {
         row.setTimestamp(interner.intern(MessageRow.TIMESTAMP_FORMAT.get().format(message.getArrived())));
         row.setFrom(interner.intern(message.getFrom()));
         row.setTo(interner.intern(message.getTo()));
-        row.setJson(interner.intern(message.getJsonMessage()));
-        row.setContent(interner.intern(message.getHumanMessage()));
+        row.setJson(interner.intern(jsonMessage));
+        row.setContent(interner.intern(humanMessage));
         row.setMetaDataID(interner.intern(String.valueOf(message.getStoredId())));
         row.setRejectReason(interner.intern(message.getRejectReason()));
 
@@ -462,7 +485,7 @@ public class DatabaseMessageStorage extends AbstractMessageStorage {
 
         @Override
         protected MessageRow convert(StoredMessage msg, Interner<String> interner) {
-            return DatabaseMessageStorage.convert(msg, interner, isHex);
+            return DatabaseMessageStorage.convert(msg, interner, isHex, renderer);
         }
 
         @Override
@@ -35,6 +35,7 @@ public class FileMessage implements IMeasurable {
     private String humanMessage;
     private String jsonMessage;
     private byte[] rawMessage;
+    private byte[] compactMessage;
     private String rejectReason;
     private String serviceID;
     private long id;
@@ -52,6 +53,13 @@ public class FileMessage implements IMeasurable {
         this.loaded = true;
     }
 
+    public FileMessage(long lastModified) {
+        this.serializer = null;
+        this.file = null;
+        this.lastModified = lastModified;
+        this.loaded = true;
+    }
+
     public FileMessage(ISerializer<FileMessage> serializer, File file) {
         this.serializer = Objects.requireNonNull(serializer, "serializer cannot be null");
         this.file = Objects.requireNonNull(file, "file cannot be null");
@@ -140,6 +148,15 @@ public class FileMessage implements IMeasurable {
         this.rawMessage = rawMessage;
     }
 
+    public byte[] getCompactMessage() {
+        load();
+        return compactMessage;
+    }
+
+    public void setCompactMessage(byte[] compactMessage) {
+        this.compactMessage = compactMessage;
+    }
+
     public String getServiceID() {
         load();
         return serviceID;
@@ -189,6 +206,7 @@ public class FileMessage implements IMeasurable {
             this.humanMessage = message.humanMessage;
             this.jsonMessage = message.jsonMessage;
             this.rawMessage = message.rawMessage;
+            this.compactMessage = message.compactMessage;
             this.serviceID = message.serviceID;
             this.id = message.id;
             this.metaDataID = message.metaDataID;
@@ -213,7 +231,7 @@ public class FileMessage implements IMeasurable {
     @JsonIgnore
     public long getSize() {
         return StorageMeasureUtils.getSize(from, to, namespace, name, jsonMessage, humanMessage, rejectReason, serviceID) +
-                StorageMeasureUtils.getSize(rawMessage) + (8 << 4); //8*16 - 8 field with types other than string and byte array
+                StorageMeasureUtils.getSize(rawMessage) + StorageMeasureUtils.getSize(compactMessage) + (8 << 4); //8*16 - 8 field with types other than string and byte array
     }
 
 }
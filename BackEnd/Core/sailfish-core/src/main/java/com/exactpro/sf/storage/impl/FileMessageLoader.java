@@ -17,15 +17,15 @@ package com.exactpro.sf.storage.impl;
 
 import java.sql.Timestamp;
 import java.util.List;
-import java.util.ListIterator;
-import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.Set;
 
 import org.apache.commons.lang3.ObjectUtils;
 
 import com.exactpro.sf.storage.MessageFilter;
+import com.exactpro.sf.storage.MessageIndexQuery;
 import com.exactpro.sf.storage.MessageRow;
+import com.exactpro.sf.storage.SegmentedMessageList;
 import com.exactpro.sf.storage.StorageException;
 import com.exactpro.sf.util.Interner;
 
@@ -34,32 +34,52 @@ public class FileMessageLoader extends MessageRowLoaderBase<FileMessage> {
     private final boolean ascending;
     private final long startTime;
     private final long finishTime;
+    private final MessageIndexQuery query;
+    private final MessageRenderer renderer;
 
     private int nextIndex;
 
-    public FileMessageLoader(List<FileMessage> source, MessageFilter filter, int count, int bufferSize) {
+    public FileMessageLoader(List<FileMessage> source, MessageFilter filter, int count, int bufferSize, MessageRenderer renderer) {
         super(filter, count, bufferSize);
         this.source = source;
+        this.renderer = renderer;
         this.ascending = ObjectUtils.defaultIfNull(filter.getSortOrder(), true);
         this.startTime = (filter.getStartTime() != null ? filter.getStartTime().getTime() : 0) / 1000;
         this.finishTime = (filter.getFinishTime() != null ? filter.getFinishTime().getTime() : Long.MAX_VALUE) / 1000;
+        this.query = source instanceof SegmentedMessageList ? MessageIndexQuery.of(filter) : null;
+    }
+
+    public FileMessageLoader(List<FileMessage> source, MessageFilter filter, int count, int bufferSize) {
+        this(source, filter, count, bufferSize, null);
+    }
+
+    public FileMessageLoader(List<FileMessage> source, MessageFilter filter, int count, MessageRenderer renderer) {
+        this(source, filter, count, DEFAULT_BUFFER_SIZE, renderer);
     }
 
     public FileMessageLoader(List<FileMessage> source, MessageFilter filter, int count) {
-        this(source, filter, count, DEFAULT_BUFFER_SIZE);
+        this(source, filter, count, DEFAULT_BUFFER_SIZE, null);
     }
 
     @Override
     protected void retrieveMessages(Queue<FileMessage> forMessages, int count, long lastID) {
-        if(lastID == -1 || lastID == source.size()) {
-            return;
-        }
+        // lastID is a position between elements, descending iteration starts from the end of the list
+        int index = lastID == Long.MAX_VALUE ? source.size() : (int)lastID;
 
         try {
-            ListIterator<FileMessage> it = source.listIterator((int)lastID);
+            while(count > 0 && (ascending ? index < source.size() : index > 0)) {
+                if(query != null) {
+                    int candidate = ((SegmentedMessageList)source).seek(ascending ? index : index - 1, ascending, query);
 
-            while(count > 0 && (ascending ? it.hasNext() : it.hasPrevious())) {
-                FileMessage message = ascending ? it.next() : it.previous();
+                    if(candidate == -1) {
+                        index = ascending ? source.size() : 0;
+                        break;
+                    }
+
+                    index = ascending ? candidate : candidate + 1;
+                }
+
+                FileMessage message = source.get(ascending ? index++ : --index);
 
                 if(!checkMessage(message, filter)) {
                     continue;
@@ -69,15 +89,15 @@ public class FileMessageLoader extends MessageRowLoaderBase<FileMessage> {
                 count--;
             }
 
-            nextIndex = ascending ? it.nextIndex() : it.previousIndex();
-        } catch(IndexOutOfBoundsException | NoSuchElementException e) {
+            nextIndex = index;
+        } catch(IndexOutOfBoundsException e) {
             throw new StorageException("Message list probably have been cleared", e);
         }
     }
 
     @Override
     protected MessageRow convert(FileMessage msg, Interner<String> interner) {
-        return FileMessageStorage.convert(msg, interner, isHex);
+        return FileMessageStorage.convert(msg, interner, isHex, renderer);
     }
 
     @Override
@@ -99,10 +119,18 @@ public class FileMessageLoader extends MessageRowLoaderBase<FileMessage> {
                 ilike(message.getTo(), filter.getTo()) &&
                 ilike(message.getName(), filter.getMsgName()) &&
                 ilike(message.getNamespace(), filter.getMsgNameSpace()) &&
-                ilike(message.getHumanMessage(), filter.getHumanMessage()) &&
+                (filter.getHumanMessage() == null || ilike(getHumanMessage(message), filter.getHumanMessage())) &&
                 in(message.getServiceID(), filter.getServicesIdSet());
     }
 
+    private String getHumanMessage(FileMessage message) {
+        if(message.getCompactMessage() != null && renderer != null) {
+            return renderer.render(message.getID(), message.getCompactMessage()).getHumanMessage().toString();
+        }
+
+        return message.getHumanMessage();
+    }
+
     private boolean ilike(String value, String filter) {
         return filter != null ? filter.equalsIgnoreCase(value) : true;
     }
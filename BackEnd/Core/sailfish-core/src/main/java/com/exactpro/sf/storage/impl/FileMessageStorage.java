@@ -15,6 +15,7 @@
  ******************************************************************************/
 package com.exactpro.sf.storage.impl;
 
+import java.io.IOException;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -33,6 +34,9 @@ import com.exactpro.sf.common.messages.MessageUtil;
 import com.exactpro.sf.common.messages.MsgMetaData;
 import com.exactpro.sf.common.services.ServiceInfo;
 import com.exactpro.sf.common.util.HexDumper;
+import com.exactpro.sf.configuration.workspace.FolderType;
+import com.exactpro.sf.configuration.workspace.IWorkspaceDispatcher;
+import com.exactpro.sf.configuration.workspace.WorkspaceSecurityException;
 import com.exactpro.sf.scriptrunner.EnvironmentSettings;
 import com.exactpro.sf.storage.BaseStorageSettings;
 import com.exactpro.sf.storage.IObjectFlusher;
@@ -40,14 +44,21 @@ import com.exactpro.sf.storage.MessageFilter;
 import com.exactpro.sf.storage.MessageList;
 import com.exactpro.sf.storage.MessageRow;
 import com.exactpro.sf.storage.ScriptRun;
+import com.exactpro.sf.storage.SegmentedMessageList;
 import com.exactpro.sf.storage.StorageException;
+import com.exactpro.sf.storage.impl.MessageRenderer.RenderedMessage;
+import com.exactpro.sf.storage.util.CompactMessageCodec;
 import com.exactpro.sf.util.CHMInterner;
 import com.exactpro.sf.util.Interner;
 
 public class FileMessageStorage extends AbstractMessageStorage {
-    private static final String MESSAGES_DIR = "messages";
+    private static final String LEGACY_MESSAGES_DIR = "messages";
+    private static final String MESSAGES_DIR = "message-log";
+    private static final int MIGRATION_BATCH_SIZE = 1024;
+    private static final String MIGRATION_MARKER_SUFFIX = ".migrating";
+    private static final String FLUSHER_NAME = "FileMessageStorage";
 
-    private final List<FileMessage> messages;
+    private final SegmentedMessageList messages;
     private final boolean storeAdminMessages;
     private final IObjectFlusher<FileMessage> flusher;
     private final AtomicLong scriptRunId;
@@ -55,17 +66,20 @@ public class FileMessageStorage extends AbstractMessageStorage {
     private final AtomicLong messageID;
 
     public FileMessageStorage(BaseStorageSettings settings) {
-        super(settings.getDictionaryManager());
-        
+        super(settings.getDictionaryManager(), settings.getEnvironmentSettings().isLazyMessageRendering());
+
         EnvironmentSettings environmentSettings = settings.getEnvironmentSettings();
 
         Objects.requireNonNull(environmentSettings.getFileStoragePath(), "path cannot be null");
         Objects.requireNonNull(settings.getWorkspaceDispatcher(), "dispatcher cannot be null");
 
-        this.messages = new MessageList(FilenameUtils.concat(environmentSettings.getFileStoragePath(), MESSAGES_DIR), settings.getWorkspaceDispatcher());
+        this.messages = new SegmentedMessageList(FilenameUtils.concat(environmentSettings.getFileStoragePath(), MESSAGES_DIR), settings.getWorkspaceDispatcher());
+
+        migrateLegacyMessages(FilenameUtils.concat(environmentSettings.getFileStoragePath(), LEGACY_MESSAGES_DIR), settings.getWorkspaceDispatcher());
 
         this.storeAdminMessages = environmentSettings.isStoreAdminMessages();
-        this.flusher = new ObjectFlusher<>(new ListFlushProvider<>(messages), BUFFER_SIZE, environmentSettings.getMaxStorageQueueSize());
+        this.flusher = new ObjectFlusher<>(FLUSHER_NAME, new ListFlushProvider<>(messages), BUFFER_SIZE, environmentSettings.getMaxStorageQueueSize(),
+                environmentSettings.getStorageOverflowPolicy(), JSONSerializer.of(FileMessage.class));
         this.scriptRunId = new AtomicLong();
         this.interner = new CHMInterner<>();
         this.messageID = new AtomicLong(messages.size());
@@ -73,6 +87,58 @@ public class FileMessageStorage extends AbstractMessageStorage {
         flusher.start();
     }
 
+    /**
+     * Moves messages stored as a file per message to the segmented log and removes the old directory.
+     * The marker file exists while the migration is in progress, so an interrupted migration is resumed
+     * from the number of already migrated messages. The old directory is removed only after all its messages are migrated.
+     */
+    private void migrateLegacyMessages(String legacyPath, IWorkspaceDispatcher dispatcher) {
+        String markerPath = legacyPath + MIGRATION_MARKER_SUFFIX;
+
+        try {
+            if(!dispatcher.exists(FolderType.ROOT, legacyPath)) {
+                if(dispatcher.exists(FolderType.ROOT, markerPath)) {
+                    // the migration was interrupted after the old directory had been removed
+                    dispatcher.removeFile(FolderType.ROOT, markerPath);
+                }
+
+                return;
+            }
+
+            boolean resumed = dispatcher.exists(FolderType.ROOT, markerPath);
+
+            if(!resumed && !messages.isEmpty()) {
+                logger.warn("Messages from {} are not migrated because the message log isn't empty", legacyPath);
+                return;
+            }
+
+            dispatcher.createFile(FolderType.ROOT, true, markerPath);
+
+            MessageList legacyMessages = new MessageList(legacyPath, dispatcher);
+            int size = legacyMessages.size();
+            int migrated = messages.size();
+
+            if(migrated > size) {
+                throw new StorageException(String.format("Message log contains more messages (%s) than %s (%s)", migrated, legacyPath, size));
+            }
+
+            logger.info("Migrating {} messages from: {} (already migrated: {})", size - migrated, legacyPath, migrated);
+
+            for(int fromIndex = migrated; fromIndex < size; fromIndex += MIGRATION_BATCH_SIZE) {
+                messages.addAll(legacyMessages.subList(fromIndex, Math.min(fromIndex + MIGRATION_BATCH_SIZE, size)));
+            }
+
+            if(messages.size() != size) {
+                throw new StorageException(String.format("Migrated %s messages instead of %s from: %s", messages.size(), size, legacyPath));
+            }
+
+            dispatcher.removeFolder(FolderType.ROOT, legacyPath);
+            dispatcher.removeFile(FolderType.ROOT, markerPath);
+        } catch(WorkspaceSecurityException | IOException e) {
+            throw new StorageException("Failed to migrate messages from: " + legacyPath, e);
+        }
+    }
+
     @Override
     public ScriptRun openScriptRun(String name, String description) {
         ScriptRun scriptRun = createScriptRun(name, description);
@@ -103,9 +169,10 @@ public class FileMessageStorage extends AbstractMessageStorage {
         fileMessage.setTo(metaData.getToService());
         fileMessage.setName(metaData.isRejected() ? metaData.getMsgName() + MessageUtil.MESSAGE_REJECTED_POSTFIX : metaData.getMsgName());
         fileMessage.setNamespace(metaData.getMsgNamespace());
-        fileMessage.setHumanMessage(humanMessage.toString());
+        fileMessage.setHumanMessage(humanMessage != null ? humanMessage.toString() : null);
         fileMessage.setJsonMessage(jsonMessage);
         fileMessage.setRawMessage(metaData.getRawMessage());
+        fileMessage.setCompactMessage(lazyRendering ? CompactMessageCodec.encode(message) : null);
         fileMessage.setServiceID(serviceInfo != null ? serviceInfo.getID() : null);
         fileMessage.setMetaDataID(metaData.getId());
         fileMessage.setRejectReason(metaData.getRejectReason());
@@ -116,12 +183,13 @@ public class FileMessageStorage extends AbstractMessageStorage {
     @Override
     public synchronized void dispose() {
         flusher.stop();
+        messages.close();
     }
 
     @Override
     public Iterable<MessageRow> getMessages(int count, MessageFilter filter) {
         flusher.flush();
-        return new FileMessageLoader(messages, filter, count);
+        return new FileMessageLoader(messages, filter, count, renderer);
     }
 
     @Override
@@ -133,7 +201,7 @@ public class FileMessageStorage extends AbstractMessageStorage {
             ListIterator<FileMessage> it = messages.listIterator(messages.size() - offset);
 
             while(--count >= 0 && it.hasPrevious()) {
-                result.add(convert(it.previous(), interner, true));
+                result.add(convert(it.previous(), interner, true, renderer));
             }
 
             return result;
@@ -143,7 +211,22 @@ public class FileMessageStorage extends AbstractMessageStorage {
     }
 
     public static MessageRow convert(FileMessage message, Interner<String> interner, boolean hex) {
+        return convert(message, interner, hex, null);
+    }
+
+    /**
+     * @param renderer renderer of messages stored in compact form, if it's {@code null} such messages don't have human-readable and JSON views
+     */
+    public static MessageRow convert(FileMessage message, Interner<String> interner, boolean hex, MessageRenderer renderer) {
         MessageRow row = new MessageRow();
+        String humanMessage = message.getHumanMessage();
+        String jsonMessage = message.getJsonMessage();
+
+        if(message.getCompactMessage() != null && renderer != null) {
+            RenderedMessage renderedMessage = renderer.render(message.getID(), message.getCompactMessage());
+            humanMessage = renderedMessage.getHumanMessage().toString();
+            jsonMessage = renderedMessage.getJsonMessage();
+        }
 
         row.setID(interner.intern(String.valueOf(message.getID())));
         row.setMsgName(interner.intern(message.getName()));
@@ -151,8 +234,8 @@ public class FileMessageStorage extends AbstractMessageStorage {
         row.setTimestamp(interner.intern(MessageRow.TIMESTAMP_FORMAT.get().format(message.getTimestamp())));
         row.setFrom(interner.intern(message.getFrom()));
         row.setTo(interner.intern(message.getTo()));
-        row.setJson(interner.intern(message.getJsonMessage()));
-        row.setContent(interner.intern(message.getHumanMessage()));
+        row.setJson(interner.intern(jsonMessage));
+        row.setContent(interner.intern(humanMessage));
         row.setMetaDataID(interner.intern(String.valueOf(message.getMetaDataID())));
         row.setRejectReason(interner.intern(message.getRejectReason()));
 
@@ -175,21 +258,7 @@ public class FileMessageStorage extends AbstractMessageStorage {
 
     @Override
     public void removeMessages(Instant olderThan) {
-        long epochMillis = olderThan.toEpochMilli();
-        int toIndex = -1;
-
-        for(int i = 0; i < messages.size(); i++) {
-            FileMessage message = messages.get(i);
-
-            if(message.getLastModified() < epochMillis || message.getTimestamp().getTime() < epochMillis) {
-                toIndex++;
-                continue;
-            }
-
-            break;
-        }
-
-        messages.subList(0, toIndex + 1).clear();
+        messages.removeOlderThan(olderThan.toEpochMilli());
     }
 
     @Override
@@ -0,0 +1,190 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.storage.impl;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.PostInsertIdentifierGenerator;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.exactpro.sf.storage.IObjectFlusher.IFlushProvider;
+
+/**
+ * Inserts entities with JDBC batches bypassing the Hibernate session.
+ * The insert statement is built from the entity mapping, so only the columns of the entity table are written:
+ * collections and other associated entities are not saved.
+ * <p>
+ * Identifiers are generated by the database for identity columns, taken from the sequence in the same insert statement
+ * for sequence generators or generated by the mapped generator row by row otherwise (and set to the entity).
+ * Batch size is taken from the {@code hibernate.jdbc.batch_size} property.
+ * Batches can be turned into multi-row inserts by JDBC driver
+ * (e.g. {@code rewriteBatchedStatements=true} for MySQL/MariaDB, {@code reWriteBatchedInserts=true} for PostgreSQL)
+ */
+public class JdbcBatchFlushProvider<T> implements IFlushProvider<T> {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcBatchFlushProvider.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final SessionFactory sessionFactory;
+    private final AbstractEntityPersister persister;
+    private final IdentifierGenerator identifierGenerator;
+    private final boolean generateIdentifier;
+    private final int[] propertyIndexes;
+    private final String insertSql;
+    private final int batchSize;
+
+    public JdbcBatchFlushProvider(SessionFactory sessionFactory, Class<T> entityClass) {
+        this.sessionFactory = sessionFactory;
+
+        SessionFactoryImplementor factory = sessionFactory.unwrap(SessionFactoryImplementor.class);
+        Dialect dialect = factory.getJdbcServices().getDialect();
+
+        this.persister = (AbstractEntityPersister)factory.getMetamodel().entityPersister(entityClass);
+        this.identifierGenerator = persister.getIdentifierGenerator();
+
+        int configuredBatchSize = factory.getSessionFactoryOptions().getJdbcBatchSize();
+        this.batchSize = configuredBatchSize > 1 ? configuredBatchSize : DEFAULT_BATCH_SIZE;
+
+        List<String> columns = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        String idColumn = persister.getIdentifierColumnNames()[0];
+
+        if (identifierGenerator instanceof PostInsertIdentifierGenerator) {
+            this.generateIdentifier = false;
+        } else if (isPhysicalSequence(identifierGenerator)) {
+            DatabaseStructure structure = ((SequenceStyleGenerator)identifierGenerator).getDatabaseStructure();
+            this.generateIdentifier = false;
+            columns.add(idColumn);
+            values.add(dialect.getSelectSequenceNextValString(structure.getName()));
+        } else {
+            this.generateIdentifier = true;
+            columns.add(idColumn);
+            values.add("?");
+        }
+
+        Type[] types = persister.getPropertyTypes();
+        boolean[] insertability = persister.getPropertyInsertability();
+        List<Integer> indexes = new ArrayList<>();
+
+        for (int i = 0; i < types.length; i++) {
+            if (!insertability[i] || types[i].getColumnSpan(factory) == 0) {
+                continue;
+            }
+
+            indexes.add(i);
+
+            for (String column : persister.getPropertyColumnNames(i)) {
+                columns.add(column);
+                values.add("?");
+            }
+        }
+
+        this.propertyIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+        this.insertSql = "insert into " + persister.getTableName() + " (" + String.join(", ", columns) + ") values (" + String.join(", ", values) + ")";
+
+        logger.info("Batch insert for {} (batch size: {}): {}", entityClass.getSimpleName(), batchSize, insertSql);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public void flush(List<T> objects) throws Exception {
+        Session session = null;
+        Transaction tx = null;
+
+        try {
+            session = sessionFactory.openSession();
+            tx = session.beginTransaction();
+
+            SharedSessionContractImplementor sessionImplementor = session.unwrap(SharedSessionContractImplementor.class);
+
+            session.doWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(insertSql)) {
+                    int batched = 0;
+
+                    for (T object : objects) {
+                        bind(statement, object, sessionImplementor);
+                        statement.addBatch();
+
+                        if (++batched == batchSize) {
+                            statement.executeBatch();
+                            batched = 0;
+                        }
+                    }
+
+                    if (batched > 0) {
+                        statement.executeBatch();
+                    }
+                }
+            });
+
+            tx.commit();
+        } catch(Exception e) {
+            if(tx != null) {
+                tx.rollback();
+            }
+
+            throw e;
+        } finally {
+            if(session != null) {
+                session.close();
+            }
+        }
+    }
+
+    private void bind(PreparedStatement statement, T object, SharedSessionContractImplementor session) throws SQLException {
+        SessionFactoryImplementor factory = session.getFactory();
+        int index = 1;
+
+        if (generateIdentifier) {
+            Type idType = persister.getIdentifierType();
+            Serializable id = identifierGenerator.generate(session, object);
+            idType.nullSafeSet(statement, id, index, session);
+            persister.setIdentifier(object, id, session);
+            index += idType.getColumnSpan(factory);
+        }
+
+        Type[] types = persister.getPropertyTypes();
+
+        for (int propertyIndex : propertyIndexes) {
+            Type type = types[propertyIndex];
+            type.nullSafeSet(statement, persister.getPropertyValue(object, propertyIndex), index, session);
+            index += type.getColumnSpan(factory);
+        }
+    }
+
+    private static boolean isPhysicalSequence(IdentifierGenerator generator) {
+        return generator instanceof SequenceStyleGenerator && ((SequenceStyleGenerator)generator).getDatabaseStructure().isPhysicalSequence();
+    }
+}
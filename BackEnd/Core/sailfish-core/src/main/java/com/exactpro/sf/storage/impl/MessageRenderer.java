@@ -0,0 +1,102 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.storage.impl;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+import com.exactpro.sf.common.impl.messages.DefaultMessageFactory;
+import com.exactpro.sf.common.messages.IHumanMessage;
+import com.exactpro.sf.common.messages.IMessage;
+import com.exactpro.sf.common.messages.IMessageFactory;
+import com.exactpro.sf.common.messages.MessageUtil;
+import com.exactpro.sf.common.messages.structures.IDictionaryStructure;
+import com.exactpro.sf.common.messages.structures.IMessageStructure;
+import com.exactpro.sf.common.util.EPSCommonException;
+import com.exactpro.sf.configuration.IDictionaryManager;
+import com.exactpro.sf.configuration.suri.SailfishURI;
+import com.exactpro.sf.storage.util.CompactMessageCodec;
+import com.exactpro.sf.storage.util.JsonMessageConverter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Renders human-readable and JSON views of messages.
+ * Views of messages stored in compact form are rendered on demand and cached by stored message ID.
+ */
+public class MessageRenderer {
+    public static final int DEFAULT_CACHE_SIZE = 1000;
+
+    private final IDictionaryManager dictionaryManager;
+    private final Cache<Long, RenderedMessage> cache;
+
+    public MessageRenderer(IDictionaryManager dictionaryManager, int cacheSize) {
+        this.dictionaryManager = Objects.requireNonNull(dictionaryManager, "Dictionary manager cannot be null");
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    public RenderedMessage render(IMessage message) {
+        IMessageFactory messageFactory = DefaultMessageFactory.getFactory();
+        IDictionaryStructure dictionary = null;
+        IMessageStructure messageStructure = null;
+
+        SailfishURI dictionaryURI = message.getMetaData().getDictionaryURI();
+        if (dictionaryURI != null) {
+            dictionary = dictionaryManager.getDictionary(dictionaryURI);
+            if (dictionary != null) {
+                messageStructure = dictionary.getMessages().get(message.getName());
+            }
+            messageFactory = dictionaryManager.getMessageFactory(dictionaryURI);
+        }
+
+        IHumanMessage humanMessage = MessageUtil.convertToIHumanMessage(messageFactory, messageStructure, message);
+        String jsonMessage = JsonMessageConverter.toJson(message, dictionary);
+
+        return new RenderedMessage(humanMessage, jsonMessage);
+    }
+
+    /**
+     * @param id ID of the stored message
+     * @param compactMessage message encoded by {@link CompactMessageCodec}
+     */
+    public RenderedMessage render(long id, byte[] compactMessage) {
+        try {
+            return cache.get(id, () -> render(CompactMessageCodec.decode(compactMessage)));
+        } catch(ExecutionException e) {
+            throw new EPSCommonException("Failed to render message: " + id, e.getCause());
+        }
+    }
+
+    public static class RenderedMessage {
+        private final IHumanMessage humanMessage;
+        private final String jsonMessage;
+
+        public RenderedMessage(IHumanMessage humanMessage, String jsonMessage) {
+            this.humanMessage = humanMessage;
+            this.jsonMessage = jsonMessage;
+        }
+
+        public IHumanMessage getHumanMessage() {
+            return humanMessage;
+        }
+
+        public String getJsonMessage() {
+            return jsonMessage;
+        }
+    }
+}
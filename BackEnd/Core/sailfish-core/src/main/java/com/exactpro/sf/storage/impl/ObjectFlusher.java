@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2018 Exactpro (Exactpro Systems Limited)
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,93 +15,103 @@
  ******************************************************************************/
 package com.exactpro.sf.storage.impl;
 
-import com.exactpro.sf.common.logging.CommonLoggers;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.BrokenBarrierException;
-import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.exactpro.sf.common.logging.CommonLoggers;
 import com.exactpro.sf.common.util.EPSCommonException;
 import com.exactpro.sf.storage.IMeasurable;
 import com.exactpro.sf.storage.IObjectFlusher;
-
-public class ObjectFlusher<T extends IMeasurable> implements IObjectFlusher<T> {
+import com.exactpro.sf.storage.ISerializer;
+import com.exactpro.sf.storage.OverflowPolicy;
+import com.exactpro.sf.storage.util.BoundedRingBuffer;
+
+/**
+ * Collects objects in a bounded lock-free queue and passes them to a {@link IFlushProvider} in batches from a single flush thread.
+ * If the queue is full (by count or by total size of objects) the {@link OverflowPolicy} is applied.
+ * Producers take a lock only to wait for free space with {@link OverflowPolicy#BLOCK}.
+ * Spilled objects are written to disk by a separate spill thread, so producers only serialize them.
+ */
+public class ObjectFlusher<T extends IMeasurable> implements IObjectFlusher<T>, ObjectFlusherMXBean {
 
     private final Logger logger = LoggerFactory.getLogger(getClass().getName() + "@" + Integer.toHexString(hashCode()));
     private static final Logger USER_EVENTS_LOG = CommonLoggers.USER_EVENTS_LOGGER;
 
     private static final long DEFAULT_FLUSH_TASK_TIMEOUT = 1000;
     private static final long JOIN_TIMEOUT = 2000;
+    private static final int DEFAULT_QUEUE_CAPACITY = 1 << 18;
+    private static final int SPILL_QUEUE_CAPACITY = 1024;
 
+    private static final long NOTIFY_COOLDOWN = 1000*30;
+    private static final String STORE_OBJECT_LIMIT_EXCEEDED = "Can't store object, limit exceeded";
+    private static final String SPILL_OBJECT_LIMIT_EXCEEDED = "Storage queue limit exceeded, objects are spilled to disk";
+    private static final String BLOCK_OBJECT_LIMIT_EXCEEDED = "Storage queue limit exceeded, waiting for free space";
+    private static final long DEFAULT_STORAGE_QUEUE = 1024L * 1024L * 512L;
 
-    private final Lock monitor = new ReentrantLock(true);
-    private final ReadWriteLock sourceMonitor = new ReentrantReadWriteLock();
-    private final Condition needFlush = monitor.newCondition();
+    private static final String MBEAN_DOMAIN = "com.exactpro.sf.storage";
+
+    private final String name;
     private final IFlushProvider<T> provider;
     private final int bufferSize;
-
     private final long maxStorageQueueSize;
     private final long flushTaskTimeout;
+    private final OverflowPolicy overflowPolicy;
+    private final ISerializer<T> spillSerializer;
+    private final BoundedRingBuffer<T> queue;
+
+    private final AtomicLong queueBytes = new AtomicLong();
+    private final AtomicLong addedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong spilledCount = new AtomicLong();
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong spillPending = new AtomicLong();
+    private final AtomicInteger blockedProducers = new AtomicInteger();
+    private final AtomicLong lastThrottleNotification = new AtomicLong();
+    private volatile long lastFlushLatency;
+    private volatile long maxFlushLatency;
+
+    private final Object stateMonitor = new Object();
+    private final Object flushMonitor = new Object();
+    private final Object spaceMonitor = new Object();
+
+    private volatile boolean running;
+    private volatile boolean parked;
+    private volatile boolean flushRequested;
+    private volatile Thread flushThread;
+    private volatile SpillWriter spillWriter;
+    private ObjectName objectName;
 
-    private long storageProviderQueueSize;
-    private long lastThrottleNotification;
-    private static final long NOTIFY_COOLDOWN = 1000*30;
-    private static final String STORE_OBJECT_LIMIT_EXCEEDED = "Can't store object, limit exceeded";
-    private static final long DEFAULT_STORAGE_QUEUE = 1024L * 1024L * 512L;
-
-
-    private List<T> objects;
-    private FlushTask flushTask;
-    private Thread flushThread;
-
-    static int a;
-    static Lock lock = new ReentrantLock(true);
-    static CyclicBarrier b = new CyclicBarrier(2);
-    
-    public static void main(String[] args) throws InterruptedException {
-        
-        Runnable run = new Runnable() {
-            
-            @Override
-            public void run() {
-                try {
-                    b.await();
-                    System.out.println(Thread.currentThread().getId() + " started");
-                    for (int i = 0; i < 500; i++) {
-                        try {
-                            lock.lock();
-                            System.out.println(Thread.currentThread().getId() + " " + a++);
-                        } finally {
-                            lock.unlock();
-                        }
-                    }
-                } catch (InterruptedException | BrokenBarrierException e) {
-                    // TODO Auto-generated catch block
-                    e.printStackTrace();
-                }
-            }
-        };
-        
-        Thread t1 = new Thread(run);
-        Thread t2 = new Thread(run);
-        
-        t1.start();
-        t2.start();
-        
-        t1.join();
-        t2.join();
-    }
-    
     public ObjectFlusher(IFlushProvider<T> provider, int bufferSize) {
         this(provider, bufferSize, DEFAULT_STORAGE_QUEUE);
     }
@@ -111,208 +121,751 @@ public class ObjectFlusher<T extends IMeasurable> implements IObjectFlusher<T> {
     }
 
     public ObjectFlusher(IFlushProvider<T> provider, int bufferSize, long maxStorageQueueSize, long flushTaskTimeout) {
+        this(null, provider, bufferSize, maxStorageQueueSize, flushTaskTimeout, OverflowPolicy.DROP_NEWEST, null);
+    }
+
+    public ObjectFlusher(String name, IFlushProvider<T> provider, int bufferSize, long maxStorageQueueSize,
+            OverflowPolicy overflowPolicy, ISerializer<T> spillSerializer) {
+        this(name, provider, bufferSize, maxStorageQueueSize, DEFAULT_FLUSH_TASK_TIMEOUT, overflowPolicy, spillSerializer);
+    }
+
+    /**
+     * @param name name of the exported JMX bean, metrics are not exported if it is {@code null}
+     * @param provider receives batches of objects
+     * @param bufferSize maximum size of a batch, flush is started as soon as this number of objects is queued
+     * @param maxStorageQueueSize maximum total size of objects which are queued or being flushed
+     * @param flushTaskTimeout maximum time in milliseconds an object waits in the queue for a batch to fill up
+     * @param overflowPolicy action to perform with objects which don't fit into the queue
+     * @param spillSerializer serializer used to spill objects to disk, required for {@link OverflowPolicy#SPILL_TO_DISK}
+     */
+    public ObjectFlusher(String name, IFlushProvider<T> provider, int bufferSize, long maxStorageQueueSize, long flushTaskTimeout,
+            OverflowPolicy overflowPolicy, ISerializer<T> spillSerializer) {
+        this.name = name;
         this.provider = Objects.requireNonNull(provider, "provider cannot be null");
         this.bufferSize = bufferSize;
-        this.objects = new ArrayList<>(bufferSize + 1);
         this.maxStorageQueueSize = maxStorageQueueSize;
         this.flushTaskTimeout = flushTaskTimeout;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy cannot be null");
+        this.spillSerializer = overflowPolicy == OverflowPolicy.SPILL_TO_DISK
+                ? Objects.requireNonNull(spillSerializer, "spillSerializer cannot be null") : spillSerializer;
+        this.queue = new BoundedRingBuffer<>(Math.max(DEFAULT_QUEUE_CAPACITY, bufferSize * 2));
     }
 
     @Override
     public void start() {
-        try {
-            sourceMonitor.writeLock().lock();
-            if(flushTask != null) {
+        synchronized(stateMonitor) {
+            if(running) {
                 throw new EPSCommonException("Cannot start flusher. Flusher is already started");
             }
-    
-            flushTask = new FlushTask(flushTaskTimeout);
-            flushThread = new Thread(flushTask, logger.getName());
+
+            running = true;
+
+            if(overflowPolicy == OverflowPolicy.SPILL_TO_DISK) {
+                spillWriter = new SpillWriter();
+                spillWriter.start();
+            }
+
+            flushThread = new Thread(new FlushTask(), logger.getName());
             flushThread.setDaemon(true);
             flushThread.start();
-        } finally {
-            sourceMonitor.writeLock().unlock();
+
+            registerMBean();
         }
     }
 
     @Override
     public void stop() {
         flush();
-        
-        try {
-            sourceMonitor.writeLock().lock();
 
-            if(flushTask == null) {
+        synchronized(stateMonitor) {
+            if(!running) {
                 throw new EPSCommonException("Cannot stop flusher. Flusher is not started");
             }
-    
+
+            running = false;
+            LockSupport.unpark(flushThread);
+
+            synchronized(spaceMonitor) {
+                spaceMonitor.notifyAll();
+            }
+
             try {
-                flushThread.interrupt();
                 flushThread.join(JOIN_TIMEOUT);
-    
+
                 if(flushThread.isAlive()) {
                     logger.warn("Flush thread is still alive: {}", flushThread.getName());
+                    flushThread.interrupt();
+                }
+
+                if(spillWriter != null) {
+                    spillWriter.stop();
                 }
             } catch(InterruptedException e) {
                 throw new EPSCommonException("Current thread interrupted", e); //FIXME: Throw origin InterruptedException
             } finally {
-                flushTask = null;
                 flushThread = null;
+                spillWriter = null;
+                unregisterMBean();
             }
-        } finally {
-            sourceMonitor.writeLock().unlock();
         }
     }
 
     @Override
     public void add(T object) {
-        try {
-            logger.debug("Try lock sourceMonitor read");
-            sourceMonitor.readLock().lock();
-            logger.debug("sourceMonitor locked");
-            if(flushTask == null) {
-                throw new EPSCommonException("Cannot add object. Flusher is not started");
-            }
-    
-            try {
-                logger.debug("Try lock monitor");
-                monitor.lock();
-                logger.debug("monitor locked");
+        if(!running) {
+            throw new EPSCommonException("Cannot add object. Flusher is not started");
+        }
 
-                if (!checkQueueLimit(object)) {
-                    notifyAboutThrottle();
-                    return;
-                }
+        addedCount.incrementAndGet();
 
-                objects.add(object);
-                logger.debug("Added object: {}", object);
-    
-                if(objects.size() >= bufferSize) {
-                    logger.debug("Buffer is full. Requesting flush");
-                    needFlush.signalAll();
-                }
-            } finally {
-                monitor.unlock();
-                logger.debug("monitor unlocked");
+        if(spillPending.get() > 0 && spill(object)) {
+            return;
+        }
+
+        if(enqueue(object)) {
+            logger.debug("Added object: {}", object);
+            return;
+        }
+
+        switch(overflowPolicy) {
+        case DROP_OLDEST:
+            dropOldest(object);
+            break;
+        case BLOCK:
+            waitForSpace(object);
+            break;
+        case SPILL_TO_DISK:
+            if(!spill(object)) {
+                drop(STORE_OBJECT_LIMIT_EXCEEDED);
             }
-        } finally {
-            sourceMonitor.readLock().unlock();
-            logger.debug("sourceMonitor read unlocked");
+            break;
+        default:
+            drop(STORE_OBJECT_LIMIT_EXCEEDED);
+            break;
         }
     }
 
+    /**
+     * Waits until all objects added before this call are passed to the provider
+     */
     @Override
     public void flush() {
+        Thread thread = flushThread;
+
+        if(!running || thread == null) {
+            throw new EPSCommonException("Cannot request flush. Flusher is not started");
+        }
+
+        if(thread == Thread.currentThread()) {
+            return;
+        }
+
+        long target = addedCount.get();
+
         try {
-            logger.debug("Try lock sourceMonitor read");
-            sourceMonitor.readLock().lock();
-            logger.debug("sourceMonitor read locked");
-            if(flushTask == null) {
-                throw new EPSCommonException("Cannot request flush. Flusher is not started");
+            synchronized(flushMonitor) {
+                while(completedCount.get() < target && thread.isAlive()) {
+                    requestFlush(thread);
+                    flushMonitor.wait(flushTaskTimeout);
+                }
             }
-    
-            try {
-                logger.debug("Try lock monitor");
-                monitor.lock();
-                logger.debug("monitor locked");
-                needFlush.signalAll();
-            } finally {
-                monitor.unlock();
-                logger.debug("monitor unlocked");
+        } catch(InterruptedException e) {
+            throw new EPSCommonException("Current thread interrupted", e); //FIXME: Throw origin InterruptedException
+        }
+    }
+
+    private boolean enqueue(T object) {
+        long size = object.getSize();
+
+        if(queueBytes.addAndGet(size) > maxStorageQueueSize) {
+            queueBytes.addAndGet(-size);
+            requestFlush(flushThread);
+            return false;
+        }
+
+        if(!queue.offer(object)) {
+            queueBytes.addAndGet(-size);
+            requestFlush(flushThread);
+            return false;
+        }
+
+        if(parked && queue.size() >= bufferSize) {
+            logger.debug("Buffer is full. Requesting flush");
+            LockSupport.unpark(flushThread);
+        }
+
+        return true;
+    }
+
+    private void dropOldest(T object) {
+        while(true) {
+            T oldest = queue.poll();
+
+            if(oldest == null) {
+                drop(STORE_OBJECT_LIMIT_EXCEEDED);
+                return;
             }
-    
-            synchronized (provider) {
-                logger.debug("Provider: synchronized section started");
-                try {
-                    flushTask.runFlush(false);
-                } catch (InterruptedException e) {
-                    throw new EPSCommonException("Current thread interrupted", e); //FIXME: Throw origin InterruptedException
-                } finally {
-                    logger.debug("Provider: synchronized section ended");
+
+            queueBytes.addAndGet(-oldest.getSize());
+            drop(STORE_OBJECT_LIMIT_EXCEEDED);
+
+            if(enqueue(object)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Waits until the flush thread frees space in the queue. The counter of blocked producers is incremented
+     * before the attempt to enqueue the object, so the flush thread can't miss them when it frees space
+     */
+    private void waitForSpace(T object) {
+        notifyAboutThrottle(BLOCK_OBJECT_LIMIT_EXCEEDED);
+        blockedProducers.incrementAndGet();
+
+        try {
+            synchronized(spaceMonitor) {
+                while(running && object.getSize() <= maxStorageQueueSize) {
+                    if(enqueue(object)) {
+                        return;
+                    }
+
+                    spaceMonitor.wait(flushTaskTimeout);
                 }
             }
+        } catch(InterruptedException e) {
+            logger.warn("Interrupted while waiting for free space in the queue", e);
+            Thread.currentThread().interrupt();
         } finally {
-            sourceMonitor.readLock().unlock();
-            logger.debug("sourceMonitor read unlocked");
+            blockedProducers.decrementAndGet();
+        }
+
+        drop(STORE_OBJECT_LIMIT_EXCEEDED);
+    }
+
+    private void signalSpace() {
+        if(blockedProducers.get() > 0) {
+            synchronized(spaceMonitor) {
+                spaceMonitor.notifyAll();
+            }
+        }
+    }
+
+    private void drop(String message) {
+        droppedCount.incrementAndGet();
+        completedCount.incrementAndGet();
+        notifyAboutThrottle(message);
+    }
+
+    private void requestFlush(Thread thread) {
+        flushRequested = true;
+
+        if(thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Serializes the object and passes it to the spill thread which writes it to disk
+     */
+    private boolean spill(T object) {
+        SpillWriter writer = spillWriter;
+
+        if(writer == null) {
+            return false;
+        }
+
+        byte[] data;
+
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            spillSerializer.serialize(object, buffer);
+            data = buffer.toByteArray();
+        } catch(Exception e) {
+            logger.error("Failed to serialize object to spill it to disk", e);
+            return false;
+        }
+
+        spillPending.incrementAndGet();
+
+        if(!writer.offer(data)) {
+            spillPending.decrementAndGet();
+            return false;
+        }
+
+        spilledCount.incrementAndGet();
+        notifyAboutThrottle(SPILL_OBJECT_LIMIT_EXCEEDED);
+
+        return true;
+    }
+
+    private void dropSpilled(long count) {
+        droppedCount.addAndGet(count);
+        completedCount.addAndGet(count);
+        spillPending.addAndGet(-count);
+    }
+
+    private void notifyAboutThrottle(String message) {
+        long now = System.currentTimeMillis();
+        long last = lastThrottleNotification.get();
+
+        if(now - last > NOTIFY_COOLDOWN && lastThrottleNotification.compareAndSet(last, now)) {
+            logger.warn(message);
+            USER_EVENTS_LOG.warn(message);
+        }
+    }
+
+    private void registerMBean() {
+        if(name == null) {
+            return;
+        }
+
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName beanName = new ObjectName(MBEAN_DOMAIN + ":type=ObjectFlusher,name=" + ObjectName.quote(name));
+
+            if(!server.isRegistered(beanName)) {
+                server.registerMBean(this, beanName);
+                this.objectName = beanName;
+            }
+        } catch(JMException e) {
+            logger.warn("Failed to register metrics: {}", name, e);
         }
     }
-    
-    public class FlushTask implements Runnable {
-        private final long timeout;
 
-        public FlushTask(long timeout) {
-            this.timeout = timeout;
+    private void unregisterMBean() {
+        if(objectName == null) {
+            return;
         }
 
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch(JMException e) {
+            logger.warn("Failed to unregister metrics: {}", objectName, e);
+        } finally {
+            objectName = null;
+        }
+    }
+
+    @Override
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queue.capacity();
+    }
+
+    @Override
+    public long getQueueBytes() {
+        return queueBytes.get();
+    }
+
+    @Override
+    public long getMaxQueueBytes() {
+        return maxStorageQueueSize;
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @Override
+    public long getSpilledCount() {
+        return spilledCount.get();
+    }
+
+    @Override
+    public long getFlushedCount() {
+        return flushedCount.get();
+    }
+
+    @Override
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    @Override
+    public long getLastFlushLatencyMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(lastFlushLatency);
+    }
+
+    @Override
+    public long getMaxFlushLatencyMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxFlushLatency);
+    }
+
+    private class FlushTask implements Runnable {
+        private final List<T> batch = new ArrayList<>(bufferSize);
+        private final long timeout = TimeUnit.MILLISECONDS.toNanos(flushTaskTimeout);
+
         @Override
         public void run() {
+            long deadline = System.nanoTime() + timeout;
+
             try {
                 while(true) {
-                    Thread.sleep(5);
-                    runFlush(true);
+                    boolean stopping = !running;
+
+                    if(stopping || isFlushRequired() || System.nanoTime() - deadline >= 0) {
+                        flushRequested = false;
+                        flushQueue();
+                        flushSpilled();
+
+                        synchronized(flushMonitor) {
+                            flushMonitor.notifyAll();
+                        }
+
+                        if(stopping) {
+                            break;
+                        }
+
+                        deadline = System.nanoTime() + timeout;
+                        continue;
+                    }
+
+                    parked = true;
+
+                    if(running && !isFlushRequired()) {
+                        LockSupport.parkNanos(this, deadline - System.nanoTime());
+                    }
+
+                    parked = false;
                 }
-            } catch (InterruptedException e) {
+            } catch(InterruptedException e) {
                 logger.warn(e.getMessage(), e);
-            } catch (Exception e) {
+            } catch(Exception e) {
                 logger.error(e.getMessage(), e);
+            } finally {
+                synchronized(flushMonitor) {
+                    flushMonitor.notifyAll();
+                }
             }
         }
 
-        void runFlush(boolean wait) throws InterruptedException {
+        private boolean isFlushRequired() {
+            return flushRequested || spillPending.get() > 0 || queue.size() >= bufferSize;
+        }
 
-            synchronized (provider) {
+        private void flushQueue() throws InterruptedException {
+            while(queue.drainTo(batch, bufferSize) > 0) {
+                long size = 0;
 
-                List<T> temp;
+                for(T object : batch) {
+                    size += object.getSize();
+                }
 
                 try {
-                    logger.debug("Try lock monitor");
-                    monitor.lock();
-                    logger.debug("monitor locked");
+                    flushBatch();
+                } finally {
+                    queueBytes.addAndGet(-size);
+                    signalSpace();
+                }
+            }
+        }
+
+        private void flushSpilled() throws InterruptedException {
+            SpillWriter writer = spillWriter;
+
+            if(writer == null || spillPending.get() == 0) {
+                return;
+            }
+
+            SpillFile file = writer.rotate();
+
+            if(file == null) {
+                return;
+            }
+
+            int remaining = file.count;
 
-                    if (wait) {
-                        needFlush.await(timeout, TimeUnit.MILLISECONDS);
+            try(DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file.file)))) {
+                while(remaining > 0) {
+                    byte[] data = SpillFile.read(input, file.file.length());
+
+                    if(data == null) {
+                        logger.error("Spill file is truncated or corrupted, {} objects are lost: {}", remaining, file.file);
+                        droppedCount.addAndGet(remaining);
+                        completedCount.addAndGet(remaining);
+                        remaining = 0;
+                        continue;
                     }
 
-                    temp = objects;
-                    objects = new ArrayList<>(bufferSize + 1);
-                    storageProviderQueueSize = 0L;
-                } finally {
-                    monitor.unlock();
-                    logger.debug("monitor unlocked");
-                }
+                    remaining--;
 
-                if (!temp.isEmpty()) {
                     try {
-                        logger.debug("Flushing {} objects", temp.size());
-                        provider.flush(temp);
-                    } catch (InterruptedException e) {
-                        throw e;
-                    } catch (Exception e) {
-                        logger.error("Failed to flush objects", e);
+                        batch.add(spillSerializer.deserialize(new ByteArrayInputStream(data)));
+                    } catch(Exception e) {
+                        logger.error("Failed to read spilled object", e);
+                        droppedCount.incrementAndGet();
+                        completedCount.incrementAndGet();
+                    }
+
+                    if(batch.size() >= bufferSize) {
+                        flushBatch();
                     }
                 }
+            } catch(IOException e) {
+                logger.error("Failed to read spilled objects from: {}", file.file, e);
+                droppedCount.addAndGet(remaining);
+                completedCount.addAndGet(remaining);
+            } finally {
+                flushBatch();
+                spillPending.addAndGet(-file.count);
+
+                if(!file.file.delete()) {
+                    logger.warn("Failed to delete spill file: {}", file.file);
+                }
             }
+        }
 
+        private void flushBatch() throws InterruptedException {
+            if(batch.isEmpty()) {
+                return;
+            }
+
+            long start = System.nanoTime();
+
+            try {
+                logger.debug("Flushing {} objects", batch.size());
+                provider.flush(batch);
+            } catch(InterruptedException e) {
+                throw e;
+            } catch(Exception e) {
+                logger.error("Failed to flush objects", e);
+            } finally {
+                long latency = System.nanoTime() - start;
+
+                lastFlushLatency = latency;
+                maxFlushLatency = Math.max(maxFlushLatency, latency);
+                flushCount.incrementAndGet();
+                flushedCount.addAndGet(batch.size());
+                completedCount.addAndGet(batch.size());
+                batch.clear();
+            }
         }
     }
 
-    private boolean checkQueueLimit(T o) {
+    /**
+     * Writes spilled objects to disk in a separate thread. Objects are written in the order they are offered,
+     * rotation is queued after them, so a rotated file contains all objects offered before the rotation
+     */
+    private class SpillWriter implements Runnable {
+        private final Object stopMarker = new Object();
+        private final BlockingQueue<Object> records = new ArrayBlockingQueue<>(SPILL_QUEUE_CAPACITY);
+        private final Thread thread = new Thread(this, logger.getName() + "-spill");
+
+        // accessed only by the spill thread
+        private SpillFile file;
+
+        public void start() {
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        public void stop() throws InterruptedException {
+            records.put(stopMarker);
+            thread.join(JOIN_TIMEOUT);
 
-        long currentSize = storageProviderQueueSize + o.getSize();
-        if (currentSize <= maxStorageQueueSize) {
-            storageProviderQueueSize = currentSize;
-            return true;
+            if(thread.isAlive()) {
+                logger.warn("Spill thread is still alive: {}", thread.getName());
+                thread.interrupt();
+            }
         }
 
-        return false;
+        /**
+         * Blocks if the spill thread lags behind, so memory consumed by serialized objects is bounded
+         */
+        public boolean offer(byte[] data) {
+            try {
+                while(!records.offer(data, flushTaskTimeout, TimeUnit.MILLISECONDS)) {
+                    if(!thread.isAlive()) {
+                        return false;
+                    }
+                }
+
+                return true;
+            } catch(InterruptedException e) {
+                logger.warn("Interrupted while spilling object to disk", e);
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        /**
+         * Closes the current spill file and returns it. Objects offered after this call are written to a new file
+         * @return closed spill file or {@code null} if nothing was written
+         */
+        public SpillFile rotate() throws InterruptedException {
+            Rotation rotation = new Rotation();
+            records.put(rotation);
+
+            try {
+                return rotation.get();
+            } catch(ExecutionException e) {
+                throw new EPSCommonException("Failed to rotate spill file", e.getCause());
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while(true) {
+                    Object record = records.take();
+
+                    if(record == stopMarker) {
+                        break;
+                    }
+
+                    if(record instanceof Rotation) {
+                        ((Rotation)record).complete(close());
+                    } else {
+                        write((byte[])record);
+                    }
+                }
+            } catch(InterruptedException e) {
+                logger.warn(e.getMessage(), e);
+            } finally {
+                for(Object record : records) {
+                    if(record instanceof Rotation) {
+                        ((Rotation)record).complete(close());
+                    } else if(record instanceof byte[]) {
+                        dropSpilled(1);
+                    }
+                }
+
+                close();
+            }
+        }
+
+        private void write(byte[] data) {
+            if(file == null) {
+                try {
+                    file = new SpillFile();
+                } catch(IOException e) {
+                    logger.error("Failed to create spill file", e);
+                    dropSpilled(1);
+                    return;
+                }
+            }
+
+            try {
+                file.write(data);
+
+                if(records.isEmpty()) {
+                    file.flush();
+                }
+            } catch(IOException e) {
+                logger.error("Failed to spill objects to disk: {}", file.file, e);
+            }
+        }
+
+        private SpillFile close() {
+            SpillFile current = file;
+            file = null;
+
+            if(current != null) {
+                try {
+                    current.close();
+                } catch(IOException e) {
+                    logger.error("Failed to close spill file: {}", current.file, e);
+                }
+            }
+
+            return current;
+        }
     }
 
-    private void notifyAboutThrottle() {
+    private static class Rotation extends CompletableFuture<SpillFile> {}
+
+    /**
+     * Each record is written as its length, CRC32 checksum of its data and the data itself.
+     * A partially written record is detected on read by its length and checksum
+     */
+    private static class SpillFile {
+        private final File file;
+        private final DataOutputStream output;
+        private final CRC32 checksum = new CRC32();
+        private int count;
+        private boolean broken;
+
+        public SpillFile() throws IOException {
+            this.file = File.createTempFile("storage-spill", ".bin");
+            this.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            file.deleteOnExit();
+        }
 
-        if ((System.currentTimeMillis() - lastThrottleNotification) > NOTIFY_COOLDOWN) {
-            lastThrottleNotification = System.currentTimeMillis();
-            logger.warn(STORE_OBJECT_LIMIT_EXCEEDED);
-            USER_EVENTS_LOG.warn(STORE_OBJECT_LIMIT_EXCEEDED);
+        /**
+         * Records are counted even if they aren't written, so they are counted as lost on read.
+         * Nothing is written after a failure because the previous record could be written partially
+         */
+        public void write(byte[] data) throws IOException {
+            count++;
+
+            if(broken) {
+                return;
+            }
+
+            checksum.reset();
+            checksum.update(data, 0, data.length);
+
+            try {
+                output.writeInt(data.length);
+                output.writeInt((int)checksum.getValue());
+                output.write(data);
+            } catch(IOException e) {
+                broken = true;
+                throw e;
+            }
+        }
+
+        public void flush() throws IOException {
+            if(broken) {
+                return;
+            }
+
+            try {
+                output.flush();
+            } catch(IOException e) {
+                broken = true;
+                throw e;
+            }
+        }
+
+        public void close() throws IOException {
+            output.close();
+        }
+
+        /**
+         * @param limit length of the file, a record can't be longer
+         * @return data of the next record or {@code null} if the record is incomplete or corrupted
+         */
+        public static byte[] read(DataInputStream input, long limit) throws IOException {
+            try {
+                int length = input.readInt();
+                int expected = input.readInt();
+
+                if(length < 0 || length > limit) {
+                    return null;
+                }
+
+                byte[] data = new byte[length];
+                input.readFully(data);
+
+                CRC32 checksum = new CRC32();
+                checksum.update(data, 0, data.length);
+
+                return (int)checksum.getValue() == expected ? data : null;
+            } catch(EOFException e) {
+                return null;
+            }
         }
     }
 }
@@ -0,0 +1,54 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.storage.impl;
+
+import com.exactpro.sf.storage.OverflowPolicy;
+
+/**
+ * Storage queue metrics exported via JMX
+ */
+public interface ObjectFlusherMXBean {
+    OverflowPolicy getOverflowPolicy();
+
+    /**
+     * @return number of objects waiting in the queue
+     */
+    int getQueueSize();
+
+    int getQueueCapacity();
+
+    /**
+     * @return total size of queued and currently flushed objects
+     */
+    long getQueueBytes();
+
+    long getMaxQueueBytes();
+
+    long getDroppedCount();
+
+    long getSpilledCount();
+
+    long getFlushedCount();
+
+    /**
+     * @return number of {@link com.exactpro.sf.storage.IObjectFlusher.IFlushProvider#flush(java.util.List)} calls
+     */
+    long getFlushCount();
+
+    long getLastFlushLatencyMicros();
+
+    long getMaxFlushLatencyMicros();
+}
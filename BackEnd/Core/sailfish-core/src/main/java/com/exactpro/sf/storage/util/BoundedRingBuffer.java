@@ -0,0 +1,154 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.storage.util;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer (D. Vyukov's array queue).
+ * Any thread can offer and poll elements, none of them ever blocks.
+ * @param <T> element type
+ */
+public class BoundedRingBuffer<T> {
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param capacity minimal capacity of the buffer, it is rounded up to a power of two
+     */
+    public BoundedRingBuffer(int capacity) {
+        if(capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+
+        int size = Integer.highestOneBit(capacity);
+
+        if(size < capacity) {
+            size <<= 1;
+        }
+
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+
+        for(int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return {@code false} if the buffer is full
+     */
+    public boolean offer(T element) {
+        if(element == null) {
+            throw new NullPointerException("element cannot be null");
+        }
+
+        long position = tail.get();
+
+        while(true) {
+            int index = (int)(position & mask);
+            long difference = sequences.get(index) - position;
+
+            if(difference == 0) {
+                if(tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+
+                position = tail.get();
+            } else if(difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @return oldest element or {@code null} if the buffer is empty
+     */
+    public T poll() {
+        long position = head.get();
+
+        while(true) {
+            int index = (int)(position & mask);
+            long difference = sequences.get(index) - (position + 1);
+
+            if(difference == 0) {
+                if(head.compareAndSet(position, position + 1)) {
+                    T element = elements.get(index);
+                    elements.lazySet(index, null);
+                    sequences.lazySet(index, position + mask + 1);
+                    return element;
+                }
+
+                position = head.get();
+            } else if(difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code maxElements} elements to the target collection
+     * @return number of moved elements
+     */
+    public int drainTo(Collection<? super T> target, int maxElements) {
+        int count = 0;
+
+        while(count < maxElements) {
+            T element = poll();
+
+            if(element == null) {
+                break;
+            }
+
+            target.add(element);
+            count++;
+        }
+
+        return count;
+    }
+
+    public int size() {
+        while(true) {
+            long currentHead = head.get();
+            long currentTail = tail.get();
+
+            if(currentHead == head.get()) {
+                return (int)Math.max(0, Math.min(currentTail - currentHead, capacity()));
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,305 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.storage.util;
+
+import static com.exactpro.sf.common.messages.MetadataExtensions.getDictionaryUri;
+import static com.exactpro.sf.common.messages.MetadataExtensions.getId;
+import static com.exactpro.sf.common.messages.MetadataExtensions.getName;
+import static com.exactpro.sf.common.messages.MetadataExtensions.getNamespace;
+import static com.exactpro.sf.common.messages.MetadataExtensions.getPreciseTimestamp;
+import static com.exactpro.sf.common.messages.MetadataExtensions.getProtocol;
+import static com.exactpro.sf.common.messages.MetadataExtensions.getRejectReason;
+import static com.exactpro.sf.common.messages.MetadataExtensions.isAdmin;
+import static com.exactpro.sf.common.messages.MetadataExtensions.isDirty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.exactpro.sf.common.impl.messages.DefaultMessageFactory;
+import com.exactpro.sf.common.messages.IMessage;
+import com.exactpro.sf.common.messages.IMessageFactory;
+import com.exactpro.sf.common.messages.IMetadata;
+import com.exactpro.sf.common.messages.MessageUtil;
+import com.exactpro.sf.common.messages.MsgMetaData;
+import com.exactpro.sf.common.util.EPSCommonException;
+import com.exactpro.sf.configuration.suri.SailfishURI;
+
+/**
+ * Compact binary form of {@link IMessage} which is stored instead of rendered human-readable and JSON views.
+ * <p>
+ * It keeps the message fields and the metadata required to render these views later:
+ * ID, timestamp, name, namespace, dictionary URI, protocol, dirty and admin flags, reject reason.
+ * Values of unsupported types are stored as strings.
+ */
+public class CompactMessageCodec {
+    private static final int VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte BYTE = 3;
+    private static final byte SHORT = 4;
+    private static final byte INTEGER = 5;
+    private static final byte LONG = 6;
+    private static final byte FLOAT = 7;
+    private static final byte DOUBLE = 8;
+    private static final byte BIG_DECIMAL = 9;
+    private static final byte CHARACTER = 10;
+    private static final byte LOCAL_DATE = 11;
+    private static final byte LOCAL_TIME = 12;
+    private static final byte LOCAL_DATE_TIME = 13;
+    private static final byte MESSAGE = 14;
+    private static final byte LIST = 15;
+    private static final byte BYTES = 16;
+
+    public static byte[] encode(IMessage message) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+
+        try(DataOutputStream output = new DataOutputStream(bytes)) {
+            IMetadata metaData = message.getMetaData();
+            Instant timestamp = getPreciseTimestamp(metaData);
+
+            output.writeByte(VERSION);
+            output.writeLong(getId(metaData));
+            output.writeLong(timestamp.getEpochSecond());
+            output.writeInt(timestamp.getNano());
+            writeString(output, getNamespace(metaData));
+            writeString(output, getName(metaData));
+            writeString(output, Objects.toString(getDictionaryUri(metaData), null));
+            writeString(output, getProtocol(metaData));
+            output.writeBoolean(isDirty(metaData));
+            output.writeBoolean(isAdmin(metaData));
+            writeString(output, getRejectReason(metaData));
+            writeFields(output, message);
+        } catch(IOException e) {
+            throw new EPSCommonException("Failed to encode message: " + message.getName(), e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    public static IMessage decode(byte[] bytes) {
+        try(DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int version = input.readUnsignedByte();
+
+            if(version != VERSION) {
+                throw new EPSCommonException("Unsupported version of compact message: " + version);
+            }
+
+            long id = input.readLong();
+            Instant timestamp = Instant.ofEpochSecond(input.readLong(), input.readInt());
+            String namespace = readString(input);
+            String name = readString(input);
+            MsgMetaData metaData = new MsgMetaData(namespace, name, timestamp, id, MessageUtil.generateSequence());
+            String dictionaryURI = readString(input);
+
+            metaData.setDictionaryURI(dictionaryURI != null ? SailfishURI.unsafeParse(dictionaryURI) : null);
+            metaData.setProtocol(readString(input));
+            metaData.setDirty(input.readBoolean());
+            metaData.setAdmin(input.readBoolean());
+            metaData.setRejectReason(readString(input));
+
+            IMessageFactory factory = DefaultMessageFactory.getFactory();
+            IMessage message = factory.createMessage(metaData);
+
+            readFields(input, message, factory);
+
+            return message;
+        } catch(IOException e) {
+            throw new EPSCommonException("Failed to decode message", e);
+        }
+    }
+
+    private static void writeFields(DataOutputStream output, IMessage message) throws IOException {
+        output.writeInt(message.getFieldCount());
+
+        for(String fieldName : message.getFieldNames()) {
+            writeString(output, fieldName);
+            writeValue(output, message.getField(fieldName));
+        }
+    }
+
+    private static void readFields(DataInputStream input, IMessage message, IMessageFactory factory) throws IOException {
+        for(int count = input.readInt(); count > 0; count--) {
+            String fieldName = readString(input);
+            message.addField(fieldName, readValue(input, factory));
+        }
+    }
+
+    private static void writeValue(DataOutputStream output, Object value) throws IOException {
+        if(value == null) {
+            output.writeByte(NULL);
+        } else if(value instanceof String) {
+            output.writeByte(STRING);
+            writeString(output, (String)value);
+        } else if(value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean)value);
+        } else if(value instanceof Byte) {
+            output.writeByte(BYTE);
+            output.writeByte((Byte)value);
+        } else if(value instanceof Short) {
+            output.writeByte(SHORT);
+            output.writeShort((Short)value);
+        } else if(value instanceof Integer) {
+            output.writeByte(INTEGER);
+            output.writeInt((Integer)value);
+        } else if(value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong((Long)value);
+        } else if(value instanceof Float) {
+            output.writeByte(FLOAT);
+            output.writeFloat((Float)value);
+        } else if(value instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double)value);
+        } else if(value instanceof BigDecimal) {
+            output.writeByte(BIG_DECIMAL);
+            writeString(output, value.toString());
+        } else if(value instanceof Character) {
+            output.writeByte(CHARACTER);
+            output.writeChar((Character)value);
+        } else if(value instanceof LocalDate) {
+            output.writeByte(LOCAL_DATE);
+            output.writeLong(((LocalDate)value).toEpochDay());
+        } else if(value instanceof LocalTime) {
+            output.writeByte(LOCAL_TIME);
+            output.writeLong(((LocalTime)value).toNanoOfDay());
+        } else if(value instanceof LocalDateTime) {
+            LocalDateTime dateTime = (LocalDateTime)value;
+            output.writeByte(LOCAL_DATE_TIME);
+            output.writeLong(dateTime.toLocalDate().toEpochDay());
+            output.writeLong(dateTime.toLocalTime().toNanoOfDay());
+        } else if(value instanceof IMessage) {
+            IMessage message = (IMessage)value;
+            output.writeByte(MESSAGE);
+            writeString(output, message.getName());
+            writeString(output, message.getNamespace());
+            writeFields(output, message);
+        } else if(value instanceof List<?>) {
+            List<?> list = (List<?>)value;
+            output.writeByte(LIST);
+            output.writeInt(list.size());
+
+            for(Object element : list) {
+                writeValue(output, element);
+            }
+        } else if(value instanceof byte[]) {
+            output.writeByte(BYTES);
+            writeBytes(output, (byte[])value);
+        } else {
+            output.writeByte(STRING);
+            writeString(output, value.toString());
+        }
+    }
+
+    private static Object readValue(DataInputStream input, IMessageFactory factory) throws IOException {
+        byte type = input.readByte();
+
+        switch(type) {
+        case NULL:
+            return null;
+        case STRING:
+            return readString(input);
+        case BOOLEAN:
+            return input.readBoolean();
+        case BYTE:
+            return input.readByte();
+        case SHORT:
+            return input.readShort();
+        case INTEGER:
+            return input.readInt();
+        case LONG:
+            return input.readLong();
+        case FLOAT:
+            return input.readFloat();
+        case DOUBLE:
+            return input.readDouble();
+        case BIG_DECIMAL:
+            return new BigDecimal(readString(input));
+        case CHARACTER:
+            return input.readChar();
+        case LOCAL_DATE:
+            return LocalDate.ofEpochDay(input.readLong());
+        case LOCAL_TIME:
+            return LocalTime.ofNanoOfDay(input.readLong());
+        case LOCAL_DATE_TIME:
+            return LocalDateTime.of(LocalDate.ofEpochDay(input.readLong()), LocalTime.ofNanoOfDay(input.readLong()));
+        case MESSAGE:
+            String name = readString(input);
+            IMessage message = factory.createMessage(name, readString(input));
+            readFields(input, message, factory);
+            return message;
+        case LIST:
+            int size = input.readInt();
+            List<Object> list = new ArrayList<>(size);
+
+            for(int i = 0; i < size; i++) {
+                list.add(readValue(input, factory));
+            }
+
+            return list;
+        case BYTES:
+            return readBytes(input);
+        default:
+            throw new EPSCommonException("Unknown value type: " + type);
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        writeBytes(output, value != null ? value.getBytes(UTF_8) : null);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = readBytes(input);
+        return bytes != null ? new String(bytes, UTF_8) : null;
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] value) throws IOException {
+        if(value == null) {
+            output.writeInt(-1);
+            return;
+        }
+
+        output.writeInt(value.length);
+        output.write(value);
+    }
+
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+        int length = input.readInt();
+
+        if(length < 0) {
+            return null;
+        }
+
+        byte[] value = new byte[length];
+        input.readFully(value);
+
+        return value;
+    }
+}
@@ -17,6 +17,15 @@
 package com.exactpro.sf;
 
 import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
@@ -25,6 +34,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.exactpro.sf.storage.IMeasurable;
+import com.exactpro.sf.storage.IObjectFlusher.IFlushProvider;
+import com.exactpro.sf.storage.ISerializer;
+import com.exactpro.sf.storage.OverflowPolicy;
 import com.exactpro.sf.storage.impl.ObjectFlusher;
 
 public class TestObjectFlusher {
@@ -61,6 +73,140 @@ public class TestObjectFlusher {
         Assert.assertTrue(consumerCounter.get() < BUFFER_SIZE * ADD_ELEMENTS_FACTOR);
     }
 
+    @Test
+    public void testFlush() throws Exception {
+        List<Item> flushed = Collections.synchronizedList(new ArrayList<>());
+        ObjectFlusher<Item> objectFlusher = new ObjectFlusher<>(flushed::addAll, COUNT_ELEMENTS, Long.MAX_VALUE, 10_000);
+
+        objectFlusher.start();
+
+        try (Closeable closeable = objectFlusher::stop) {
+            for (int i = 0; i < COUNT_ELEMENTS / 2; i++) {
+                objectFlusher.add(new Item(i));
+            }
+
+            objectFlusher.flush();
+
+            Assert.assertEquals(COUNT_ELEMENTS / 2, flushed.size());
+            Assert.assertEquals(0, objectFlusher.getQueueBytes());
+            Assert.assertEquals(COUNT_ELEMENTS / 2, objectFlusher.getFlushedCount());
+        }
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Item> flushed = Collections.synchronizedList(new ArrayList<>());
+        ObjectFlusher<Item> objectFlusher = createFlusher(objects -> {
+            latch.await();
+            flushed.addAll(objects);
+        }, OverflowPolicy.DROP_OLDEST);
+
+        objectFlusher.start();
+
+        try (Closeable closeable = objectFlusher::stop) {
+            for (int i = 0; i < COUNT_ELEMENTS; i++) {
+                objectFlusher.add(new Item(i));
+            }
+
+            latch.countDown();
+        }
+
+        Assert.assertEquals(COUNT_ELEMENTS - 4, objectFlusher.getDroppedCount());
+        Assert.assertEquals(COUNT_ELEMENTS - 1, flushed.get(flushed.size() - 1).value);
+        Assert.assertEquals(COUNT_ELEMENTS - flushed.size(), objectFlusher.getDroppedCount());
+    }
+
+    @Test
+    public void testBlock() throws Exception {
+        List<Item> flushed = Collections.synchronizedList(new ArrayList<>());
+        ObjectFlusher<Item> objectFlusher = createFlusher(flushed::addAll, OverflowPolicy.BLOCK);
+
+        objectFlusher.start();
+
+        try (Closeable closeable = objectFlusher::stop) {
+            for (int i = 0; i < COUNT_ELEMENTS * 4; i++) {
+                objectFlusher.add(new Item(i));
+            }
+        }
+
+        Assert.assertEquals(0, objectFlusher.getDroppedCount());
+        assertSequence(flushed, COUNT_ELEMENTS * 4);
+    }
+
+    @Test
+    public void testSpillToDisk() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Item> flushed = Collections.synchronizedList(new ArrayList<>());
+        ObjectFlusher<Item> objectFlusher = createFlusher(objects -> {
+            latch.await();
+            flushed.addAll(objects);
+        }, OverflowPolicy.SPILL_TO_DISK);
+
+        objectFlusher.start();
+
+        try (Closeable closeable = objectFlusher::stop) {
+            for (int i = 0; i < COUNT_ELEMENTS * 4; i++) {
+                objectFlusher.add(new Item(i));
+            }
+
+            Assert.assertTrue(objectFlusher.getSpilledCount() > 0);
+            latch.countDown();
+        }
+
+        Assert.assertEquals(0, objectFlusher.getDroppedCount());
+        assertSequence(flushed, COUNT_ELEMENTS * 4);
+    }
+
+    private ObjectFlusher<Item> createFlusher(IFlushProvider<Item> provider, OverflowPolicy policy) {
+        return new ObjectFlusher<>(null, provider, 2, Item.SIZE * 4, TASK_TIMEOUT, policy, new ItemSerializer());
+    }
+
+    private void assertSequence(List<Item> items, int count) {
+        Assert.assertEquals(count, items.size());
+
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(i, items.get(i).value);
+        }
+    }
+
+    private static class Item implements IMeasurable {
+        private static final long SIZE = 1024;
+
+        private final int value;
+
+        public Item(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public long getSize() {
+            return SIZE;
+        }
+    }
+
+    private static class ItemSerializer implements ISerializer<Item> {
+        @Override
+        public Item deserialize(File input) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Item deserialize(InputStream input) throws Exception {
+            return new Item(new DataInputStream(input).readInt());
+        }
+
+        @Override
+        public void serialize(Item object, File output) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void serialize(Item object, OutputStream output) throws Exception {
+            new DataOutputStream(output).writeInt(object.value);
+        }
+    }
+
     private class OmNomNom implements IMeasurable {
 
         @Override
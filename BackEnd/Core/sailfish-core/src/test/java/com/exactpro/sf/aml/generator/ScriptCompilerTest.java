@@ -0,0 +1,105 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.aml.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.exactpro.sf.scriptrunner.ScriptRunException;
+
+public class ScriptCompilerTest {
+
+    private static final String PACKAGE = "com.exactpro.sf.testscript.matrix";
+
+    private final ScriptCompiler compiler = new ScriptCompiler(2);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCompile() throws Exception {
+        File src = folder.newFolder("src");
+        File bin = folder.newFolder("bin");
+        GeneratedScript script = new GeneratedScript();
+        StringBuilder calls = new StringBuilder();
+
+        for (int i = 1; i <= 5; i++) {
+            script.addFile(writeClass(src, "Actions_" + i, "public static int get() { return " + i + "; }"));
+            calls.append(" + Actions_").append(i).append(".get()");
+        }
+
+        script.setMainFile(writeClass(src, "Matrix", "public static int sum() { return 0" + calls + "; }"));
+
+        List<Integer> progress = new ArrayList<>();
+        compiler.compile(script, bin, System.getProperty("java.class.path"), progress::add);
+
+        for (String name : new String[] { "Actions_1", "Actions_5", "Matrix" }) {
+            assertTrue(name, new File(bin, PACKAGE.replace('.', File.separatorChar) + File.separator + name + ".class").exists());
+        }
+
+        assertEquals(Integer.valueOf(100), progress.get(progress.size() - 1));
+    }
+
+    @Test(expected = ScriptRunException.class)
+    public void testCompilationError() throws Exception {
+        File src = folder.newFolder("src");
+        GeneratedScript script = new GeneratedScript();
+
+        script.addFile(writeClass(src, "Actions_1", "public static int get() { return unknown; }"));
+        script.setMainFile(writeClass(src, "Matrix", ""));
+
+        compiler.compile(script, folder.newFolder("bin"), System.getProperty("java.class.path"), progress -> {});
+    }
+
+    @Test
+    public void testValidate() throws Exception {
+        Map<String, String> sources = new LinkedHashMap<>();
+
+        sources.put("TestClass0", "public class TestClass0 { int value = 1; }");
+        sources.put("TestClass1", "public class TestClass1 { int value = 2; }");
+
+        assertNull(compiler.validate(System.getProperty("java.class.path"), sources));
+
+        // syntax error of the first class doesn't hide errors of the second one
+        sources.put("TestClass0", "public class TestClass0 { int value = ; }");
+        sources.put("TestClass1", "public class TestClass1 { int value = unknownValue; }");
+
+        String error = compiler.validate(System.getProperty("java.class.path"), sources);
+
+        assertTrue(error, error.contains("TestClass0"));
+        assertTrue(error, error.contains("unknownValue"));
+    }
+
+    private static File writeClass(File src, String name, String body) throws IOException {
+        File file = new File(src, PACKAGE.replace('.', File.separatorChar) + File.separator + name + ".java");
+        FileUtils.writeStringToFile(file, "package " + PACKAGE + ";\npublic class " + name + " {\n" + body + "\n}\n", Charset.defaultCharset());
+        return file;
+    }
+}
@@ -0,0 +1,111 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.aml.iomatrix;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class StreamingExcelMatrixReaderTest {
+
+    private static final String STATIC_DATA = "src/test/resources/aml/iomatrix/XLSXwithstaticdata.xlsx";
+    private static final String FORMULA_DATA = "src/test/resources/aml/iomatrix/XLSXwithformuladata.xlsx";
+    private static final String MATRIX = "src/test/resources/aml/iomatrix/Execl_2007_2013.xlsx";
+
+    @Test
+    public void testSameRowsAsExcelMatrixReader() throws Exception {
+        for (String fileName : new String[] { STATIC_DATA, FORMULA_DATA, MATRIX }) {
+            for (int sheet = 0; sheet < (MATRIX.equals(fileName) ? 1 : 2); sheet++) {
+                try (ExcelMatrixReader expected = new ExcelMatrixReader(new FileInputStream(fileName), true, sheet);
+                        StreamingExcelMatrixReader actual = new StreamingExcelMatrixReader(fileName, sheet)) {
+                    List<SimpleCell[]> expectedRows = readRows(expected);
+                    List<SimpleCell[]> actualRows = readRows(actual);
+
+                    assertFalse(expectedRows.isEmpty());
+                    assertEquals(fileName + ':' + sheet, expectedRows.size(), actualRows.size());
+
+                    for (int i = 0; i < expectedRows.size(); i++) {
+                        assertArrayEquals(fileName + ':' + sheet + ':' + i, values(expectedRows.get(i)), values(actualRows.get(i)));
+                        assertArrayEquals(fileName + ':' + sheet + ':' + i, lineNumbers(expectedRows.get(i)), lineNumbers(actualRows.get(i)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReadFormulaWithLinkedSheet() throws Exception {
+        try (StreamingExcelMatrixReader xlsx1 = new StreamingExcelMatrixReader(new FileInputStream(STATIC_DATA), 1);
+                StreamingExcelMatrixReader xlsx2 = new StreamingExcelMatrixReader(new FileInputStream(FORMULA_DATA), 1)) {
+            List<String[]> staticRows = new ArrayList<>();
+            List<String[]> formulaRows = new ArrayList<>();
+
+            while (xlsx1.hasNext()) {
+                staticRows.add(xlsx1.read());
+            }
+
+            while (xlsx2.hasNext()) {
+                formulaRows.add(xlsx2.read());
+            }
+
+            assertArrayEquals("Formula wasn't read", staticRows.toArray(), formulaRows.toArray());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingSheet() throws Exception {
+        try (StreamingExcelMatrixReader reader = new StreamingExcelMatrixReader(STATIC_DATA, 10)) {
+            reader.hasNext();
+        }
+    }
+
+    private static List<SimpleCell[]> readRows(IMatrixReader reader) throws IOException {
+        List<SimpleCell[]> rows = new ArrayList<>();
+
+        while (reader.hasNext()) {
+            rows.add(reader.readCells());
+        }
+
+        return rows;
+    }
+
+    private static String[] values(SimpleCell[] cells) {
+        String[] values = new String[cells.length];
+
+        for (int i = 0; i < cells.length; i++) {
+            values[i] = cells[i].getValue();
+        }
+
+        return values;
+    }
+
+    private static int[] lineNumbers(SimpleCell[] cells) {
+        int[] lineNumbers = new int[cells.length];
+
+        for (int i = 0; i < cells.length; i++) {
+            lineNumbers[i] = cells[i].getLineNumber();
+        }
+
+        return lineNumbers;
+    }
+}
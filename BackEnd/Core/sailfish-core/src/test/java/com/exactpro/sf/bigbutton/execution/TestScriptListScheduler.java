@@ -0,0 +1,98 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.bigbutton.execution;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.exactpro.sf.bigbutton.library.Script;
+import com.exactpro.sf.bigbutton.library.ScriptList;
+
+public class TestScriptListScheduler {
+
+    @Test
+    public void testQueueOrder() throws InterruptedException {
+        CombineQueue<ScriptList> queue = new CombineQueue<>(ScriptListScheduler.ORDER);
+        ScriptList shortList = createList("short", null, 0, 10);
+        ScriptList longList = createList("long", null, 0, 30);
+        ScriptList sameLongList = createList("sameLong", null, 0, 30);
+        ScriptList priorityList = createList("priority", null, 1, 5);
+
+        queue.add(shortList);
+        queue.add(longList);
+        queue.add(sameLongList);
+        queue.add(priorityList);
+
+        Assert.assertSame(priorityList, queue.poll(0, TimeUnit.MILLISECONDS));
+        Assert.assertSame(longList, queue.poll(0, TimeUnit.MILLISECONDS));
+        Assert.assertSame(sameLongList, queue.poll(0, TimeUnit.MILLISECONDS));
+        Assert.assertSame(shortList, queue.poll(0, TimeUnit.MILLISECONDS));
+        Assert.assertNull(queue.poll(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testPredictMakespan() {
+        List<ScriptList> lists = Arrays.asList(
+                createList("a", null, 0, 30),
+                createList("b", null, 0, 20),
+                createList("c", null, 0, 20),
+                createList("d", null, 0, 10),
+                createList("e", "second", 0, 25));
+
+        Assert.assertEquals(55, ScriptListScheduler.predictMakespan(lists, Arrays.asList("first", "second")));
+        Assert.assertEquals(0, ScriptListScheduler.predictMakespan(lists, Collections.emptyList()));
+    }
+
+    @Test
+    public void testSplit() {
+        ScriptList longList = createList("long", null, 0, 10, 20, 30, 40);
+        ScriptList boundList = createList("bound", "first", 0, 10, 20, 30, 40);
+        ScriptList shortList = createList("short", null, 0, 10);
+
+        List<ScriptList> result = ScriptListScheduler.split(Arrays.asList(longList, boundList, shortList), 4);
+
+        // limit is max((100 + 100 + 10) / 4, 40) = 52
+        Assert.assertEquals(5, result.size());
+        Assert.assertEquals("long_1", result.get(0).getName());
+        Assert.assertEquals(30, result.get(0).getEstimatedDuration());
+        Assert.assertEquals("long_2", result.get(1).getName());
+        Assert.assertEquals(30, result.get(1).getEstimatedDuration());
+        Assert.assertEquals("long_3", result.get(2).getName());
+        Assert.assertEquals(40, result.get(2).getEstimatedDuration());
+        Assert.assertSame(boundList, result.get(3));
+        Assert.assertSame(shortList, result.get(4));
+
+        Assert.assertEquals(Collections.singletonList(longList), ScriptListScheduler.split(Collections.singletonList(longList), 1));
+    }
+
+    private static ScriptList createList(String name, String executor, long priority, long... durations) {
+        ScriptList list = new ScriptList(name, executor, Collections.emptySet(), null, priority, 0, null);
+
+        for (long duration : durations) {
+            Script script = new Script(0);
+            script.setPath(name + ".csv");
+            script.setEstimatedDuration(duration);
+            list.addNested(script);
+        }
+
+        return list;
+    }
+}
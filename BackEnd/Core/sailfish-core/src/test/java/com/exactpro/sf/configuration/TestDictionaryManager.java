@@ -16,12 +16,23 @@
 package com.exactpro.sf.configuration;
 
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.hamcrest.CoreMatchers;
 import org.junit.Assert;
 import org.junit.Test;
 
 import com.exactpro.sf.center.impl.SFLocalContext;
+import com.exactpro.sf.common.messages.IMessageFactory;
 import com.exactpro.sf.common.messages.structures.IDictionaryStructure;
 import com.exactpro.sf.configuration.suri.SailfishURI;
 import com.exactpro.sf.configuration.workspace.WorkspaceSecurityException;
@@ -59,4 +70,64 @@ public class TestDictionaryManager extends AbstractTest {
         dictSecond = manager.getDictionary(dictionaryURI);
         Assert.assertThat(dictFirst, CoreMatchers.not(dictSecond));
     }
+
+    @Test
+    public void testConcurrentLoad() throws Exception {
+        SailfishURI dictionaryURI = SailfishURI.unsafeParse("Example");
+        IDictionaryManager manager = SFLocalContext.getDefault().getDictionaryManager();
+        manager.invalidateDictionaries(dictionaryURI);
+
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<IDictionaryStructure>> dictionaries = new ArrayList<>();
+            List<Future<IMessageFactory>> factories = new ArrayList<>();
+
+            for(int i = 0; i < threads; i++) {
+                dictionaries.add(executor.submit(awaiting(start, () -> manager.getDictionary(dictionaryURI))));
+                factories.add(executor.submit(awaiting(start, () -> manager.getMessageFactory(dictionaryURI))));
+            }
+
+            start.countDown();
+
+            IDictionaryStructure dictionary = dictionaries.get(0).get();
+            IMessageFactory factory = factories.get(0).get();
+
+            for(int i = 1; i < threads; i++) {
+                Assert.assertSame(dictionary, dictionaries.get(i).get());
+                Assert.assertSame(factory, factories.get(i).get());
+            }
+
+            Assert.assertSame(dictionary, manager.getDictionary(dictionaryURI));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLoadError() {
+        SailfishURI uri = SailfishURI.unsafeParse("Example");
+        ConcurrentMap<SailfishURI, CompletableFuture<String>> cache = new ConcurrentHashMap<>();
+
+        try {
+            DictionaryManager.getOrLoad(cache, uri, key -> {
+                throw new NoClassDefFoundError("Factory");
+            });
+            Assert.fail("Error is expected");
+        } catch (NoClassDefFoundError e) {
+            Assert.assertEquals("Factory", e.getMessage());
+        }
+
+        Assert.assertTrue(cache.isEmpty());
+        Assert.assertEquals("loaded", DictionaryManager.getOrLoad(cache, uri, key -> "loaded"));
+    }
+
+    private static <T> Callable<T> awaiting(CountDownLatch latch, Callable<T> callable) {
+        return () -> {
+            latch.await();
+            return callable.call();
+        };
+    }
 }
@@ -0,0 +1,103 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.scriptrunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.exactpro.sf.aml.generator.Alert;
+import com.exactpro.sf.aml.generator.AlertCollector;
+import com.exactpro.sf.aml.generator.AlertType;
+import com.exactpro.sf.scriptrunner.CompiledScriptCache.Entry;
+import com.exactpro.sf.scriptrunner.CompiledScriptCache.KeyBuilder;
+
+public class TestCompiledScriptCache {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testStoreAndRestore() throws IOException {
+        CompiledScriptCache cache = new CompiledScriptCache(folder.newFolder("cache"), 10);
+        File bin = createBin("compiled");
+        AlertCollector alertCollector = new AlertCollector();
+        alertCollector.add(new Alert(1, "warning", AlertType.WARNING));
+
+        assertNull(cache.restore("key", folder.newFolder()));
+
+        cache.store("key", bin, new Entry("AML_v3", Arrays.asList("env@service"), alertCollector));
+
+        File restoredBin = folder.newFolder();
+        Entry entry = cache.restore("key", restoredBin);
+
+        assertNotNull(entry);
+        assertEquals("AML_v3", entry.getLanguageURI());
+        assertEquals(Collections.singletonList("env@service"), entry.getServices());
+        assertEquals(1, entry.getAlertCollector().getCount(AlertType.WARNING));
+        assertEquals("compiled", FileUtils.readFileToString(new File(restoredBin, "com/exactpro/Script.class"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testEviction() throws IOException {
+        File cacheFolder = folder.newFolder("cache");
+        CompiledScriptCache cache = new CompiledScriptCache(cacheFolder, 2);
+        Entry entry = new Entry("AML_v3", Collections.emptyList(), new AlertCollector());
+
+        cache.store("first", createBin("first"), entry);
+        cache.store("second", createBin("second"), entry);
+        new File(cacheFolder, "first").setLastModified(1000);
+        new File(cacheFolder, "second").setLastModified(2000);
+
+        // restoring marks the entry as recently used
+        assertNotNull(cache.restore("first", folder.newFolder()));
+
+        cache.store("third", createBin("third"), entry);
+
+        assertTrue(new File(cacheFolder, "first").exists());
+        assertFalse(new File(cacheFolder, "second").exists());
+        assertTrue(new File(cacheFolder, "third").exists());
+    }
+
+    @Test
+    public void testKey() {
+        String key = new KeyBuilder().add("range", "1-2").add("autoStart", true).build();
+
+        assertEquals(key, new KeyBuilder().add("range", "1-2").add("autoStart", true).build());
+        assertNotEquals(key, new KeyBuilder().add("range", "1-2").add("autoStart", false).build());
+        assertNotEquals(new KeyBuilder().add("a", "bc").build(), new KeyBuilder().add("ab", "c").build());
+    }
+
+    private File createBin(String content) throws IOException {
+        File bin = folder.newFolder();
+        FileUtils.writeStringToFile(new File(bin, "com/exactpro/Script.class"), content, StandardCharsets.UTF_8);
+        return bin;
+    }
+}
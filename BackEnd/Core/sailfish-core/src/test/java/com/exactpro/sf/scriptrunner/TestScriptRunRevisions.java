@@ -0,0 +1,56 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.scriptrunner;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class TestScriptRunRevisions {
+
+    @Test
+    public void testAwaitChange() throws Exception {
+        ScriptRunRevisions revisions = new ScriptRunRevisions();
+        TestScriptDescription description = Mockito.mock(TestScriptDescription.class);
+        Mockito.when(description.getId()).thenReturn(1L);
+
+        Assert.assertEquals(0, revisions.getRevision(1));
+        Assert.assertEquals(0L, (long)revisions.awaitChange(1, -1).getNow(-1L));
+
+        CompletableFuture<Long> change = revisions.awaitChange(1, 0);
+        CompletableFuture<Long> cancelled = revisions.awaitChange(1, 0);
+
+        Assert.assertFalse(change.isDone());
+        cancelled.cancel(false);
+
+        revisions.onScriptRunEvent(description);
+        revisions.onScriptRunEvent(null);
+
+        Assert.assertEquals(1L, (long)change.get(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, revisions.getRevision(1));
+        Assert.assertEquals(0, revisions.getRevision(2));
+
+        CompletableFuture<Long> removed = revisions.awaitChange(1, 1);
+
+        revisions.remove(1);
+
+        Assert.assertEquals(0L, (long)removed.getNow(-1L));
+        Assert.assertEquals(0, revisions.getRevision(1));
+    }
+}
@@ -158,33 +158,50 @@ public class TestJsonReport extends AbstractTest {
 
         report.closeTestCase(new StatusDescription(StatusType.NA, "N/A"));
 
+        // closed test case is exported to the report root without waiting for the report close
+        ReportRoot root = readReportRoot(workFolder);
+        Assert.assertEquals(1, root.getMetadata().size());
+        Assert.assertNotNull(root.getMetadata().iterator().next().getFinishTime());
+        Assert.assertEquals(0, getReportDataDir(workFolder).toFile().list((dir, name) -> name.endsWith(".part")).length);
+
         report.closeReport();
     }
 
-    private void readReport(String reportDirPath) {
-        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
-
-        Path rootDir;
+    private Path getReportDataDir(String reportDirPath) {
         try {
-            rootDir = workspaceDispatcher.getFolder(FolderType.REPORT).toPath().resolve(reportDirPath).resolve("reportData");
+            return workspaceDispatcher.getFolder(FolderType.REPORT).toPath().resolve(reportDirPath).resolve("reportData");
         } catch (Exception e) {
             throw new Error("unable to get report root dir", e);
         }
+    }
+
+    private ReportRoot readReportRoot(String reportDirPath) {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        File rootFile = getReportDataDir(reportDirPath).resolve("report.json").toFile();
 
-        File rootFile = rootDir.resolve("report.json").toFile();
-        ReportRoot root;
         try {
-            root = mapper.readValue(rootFile, ReportRoot.class);
+            ReportRoot root = mapper.readValue(rootFile, ReportRoot.class);
             Assert.assertNotNull(String.format("unable to parse report root file: %s", rootFile.getAbsolutePath()), root);
+            return root;
         } catch (Exception e) {
             throw new Error(String.format("unable to parse report root file: %s", rootFile.getAbsolutePath()), e);
         }
+    }
+
+    private void readReport(String reportDirPath) {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Path rootDir = getReportDataDir(reportDirPath);
+        ReportRoot root = readReportRoot(reportDirPath);
 
         for (TestCaseMetadata metadata : root.getMetadata()) {
             File testCase = rootDir.resolve(metadata.getJsonFileName()).toFile();
 
             try {
-                Assert.assertNotNull(String.format("unable to parse test case file: %s", testCase.getAbsolutePath()), mapper.readValue(testCase, TestCase.class));
+                TestCase testCaseNode = mapper.readValue(testCase, TestCase.class);
+                Assert.assertNotNull(String.format("unable to parse test case file: %s", testCase.getAbsolutePath()), testCaseNode);
+                Assert.assertEquals(1, testCaseNode.getRootActions().size());
+                Assert.assertEquals(1, testCaseNode.getMessages().size());
+                Assert.assertNotNull(testCaseNode.getStatus());
             } catch (Exception e) {
                 throw new Error(String.format("unable to parse test case file: %s", testCase.getAbsolutePath()), e);
             }
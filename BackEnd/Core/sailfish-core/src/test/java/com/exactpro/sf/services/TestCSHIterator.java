@@ -19,6 +19,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -45,6 +48,49 @@ public class TestCSHIterator {
         }
     }
 
+    @Test
+    public void testConcurrentReaders() throws Exception {
+        int readersCount = 8;
+        int elementsCount = 10_000;
+        CSHArrayList<Integer> target = new CSHArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(readersCount);
+
+        try {
+            List<Future<List<Integer>>> readers = new ArrayList<>();
+
+            for(int i = 0; i < readersCount; i++) {
+                CSHIterator<Integer> it = new CSHIterator<>(target, null);
+
+                readers.add(executor.submit(() -> {
+                    List<Integer> result = new ArrayList<>();
+
+                    while(result.size() < elementsCount && it.hasNext(UPDATE_INTERVAL * 10)) {
+                        result.add(it.next());
+                    }
+
+                    return result;
+                }));
+            }
+
+            for(int i = 0; i < elementsCount; i++) {
+                synchronized(target) {
+                    target.add(i);
+                }
+            }
+
+            for(Future<List<Integer>> reader : readers) {
+                List<Integer> result = reader.get();
+                Assert.assertEquals(elementsCount, result.size());
+
+                for(int i = 0; i < elementsCount; i++) {
+                    Assert.assertEquals(i, result.get(i).intValue());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private void testStep(long timeout, int offset) throws InterruptedException {
         CSHArrayList<Integer> target = new CSHArrayList<>();
         CheckPoint checkPoint = new CheckPoint(true);
@@ -0,0 +1,254 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.exactpro.sf.aml.script.CheckPoint;
+
+public class TestCSHSegmentedList {
+    private static final int SEGMENT_SIZE = 4;
+
+    @Test
+    public void testCountLimit() {
+        CSHSegmentedList<Integer> list = createList(new CSHRetentionPolicy(8, 0, false, false, SEGMENT_SIZE));
+        addAll(list, 0, 20);
+
+        Assert.assertEquals(20, list.size());
+        Assert.assertEquals(12, list.firstIndex());
+        Assert.assertEquals(range(12, 20), list.subList(0));
+        Assert.assertEquals(Integer.valueOf(19), list.peekLast());
+        Assert.assertEquals(Integer.valueOf(15), list.get(15));
+    }
+
+    @Test
+    public void testBytesLimit() {
+        CSHSegmentedList<Integer> list = createList(new CSHRetentionPolicy(0, 40, false, false, SEGMENT_SIZE));
+        addAll(list, 0, 20);
+
+        // every element is estimated as 10 bytes
+        Assert.assertEquals(16, list.firstIndex());
+        Assert.assertEquals(range(16, 20), list.subList(10));
+    }
+
+    @Test
+    public void testCheckPointRetention() {
+        CSHSegmentedList<Integer> list = createList(new CSHRetentionPolicy(0, 0, true, false, SEGMENT_SIZE));
+        CheckPoint checkPoint = new CheckPoint(true);
+
+        addAll(list, 0, 6);
+        list.addCheckPoint(checkPoint);
+        addAll(list, 6, 20);
+
+        Assert.assertEquals(4, list.firstIndex());
+        Assert.assertEquals(6, list.getIndex(checkPoint));
+        Assert.assertEquals(range(6, 20), list.subList(list.getIndex(checkPoint)));
+
+        list.putCheckPoint(checkPoint, 13);
+        addAll(list, 20, 21);
+
+        Assert.assertEquals(12, list.firstIndex());
+        Assert.assertEquals(12, list.getIndex(new CheckPoint()));
+        Assert.assertEquals(13, list.getIndex(checkPoint));
+    }
+
+    @Test
+    public void testLimitsBelowDefaultSegmentSize() {
+        CSHSegmentedList<Integer> countList = createList(new CSHRetentionPolicy(10, 0, false, false));
+        addAll(countList, 0, 100);
+
+        Assert.assertEquals(90, countList.firstIndex());
+        Assert.assertEquals(range(90, 100), countList.subList(0));
+
+        CSHSegmentedList<Integer> bytesList = createList(new CSHRetentionPolicy(0, 100, false, false));
+        addAll(bytesList, 0, 100);
+
+        // every element is estimated as 10 bytes
+        Assert.assertEquals(90, bytesList.firstIndex());
+        Assert.assertEquals(Integer.valueOf(95), bytesList.get(95));
+    }
+
+    @Test
+    public void testEvictionWithoutCheckPoints() {
+        CSHSegmentedList<Integer> list = createList(new CSHRetentionPolicy(0, 0, true, false, SEGMENT_SIZE));
+        addAll(list, 0, 10);
+
+        Assert.assertEquals(8, list.firstIndex());
+        Assert.assertEquals(range(8, 10), list.subList(0));
+    }
+
+    @Test
+    public void testSpillToDisk() {
+        CSHSegmentedList<Integer> list = createList(new CSHRetentionPolicy(4, 0, false, true, SEGMENT_SIZE));
+        addAll(list, 0, 18);
+
+        Assert.assertEquals(0, list.firstIndex());
+        Assert.assertEquals(range(0, 18), list.subList(0));
+        Assert.assertEquals(Integer.valueOf(5), list.get(5));
+
+        list.dispose();
+
+        Assert.assertEquals(16, list.firstIndex());
+        Assert.assertEquals(range(16, 18), list.subList(0));
+    }
+
+    @Test
+    public void testIterator() throws InterruptedException {
+        CSHSegmentedList<Integer> list = createList(new CSHRetentionPolicy(4, 0, false, false, SEGMENT_SIZE));
+        CheckPoint checkPoint = new CheckPoint(true);
+
+        addAll(list, 0, 2);
+        list.addCheckPoint(checkPoint);
+        CSHIterator<Integer> iterator = new CSHIterator<>(list, checkPoint);
+        addAll(list, 2, 12);
+
+        List<Integer> result = new ArrayList<>();
+
+        while(iterator.hasNext(1)) {
+            result.add(iterator.next());
+        }
+
+        iterator.updateCheckPoint();
+
+        // elements evicted before the iterator reached them are skipped
+        Assert.assertEquals(range(8, 12), result);
+        Assert.assertEquals(12, list.getIndex(checkPoint));
+    }
+
+    @Test
+    public void testKeyIndex() throws InterruptedException {
+        CSHSegmentedList<Integer> list = new CSHSegmentedList<>(new CSHRetentionPolicy(8, 0, false, true, SEGMENT_SIZE),
+                element -> 10L, new IntegerSerializer(), element -> element % 3 == 0 ? "fizz" : null);
+        addAll(list, 0, 20);
+
+        // spilled segments are searched without loading
+        Assert.assertEquals(3, list.indexOf("fizz", 1, 20));
+        Assert.assertEquals(15, list.indexOf("fizz", 13, 20));
+        Assert.assertEquals(-1, list.indexOf("fizz", 19, 20));
+        Assert.assertEquals(-1, list.indexOf("buzz", 0, 20));
+
+        CSHIterator<Integer> iterator = new CSHIterator<>(list, null, "fizz");
+        List<Integer> result = new ArrayList<>();
+
+        while(iterator.hasNext(1)) {
+            result.add(iterator.next());
+        }
+
+        Assert.assertEquals(Arrays.asList(0, 3, 6, 9, 12, 15, 18), result);
+    }
+
+    @Test
+    public void testConcurrentSubList() throws Exception {
+        CSHSegmentedList<Integer> list = createList(new CSHRetentionPolicy(8, 0, true, true, SEGMENT_SIZE));
+        CheckPoint checkPoint = new CheckPoint(true);
+        int count = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            list.addCheckPoint(checkPoint);
+
+            // segments are spilled by the count limit and discarded when the checkpoint moves
+            Future<?> writer = executor.submit(() -> {
+                for(int i = 0; i < count; i++) {
+                    list.add(i);
+
+                    if(i % 100 == 0) {
+                        synchronized(list) {
+                            list.putCheckPoint(checkPoint, i - 50);
+                        }
+                    }
+                }
+            });
+
+            List<Future<?>> readers = new ArrayList<>();
+
+            for(int reader = 0; reader < 2; reader++) {
+                readers.add(executor.submit(() -> {
+                    while(!writer.isDone()) {
+                        int size = list.size();
+                        List<Integer> elements = list.subList(0);
+
+                        for(int i = 1; i < elements.size(); i++) {
+                            Assert.assertEquals(elements.get(i - 1) + 1, (int)elements.get(i));
+                        }
+
+                        if(!elements.isEmpty()) {
+                            Assert.assertTrue(elements.get(elements.size() - 1) >= size - 1);
+                        }
+                    }
+
+                    return null;
+                }));
+            }
+
+            writer.get(1, TimeUnit.MINUTES);
+
+            for(Future<?> reader : readers) {
+                reader.get(1, TimeUnit.MINUTES);
+            }
+
+            Assert.assertEquals(count, list.size());
+            Assert.assertEquals(Integer.valueOf(count - 1), list.subList(list.firstIndex()).get(list.size() - list.firstIndex() - 1));
+        } finally {
+            executor.shutdownNow();
+            list.dispose();
+        }
+    }
+
+    private static CSHSegmentedList<Integer> createList(CSHRetentionPolicy policy) {
+        return new CSHSegmentedList<>(policy, element -> 10L, new IntegerSerializer());
+    }
+
+    private static void addAll(ICSHList<Integer> list, int from, int to) {
+        for(int i = from; i < to; i++) {
+            list.add(i);
+        }
+    }
+
+    private static List<Integer> range(int from, int to) {
+        Integer[] result = new Integer[to - from];
+
+        for(int i = from; i < to; i++) {
+            result[i - from] = i;
+        }
+
+        return Arrays.asList(result);
+    }
+
+    private static class IntegerSerializer implements ICSHSpillSerializer<Integer> {
+        @Override
+        public void write(Integer element, DataOutput output) throws IOException {
+            output.writeInt(element);
+        }
+
+        @Override
+        public Integer read(DataInput input) throws IOException {
+            return input.readInt();
+        }
+    }
+}
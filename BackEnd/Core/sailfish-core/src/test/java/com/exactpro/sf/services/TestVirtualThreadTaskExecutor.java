@@ -0,0 +1,108 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestVirtualThreadTaskExecutor {
+
+    private final VirtualThreadTaskExecutor taskExecutor = new VirtualThreadTaskExecutor(4);
+
+    @After
+    public void tearDown() {
+        taskExecutor.dispose();
+    }
+
+    @Test
+    public void testAddTask() throws Exception {
+        Future<String> future = taskExecutor.addTask(() -> "result");
+        Assert.assertEquals("result", future.get(5, TimeUnit.SECONDS));
+
+        CountDownLatch latch = new CountDownLatch(100);
+        for(int i = 0; i < 100; i++) {
+            taskExecutor.addTask((Runnable)latch::countDown);
+        }
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(0, taskExecutor.getQueueDepth());
+    }
+
+    @Test
+    public void testCancelInterruptsTask() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Future<?> future = taskExecutor.addTask(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+            } catch(InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(future.cancel(true));
+        Assert.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(0, taskExecutor.getQueueDepth());
+    }
+
+    @Test
+    public void testSchedule() throws Exception {
+        long start = System.nanoTime();
+        Future<?> future = taskExecutor.schedule(() -> System.nanoTime(), 100, TimeUnit.MILLISECONDS);
+        long executed = (Long)future.get(5, TimeUnit.SECONDS);
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(executed - start) >= 100);
+
+        AtomicInteger counter = new AtomicInteger();
+        Future<?> cancelled = taskExecutor.schedule((Runnable)counter::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(cancelled.cancel(false));
+        Thread.sleep(300);
+        Assert.assertEquals(0, counter.get());
+        Assert.assertTrue(cancelled.isCancelled());
+    }
+
+    @Test
+    public void testRepeatedTask() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        Future<?> future = taskExecutor.addRepeatedTask(latch::countDown, 0, 20, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertFalse(future.isDone());
+        Assert.assertTrue(future.cancel(true));
+
+        AtomicInteger counter = new AtomicInteger();
+        Future<?> failed = taskExecutor.addRepeatedTask(() -> {
+            counter.incrementAndGet();
+            throw new IllegalStateException("test");
+        }, 0, 20, TimeUnit.MILLISECONDS);
+
+        try {
+            failed.get(5, TimeUnit.SECONDS);
+            Assert.fail("Failed task must complete exceptionally");
+        } catch(ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        Thread.sleep(100);
+        Assert.assertEquals(1, counter.get());
+        Assert.assertTrue(taskExecutor.getFailedCount() >= 1);
+    }
+}
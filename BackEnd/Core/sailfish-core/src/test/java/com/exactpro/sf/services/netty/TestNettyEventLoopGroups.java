@@ -0,0 +1,108 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.netty;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestNettyEventLoopGroups {
+
+    private final NettyEventLoopGroups registry = NettyEventLoopGroups.getInstance();
+
+    @Test
+    public void testSharedLifecycle() throws InterruptedException {
+        SharedEventLoopGroup first = registry.acquire("shared-lifecycle", 1, false);
+        SharedEventLoopGroup second = registry.acquire("shared-lifecycle", 2, false);
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, first.getGroup().executorCount());
+        Assert.assertEquals(2, first.getReferences());
+
+        Assert.assertTrue(registry.release(first).await(5, TimeUnit.SECONDS));
+        Assert.assertFalse(first.getGroup().isShuttingDown());
+
+        CountDownLatch executed = new CountDownLatch(1);
+        second.getGroup().execute(executed::countDown);
+        Assert.assertTrue(executed.await(5, TimeUnit.SECONDS));
+
+        Assert.assertTrue(registry.release(second).await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(second.getGroup().isTerminated());
+        Assert.assertFalse(registry.getGroups().contains(second));
+
+        SharedEventLoopGroup recreated = registry.acquire("shared-lifecycle", 1, false);
+        try {
+            Assert.assertNotSame(first, recreated);
+        } finally {
+            registry.release(recreated).await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testShutDownGroupIsReplaced() throws InterruptedException {
+        SharedEventLoopGroup first = registry.acquire("shut-down", 1, false);
+        Assert.assertTrue(first.getGroup().shutdownGracefully(0, 0, TimeUnit.SECONDS).await(10, TimeUnit.SECONDS));
+
+        SharedEventLoopGroup second = registry.acquire("shut-down", 1, false);
+        try {
+            Assert.assertNotSame(first, second);
+            Assert.assertFalse(second.getGroup().isShuttingDown());
+            Assert.assertTrue(registry.release(first).isSuccess());
+            Assert.assertEquals(1, second.getReferences());
+        } finally {
+            registry.release(second).await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("com.exactpro.sf.services:type=EventLoopGroup,name=" + ObjectName.quote("metrics"));
+        SharedEventLoopGroup group = registry.acquire("metrics", 1, false);
+
+        try {
+            Assert.assertEquals(1, server.getAttribute(objectName, "References"));
+            Assert.assertNotNull(server.getAttribute(objectName, "LoopLatencyMicros"));
+        } finally {
+            registry.release(group).await(10, TimeUnit.SECONDS);
+        }
+
+        Assert.assertFalse(server.isRegistered(objectName));
+    }
+
+    @Test
+    public void testNamedGroups() throws InterruptedException {
+        SharedEventLoopGroup first = registry.acquire("named-first", 1, false);
+        SharedEventLoopGroup second = registry.acquire("named-second", 1, true);
+        SharedEventLoopGroup defaultGroup = registry.acquire(" ", 1, false);
+        try {
+            Assert.assertNotSame(first, second);
+            Assert.assertEquals(NettyEventLoopGroups.DEFAULT_GROUP, defaultGroup.getName());
+            Assert.assertEquals(second.isEpoll(), second.getSocketChannelClass().getSimpleName().startsWith("Epoll"));
+            Assert.assertEquals(0, first.getPendingTasks());
+        } finally {
+            registry.release(first).await(10, TimeUnit.SECONDS);
+            registry.release(second).await(10, TimeUnit.SECONDS);
+            registry.release(defaultGroup).await(10, TimeUnit.SECONDS);
+        }
+    }
+}
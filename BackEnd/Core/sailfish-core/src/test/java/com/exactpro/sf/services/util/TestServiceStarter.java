@@ -0,0 +1,200 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.exactpro.sf.common.services.ServiceName;
+import com.exactpro.sf.common.util.EPSCommonException;
+import com.exactpro.sf.scriptrunner.IConnectionManager;
+import com.exactpro.sf.scriptrunner.IEnvironmentListener;
+import com.exactpro.sf.services.EnabledSettings;
+import com.exactpro.sf.services.IService;
+import com.exactpro.sf.services.ServiceDescription;
+import com.exactpro.sf.services.ServiceEvent.Level;
+import com.exactpro.sf.services.ServiceEvent.Type;
+import com.exactpro.sf.services.ServiceStatus;
+import com.exactpro.sf.services.ServiceStatusUpdateEvent;
+import com.exactpro.sf.services.util.ServiceStarter.ServiceStartup;
+
+public class TestServiceStarter {
+
+    private final Map<ServiceName, ServiceStatus> statuses = new ConcurrentHashMap<>();
+    private final Map<ServiceName, ServiceDescription> descriptions = new ConcurrentHashMap<>();
+    private final List<ServiceName> startOrder = Collections.synchronizedList(new ArrayList<>());
+    private final List<Map<ServiceName, ServiceStatus>> startStatuses = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicReference<IEnvironmentListener> listener = new AtomicReference<>();
+    private IConnectionManager connectionManager;
+
+    @Before
+    public void init() {
+        connectionManager = Mockito.mock(IConnectionManager.class);
+
+        Mockito.doAnswer(invocation -> descriptions.get(invocation.getArgument(0)))
+                .when(connectionManager).getServiceDescription(Mockito.any());
+        Mockito.doAnswer(invocation -> {
+            listener.set(invocation.getArgument(0));
+            return null;
+        }).when(connectionManager).subscribeForEvents(Mockito.any());
+        Mockito.doAnswer(invocation -> {
+            statuses.put(invocation.getArgument(0), ServiceStatus.INITIALIZED);
+            return CompletableFuture.completedFuture(null);
+        }).when(connectionManager).initService(Mockito.any(), Mockito.any());
+        Mockito.doAnswer(invocation -> {
+            ServiceName serviceName = invocation.getArgument(0);
+            startOrder.add(serviceName);
+            startStatuses.add(new HashMap<>(statuses));
+            ServiceStatus status = "failed".equals(serviceName.getServiceName()) ? ServiceStatus.ERROR : ServiceStatus.STARTED;
+
+            if ("stuck".equals(serviceName.getServiceName())) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            // status is changed asynchronously like in services which connect in the background
+            new Thread(() -> {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                statuses.put(serviceName, status);
+                listener.get().onEvent(new ServiceStatusUpdateEvent(serviceName, Level.INFO, Type.convert(status), "", ""));
+            }).start();
+
+            return CompletableFuture.completedFuture(null);
+        }).when(connectionManager).startService(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testDependencies() throws InterruptedException {
+        List<IService> services = Arrays.asList(
+                createService("a", "c"),
+                createService("b", null),
+                createService("c", "b, unknown"));
+
+        List<ServiceStartup> startups = new ServiceStarter(connectionManager, 3, 10000).start(services);
+
+        Assert.assertEquals(Arrays.asList(name("b"), name("c"), name("a")), startOrder);
+        Assert.assertEquals(3, startups.size());
+
+        for (ServiceStartup startup : startups) {
+            Assert.assertTrue(startup.isStarted());
+            Assert.assertTrue(startup.getFinishTime() >= startup.getStartedTime());
+        }
+
+        Assert.assertEquals(Collections.singleton(name("b")), startups.get(2).getDependencies());
+        Mockito.verify(connectionManager).unSubscribeForEvents(listener.get());
+    }
+
+    @Test
+    public void testFailedDependency() throws InterruptedException {
+        List<IService> services = Arrays.asList(
+                createService("a", "failed"),
+                createService("failed", null),
+                createService("b", null));
+
+        List<ServiceStartup> startups = new ServiceStarter(connectionManager, 1, 10000).start(services);
+
+        Assert.assertEquals(Arrays.asList(name("failed"), name("b")), startOrder);
+        Assert.assertFalse(startups.get(0).isStarted());
+        Assert.assertEquals(ServiceStatus.ERROR, startups.get(1).getStatus());
+        Assert.assertTrue(startups.get(2).isStarted());
+    }
+
+    @Test
+    public void testIndependentServicesAreNotAwaited() throws InterruptedException {
+        List<IService> services = Arrays.asList(
+                createService("a", null),
+                createService("b", null));
+
+        List<ServiceStartup> startups = new ServiceStarter(connectionManager, 1, 10000).start(services);
+
+        Assert.assertEquals(Arrays.asList(name("a"), name("b")), startOrder);
+        // service 'b' is started before the status of service 'a' is changed
+        Assert.assertEquals(ServiceStatus.INITIALIZED, startStatuses.get(1).get(name("a")));
+
+        for (ServiceStartup startup : startups) {
+            Assert.assertTrue(startup.isStarted());
+        }
+    }
+
+    @Test
+    public void testExpectedTimeOfStarting() throws InterruptedException {
+        List<IService> services = Arrays.asList(
+                createService("stuck", null, 300),
+                createService("a", null, 5000),
+                createService("b", null));
+
+        List<ServiceStartup> startups = new ServiceStarter(connectionManager, 1, 100).start(services);
+
+        Assert.assertEquals(Arrays.asList(name("stuck"), name("a"), name("b")), startOrder);
+        // the next service is started after the expected time of starting of a service which isn't started
+        Assert.assertTrue(startups.get(1).getStartedTime() - startups.get(0).getStartedTime() >= 300);
+        Assert.assertFalse(startups.get(0).isStarted());
+        // or as soon as the service is started
+        Assert.assertEquals(ServiceStatus.STARTED, startStatuses.get(2).get(name("a")));
+        Assert.assertTrue(startups.get(2).getStartedTime() - startups.get(1).getStartedTime() < 5000);
+        Assert.assertTrue(startups.get(2).isStarted());
+    }
+
+    @Test(expected = EPSCommonException.class)
+    public void testCyclicDependencies() throws InterruptedException {
+        List<IService> services = Arrays.asList(
+                createService("a", "b"),
+                createService("b", "default@a"));
+
+        new ServiceStarter(connectionManager, 2, 10000).start(services);
+    }
+
+    private IService createService(String name, String startAfter) {
+        return createService(name, startAfter, 0);
+    }
+
+    private IService createService(String name, String startAfter, long expectedTimeOfStarting) {
+        ServiceName serviceName = name(name);
+        IService service = Mockito.mock(IService.class);
+        EnabledSettings settings = new EnabledSettings();
+        ServiceDescription description = new ServiceDescription();
+
+        settings.setExpectedTimeOfStarting(expectedTimeOfStarting);
+        settings.setStartAfter(startAfter);
+        description.setSettings(settings);
+        descriptions.put(serviceName, description);
+        statuses.put(serviceName, ServiceStatus.CREATED);
+
+        Mockito.when(service.getServiceName()).thenReturn(serviceName);
+        Mockito.doAnswer(invocation -> statuses.get(serviceName)).when(service).getStatus();
+
+        return service;
+    }
+
+    private static ServiceName name(String name) {
+        return new ServiceName(ServiceName.DEFAULT_ENVIRONMENT, name);
+    }
+}
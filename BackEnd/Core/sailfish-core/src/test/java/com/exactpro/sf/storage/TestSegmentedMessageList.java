@@ -0,0 +1,282 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.exactpro.sf.storage.impl.FileMessage;
+import com.exactpro.sf.storage.impl.FileMessageLoader;
+
+public class TestSegmentedMessageList {
+    private static final long SEGMENT_SIZE = 4096;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testAppendAndReopen() throws IOException {
+        File path = folder.newFolder();
+
+        try(SegmentedMessageList list = new SegmentedMessageList(path, SEGMENT_SIZE)) {
+            append(list, 0, 500, 1000);
+            checkMessages(list, 0, 500);
+        }
+
+        assertTrue(segmentCount(path) > 1);
+
+        try(SegmentedMessageList list = new SegmentedMessageList(path, SEGMENT_SIZE)) {
+            assertEquals(500, list.size());
+            checkMessages(list, 0, 500);
+
+            ListIterator<FileMessage> it = list.listIterator(list.size());
+
+            for(int i = 499; it.hasPrevious(); i--) {
+                assertEquals(i, it.previous().getID());
+            }
+
+            append(list, 500, 10, 1000);
+            checkMessages(list, 0, 510);
+        }
+    }
+
+    @Test
+    public void testNullFields() throws IOException {
+        try(SegmentedMessageList list = new SegmentedMessageList(folder.newFolder())) {
+            list.add(new FileMessage());
+
+            FileMessage message = list.get(0);
+
+            assertNull(message.getName());
+            assertNull(message.getTimestamp());
+            assertNull(message.getRawMessage());
+        }
+    }
+
+    @Test
+    public void testLastModified() throws IOException {
+        File path = folder.newFolder();
+        FileMessage withTimestamp = new FileMessage(5000);
+        FileMessage withoutTimestamp = new FileMessage(7000);
+
+        withTimestamp.setTimestamp(new Timestamp(1000));
+
+        try(SegmentedMessageList list = new SegmentedMessageList(path)) {
+            list.add(withTimestamp);
+            list.add(withoutTimestamp);
+            assertEquals(5000, list.get(0).getLastModified());
+            assertEquals(7000, list.get(1).getLastModified());
+        }
+
+        try(SegmentedMessageList list = new SegmentedMessageList(path)) {
+            assertEquals(1000, list.get(0).getTimestamp().getTime());
+            assertEquals(5000, list.get(0).getLastModified());
+            assertNull(list.get(1).getTimestamp());
+            assertEquals(7000, list.get(1).getLastModified());
+        }
+    }
+
+    @Test
+    public void testRecovery() throws IOException {
+        File path = folder.newFolder();
+
+        try(SegmentedMessageList list = new SegmentedMessageList(path)) {
+            append(list, 0, SegmentedMessageList.INDEX_INTERVAL * 3, 1000);
+        }
+
+        File log = new File(path, String.format("%020d.log", 0));
+        File index = new File(path, String.format("%020d.idx", 0));
+
+        try(RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        assertTrue(index.delete());
+
+        try(SegmentedMessageList list = new SegmentedMessageList(path)) {
+            assertEquals(SegmentedMessageList.INDEX_INTERVAL * 3 - 1, list.size());
+            checkMessages(list, 0, list.size());
+            append(list, list.size(), 1, 1000);
+            checkMessages(list, 0, list.size());
+        }
+
+        assertEquals(3 * Long.BYTES, index.length());
+    }
+
+    @Test
+    public void testRemoveOlderThan() throws IOException {
+        File path = folder.newFolder();
+
+        try(SegmentedMessageList list = new SegmentedMessageList(path, SEGMENT_SIZE)) {
+            append(list, 0, 200, 1000);
+            append(list, 200, 200, System.currentTimeMillis());
+
+            int removed = list.removeOlderThan(System.currentTimeMillis() - 86_400_000L);
+
+            assertTrue(removed > 0 && removed <= 200);
+            assertEquals(400 - removed, list.size());
+            checkMessages(list, removed, list.size());
+            assertEquals(0, list.removeOlderThan(1000));
+            assertEquals(list.size(), list.removeOlderThan(Long.MAX_VALUE));
+            assertEquals(0, list.size());
+
+            append(list, 0, 10, 1000);
+            checkMessages(list, 0, 10);
+        }
+    }
+
+    @Test
+    public void testRemoveIf() throws IOException {
+        File path = folder.newFolder();
+
+        try(SegmentedMessageList list = new SegmentedMessageList(path, SEGMENT_SIZE)) {
+            append(list, 0, 300, 1000);
+
+            assertTrue(list.removeIf(message -> message.getID() % 2 == 0));
+            assertEquals(150, list.size());
+
+            for(int i = 0; i < list.size(); i++) {
+                assertEquals(i * 2 + 1, list.get(i).getID());
+            }
+
+            list.subList(0, 50).clear();
+            assertEquals(100, list.size());
+            assertEquals(101, list.get(0).getID());
+        }
+
+        try(SegmentedMessageList list = new SegmentedMessageList(path, SEGMENT_SIZE)) {
+            assertEquals(100, list.size());
+            assertEquals(299, list.get(99).getID());
+            list.clear();
+            assertEquals(0, list.size());
+        }
+
+        assertEquals(1, segmentCount(path));
+    }
+
+    @Test
+    public void testSeek() throws IOException {
+        File path = folder.newFolder();
+        int interval = SegmentedMessageList.INDEX_INTERVAL;
+
+        try(SegmentedMessageList list = new SegmentedMessageList(path, SEGMENT_SIZE * 16)) {
+            append(list, 0, 1000, 1000);
+            assertTrue(segmentCount(path) > 1);
+
+            MessageFilter filter = new MessageFilter();
+            filter.setServicesIdSet(Collections.singleton("service7"));
+            MessageIndexQuery query = MessageIndexQuery.of(filter);
+
+            assertInRange(list.seek(0, true, query), 700 - interval + 1, 700);
+            assertInRange(list.seek(999, false, query), 799, 799 + interval - 1);
+            assertEquals(-1, list.seek(799 + interval, true, query));
+            assertEquals(-1, list.seek(700 - interval, false, query));
+
+            filter.setServicesIdSet(null);
+            filter.setMsgName("unknown");
+            assertEquals(-1, list.seek(0, true, MessageIndexQuery.of(filter)));
+
+            filter.setMsgName(null);
+            filter.setStartTime(new Timestamp(1900));
+            assertInRange(list.seek(0, true, MessageIndexQuery.of(filter)), 900 - interval + 1, 900);
+        }
+
+        for(File summary : path.listFiles((dir, name) -> name.endsWith(".sum"))) {
+            assertTrue(summary.delete());
+        }
+
+        try(SegmentedMessageList list = new SegmentedMessageList(path, SEGMENT_SIZE)) {
+            MessageFilter filter = new MessageFilter();
+            filter.setServicesIdSet(Collections.singleton("service9"));
+            filter.setShowAdmin(true);
+            filter.setSortOrder(false);
+
+            List<Long> ids = new ArrayList<>();
+
+            for(MessageRow row : new FileMessageLoader(list, filter, 5)) {
+                ids.add(Long.valueOf(row.getID()));
+            }
+
+            assertEquals(Arrays.asList(999L, 996L, 993L, 990L, 987L), ids);
+
+            filter.setServicesIdSet(Collections.singleton("unknown"));
+            assertFalse(new FileMessageLoader(list, filter, 5).iterator().hasNext());
+        }
+    }
+
+    private static void append(SegmentedMessageList list, int fromID, int count, long timestamp) {
+        List<FileMessage> messages = new ArrayList<>();
+
+        for(int i = fromID; i < fromID + count; i++) {
+            FileMessage message = new FileMessage();
+
+            message.setID(i);
+            message.setMetaDataID(i * 10L);
+            message.setTimestamp(new Timestamp(timestamp + i));
+            message.setAdmin(i % 3 == 0);
+            message.setName("Message" + i);
+            message.setNamespace("Namespace");
+            message.setFrom("from");
+            message.setTo("to");
+            message.setServiceID("service" + i / 100);
+            message.setHumanMessage("field=" + i + " é");
+            message.setJsonMessage("{\"field\":" + i + "}");
+            message.setRawMessage(new byte[] { (byte)i, 1, 2 });
+            messages.add(message);
+        }
+
+        list.addAll(messages);
+    }
+
+    private static void checkMessages(List<FileMessage> list, int firstID, int count) {
+        for(int i = 0; i < count; i++) {
+            FileMessage message = list.get(i);
+            long id = firstID + i;
+
+            assertEquals(id, message.getID());
+            assertEquals(id * 10L, message.getMetaDataID());
+            assertEquals(id % 3 == 0, message.isAdmin());
+            assertEquals("Message" + id, message.getName());
+            assertEquals("field=" + id + " é", message.getHumanMessage());
+            assertArrayEquals(new byte[] { (byte)id, 1, 2 }, message.getRawMessage());
+        }
+    }
+
+    private static void assertInRange(int value, int from, int to) {
+        assertTrue(value + " isn't in [" + from + ", " + to + "]", from <= value && value <= to);
+    }
+
+    private static int segmentCount(File path) {
+        return path.list((dir, name) -> name.endsWith(".log")).length;
+    }
+}
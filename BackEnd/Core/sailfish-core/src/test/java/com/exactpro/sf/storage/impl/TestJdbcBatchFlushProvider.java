@@ -0,0 +1,148 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.storage.impl;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.DerbyTenSevenDialect;
+import org.hibernate.dialect.identity.IdentityColumnSupport;
+import org.hibernate.dialect.identity.IdentityColumnSupportImpl;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.exactpro.sf.storage.entities.StoredMessage;
+
+public class TestJdbcBatchFlushProvider {
+    private static final int BATCH_SIZE = 10;
+    private static final int MESSAGE_COUNT = 25;
+
+    private SessionFactory sessionFactory;
+
+    @After
+    public void tearDown() {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+        }
+    }
+
+    @Test
+    public void testIdentityGenerator() throws Exception {
+        List<StoredMessage> messages = flush("identity", DerbyTenSevenDialect.class, true);
+
+        // identifiers generated by the database are not read back
+        assertStored(messages);
+    }
+
+    @Test
+    public void testSequenceGenerator() throws Exception {
+        List<StoredMessage> messages = flush("sequence", SequenceDerbyDialect.class, true);
+
+        assertStored(messages);
+    }
+
+    @Test
+    public void testRowByRowGenerator() throws Exception {
+        // legacy sequence generator isn't a physical sequence of SequenceStyleGenerator, so it's called for each row
+        List<StoredMessage> messages = flush("legacy", SequenceDerbyDialect.class, false);
+        List<StoredMessage> stored = assertStored(messages);
+
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            Assert.assertEquals(stored.get(i).getId(), messages.get(i).getId());
+        }
+    }
+
+    private List<StoredMessage> flush(String database, Class<?> dialect, boolean newGeneratorMappings) throws Exception {
+        sessionFactory = new Configuration()
+                .addResource("com/exactpro/sf/storage/entities/sailfish.hbm.xml")
+                .setProperty("hibernate.dialect", dialect.getName())
+                .setProperty("hibernate.connection.driver_class", "org.apache.derby.jdbc.EmbeddedDriver")
+                .setProperty("hibernate.connection.url", "jdbc:derby:memory:" + database + ";create=true")
+                .setProperty("hibernate.connection.pool_size", "1")
+                .setProperty("hibernate.hbm2ddl.auto", "create")
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(BATCH_SIZE))
+                .setProperty("hibernate.id.new_generator_mappings", String.valueOf(newGeneratorMappings))
+                .buildSessionFactory();
+
+        JdbcBatchFlushProvider<StoredMessage> provider = new JdbcBatchFlushProvider<>(sessionFactory, StoredMessage.class);
+        List<StoredMessage> messages = new ArrayList<>();
+
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            messages.add(createMessage(i));
+        }
+
+        Assert.assertEquals(BATCH_SIZE, provider.getBatchSize());
+        provider.flush(messages);
+
+        return messages;
+    }
+
+    /**
+     * Checks that all messages are stored with unique identifiers
+     * @return stored messages in the order of insertion
+     */
+    private List<StoredMessage> assertStored(List<StoredMessage> messages) {
+        try (Session session = sessionFactory.openSession()) {
+            List<StoredMessage> stored = session.createQuery("from StoredMessage order by id", StoredMessage.class).list();
+            Set<Long> ids = stored.stream()
+                    .map(StoredMessage::getId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+
+            Assert.assertEquals(messages.size(), stored.size());
+            Assert.assertEquals(messages.size(), ids.size());
+
+            for (int i = 0; i < messages.size(); i++) {
+                Assert.assertEquals(messages.get(i).getName(), stored.get(i).getName());
+            }
+
+            return stored;
+        }
+    }
+
+    private static StoredMessage createMessage(int index) {
+        StoredMessage message = new StoredMessage();
+
+        message.setNamespace("namespace");
+        message.setName("message" + index);
+        message.setFrom("from");
+        message.setTo("to");
+        message.setArrived(new Timestamp(1_000_000L + index));
+        message.setServiceId("service");
+        message.setJsonMessage("{\"index\":" + index + '}');
+        message.setRawMessage(new byte[] { (byte)index });
+
+        return message;
+    }
+
+    /**
+     * Derby dialect without identity columns, so native generator is resolved to a sequence
+     */
+    public static class SequenceDerbyDialect extends DerbyTenSevenDialect {
+        @Override
+        public IdentityColumnSupport getIdentityColumnSupport() {
+            return new IdentityColumnSupportImpl();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.storage.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.exactpro.sf.common.impl.messages.DefaultMessageFactory;
+import com.exactpro.sf.common.messages.IMessage;
+import com.exactpro.sf.common.messages.IMessageFactory;
+import com.exactpro.sf.common.messages.MessageUtil;
+import com.exactpro.sf.configuration.suri.SailfishURI;
+
+public class TestCompactMessageCodec {
+    @Test
+    public void testRoundTrip() {
+        IMessageFactory factory = DefaultMessageFactory.getFactory();
+        IMessage message = factory.createMessage("Order", "Test");
+        IMessage group = factory.createMessage("Party", "Test");
+
+        group.addField("PartyID", "ABC");
+        group.addField("PartyRole", 3);
+
+        message.addField("String", "value");
+        message.addField("Boolean", true);
+        message.addField("Byte", (byte)1);
+        message.addField("Short", (short)2);
+        message.addField("Integer", 3);
+        message.addField("Long", 4L);
+        message.addField("Float", 5.5f);
+        message.addField("Double", 6.5);
+        message.addField("BigDecimal", new BigDecimal("7.50"));
+        message.addField("Character", 'c');
+        message.addField("Date", LocalDate.of(2020, 1, 2));
+        message.addField("Time", LocalTime.of(10, 11, 12, 13));
+        message.addField("DateTime", LocalDateTime.of(2020, 1, 2, 10, 11, 12, 13));
+        message.addField("Message", group);
+        message.addField("List", Arrays.asList(group, group));
+        message.addField("Null", null);
+        message.addField("Bytes", new byte[] { 1, 2, 3 });
+
+        message.getMetaData().setDictionaryURI(SailfishURI.unsafeParse("Test"));
+        message.getMetaData().setProtocol("TEST");
+        message.getMetaData().setAdmin(true);
+        message.getMetaData().setDirty(true);
+        message.getMetaData().setRejectReason("reason");
+
+        IMessage decoded = CompactMessageCodec.decode(CompactMessageCodec.encode(message));
+
+        assertEquals(message.getName(), decoded.getName());
+        assertEquals(message.getNamespace(), decoded.getNamespace());
+        assertEquals(message.getFieldNames(), decoded.getFieldNames());
+        assertEquals(new BigDecimal("7.50"), decoded.getField("BigDecimal"));
+        assertEquals(LocalDateTime.of(2020, 1, 2, 10, 11, 12, 13), decoded.getField("DateTime"));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, decoded.getField("Bytes"));
+        assertEquals(message.getMetaData().getId(), decoded.getMetaData().getId());
+        assertEquals(message.getMetaData().getPreciseMsgTimestamp(), decoded.getMetaData().getPreciseMsgTimestamp());
+        assertEquals(message.getMetaData().getDictionaryURI(), decoded.getMetaData().getDictionaryURI());
+        assertEquals("TEST", decoded.getMetaData().getProtocol());
+        assertTrue(decoded.getMetaData().isAdmin());
+        assertTrue(decoded.getMetaData().isDirty());
+        assertTrue(decoded.getMetaData().isRejected());
+
+        message.removeField("Bytes");
+        decoded.removeField("Bytes");
+
+        assertEquals(JsonMessageConverter.toJson(message, null), JsonMessageConverter.toJson(decoded, null));
+        assertEquals(MessageUtil.convertToIHumanMessage(factory, null, message).toString(),
+                MessageUtil.convertToIHumanMessage(factory, null, decoded).toString());
+    }
+}
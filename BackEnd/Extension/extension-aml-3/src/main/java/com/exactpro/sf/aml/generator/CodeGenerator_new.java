@@ -18,21 +18,18 @@ package com.exactpro.sf.aml.generator;
 import static org.apache.commons.lang3.StringUtils.trimToNull;
 import static org.apache.commons.lang3.StringUtils.wrap;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.lang.reflect.Method;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -41,9 +38,7 @@ import java.util.SortedMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
-import javax.tools.JavaCompiler;
-import javax.tools.ToolProvider;
-
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -1006,49 +1001,36 @@ public class CodeGenerator_new implements ICodeGenerator {
 	}
 
     /**
-	 * Compile simple class to check whether value valid.
-	 * If compilation failed appropriate message will be stored in ErrorStore.
+	 * Compile simple classes to check whether values valid.
+	 * If compilation failed sources are saved to the script folder and the compiler output is returned.
 	 * @throws AMLException
 	 */
-    protected final String compileTest(File javaFile, File classFile) throws AMLException
+    protected final String compileTest(Map<String, String> sources) throws AMLException, InterruptedException
 	{
         try {
-			List<String> args = new LinkedList<>();
-			args.add("-classpath");
-			args.add(compilerClassPath);
-			args.add(javaFile.getAbsolutePath());
-
             logger.debug("compilerClassPath = " + compilerClassPath);
 
-			String[] sargs = args.toArray(new String[0]);
-
-			InputStream inStream = new ByteArrayInputStream(new byte[0]);
-			OutputStream outStream = new ByteArrayOutputStream();
-			OutputStream errStream = new ByteArrayOutputStream();
-			JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
 			long time = System.currentTimeMillis();
-			int err = compiler.run(inStream, outStream, errStream, sargs);
+            String error = ScriptCompiler.getDefault().validate(compilerClassPath, sources);
             logger.debug("compile time: " + (System.currentTimeMillis() - time));
-			if (err != 0)
-			{
-				logger.error("Test file saved to: {}", javaFile.getCanonicalPath());
-				// leave test file
-				return errStream.toString();
-			}
 
-			javaFile.delete();
-			if (classFile.exists())
+            if (error != null)
 			{
-				classFile.delete();
+				// leave test files
+                for (Entry<String, String> source : sources.entrySet()) {
+                    File javaFile = workspaceDispatcher.createFile(FolderType.REPORT, true, amlSettings.getBaseDir(), source.getKey() + ".java");
+                    FileUtils.writeStringToFile(javaFile, source.getValue(), Charset.defaultCharset());
+                    logger.error("Test file saved to: {}", javaFile.getCanonicalPath());
+                }
 			}
 
-            return null;
+            return error;
         } catch(IOException e) {
-			throw new AMLException("Failed write to file '"+javaFile+"':"+e.getLocalizedMessage(), e);
+			throw new AMLException("Failed to compile test classes: " + e.getLocalizedMessage(), e);
 		}
     }
 
-    private void testCode(List<AMLTestCase> testCases) throws WorkspaceSecurityException, AMLException, FileNotFoundException, IOException {
+    private void testCode(List<AMLTestCase> testCases) throws WorkspaceSecurityException, AMLException, IOException, InterruptedException {
         progressChanged(60);
 
         List<SetterInfo> setters = new ArrayList<>();
@@ -1072,22 +1054,24 @@ public class CodeGenerator_new implements ICodeGenerator {
         }
 
         int count = 0;
+        // all test classes are compiled at once in memory
+        Map<String, String> sources = new LinkedHashMap<>();
 
         for(List<SetterInfo> subList : Iterables.partition(setters, MAX_SETTERS_PER_CLASS)) {
             String className = "TestClass" + count++;
-            File javaFile = workspaceDispatcher.createFile(FolderType.REPORT, true, amlSettings.getBaseDir(), className + ".java");
-            File classFile = workspaceDispatcher.createFile(FolderType.REPORT, true, amlSettings.getBaseDir(), className + ".class");
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
-            try(TextOutputStream stream = new TextOutputStream(new FileOutputStream(javaFile))) {
+            try(TextOutputStream stream = new TextOutputStream(outputStream)) {
                 tcCodeBuilder.writeTestClass(stream, className, subList);
-                String error = compileTest(javaFile, classFile);
+            }
 
-                if(error == null) {
-                    continue;
-                }
+            sources.put(className, outputStream.toString());
+        }
 
-                parseErrors(error);
-            }
+        String error = compileTest(sources);
+
+        if(error != null) {
+            parseErrors(error);
         }
 
         progressChanged(70);
@@ -45,6 +45,8 @@ import org.slf4j.LoggerFactory;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 import static com.exactpro.sf.common.messages.structures.StructureUtils.getAttributeValue;
@@ -63,6 +65,7 @@ public class FASTCodec extends AbstractCodec {
 	private TemplateRegistry registry;
 	private IMessageToFastConverter iMsgToFastConverter;
 	private FastToIMessageDecoder decoder;
+	private final Map<String, Boolean> adminMessages = new HashMap<>();
 
 	@Override
 	public void init(
@@ -91,8 +94,10 @@ public class FASTCodec extends AbstractCodec {
 		Context context = new FASTContext();
 
 		context.setTemplateRegistry(getRegistry());
-		context.setTraceEnabled(true);
-		context.setDecodeTrace(new LoggingTrace());
+		if (settings.isTraceEnabled()) {
+			context.setTraceEnabled(true);
+			context.setDecodeTrace(new LoggingTrace());
+		}
 		return context;
 	}
 
@@ -136,9 +141,7 @@ public class FASTCodec extends AbstractCodec {
 			IoBuffer in,
 			ProtocolDecoderOutput out) throws IOException, ConverterException {
         int startPosition = in.position();
-        byte[] data = new byte[in.remaining()];
-        in.get(data);
-        DecodeResult decodeResult = decoder.decode(data, getInputContext(session), settings.isLengthPresent());
+        DecodeResult decodeResult = decoder.decode(in, getInputContext(session), settings.isLengthPresent());
         boolean isSuccessDecoded = decodeResult.isSuccess();
         if (isSuccessDecoded) {
             IMessage decodedMessage = decodeResult.getDecodedMessage();
@@ -153,14 +156,8 @@ public class FASTCodec extends AbstractCodec {
 			IoSession session,
 			IoBuffer in,
 			IMessage imsg) {
-        IMessageStructure msgStructure = msgDictionary.getMessages().get(imsg.getName());
-        Boolean isAdmin = getAttributeValue(msgStructure, "IsAdmin");
-		if (isAdmin == null) {
-			isAdmin = false;
-		}
-
 		MsgMetaData metaData = imsg.getMetaData();
-		metaData.setAdmin(isAdmin);
+		metaData.setAdmin(adminMessages.computeIfAbsent(imsg.getName(), this::isAdmin));
 		//metaData.setToService(this.serviceName);
 
         String packetAddress = in instanceof IoBufferWithAddress ? ((IoBufferWithAddress)in).getAddress() : session.getRemoteAddress().toString();
@@ -169,6 +166,12 @@ public class FASTCodec extends AbstractCodec {
 	}
 
 
+	private boolean isAdmin(String messageName) {
+		IMessageStructure msgStructure = msgDictionary.getMessages().get(messageName);
+		Boolean isAdmin = getAttributeValue(msgStructure, "IsAdmin");
+		return isAdmin != null && isAdmin;
+	}
+
 	private Context getInputContext(IoSession session) {
 		Context inputContext = (Context) session.getAttribute(INPUT_CONTEXT_ATTR_NAME);
 		if (inputContext == null) {
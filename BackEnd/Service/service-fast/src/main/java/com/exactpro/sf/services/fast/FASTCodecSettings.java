@@ -33,6 +33,8 @@ public class FASTCodecSettings extends AbstractServiceSettings {
     private boolean lengthPresent = true;
 	private boolean streamBlockEncoded = true;
 	private boolean resetContextAfterEachUdpPacket = true;
+	@Description("Log decoded FAST fields and presence maps at debug level. Slows down decoding considerably")
+	private boolean traceEnabled;
 	@RequiredParam
     @Description("Dictionary title")
     @DictionaryProperty(type = DictionaryType.MAIN)
@@ -70,6 +72,14 @@ public class FASTCodecSettings extends AbstractServiceSettings {
 		return resetContextAfterEachUdpPacket;
 	}
 
+	public boolean isTraceEnabled() {
+		return traceEnabled;
+	}
+
+	public void setTraceEnabled(boolean traceEnabled) {
+		this.traceEnabled = traceEnabled;
+	}
+
 	@Override
 	public void load(HierarchicalConfiguration<ImmutableNode> config) {
 	}
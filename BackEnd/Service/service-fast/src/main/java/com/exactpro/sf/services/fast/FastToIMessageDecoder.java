@@ -18,23 +18,25 @@ package com.exactpro.sf.services.fast;
 import com.exactpro.sf.common.messages.IMessage;
 import com.exactpro.sf.services.fast.converter.ConverterException;
 import com.exactpro.sf.services.fast.converter.FastToIMessageConverter;
-import com.exactpro.sf.services.fast.fixup.EofCheckedStream;
+import org.apache.mina.core.buffer.IoBuffer;
 import org.openfast.Context;
 import org.openfast.Message;
 import org.openfast.template.type.codec.TypeCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Arrays;
 
+/**
+ * Not thread-safe: the input stream adapter is reused between calls.
+ */
 public class FastToIMessageDecoder {
 	static final Logger logger = LoggerFactory.getLogger(FastToIMessageDecoder.class);
 
     private final FastToIMessageConverter converter;
     private final int skippedInitialCount;
+    private final IoBufferInputStream inputStream = new IoBufferInputStream();
 
     public FastToIMessageDecoder(FastToIMessageConverter converter, int skippedInitialCount) {
         this.converter = converter;
@@ -46,11 +48,20 @@ public class FastToIMessageDecoder {
     }
 
     public DecodeResult decode(byte[] data, Context context, boolean isLengthPresent) throws IOException, ConverterException {
+        return decode(IoBuffer.wrap(data), context, isLengthPresent);
+    }
+
+    /**
+     * Decodes a single message starting at the current position of the buffer without copying the remaining data.
+     * On success the buffer position is moved past the decoded message, otherwise it is left undefined.
+     */
+    public DecodeResult decode(IoBuffer in, Context context, boolean isLengthPresent) throws IOException, ConverterException {
         if (logger.isDebugEnabled()) {
-            logger.debug("try to parse data {}", Arrays.toString(data));
+            logger.debug("try to parse data {}", in.getHexDump());
         }
 
-        try (InputStream is = new EofCheckedStream(new ByteArrayInputStream(data))) {
+        int startPosition = in.position();
+        try (InputStream is = inputStream.wrap(in)) {
             if(isLengthPresent) {
                 int msgLen = TypeCodec.UINT.decode(is).toInt();
                 if (is.available() < msgLen) {
@@ -58,10 +69,12 @@ public class FastToIMessageDecoder {
                 }
             }
             Message fastMessage = decodeDataToFastMessage(context, is);
-            int processedBytes = data.length - is.available();
+            int processedBytes = in.position() - startPosition;
             IMessage convertedMessage = converter.convert(fastMessage);
             logger.debug("Converted message {}", convertedMessage);
-            byte[] rawMessage = Arrays.copyOf(data, processedBytes);
+            byte[] rawMessage = new byte[processedBytes];
+            in.position(startPosition);
+            in.get(rawMessage);
             convertedMessage.getMetaData().setRawMessage(rawMessage);
             return DecodeResult.createSuccessResult(convertedMessage, processedBytes);
         }
@@ -0,0 +1,74 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.fast;
+
+import java.io.InputStream;
+
+import org.apache.mina.core.buffer.IoBuffer;
+
+import com.exactpro.sf.services.fast.fixup.EofIOException;
+
+/**
+ * Reusable {@link InputStream} view over the remaining bytes of an {@link IoBuffer}.
+ * Reading advances the buffer position, so the amount of consumed data can be taken from the buffer itself.
+ * Like {@link com.exactpro.sf.services.fast.fixup.EofCheckedStream} it throws {@link EofIOException} instead of returning -1.
+ */
+public class IoBufferInputStream extends InputStream {
+    private IoBuffer buffer;
+
+    public IoBufferInputStream wrap(IoBuffer buffer) {
+        this.buffer = buffer;
+        return this;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public int read() throws EofIOException {
+        if(!buffer.hasRemaining()) {
+            throw new EofIOException("End of buffer encountered while reading a byte");
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws EofIOException {
+        if(len == 0) {
+            return 0;
+        }
+        int count = Math.min(len, buffer.remaining());
+        if(count == 0) {
+            throw new EofIOException("End of buffer encountered while reading bytes");
+        }
+        buffer.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        int count = (int)Math.max(0, Math.min(n, buffer.remaining()));
+        buffer.skip(count);
+        return count;
+    }
+
+    @Override
+    public void close() {
+        buffer = null;
+    }
+}
@@ -45,13 +45,19 @@ import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 public class FastToIMessageConverter {
 	private static final Logger logger = LoggerFactory.getLogger(FastToIMessageConverter.class);
 	public static final String UNIT = "unit";
+	private static final Pattern NAME_DELIMITERS = Pattern.compile("[_ -]");
 	private final IMessageFactory messageFactory;
 	private final IDictionaryStructure dictionary;
+	/** FAST template and field names mapped to IMessage names, the set is bounded by the templates */
+	private final Map<String, String> names = new HashMap<>();
 	public enum TIMESTAMP_UNIT {
 		day,
 		second,
@@ -255,7 +261,7 @@ public class FastToIMessageConverter {
 	}
 
 	private String getIMessageName(String name) {
-		return name.replaceAll("[_ -]", "");
+		return names.computeIfAbsent(name, key -> NAME_DELIMITERS.matcher(key).replaceAll(""));
 	}
 
 	@Nullable
@@ -288,8 +288,9 @@ public class TestFastCodec extends FASTServicePluginTest {
 		MockProtocolDecoderOutput decoderOutput = new MockProtocolDecoderOutput();
 		codec.decode( decodeSession, toDecode, decoderOutput );
         Assert.assertEquals( "No message decoded", 2, decoderOutput.getMessageQueue().size());
-        System.out.println(decoderOutput.getMessageQueue().remove());
-        System.out.println(decoderOutput.getMessageQueue().remove());
+        byte[] expectedRaw = Arrays.copyOf(b, b.length / 2);
+        Assert.assertArrayEquals(expectedRaw, ((IMessage)decoderOutput.getMessageQueue().remove()).getMetaData().getRawMessage());
+        Assert.assertArrayEquals(expectedRaw, ((IMessage)decoderOutput.getMessageQueue().remove()).getMetaData().getRawMessage());
 
 		Assert.assertEquals("No all bytes read", 0, toDecode.remaining());
 	}
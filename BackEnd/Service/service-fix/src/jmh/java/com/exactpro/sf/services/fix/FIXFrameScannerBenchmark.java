@@ -0,0 +1,137 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.fix;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.mina.core.buffer.IoBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.exactpro.sf.services.tcpip.MessageParseException;
+
+/**
+ * Measures framing of FIX messages when a burst of messages arrives in one read
+ * and when a single large message arrives in small fragments
+ */
+@State(Scope.Thread)
+public class FIXFrameScannerBenchmark {
+    private static final String MESSAGE = "8=FIX.4.4\u00019=145\u000135=D\u000134=71\u000149=ez_mbp3\u000152=20151013-12:32:45.516.56=PARFX\u000111=1444739565866\u000138=100000000\u000140=1\u000144=0.01\u000154=1.55=USD/MXN\u000159=0\u000160=20151013-12:32:45.513\u000110=150\u0001";
+
+    @Param({ "1000" })
+    private int burstSize;
+
+    @Param({ "64" })
+    private int fragmentSize;
+
+    @Param({ "100" })
+    private int groupCount;
+
+    private final FIXFrameScanner scanner = new FIXFrameScanner(FIXCodec.SOH, StandardCharsets.ISO_8859_1);
+
+    private IoBuffer burst;
+    private byte[] largeMessage;
+    private IoBuffer fragmented;
+
+    @Setup(Level.Trial)
+    public void init() {
+        StringBuilder builder = new StringBuilder();
+
+        for(int i = 0; i < burstSize; i++) {
+            builder.append(MESSAGE);
+        }
+
+        burst = IoBuffer.wrap(builder.toString().getBytes(StandardCharsets.ISO_8859_1));
+
+        StringBuilder body = new StringBuilder("35=D\u0001453=").append(groupCount).append('\u0001');
+
+        for(int i = 0; i < groupCount; i++) {
+            body.append("448=PARTY").append(i).append("\u0001447=D\u0001452=").append(i % 100).append('\u0001');
+        }
+
+        String message = "8=FIX.4.4\u00019=" + body.length() + '\u0001' + body + "10=000\u0001";
+
+        largeMessage = message.getBytes(StandardCharsets.ISO_8859_1);
+        fragmented = IoBuffer.allocate(largeMessage.length);
+    }
+
+    @Benchmark
+    public int burstScanner() throws MessageParseException {
+        burst.rewind();
+        int count = 0;
+
+        while(scanner.scan(burst) != -1) {
+            count++;
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public int burstFixString() throws MessageParseException {
+        burst.rewind();
+        int count = 0;
+
+        while(FIXCodec.getFixString(burst) != null) {
+            count++;
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public int fragmentedScanner() throws MessageParseException {
+        return scanFragmented(scanner);
+    }
+
+    @Benchmark
+    public int fragmentedRescan() throws MessageParseException {
+        return scanFragmented(null);
+    }
+
+    /**
+     * Feeds the large message in fragments and scans the buffer after each of them.
+     * Without a shared scanner every attempt starts from the beginning of the message
+     */
+    private int scanFragmented(FIXFrameScanner shared) throws MessageParseException {
+        fragmented.clear();
+        fragmented.limit(0);
+
+        int attempts = 0;
+
+        for(int offset = 0; offset < largeMessage.length; offset += fragmentSize) {
+            int length = Math.min(fragmentSize, largeMessage.length - offset);
+            fragmented.limit(offset + length);
+
+            for(int i = offset; i < offset + length; i++) {
+                fragmented.put(i, largeMessage[i]);
+            }
+
+            FIXFrameScanner current = shared != null ? shared : new FIXFrameScanner(FIXCodec.SOH, StandardCharsets.ISO_8859_1);
+            attempts++;
+
+            if(current.scan(fragmented) != -1) {
+                return attempts;
+            }
+        }
+
+        throw new IllegalStateException("Message is not framed");
+    }
+}
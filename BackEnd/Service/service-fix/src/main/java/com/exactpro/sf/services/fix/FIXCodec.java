@@ -61,6 +61,7 @@ import quickfix.field.MsgType;
 import javax.xml.parsers.DocumentBuilderFactory;
 import java.math.BigDecimal;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -87,15 +88,18 @@ public class FIXCodec extends AbstractCodec {
 	private IFieldConverter fieldConverter;
     private IDictionaryStructure dictionary;
     private DirtyQFJIMessageConverter qfjConverter;
+    private FixDictionaryDecoder dictionaryDecoder;
     private Map<String, IMessageStructure> msgStructures;
     private QFJDictionaryAdapter dataDict;
-    private IMessageFilter<String> messageFilter;
+    private IMessageFilter messageFilter;
     private final Set<String> messagesWithXmlField = new HashSet<>();
     private final DocumentBuilderFactory documentFactory = DocumentBuilderFactory.newInstance();
     private String separatorReplacePattern;
     private String fieldSeparator = SOH;
     private FIXBeginString beginStringByDictionary;
     private boolean preValidationMessage;
+    private Charset charset;
+    private FIXFrameScanner frameScanner;
 
     @Override
     public void init(IServiceContext serviceContext, ICommonSettings settings, IMessageFactory msgFactory, IDictionaryStructure dictionary) {
@@ -113,6 +117,7 @@ public class FIXCodec extends AbstractCodec {
         }
 
         FixPropertiesReader.loadAndSetCharset(serviceContext);
+        this.charset = Charset.forName(CharsetSupport.getCharset());
 
         this.msgFactory = msgFactory;
 
@@ -147,6 +152,7 @@ public class FIXCodec extends AbstractCodec {
         }
         this.dataDict = new QFJDictionaryAdapter(dictionary);
         dataDict.setAllowUnknownMessageFields(true);
+        this.dictionaryDecoder = new FixDictionaryDecoder(dictionary, msgFactory, dataDict);
 
         String filterValues = this.settings.getFilterMessages();
         messageFilter = isNotEmpty(filterValues) ? new TagValueFilter(filterValues) : new FakeFilter();
@@ -159,91 +165,29 @@ public class FIXCodec extends AbstractCodec {
             this.fieldSeparator = SOH;
             this.separatorReplacePattern = null;
         }
+
+        this.frameScanner = new FIXFrameScanner(this.fieldSeparator, charset);
     }
 
     public static String getFixString(IoBuffer in) throws MessageParseException {
         return getFixString(in, SOH);
     }
 
-	public static String getFixString(IoBuffer in, String fieldSeparator) throws MessageParseException {
-	    int offset = in.position();
-        byte[] buffer = new byte[in.remaining()];
-
-        in.get(buffer);
-
-        String out = new String(buffer, 0, buffer.length, Charset.forName(CharsetSupport.getCharset()));
-
-        int beginStringIdx = out.indexOf("8=FIX");
-
-        if(beginStringIdx == -1) {
-            in.position(offset);
-            return null;
-        }
-
-        if(beginStringIdx > 0) {
-            in.position(offset + beginStringIdx);
-            throw new MessageParseException("BeginString index is higher than 0", out);
-        }
-
-        int nextBeginStringIdx = out.indexOf(fieldSeparator + "8=FIX", beginStringIdx + 1);
-
-        if(nextBeginStringIdx != -1) {
-            nextBeginStringIdx += 1;  /*left last SOH in the current message*/
-            out = out.substring(0, nextBeginStringIdx);
-        }
-
-        int checkSumIdx = out.indexOf(fieldSeparator + "10=");
-        int tagDelimeterIdx = out.indexOf(fieldSeparator, checkSumIdx + 1);
-
-        if(checkSumIdx == -1 || tagDelimeterIdx == -1) {
-            if(nextBeginStringIdx != -1) {
-                in.position(nextBeginStringIdx);
-                throw new MessageParseException("CheckSum is absent or does no have SOH at the end. Next message starts at index " + nextBeginStringIdx, out);
-            }
-
-            in.position(offset);
-            return null;
-        }
-
-        tagDelimeterIdx++;
-
-        in.position(offset + tagDelimeterIdx);
-
-        if(tagDelimeterIdx < out.length()) {
-            out = out.substring(0, tagDelimeterIdx);
-        }
-
-        tagDelimeterIdx = out.indexOf(fieldSeparator);
-        int lengthIdx = out.indexOf("9=");
-
-        if(lengthIdx != tagDelimeterIdx + 1) {
-            throw new MessageParseException("BodyLength is absent or not a second tag", out);
-        }
-
-        tagDelimeterIdx = out.indexOf(fieldSeparator, lengthIdx);
-
-        try {
-            int bodyLength = Integer.parseInt(out.substring(lengthIdx + 2, tagDelimeterIdx));
-
-            if(bodyLength != checkSumIdx - tagDelimeterIdx) {
-                throw new MessageParseException("BodyLength value differs from actual message length", out);
-            }
-        } catch(Exception e) {
-            throw new MessageParseException("BodyLength value is invalid", out);
-        }
-
-        return out;
+    public static String getFixString(IoBuffer in, String fieldSeparator) throws MessageParseException {
+        Charset charset = Charset.forName(CharsetSupport.getCharset());
+        int length = new FIXFrameScanner(fieldSeparator, charset).scan(in);
+        return length == -1 ? null : FIXFrameScanner.getString(in, in.position() - length, length, charset);
     }
 
     @Override
     protected boolean doDecodeInternal(IoSession session, IoBuffer in, ProtocolDecoderOutput out) throws Exception {
-        String fixString;
+        int frameLength;
         boolean decoded = false;
 
         while (true) {
             try {
                 in.mark();
-                fixString = getFixString(in, fieldSeparator);
+                frameLength = frameScanner.scan(in);
             } catch (MessageParseException e) {
                 logger.error(e.getMessage(), e);
                 int endPosition = in.position();
@@ -261,18 +205,23 @@ public class FIXCodec extends AbstractCodec {
                 return true;
             }
 
-            if (fixString == null) {
+            if (frameLength == -1) {
                 return decoded;
             }
 
-            logger.debug("doDecode: FixString = {}", fixString);
-            IMessage message;
+            int frameOffset = in.position() - frameLength;
 
-            if (!messageFilter.filterMessage(fixString)) {
-                logger.info("FixString = {} ignored", fixString);
+            if (!messageFilter.filterMessage(in, frameOffset, frameLength)) {
+                if (logger.isInfoEnabled()) {
+                    logger.info("FixString = {} ignored", FIXFrameScanner.getString(in, frameOffset, frameLength, charset));
+                }
                 continue;
             }
 
+            String fixString = FIXFrameScanner.getString(in, frameOffset, frameLength, charset);
+            logger.debug("doDecode: FixString = {}", fixString);
+            IMessage message;
+
             String preprocessedRawMessage = isNotEmpty(separatorReplacePattern)
                     ? fixString.replaceAll(separatorReplacePattern, SOH_REPLACEMENT)
                     : fixString;
@@ -331,6 +280,14 @@ public class FIXCodec extends AbstractCodec {
     }
 
     protected IMessage convertToIMessageByIDictionaryStructure(String fixMessage) throws Exception {
+        if (!settings.isDepersonalizationIncomingMessages()) {
+            IMessage iMessage = dictionaryDecoder.decode(fixMessage);
+
+            if (iMessage != null) {
+                return iMessage;
+            }
+        }
+
         Message fixMessageSrc = new Message();
         fixMessageSrc.fromString(fixMessage, dataDict, true);
 
@@ -612,35 +569,43 @@ public class FIXCodec extends AbstractCodec {
         }
     }
 
-    private interface IMessageFilter<T> {
-        boolean filterMessage(T message);
+    private interface IMessageFilter {
+        boolean filterMessage(IoBuffer buffer, int offset, int length);
     }
 
-    private class FakeFilter implements IMessageFilter<String> {
+    private class FakeFilter implements IMessageFilter {
         @Override
-        public boolean filterMessage(String message) {
+        public boolean filterMessage(IoBuffer buffer, int offset, int length) {
             return true;
         }
     }
 
-    private class TagValueFilter implements IMessageFilter<String> {
+    private class TagValueFilter implements IMessageFilter {
 
         private final SetMultimap<String, String> filterTagValues = HashMultimap.create();
+        private final Map<String, byte[]> tagPrefixes = new HashMap<>();
+        private final byte[] delimiter = SOH.getBytes(StandardCharsets.US_ASCII);
 
         TagValueFilter(String filters) {
             parseFilter(filters);
+
+            for (String tag : filterTagValues.keySet()) {
+                tagPrefixes.put(tag, (tag + "=").getBytes(charset));
+            }
         }
 
         @Override
-        public boolean filterMessage(String message) {
-            for (String tag : filterTagValues.keySet()) {
-                int startIdx = message.indexOf(tag + "=");
-                int endIdx = message.indexOf(SOH, startIdx);
-                if (startIdx == -1 || endIdx == -1) {
+        public boolean filterMessage(IoBuffer buffer, int offset, int length) {
+            for (Map.Entry<String, byte[]> entry : tagPrefixes.entrySet()) {
+                byte[] prefix = entry.getValue();
+                int startIdx = FIXFrameScanner.indexOf(buffer, offset, length, prefix, 0);
+                int endIdx = startIdx == -1 ? -1 : FIXFrameScanner.indexOf(buffer, offset, length, delimiter, startIdx);
+                if (endIdx == -1) {
                     return false;
                 }
-                String tagValue = message.substring(startIdx + tag.length() + 1,  endIdx);
-                if (!filterTagValues.get(tag).contains(tagValue)) {
+                int valueIdx = startIdx + prefix.length;
+                String tagValue = FIXFrameScanner.getString(buffer, offset + valueIdx, endIdx - valueIdx, charset);
+                if (!filterTagValues.get(entry.getKey()).contains(tagValue)) {
                     return false;
                 }
             }
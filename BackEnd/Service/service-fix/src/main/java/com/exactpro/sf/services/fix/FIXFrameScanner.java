@@ -0,0 +1,254 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.fix;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.mina.core.buffer.IoBuffer;
+
+import com.exactpro.sf.services.tcpip.MessageParseException;
+
+/**
+ * Finds boundaries of FIX messages directly in an {@link IoBuffer} without copying it.
+ * <p>
+ * The scanner remembers how far it has already looked into an incomplete message,
+ * so when the same message is offered again with more data appended (as {@link org.apache.mina.filter.codec.CumulativeProtocolDecoder} does)
+ * only the new bytes are scanned. The state is dropped as soon as a message is returned or an error is thrown.
+ * <p>
+ * This class is not thread-safe, use one instance per session.
+ */
+public class FIXFrameScanner {
+    private static final byte[] BEGIN_STRING = "8=FIX".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BODY_LENGTH = "9=".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CHECK_SUM = "10=".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] separator;
+    private final Charset charset;
+
+    private final Search beginString;
+    private final Search nextBeginString;
+    private final Search checkSum;
+    private final Search checkSumEnd;
+
+    private int scanned;
+
+    public FIXFrameScanner(String fieldSeparator, Charset charset) {
+        this.charset = charset;
+        this.separator = fieldSeparator.getBytes(charset);
+        this.beginString = new Search(BEGIN_STRING);
+        this.nextBeginString = new Search(concat(separator, BEGIN_STRING));
+        this.checkSum = new Search(concat(separator, CHECK_SUM));
+        this.checkSumEnd = new Search(separator);
+        reset();
+    }
+
+    /**
+     * Looks for a complete message at the current position of the buffer.
+     * If the message is found the buffer position is moved to its end.
+     * @param in buffer with incoming data
+     * @return length of the found message or -1 if the buffer doesn't contain a complete message yet
+     * @throws MessageParseException if the data at the current position is not a valid message.
+     * The buffer position points to the place where the next message can start
+     */
+    public int scan(IoBuffer in) throws MessageParseException {
+        int offset = in.position();
+        int length = in.remaining();
+
+        if(length < scanned) {
+            reset();
+        }
+
+        scanned = length;
+
+        int beginStringIdx = beginString.find(in, offset, length);
+
+        if(beginStringIdx == -1) {
+            return -1;
+        }
+
+        if(beginStringIdx > 0) {
+            reset();
+            in.position(offset + beginStringIdx);
+            throw new MessageParseException("BeginString index is higher than 0", getString(in, offset, length, charset));
+        }
+
+        int nextBeginStringIdx = nextBeginString.find(in, offset, length);
+        int limit = length;
+
+        if(nextBeginStringIdx != -1) {
+            nextBeginStringIdx += separator.length; /*left last separator in the current message*/
+            limit = nextBeginStringIdx;
+        }
+
+        int checkSumIdx = checkSum.find(in, offset, length);
+        int tagDelimiterIdx = -1;
+
+        if(checkSumIdx != -1 && checkSumIdx + checkSum.pattern.length <= limit) {
+            if(checkSumEnd.from == 0) {
+                checkSumEnd.reset(checkSumIdx + separator.length);
+            }
+
+            tagDelimiterIdx = checkSumEnd.find(in, offset, length);
+
+            if(tagDelimiterIdx + separator.length > limit) {
+                tagDelimiterIdx = -1;
+            }
+        } else {
+            checkSumIdx = -1;
+        }
+
+        if(checkSumIdx == -1 || tagDelimiterIdx == -1) {
+            if(nextBeginStringIdx != -1) {
+                reset();
+                in.position(offset + nextBeginStringIdx);
+                throw new MessageParseException("CheckSum is absent or does no have SOH at the end. Next message starts at index " + nextBeginStringIdx,
+                        getString(in, offset, limit, charset));
+            }
+
+            return -1;
+        }
+
+        int frameLength = tagDelimiterIdx + separator.length;
+
+        reset();
+        in.position(offset + frameLength);
+        checkBodyLength(in, offset, frameLength, checkSumIdx);
+
+        return frameLength;
+    }
+
+    /**
+     * Forgets the progress made on an incomplete message
+     */
+    public void reset() {
+        scanned = 0;
+        beginString.reset(0);
+        nextBeginString.reset(1);
+        checkSum.reset(0);
+        checkSumEnd.reset(0);
+    }
+
+    private void checkBodyLength(IoBuffer in, int offset, int length, int checkSumIdx) throws MessageParseException {
+        int firstDelimiterIdx = indexOf(in, offset, length, separator, 0);
+        int bodyLengthIdx = indexOf(in, offset, Math.min(length, firstDelimiterIdx + separator.length + BODY_LENGTH.length), BODY_LENGTH, 0);
+
+        if(bodyLengthIdx == -1 || bodyLengthIdx != firstDelimiterIdx + separator.length) {
+            throw new MessageParseException("BodyLength is absent or not a second tag", getString(in, offset, length, charset));
+        }
+
+        int valueIdx = bodyLengthIdx + BODY_LENGTH.length;
+        int tagDelimiterIdx = indexOf(in, offset, length, separator, valueIdx);
+        int bodyLength = 0;
+
+        for(int i = valueIdx; i < tagDelimiterIdx; i++) {
+            int digit = in.get(offset + i) - '0';
+
+            if(digit < 0 || digit > 9 || bodyLength > (Integer.MAX_VALUE - digit) / 10) {
+                bodyLength = -1;
+                break;
+            }
+
+            bodyLength = bodyLength * 10 + digit;
+        }
+
+        if(tagDelimiterIdx == -1 || tagDelimiterIdx == valueIdx || bodyLength != checkSumIdx - tagDelimiterIdx) {
+            throw new MessageParseException("BodyLength value is invalid", getString(in, offset, length, charset));
+        }
+    }
+
+    /**
+     * Checks whether the bytes of the message start with the pattern at the specified index
+     */
+    public static boolean regionMatches(IoBuffer in, int offset, int length, int index, byte[] pattern) {
+        if(index < 0 || index + pattern.length > length) {
+            return false;
+        }
+
+        for(int i = 0; i < pattern.length; i++) {
+            if(in.get(offset + index + i) != pattern[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns index of the first occurrence of the pattern relative to the offset or -1 if it is absent
+     */
+    public static int indexOf(IoBuffer in, int offset, int length, byte[] pattern, int from) {
+        byte first = pattern[0];
+
+        for(int i = Math.max(from, 0), last = length - pattern.length; i <= last; i++) {
+            if(in.get(offset + i) == first && regionMatches(in, offset, length, i, pattern)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    public static String getString(IoBuffer in, int offset, int length, Charset charset) {
+        if(in.hasArray()) {
+            return new String(in.array(), in.arrayOffset() + offset, length, charset);
+        }
+
+        byte[] bytes = new byte[length];
+
+        for(int i = 0; i < length; i++) {
+            bytes[i] = in.get(offset + i);
+        }
+
+        return new String(bytes, charset);
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    /**
+     * Incremental search of the first pattern occurrence in data which can only grow between calls
+     */
+    private static class Search {
+        private final byte[] pattern;
+        private int from;
+        private int found;
+        private int scanned;
+
+        Search(byte[] pattern) {
+            this.pattern = pattern;
+        }
+
+        void reset(int from) {
+            this.from = from;
+            this.found = -1;
+            this.scanned = from;
+        }
+
+        int find(IoBuffer in, int offset, int length) {
+            if(found == -1) {
+                found = indexOf(in, offset, length, pattern, Math.max(from, scanned - pattern.length + 1));
+                scanned = length;
+            }
+
+            return found;
+        }
+    }
+}
@@ -0,0 +1,475 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.fix;
+
+import static com.exactpro.sf.common.messages.structures.StructureUtils.getAttributeValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.jetbrains.annotations.Nullable;
+import org.quickfixj.CharsetSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.exactpro.sf.common.messages.IMessage;
+import com.exactpro.sf.common.messages.IMessageFactory;
+import com.exactpro.sf.common.messages.structures.IDictionaryStructure;
+import com.exactpro.sf.common.messages.structures.IFieldStructure;
+import com.exactpro.sf.common.messages.structures.IMessageStructure;
+import com.exactpro.sf.util.DateTimeUtility;
+
+import quickfix.DataDictionary;
+import quickfix.FieldConvertError;
+import quickfix.MessageUtils;
+import quickfix.field.BeginString;
+import quickfix.field.BodyLength;
+import quickfix.field.CheckSum;
+import quickfix.field.MsgType;
+import quickfix.field.converter.BooleanConverter;
+import quickfix.field.converter.CharConverter;
+import quickfix.field.converter.DecimalConverter;
+import quickfix.field.converter.DoubleConverter;
+import quickfix.field.converter.IntConverter;
+import quickfix.field.converter.UtcDateOnlyConverter;
+import quickfix.field.converter.UtcTimeOnlyConverter;
+import quickfix.field.converter.UtcTimestampConverter;
+
+/**
+ * Decodes a FIX tag/value string straight into an {@link IMessage} using the dictionary.
+ * <p>
+ * The result is the same as parsing the string into a QuickFIX/J {@link quickfix.Message} with the data dictionary
+ * and converting it by {@link com.exactpro.sf.services.fix.converter.QFJIMessageConverter}.
+ * Only well-formed messages are decoded here: if a message has anything which QuickFIX/J would report or
+ * resolve in its own way (unknown or duplicated tags, misplaced header and trailer fields, unordered groups,
+ * wrong group counters, empty values, data fields, invalid values or checksum) {@code null} is returned
+ * and the message should be decoded by QuickFIX/J to get the same result and errors as before.
+ */
+public class FixDictionaryDecoder {
+    private static final Logger logger = LoggerFactory.getLogger(FixDictionaryDecoder.class);
+
+    private static final char SOH = '\001';
+
+    private final IMessageFactory factory;
+    private final DataDictionary dataDictionary;
+    private final Map<String, TagIndex> typeToIndex = new HashMap<>();
+
+    public FixDictionaryDecoder(IDictionaryStructure dictionary, IMessageFactory factory, DataDictionary dataDictionary) {
+        this.factory = factory;
+        this.dataDictionary = dataDictionary;
+
+        Map<String, TagIndex> nameToIndex = new HashMap<>();
+
+        for(IMessageStructure messageStructure : dictionary.getMessages().values()) {
+            nameToIndex.put(messageStructure.getName(), new TagIndex(messageStructure));
+        }
+
+        for(TagIndex index : nameToIndex.values()) {
+            index.resolveGroups(nameToIndex);
+        }
+
+        for(IMessageStructure messageStructure : dictionary.getMessages().values()) {
+            String msgType = getAttributeValue(messageStructure, FixMessageHelper.MESSAGE_TYPE_ATTR_NAME);
+            Boolean hasXmlFields = getAttributeValue(messageStructure, FixMessageHelper.HAS_XML_FIELDS_ATTR_NAME);
+
+            if(msgType != null && !Boolean.TRUE.equals(hasXmlFields)) {
+                typeToIndex.put(msgType, nameToIndex.get(messageStructure.getName()));
+            }
+        }
+    }
+
+    /**
+     * @param fixMessage message with SOH separated fields
+     * @return decoded message or {@code null} if the message should be decoded by QuickFIX/J
+     */
+    @Nullable
+    public IMessage decode(String fixMessage) {
+        Fields fields = Fields.parse(fixMessage, dataDictionary);
+
+        if(fields == null || fields.size < 4
+                || fields.tags[0] != BeginString.FIELD
+                || fields.tags[1] != BodyLength.FIELD
+                || fields.tags[2] != MsgType.FIELD
+                || fields.tags[fields.size - 1] != CheckSum.FIELD) {
+            return null;
+        }
+
+        String msgType = fields.value(2);
+        TagIndex index = typeToIndex.get(msgType);
+
+        if(index == null) {
+            return null;
+        }
+
+        try {
+            if(IntConverter.convert(fields.value(fields.size - 1)) != MessageUtils.checksum(fixMessage)) {
+                return null;
+            }
+
+            IMessage result = factory.createMessage(index.name, index.namespace);
+
+            result.addField(FixMessageHelper.HEADER, factory.createMessage(FixMessageHelper.HEADER, index.namespace));
+            result.addField(FixMessageHelper.TRAILER, factory.createMessage(FixMessageHelper.TRAILER, index.namespace));
+
+            if(!decodeFields(fields, index, result)) {
+                return null;
+            }
+
+            result.getMetaData().setAdmin(MessageUtils.isAdminMessage(msgType));
+            result.getMetaData().setRawMessage(fixMessage.getBytes(CharsetSupport.getCharsetInstance()));
+
+            return result;
+        } catch(FieldConvertError | RuntimeException e) {
+            logger.debug("Message will be decoded by QuickFIX/J: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean decodeFields(Fields fields, TagIndex index, IMessage result) throws FieldConvertError {
+        boolean[] decoded = new boolean[index.size()];
+        boolean header = true;
+        boolean trailer = false;
+
+        for(int i = 0; i < fields.size; ) {
+            int tag = fields.tags[i];
+
+            if(header && !dataDictionary.isHeaderField(tag)) {
+                header = false;
+            }
+
+            if(!header && !trailer && dataDictionary.isTrailerField(tag)) {
+                trailer = true;
+            }
+
+            if(!header && !trailer && dataDictionary.isHeaderField(tag) || trailer && !dataDictionary.isTrailerField(tag)) {
+                return false;
+            }
+
+            Entry entry = index.get(tag);
+
+            if(entry == null || decoded[entry.ordinal]) {
+                return false;
+            }
+
+            decoded[entry.ordinal] = true;
+
+            if(entry.isGroup()) {
+                if(header || trailer) {
+                    return false;
+                }
+
+                i = decodeGroup(fields, i, entry, getComponent(result, entry));
+            } else {
+                addField(getComponent(result, entry), entry.structure, fields.value(i));
+                i++;
+            }
+
+            if(i == -1) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Decodes the repeating group which counter is at the specified index
+     * @return index of the first field after the group or -1 if the group should be decoded by QuickFIX/J
+     */
+    private int decodeGroup(Fields fields, int counterIdx, Entry counter, IMessage target) throws FieldConvertError {
+        TagIndex groupIndex = counter.group;
+        int declaredCount = IntConverter.convert(fields.value(counterIdx));
+        List<IMessage> groups = new ArrayList<>();
+        IMessage group = null;
+        int previousOrdinal = -1;
+        int i = counterIdx + 1;
+
+        while(i < fields.size) {
+            int tag = fields.tags[i];
+            Entry entry = groupIndex.get(tag);
+
+            if(entry == null) {
+                break;
+            }
+
+            if(tag == groupIndex.delimiter) {
+                group = factory.createMessage(counter.structure.getReferenceName(), counter.structure.getNamespace());
+                groups.add(group);
+            } else if(group == null || entry.ordinal <= previousOrdinal) {
+                return -1;
+            }
+
+            previousOrdinal = entry.ordinal;
+
+            if(entry.isGroup()) {
+                i = decodeGroup(fields, i, entry, getComponent(group, entry));
+
+                if(i == -1) {
+                    return -1;
+                }
+            } else {
+                addField(getComponent(group, entry), entry.structure, fields.value(i));
+                i++;
+            }
+        }
+
+        if(groups.isEmpty() || groups.size() != declaredCount) {
+            return -1;
+        }
+
+        target.addField(counter.structure.getName(), groups);
+
+        return i;
+    }
+
+    private IMessage getComponent(IMessage message, Entry entry) {
+        for(IFieldStructure fieldStructure : entry.path) {
+            IMessage component = message.getField(fieldStructure.getName());
+
+            if(component == null) {
+                component = factory.createMessage(fieldStructure.getName(), fieldStructure.getNamespace());
+                message.addField(fieldStructure.getName(), component);
+            }
+
+            message = component;
+        }
+
+        return message;
+    }
+
+    private static void addField(IMessage target, IFieldStructure fieldStructure, String value) throws FieldConvertError {
+        String fieldName = fieldStructure.getName();
+
+        switch(fieldStructure.getJavaType()) {
+        case JAVA_LANG_BOOLEAN:
+            target.addField(fieldName, BooleanConverter.convert(value));
+            break;
+        case JAVA_LANG_CHARACTER:
+            target.addField(fieldName, CharConverter.convert(value));
+            break;
+        case JAVA_LANG_INTEGER:
+            target.addField(fieldName, IntConverter.convert(value));
+            break;
+        case JAVA_LANG_DOUBLE:
+            target.addField(fieldName, DoubleConverter.convert(value));
+            break;
+        case JAVA_MATH_BIG_DECIMAL:
+            target.addField(fieldName, DecimalConverter.convert(value));
+            break;
+        case JAVA_TIME_LOCAL_DATE_TIME:
+            target.addField(fieldName, DateTimeUtility.toLocalDateTime(UtcTimestampConverter.convert(value)));
+            break;
+        case JAVA_TIME_LOCAL_DATE:
+            target.addField(fieldName, DateTimeUtility.toLocalDate(UtcDateOnlyConverter.convert(value)));
+            break;
+        case JAVA_TIME_LOCAL_TIME:
+            target.addField(fieldName, DateTimeUtility.toLocalTime(UtcTimeOnlyConverter.convert(value)));
+            break;
+        default:
+            target.addField(fieldName, value);
+            break;
+        }
+    }
+
+    /**
+     * Tag/value pairs of a message as offsets in the source string
+     */
+    private static class Fields {
+        private final String message;
+        private int[] tags;
+        private int[] starts;
+        private int[] ends;
+        private int size;
+
+        private Fields(String message, int capacity) {
+            this.message = message;
+            this.tags = new int[capacity];
+            this.starts = new int[capacity];
+            this.ends = new int[capacity];
+        }
+
+        String value(int index) {
+            return message.substring(starts[index], ends[index]);
+        }
+
+        /**
+         * @return parsed fields or {@code null} if the message is malformed or contains data fields
+         */
+        @Nullable
+        static Fields parse(String message, DataDictionary dataDictionary) {
+            int length = message.length();
+            Fields fields = new Fields(message, Math.max(16, length / 8));
+
+            for(int position = 0; position < length; ) {
+                int tag = 0;
+                int tagStart = position;
+                char c;
+
+                while(position < length && (c = message.charAt(position)) != '=') {
+                    if(c < '0' || c > '9' || tag > (Integer.MAX_VALUE - 9) / 10) {
+                        return null;
+                    }
+
+                    tag = tag * 10 + (c - '0');
+                    position++;
+                }
+
+                int valueStart = position + 1;
+                int valueEnd = message.indexOf(SOH, valueStart);
+
+                if(position == tagStart || position == length || valueEnd == -1 || valueEnd == valueStart || dataDictionary.isDataField(tag)) {
+                    return null;
+                }
+
+                fields.add(tag, valueStart, valueEnd);
+                position = valueEnd + 1;
+            }
+
+            return fields;
+        }
+
+        private void add(int tag, int start, int end) {
+            if(size == tags.length) {
+                int capacity = size * 2;
+                tags = Arrays.copyOf(tags, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+            }
+
+            tags[size] = tag;
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+    }
+
+    /**
+     * Tags of a message with the dictionary structures they belong to.
+     * Fields of components are included with the path to them, fields of groups are indexed by the group messages
+     */
+    private static class TagIndex {
+        private final String name;
+        private final String namespace;
+        private final int[] tags;
+        private final Entry[] entries;
+        private final int delimiter;
+        private int ordinals;
+
+        TagIndex(IMessageStructure messageStructure) {
+            this.name = messageStructure.getName();
+            this.namespace = messageStructure.getNamespace();
+
+            Map<Integer, Entry> tagToEntry = new TreeMap<>();
+            List<Integer> duplicates = new ArrayList<>();
+
+            indexFields(messageStructure, new ArrayList<>(), tagToEntry, duplicates);
+            tagToEntry.keySet().removeAll(duplicates);
+
+            this.tags = new int[tagToEntry.size()];
+            this.entries = new Entry[tagToEntry.size()];
+
+            int i = 0;
+
+            for(Map.Entry<Integer, Entry> e : tagToEntry.entrySet()) {
+                tags[i] = e.getKey();
+                entries[i++] = e.getValue();
+            }
+
+            Integer firstTag = getFirstFieldWithTag(messageStructure);
+            this.delimiter = firstTag != null ? firstTag : -1;
+        }
+
+        private void indexFields(IFieldStructure structure, List<IFieldStructure> path, Map<Integer, Entry> tagToEntry, List<Integer> duplicates) {
+            for(IFieldStructure fieldStructure : structure.getFields().values()) {
+                Integer tag = getAttributeValue(fieldStructure, FixMessageHelper.ATTRIBUTE_TAG);
+
+                if(tag != null && tagToEntry.put(tag, new Entry(fieldStructure, path, ordinals++)) != null) {
+                    duplicates.add(tag);
+                }
+
+                if(fieldStructure.isComplex() && !fieldStructure.isCollection()) {
+                    List<IFieldStructure> componentPath = new ArrayList<>(path);
+                    componentPath.add(fieldStructure);
+                    indexFields(fieldStructure, componentPath, tagToEntry, duplicates);
+                }
+            }
+        }
+
+        private static Integer getFirstFieldWithTag(IFieldStructure structure) {
+            if(structure.getFields().isEmpty()) {
+                return null;
+            }
+
+            IFieldStructure first = structure.getFields().values().iterator().next();
+
+            if(first.isComplex() && !first.isCollection()) {
+                return getFirstFieldWithTag(first);
+            }
+
+            return first.isCollection() ? null : getAttributeValue(first, FixMessageHelper.ATTRIBUTE_TAG);
+        }
+
+        void resolveGroups(Map<String, TagIndex> nameToIndex) {
+            for(int i = 0; i < entries.length; i++) {
+                Entry entry = entries[i];
+
+                if(entry.structure.isComplex()) {
+                    TagIndex group = entry.structure.isCollection() ? nameToIndex.get(entry.structure.getReferenceName()) : null;
+
+                    if(group == null || group.delimiter == -1) {
+                        entries[i] = null;
+                    } else {
+                        entry.group = group;
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return number of indexed fields including the ones excluded because of duplicated tags
+         */
+        int size() {
+            return ordinals;
+        }
+
+        @Nullable
+        Entry get(int tag) {
+            int i = Arrays.binarySearch(tags, tag);
+            return i < 0 ? null : entries[i];
+        }
+    }
+
+    private static class Entry {
+        private final IFieldStructure structure;
+        private final List<IFieldStructure> path;
+        private final int ordinal;
+        private TagIndex group;
+
+        Entry(IFieldStructure structure, List<IFieldStructure> path, int ordinal) {
+            this.structure = structure;
+            this.path = path;
+            this.ordinal = ordinal;
+        }
+
+        boolean isGroup() {
+            return group != null;
+        }
+    }
+}
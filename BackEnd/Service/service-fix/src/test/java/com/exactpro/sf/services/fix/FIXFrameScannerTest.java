@@ -0,0 +1,102 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.fix;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.mina.core.buffer.IoBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.exactpro.sf.services.tcpip.MessageParseException;
+
+public class FIXFrameScannerTest {
+    private static final String MESSAGE1 = "8=FIX.4.4\u00019=145\u000135=D\u000134=71\u000149=ez_mbp3\u000152=20151013-12:32:45.516.56=PARFX\u000111=1444739565866\u000138=100000000\u000140=1\u000144=0.01\u000154=1.55=USD/MXN\u000159=0\u000160=20151013-12:32:45.513\u000110=150\u0001";
+    private static final String MESSAGE2 = "8=FIX.4.4\u00019=145\u000135=D\u000134=72\u000149=ez_mbp3\u000152=20151013-12:32:45.642.56=PARFX\u000111=1444739565992\u000138=100000000\u000140=1\u000144=0.01\u000154=2.55=USD/MXN\u000159=0\u000160=20151013-12:32:45.638\u000110=160\u0001";
+
+    @Test
+    public void testFragmentedInput() throws MessageParseException {
+        String input = MESSAGE1 + MESSAGE2;
+
+        for(int chunkSize = 1; chunkSize <= input.length(); chunkSize++) {
+            List<String> messages = scanFragmented(input, chunkSize);
+
+            Assert.assertEquals("Chunk size " + chunkSize, 2, messages.size());
+            Assert.assertEquals(MESSAGE1, messages.get(0));
+            Assert.assertEquals(MESSAGE2, messages.get(1));
+        }
+    }
+
+    @Test
+    public void testCustomSeparator() throws MessageParseException {
+        String message = MESSAGE1.replace('\u0001', '|');
+        IoBuffer buffer = IoBuffer.wrap((message + message).getBytes(StandardCharsets.ISO_8859_1));
+        FIXFrameScanner scanner = new FIXFrameScanner("|", StandardCharsets.ISO_8859_1);
+
+        Assert.assertEquals(message.length(), scanner.scan(buffer));
+        Assert.assertEquals(message.length(), scanner.scan(buffer));
+        Assert.assertEquals(-1, scanner.scan(buffer));
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testStateIsResetAfterError() throws MessageParseException {
+        String broken = MESSAGE1.replace("9=145", "9=150");
+        IoBuffer buffer = IoBuffer.wrap((broken + MESSAGE2).getBytes(StandardCharsets.ISO_8859_1));
+        FIXFrameScanner scanner = new FIXFrameScanner(FIXCodec.SOH, StandardCharsets.ISO_8859_1);
+
+        try {
+            scanner.scan(buffer);
+            Assert.fail("BodyLength should be invalid");
+        } catch(MessageParseException e) {
+            Assert.assertEquals("BodyLength value is invalid", e.getMessage());
+            Assert.assertEquals(broken, e.getRawMessage());
+        }
+
+        Assert.assertEquals(broken.length(), buffer.position());
+        Assert.assertEquals(MESSAGE2.length(), scanner.scan(buffer));
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    /**
+     * Emulates {@link org.apache.mina.filter.codec.CumulativeProtocolDecoder} which appends
+     * new data to the unread part of the buffer and offers it to the decoder again
+     */
+    private List<String> scanFragmented(String input, int chunkSize) throws MessageParseException {
+        byte[] bytes = input.getBytes(StandardCharsets.ISO_8859_1);
+        FIXFrameScanner scanner = new FIXFrameScanner(FIXCodec.SOH, StandardCharsets.ISO_8859_1);
+        IoBuffer buffer = IoBuffer.allocate(bytes.length).setAutoExpand(true);
+        List<String> messages = new ArrayList<>();
+
+        buffer.flip();
+
+        for(int offset = 0; offset < bytes.length; offset += chunkSize) {
+            buffer.compact();
+            buffer.put(bytes, offset, Math.min(chunkSize, bytes.length - offset));
+            buffer.flip();
+
+            int length;
+
+            while((length = scanner.scan(buffer)) != -1) {
+                messages.add(FIXFrameScanner.getString(buffer, buffer.position() - length, length, StandardCharsets.ISO_8859_1));
+            }
+        }
+
+        return messages;
+    }
+}
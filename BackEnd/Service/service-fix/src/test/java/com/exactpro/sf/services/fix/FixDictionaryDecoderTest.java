@@ -0,0 +1,139 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.fix;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.exactpro.sf.common.messages.IMessage;
+import com.exactpro.sf.common.messages.IMessageFactory;
+import com.exactpro.sf.common.messages.structures.IDictionaryStructure;
+import com.exactpro.sf.common.messages.structures.loaders.XmlDictionaryStructureLoader;
+import com.exactpro.sf.configuration.factory.FixMessageFactory;
+import com.exactpro.sf.configuration.suri.SailfishURI;
+import com.exactpro.sf.services.fix.converter.dirty.DirtyQFJIMessageConverter;
+import com.exactpro.sf.services.fix.converter.dirty.DirtyQFJIMessageConverterSettings;
+
+import quickfix.Message;
+import quickfix.MessageUtils;
+
+public class FixDictionaryDecoderTest {
+    private static final String HEADER = "35=D\u000149=SENDER\u000156=TARGET\u000134=2\u000152=20210101-10:00:00.000\u0001";
+
+    private final IDictionaryStructure dictionary;
+    private final IMessageFactory factory = new FixMessageFactory();
+    private final QFJDictionaryAdapter dataDictionary;
+    private final FixDictionaryDecoder decoder;
+
+    public FixDictionaryDecoderTest() throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("dictionary/FIX50.TEST.xml")) {
+            dictionary = new XmlDictionaryStructureLoader().load(in);
+        }
+
+        factory.init(SailfishURI.unsafeParse("dictionary"), dictionary);
+        dataDictionary = new QFJDictionaryAdapter(dictionary);
+        dataDictionary.setAllowUnknownMessageFields(true);
+        decoder = new FixDictionaryDecoder(dictionary, factory, dataDictionary);
+    }
+
+    @Test
+    public void testSameAsQuickFIX() throws Exception {
+        String message = createMessage(HEADER + "11=ord1\u0001453=2\u0001448=P1\u0001447=D\u0001452=1\u0001448=P2\u0001447=D\u0001452=3\u0001"
+                + "55=ABC\u000148=123\u000122=8\u000140=2\u000154=1\u000138=100\u00011138=10\u0001581=1\u0001528=A\u000160=20210101-10:00:00.123\u0001");
+
+        IMessage expected = decodeByQuickFIX(message);
+        IMessage actual = decoder.decode(message);
+
+        Assert.assertNotNull(actual);
+        assertFields(expected, actual);
+        Assert.assertEquals(expected.getMetaData().isAdmin(), actual.getMetaData().isAdmin());
+        Assert.assertArrayEquals(expected.getMetaData().getRawMessage(), actual.getMetaData().getRawMessage());
+    }
+
+    @Test
+    public void testAdminMessage() throws Exception {
+        String message = createMessage(HEADER.replace("35=D", "35=0"));
+
+        IMessage actual = decoder.decode(message);
+
+        Assert.assertNotNull(actual);
+        assertFields(decodeByQuickFIX(message), actual);
+        Assert.assertTrue(actual.getMetaData().isAdmin());
+    }
+
+    @Test
+    public void testFallback() throws Exception {
+        // wrong number of groups
+        Assert.assertNull(decoder.decode(createMessage(HEADER + "11=ord1\u0001453=3\u0001448=P1\u0001447=D\u0001452=1\u0001")));
+        // group without delimiter
+        Assert.assertNull(decoder.decode(createMessage(HEADER + "11=ord1\u0001453=1\u0001447=D\u0001448=P1\u0001")));
+        // header field in the body
+        Assert.assertNull(decoder.decode(createMessage(HEADER + "11=ord1\u000150=SUB\u0001")));
+        // duplicated tag
+        Assert.assertNull(decoder.decode(createMessage(HEADER + "11=ord1\u000111=ord2\u0001")));
+        // unknown tag
+        Assert.assertNull(decoder.decode(createMessage(HEADER + "11=ord1\u000199999=fake\u0001")));
+        // invalid value
+        Assert.assertNull(decoder.decode(createMessage(HEADER + "11=ord1\u000138=abc\u0001")));
+        // empty value
+        Assert.assertNull(decoder.decode(createMessage(HEADER + "11=\u0001")));
+        // wrong checksum
+        Assert.assertNull(decoder.decode(createMessage(HEADER + "11=ord1\u0001").replaceFirst("10=\\d{3}", "10=000")));
+    }
+
+    private IMessage decodeByQuickFIX(String fixMessage) throws Exception {
+        Message message = new Message();
+        message.fromString(fixMessage, dataDictionary, true);
+        return new DirtyQFJIMessageConverter(new DirtyQFJIMessageConverterSettings(dictionary, factory)).convert(message);
+    }
+
+    private static String createMessage(String body) {
+        String message = "8=FIXT.1.1\u00019=" + body.length() + '\u0001' + body;
+        return message + String.format("10=%03d\u0001", MessageUtils.checksum(message + "10=000\u0001"));
+    }
+
+    private static void assertFields(IMessage expected, IMessage actual) {
+        Assert.assertEquals(expected.getName(), actual.getName());
+        Assert.assertEquals(expected.getNamespace(), actual.getNamespace());
+        Assert.assertEquals(expected.getName(), expected.getFieldNames(), actual.getFieldNames());
+
+        for (String fieldName : expected.getFieldNames()) {
+            assertValues(expected.getName() + '.' + fieldName, expected.getField(fieldName), actual.getField(fieldName));
+        }
+    }
+
+    private static void assertValues(String path, Object expected, Object actual) {
+        if (expected instanceof IMessage) {
+            Assert.assertTrue(path, actual instanceof IMessage);
+            assertFields((IMessage)expected, (IMessage)actual);
+        } else if (expected instanceof List) {
+            Assert.assertTrue(path, actual instanceof List);
+            List<?> expectedList = (List<?>)expected;
+            List<?> actualList = (List<?>)actual;
+            Assert.assertEquals(path, expectedList.size(), actualList.size());
+
+            for (int i = 0; i < expectedList.size(); i++) {
+                assertValues(path + '[' + i + ']', expectedList.get(i), actualList.get(i));
+            }
+        } else {
+            Assert.assertEquals(path, expected, actual);
+        }
+    }
+}
@@ -46,10 +46,7 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpClientCodec;
@@ -74,7 +71,9 @@ import com.exactpro.sf.services.ServiceStatus;
 import com.exactpro.sf.services.http.handlers.BaseHTTPMatcherHandlerDecode;
 import com.exactpro.sf.services.http.handlers.BaseHTTPMatcherHandlerEncode;
 import com.exactpro.sf.services.netty.NettyClientService;
+import com.exactpro.sf.services.netty.NettyEventLoopGroups;
 import com.exactpro.sf.services.netty.NettySession;
+import com.exactpro.sf.services.netty.SharedEventLoopGroup;
 import com.exactpro.sf.services.netty.handlers.MessagePersisterHandler;
 import com.exactpro.sf.services.netty.handlers.NettyServiceHandler;
 import com.exactpro.sf.services.util.ServiceUtil;
@@ -195,13 +194,13 @@ public abstract class HTTPClient extends NettyClientService {
     }
 
     protected AccessToken requestOAuthToken() {
-        EventLoopGroup workerGroup = new NioEventLoopGroup();
+        SharedEventLoopGroup workerGroup = NettyEventLoopGroups.getInstance().acquire(getSettings());
         try {
             URI uri = new URI(settings.getTokenRequestUrl().trim());
 
             Bootstrap b = new Bootstrap();
-            b.group(workerGroup);
-            b.channel(NioSocketChannel.class);
+            b.group(workerGroup.getGroup());
+            b.channel(workerGroup.getSocketChannelClass());
             b.option(ChannelOption.SO_KEEPALIVE, true);
             b.handler(new ChannelInitializer<SocketChannel>() {
                 @Override
@@ -272,7 +271,7 @@ public abstract class HTTPClient extends NettyClientService {
             logger.error(e.getMessage(), e);
             throw new RuntimeException(e);
         } finally {
-            workerGroup.shutdownGracefully();
+            NettyEventLoopGroups.getInstance().release(workerGroup);
         }
     }
 
@@ -27,6 +27,7 @@ import com.exactpro.sf.services.IServiceContext;
 import com.exactpro.sf.services.IServiceSettings;
 import com.exactpro.sf.services.ServiceStatus;
 import com.exactpro.sf.services.http.HTTPClient;
+import com.exactpro.sf.services.netty.NettyEventLoopGroups;
 import com.exactpro.sf.services.netty.NettySession;
 import com.exactpro.sf.services.netty.handlers.MessagePersisterHandler;
 import com.exactpro.sf.services.netty.handlers.NettyServiceHandler;
@@ -40,7 +41,6 @@ import com.exactpro.sf.services.websocket.handlers.RawMessageUnpacker;
 import com.exactpro.sf.services.websocket.handlers.WebSocketHandshakeHandler;
 
 import io.netty.buffer.PooledByteBufAllocator;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.ssl.SslContext;
@@ -129,8 +129,8 @@ public abstract class WebSocketClient extends HTTPClient {
             logConfigurator.registerLogger(this, serviceName);
 
             // FIXME: clean resources in dispose method and ERROR status in root class
-            if (nioEventLoopGroup == null) {
-                nioEventLoopGroup = new NioEventLoopGroup();
+            if (eventLoopGroup == null) {
+                eventLoopGroup = NettyEventLoopGroups.getInstance().acquire(getSettings());
             }
             nettySession = new NettySession(this);
             logConfigurator.registerLogger(nettySession, getServiceName());
@@ -0,0 +1,106 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.itch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.apache.mina.core.buffer.IoBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.exactpro.sf.common.impl.messages.DefaultMessageFactory;
+import com.exactpro.sf.common.messages.IMessage;
+import com.exactpro.sf.common.messages.IMessageFactory;
+import com.exactpro.sf.common.messages.MessageStructureReader;
+import com.exactpro.sf.common.messages.MessageStructureReaderHandlerImpl;
+import com.exactpro.sf.common.messages.MessageStructureWriter;
+import com.exactpro.sf.common.messages.structures.IDictionaryStructure;
+import com.exactpro.sf.common.messages.structures.IMessageStructure;
+import com.exactpro.sf.common.messages.structures.loaders.XmlDictionaryStructureLoader;
+import com.exactpro.sf.common.util.EPSCommonException;
+
+/**
+ * Compares decoding of the AddOrder message by {@link ITCHVisitorDecode} and {@link ITCHDecodeProgram}
+ */
+@State(Scope.Thread)
+public class ITCHDecodeBenchmark {
+    private static final String DICTIONARY_PATH = "src/test/workspace/cfg/dictionaries/itch.xml";
+    private static final String MESSAGE_NAME = "AddOrder";
+
+    private final IMessageFactory factory = DefaultMessageFactory.getFactory();
+    private final ITCHVisitorSettings settings = new ITCHVisitorSettings();
+
+    private IMessageStructure structure;
+    private ITCHDecodeProgram program;
+    private IoBuffer buffer;
+
+    @Setup(Level.Trial)
+    public void init() {
+        IDictionaryStructure dictionary;
+
+        try(InputStream stream = Files.newInputStream(Paths.get(DICTIONARY_PATH))) {
+            dictionary = new XmlDictionaryStructureLoader().load(stream);
+        } catch(IOException e) {
+            throw new EPSCommonException(e);
+        }
+
+        structure = dictionary.getMessages().get(MESSAGE_NAME);
+        program = ITCHDecodeProgram.compile(structure, factory, settings);
+
+        IMessage message = factory.createMessage(MESSAGE_NAME, dictionary.getNamespace());
+
+        message.addField("Timestamp", new BigDecimal("1546300800.123456789"));
+        message.addField("OrderID", new BigDecimal(123456789));
+        message.addField("Side", (short)66);
+        message.addField("Size", 14.14);
+        message.addField("Instrument", 1L);
+        message.addField("InstrumentID", 1L);
+        message.addField("Price", 15.15);
+        message.addField("Yield", 16.16);
+        message.addField("SourceVenue", 1);
+        message.addField("OrderBookType", (short)1);
+        message.addField("Participant", "participant");
+        message.addField("Depth", (short)3);
+
+        buffer = IoBuffer.allocate(128).order(ByteOrder.LITTLE_ENDIAN);
+        MessageStructureReader.READER.traverse(new ITCHVisitorEncode(buffer, ByteOrder.LITTLE_ENDIAN), structure, message, MessageStructureReaderHandlerImpl.instance());
+        buffer.flip();
+    }
+
+    @Benchmark
+    public IMessage visitor() {
+        buffer.rewind();
+        IMessage message = factory.createMessage(structure.getName(), structure.getNamespace());
+        MessageStructureWriter.WRITER.traverse(new ITCHVisitorDecode(buffer, ByteOrder.LITTLE_ENDIAN, message, factory, settings), structure);
+        return message;
+    }
+
+    @Benchmark
+    public IMessage program() {
+        buffer.rewind();
+        IMessage message = factory.createMessage(structure.getName(), structure.getNamespace());
+        program.decode(buffer, message);
+        return message;
+    }
+}
@@ -21,7 +21,6 @@ import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -69,6 +68,7 @@ public class ITCHCodec extends AbstractCodec {
 	private static final int HEADER_SIZE = 8;
 
 	private final Map<Short, IMessageStructure> msgTypeToMsgStruct = new HashMap<>();
+	private final Map<Short, ITCHDecodeProgram> msgTypeToProgram = new HashMap<>();
     private final ByteOrder byteOrder = ByteOrder.LITTLE_ENDIAN;
 
 	private IDictionaryStructure msgDictionary;
@@ -106,6 +106,7 @@ public class ITCHCodec extends AbstractCodec {
         }
 
         msgTypeToMsgStruct.clear();
+        msgTypeToProgram.clear();
 
         for(IMessageStructure msgStruct : dictionary.getMessages().values()) {
             Short msgType = getAttributeValue(msgStruct, ITCHMessageHelper.ATTRIBUTE_MESSAGE_TYPE);
@@ -115,6 +116,14 @@ public class ITCHCodec extends AbstractCodec {
                 } else {
                     throw new EPSCommonException("MessageType attribute should be unique. MessageName:" + msgStruct.getName());
                 }
+
+                ITCHDecodeProgram program = ITCHDecodeProgram.compile(msgStruct, msgFactory, itchVisitorSettings);
+
+                if (program != null) {
+                    msgTypeToProgram.put(msgType, program);
+                } else {
+                    logger.debug("Message {} will be decoded by visitor", msgStruct.getName());
+                }
             }
         }
 	}
@@ -141,7 +150,7 @@ public class ITCHCodec extends AbstractCodec {
 		short messageCount = in.getUnsigned();
 		in.position(startPosition);
 
-		List<IMessage> messages = new LinkedList<>();
+		List<IMessage> messages = new ArrayList<>(messageCount + 1);
 
 		logger.debug("doDecode [length = {}; Msg Count = {}]", length, messageCount);
 
@@ -189,9 +198,14 @@ public class ITCHCodec extends AbstractCodec {
 
 			logger.debug("Message for decoding [ Name = {}; position = {}; remaining = {} ]", message.getName(), in.position(), in.remaining());
 
-            IMessageStructureVisitor msgStructVisitor = new ITCHVisitorDecode(in, byteOrder, message, msgFactory, itchVisitorSettings);
+            ITCHDecodeProgram program = msgTypeToProgram.get(messageType);
 
-            MessageStructureWriter.WRITER.traverse(msgStructVisitor, msgStructure);
+            if (program != null) {
+                program.decode(in, message);
+            } else {
+                IMessageStructureVisitor msgStructVisitor = new ITCHVisitorDecode(in, byteOrder, message, msgFactory, itchVisitorSettings);
+                MessageStructureWriter.WRITER.traverse(msgStructVisitor, msgStructure);
+            }
 
             int endCurMsgPosition = in.position();
             in.position(startCurMsgPosition);
@@ -0,0 +1,555 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.itch;
+
+import static com.exactpro.sf.common.messages.structures.StructureUtils.getAttributeValue;
+import static com.exactpro.sf.services.itch.ITCHVisitorBase.COUNT_ATTRIBUTE;
+import static com.exactpro.sf.services.itch.ITCHVisitorBase.DATE_AS_INT;
+import static com.exactpro.sf.services.itch.ITCHVisitorBase.DATE_TIME_FORMAT;
+import static com.exactpro.sf.services.itch.ITCHVisitorBase.IMPILED_DECIMALS_ATTRIBUTE;
+import static com.exactpro.sf.services.itch.ITCHVisitorBase.LENGTH_ATTRIBUTE;
+import static com.exactpro.sf.services.itch.ITCHVisitorBase.PRICE4_DEVIDER;
+import static com.exactpro.sf.services.itch.ITCHVisitorBase.PRICE_DEVIDER;
+import static com.exactpro.sf.services.itch.ITCHVisitorBase.TYPE_ATTRIBUTE;
+import static com.exactpro.sf.services.util.ServiceUtil.divide;
+import static com.exactpro.sf.services.util.ServiceUtil.divideDouble;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.apache.mina.core.buffer.IoBuffer;
+
+import com.exactpro.sf.common.messages.IMessage;
+import com.exactpro.sf.common.messages.IMessageFactory;
+import com.exactpro.sf.common.messages.structures.IFieldStructure;
+import com.exactpro.sf.common.messages.structures.IMessageStructure;
+import com.exactpro.sf.common.util.EPSCommonException;
+import com.exactpro.sf.services.itch.ITCHVisitorBase.ProtocolType;
+import com.exactpro.sf.util.DateTimeUtility;
+
+/**
+ * Decoder of a single message structure compiled once per dictionary.
+ * Types, lengths, implied decimals and date formats of fields are resolved during compilation,
+ * so decoding only reads a little-endian buffer and fills a message.
+ * Decoded messages are the same as the ones produced by {@link ITCHVisitorDecode}.
+ */
+public class ITCHDecodeProgram {
+    private static final int SIZE_DECIMALS = 8;
+    private static final int SIZE4_DECIMALS = 4;
+    private static final int PRICE_DECIMALS = 8;
+    private static final int PRICE4_DECIMALS = 4;
+    private static final int UDT_DECIMALS = 9;
+    private static final int UDT_MILLIS_DIVIDER = 1_000_000;
+    private static final long MILLIS_IN_DAY = 86_400_000L;
+
+    private final String structureName;
+    private final String[] names;
+    private final FieldDecoder[] decoders;
+
+    private ITCHDecodeProgram(String structureName, String[] names, FieldDecoder[] decoders) {
+        this.structureName = structureName;
+        this.names = names;
+        this.decoders = decoders;
+    }
+
+    /**
+     * @param structure message structure or complex field
+     * @return compiled program or {@code null} if the structure contains fields which only {@link ITCHVisitorDecode} can decode
+     */
+    public static ITCHDecodeProgram compile(IFieldStructure structure, IMessageFactory msgFactory, ITCHVisitorSettings settings) {
+        boolean trimLeft = settings == null || settings.isTrimLeftPaddingEnabled();
+        return new Compiler(msgFactory, trimLeft).compile(structure);
+    }
+
+    /**
+     * Decodes fields of the structure from the current position of the buffer to the message
+     */
+    public void decode(IoBuffer buffer, IMessage message) {
+        try {
+            decodeFields(buffer, message);
+        } catch(RuntimeException e) {
+            throw new EPSCommonException(e.getMessage() + ". in MessageStructure Name = [" + structureName + "]", e);
+        }
+    }
+
+    private void decodeFields(IoBuffer buffer, IMessage message) {
+        for(int i = 0; i < decoders.length; i++) {
+            try {
+                Object value = decoders[i].decode(buffer, message);
+
+                if(value != null) {
+                    message.addField(names[i], value);
+                }
+            } catch(RuntimeException e) {
+                String errorMessage = e.getMessage() != null ? e.getMessage() : "";
+                throw new EPSCommonException(errorMessage + ". in field name = [" + names[i] + "]", e);
+            }
+        }
+    }
+
+    /**
+     * Returns a value with the same scale as repeated {@link BigDecimal#divide(BigDecimal)} by ten:
+     * the smallest non-negative scale which represents the value exactly
+     */
+    static BigDecimal movePointLeft(long unscaled, int decimals) {
+        int scale = decimals;
+
+        while(scale > 0 && unscaled % 10 == 0) {
+            unscaled /= 10;
+            scale--;
+        }
+
+        return BigDecimal.valueOf(unscaled, Math.max(scale, 0));
+    }
+
+    static BigDecimal movePointLeft(BigDecimal value, int decimals) {
+        if(decimals <= 0) {
+            return value;
+        }
+
+        BigDecimal result = value.movePointLeft(decimals).stripTrailingZeros();
+        return result.scale() < 0 ? result.setScale(0) : result;
+    }
+
+    private static long readUnsigned(IoBuffer buffer, int length) {
+        long value = 0;
+
+        for(int i = 0; i < length; i++) {
+            value |= (buffer.get() & 0xFFL) << (i * Byte.SIZE);
+        }
+
+        return value;
+    }
+
+    private static BigDecimal toBigDecimal(long unsigned, int decimals) {
+        if(unsigned >= 0) {
+            return movePointLeft(unsigned, decimals);
+        }
+
+        return movePointLeft(new BigDecimal(new BigInteger(Long.toUnsignedString(unsigned))), decimals);
+    }
+
+    private static double divideUnsigned(long unsigned, long divider) {
+        long div = Long.divideUnsigned(unsigned, divider);
+        long mod = Long.remainderUnsigned(unsigned, divider);
+
+        return (double)mod / divider + div;
+    }
+
+    private static String readString(IoBuffer buffer, int length, StringTrim trim) {
+        if(buffer.remaining() < length) {
+            throw new BufferUnderflowException();
+        }
+
+        byte[] bytes;
+        int start;
+
+        if(buffer.hasArray()) {
+            bytes = buffer.array();
+            start = buffer.arrayOffset() + buffer.position();
+            buffer.skip(length);
+        } else {
+            bytes = new byte[length];
+            start = 0;
+            buffer.get(bytes);
+        }
+
+        int end = start + length;
+
+        switch(trim) {
+        case BOTH:
+            while(start < end && (bytes[start] & 0xFF) <= ' ') {
+                start++;
+            }
+            while(end > start && (bytes[end - 1] & 0xFF) <= ' ') {
+                end--;
+            }
+            break;
+        case PADDING:
+            while(end > start && (bytes[end - 1] == ' ' || bytes[end - 1] == 0)) {
+                end--;
+            }
+            break;
+        default:
+            break;
+        }
+
+        return new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    private static TemporalAccessor parse(IoBuffer buffer, int length, DateTimeFormatter formatter) {
+        try {
+            return formatter.parse(readString(buffer, length, StringTrim.BOTH));
+        } catch(DateTimeParseException e) {
+            throw new EPSCommonException(e);
+        }
+    }
+
+    private static FieldDecoder skip(int length) {
+        return (buffer, message) -> {
+            buffer.skip(length);
+            return null;
+        };
+    }
+
+    private enum StringTrim {
+        NONE,
+        /** removes trailing spaces and zero bytes */
+        PADDING,
+        /** same as {@link String#trim()} */
+        BOTH
+    }
+
+    @FunctionalInterface
+    private interface FieldDecoder {
+        /**
+         * @return decoded value or {@code null} if the field must not be added to the message
+         */
+        Object decode(IoBuffer buffer, IMessage message);
+    }
+
+    private static class Compiler {
+        private final IMessageFactory msgFactory;
+        private final boolean trimLeft;
+        private final Set<IFieldStructure> compiling = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        public Compiler(IMessageFactory msgFactory, boolean trimLeft) {
+            this.msgFactory = msgFactory;
+            this.trimLeft = trimLeft;
+        }
+
+        public ITCHDecodeProgram compile(IFieldStructure structure) {
+            if(!compiling.add(structure)) {
+                return null; // recursive structure
+            }
+
+            try {
+                Map<String, IFieldStructure> fields = structure.getFields();
+                String[] names = new String[fields.size()];
+                FieldDecoder[] decoders = new FieldDecoder[fields.size()];
+                int index = 0;
+
+                for(Entry<String, IFieldStructure> entry : fields.entrySet()) {
+                    FieldDecoder decoder = compileField(entry.getValue());
+
+                    if(decoder == null) {
+                        return null;
+                    }
+
+                    names[index] = entry.getKey();
+                    decoders[index++] = decoder;
+                }
+
+                String name = structure instanceof IMessageStructure ? structure.getName() : structure.getReferenceName();
+                return new ITCHDecodeProgram(name, names, decoders);
+            } finally {
+                compiling.remove(structure);
+            }
+        }
+
+        private FieldDecoder compileField(IFieldStructure field) {
+            try {
+                if(field.isComplex()) {
+                    return compileComplex(field);
+                }
+
+                if(field.isCollection()) {
+                    return null;
+                }
+
+                ProtocolType type = ProtocolType.getEnum(getAttributeValue(field, TYPE_ATTRIBUTE));
+                int length = getAttributeValue(field, LENGTH_ATTRIBUTE);
+
+                switch(field.getJavaType()) {
+                case JAVA_LANG_INTEGER:
+                    return compileInteger(type, length);
+                case JAVA_LANG_LONG:
+                    return compileLong(type, length);
+                case JAVA_LANG_SHORT:
+                    return compileShort(type, length);
+                case JAVA_LANG_BYTE:
+                    return compileByte(type, length);
+                case JAVA_LANG_STRING:
+                    return compileString(type, length);
+                case JAVA_LANG_DOUBLE:
+                    return compileDouble(type, length, getAttributeValue(field, IMPILED_DECIMALS_ATTRIBUTE));
+                case JAVA_LANG_FLOAT:
+                    return type == ProtocolType.PRICE && length == 4
+                            ? (buffer, message) -> (float)(ITCHVisitorDecode.correctIfNegative(buffer.getInt()) / 10000.0) : null;
+                case JAVA_MATH_BIG_DECIMAL:
+                    return compileBigDecimal(type, length, getAttributeValue(field, IMPILED_DECIMALS_ATTRIBUTE));
+                case JAVA_TIME_LOCAL_DATE_TIME:
+                    return compileDateTime(type, length, field);
+                case JAVA_TIME_LOCAL_DATE:
+                    return compileDate(type, length, field);
+                case JAVA_TIME_LOCAL_TIME:
+                    if(type == ProtocolType.TIME) {
+                        DateTimeFormatter formatter = DateTimeUtility.createFormatter(getAttributeValue(field, DATE_TIME_FORMAT));
+                        return (buffer, message) -> DateTimeUtility.toLocalTime(parse(buffer, length, formatter));
+                    }
+                    return null;
+                default:
+                    return null;
+                }
+            } catch(RuntimeException e) {
+                // such field fails in the same way in the visitor
+                return null;
+            }
+        }
+
+        private FieldDecoder compileComplex(IFieldStructure field) {
+            ITCHDecodeProgram program = compile(field);
+
+            if(program == null) {
+                return null;
+            }
+
+            String name = field.getReferenceName();
+            String namespace = field.getNamespace();
+
+            if(!field.isCollection()) {
+                return (buffer, message) -> {
+                    IMessage subMessage = msgFactory.createMessage(name, namespace);
+                    program.decodeFields(buffer, subMessage);
+                    return subMessage;
+                };
+            }
+
+            Object countField = getAttributeValue(field, COUNT_ATTRIBUTE);
+
+            if(countField instanceof String) {
+                String countFieldName = (String)countField;
+                return (buffer, message) -> decodeList(buffer, program, name, namespace, Integer.parseInt(message.getField(countFieldName).toString()));
+            }
+
+            int count = countField instanceof Number ? ((Number)countField).intValue() : 0;
+            return (buffer, message) -> decodeList(buffer, program, name, namespace, count);
+        }
+
+        private List<IMessage> decodeList(IoBuffer buffer, ITCHDecodeProgram program, String name, String namespace, int count) {
+            List<IMessage> list = new ArrayList<>();
+
+            for(int i = 0; i < count; i++) {
+                IMessage subMessage = msgFactory.createMessage(name, namespace);
+                program.decodeFields(buffer, subMessage);
+                list.add(subMessage);
+            }
+
+            return list;
+        }
+
+        private FieldDecoder compileInteger(ProtocolType type, int length) {
+            switch(type) {
+            case UINT16:
+                return length == 2 ? (buffer, message) -> buffer.getUnsignedShort() : null;
+            case INT8:
+                return length == 1 ? (buffer, message) -> (int)buffer.get() : null;
+            case INT16:
+                return length == 2 ? (buffer, message) -> (int)buffer.getShort() : null;
+            case INT32:
+                return length == 4 ? (buffer, message) -> buffer.getInt() : null;
+            case STUB:
+                return skip(length);
+            default:
+                return null;
+            }
+        }
+
+        private FieldDecoder compileLong(ProtocolType type, int length) {
+            switch(type) {
+            case UINT32:
+                return length == 4 ? (buffer, message) -> buffer.getUnsignedInt() : null;
+            case UINT64:
+            case INT64:
+                return length == 8 ? (buffer, message) -> buffer.getLong() : null;
+            case INT16:
+                return length == 2 ? (buffer, message) -> (long)buffer.getShort() : null;
+            case INT32:
+                return length == 4 ? (buffer, message) -> (long)buffer.getInt() : null;
+            case STUB:
+                return skip(length);
+            default:
+                return null;
+            }
+        }
+
+        private FieldDecoder compileShort(ProtocolType type, int length) {
+            switch(type) {
+            case UINT8:
+            case BYTE:
+                return length == 1 ? (buffer, message) -> buffer.getUnsigned() : null;
+            case INT8:
+                return length == 1 ? (buffer, message) -> (short)buffer.get() : null;
+            case INT16:
+                return length == 2 ? (buffer, message) -> buffer.getShort() : null;
+            case STUB:
+                return skip(length);
+            default:
+                return null;
+            }
+        }
+
+        private FieldDecoder compileByte(ProtocolType type, int length) {
+            if(length != 1) {
+                return null;
+            }
+
+            switch(type) {
+            case BYTE:
+                return (buffer, message) -> buffer.getUnsigned();
+            case INT8:
+                return (buffer, message) -> buffer.get();
+            default:
+                return null;
+            }
+        }
+
+        private FieldDecoder compileString(ProtocolType type, int length) {
+            switch(type) {
+            case ALPHA:
+            case DATE:
+            case TIME:
+            case DATE_TIME:
+                StringTrim trim = trimLeft ? StringTrim.BOTH : StringTrim.PADDING;
+                return (buffer, message) -> readString(buffer, length, trim);
+            case ALPHA_NOTRIM:
+                return (buffer, message) -> readString(buffer, length, StringTrim.NONE);
+            case STUB:
+                return skip(length);
+            default:
+                return null;
+            }
+        }
+
+        private FieldDecoder compileDouble(ProtocolType type, int length, Integer impliedDecimals) {
+            switch(type) {
+            case SIZE:
+            case SIZE4:
+                if(length > Long.BYTES) {
+                    return null;
+                }
+                long divider = type == ProtocolType.SIZE ? ITCHVisitorBase.SIZE_DEVIDER.longValue() : ITCHVisitorBase.SIZE4_DEVIDER.longValue();
+                return (buffer, message) -> divideUnsigned(readUnsigned(buffer, length), divider);
+            case PRICE:
+            case PRICE4:
+                if(type == ProtocolType.PRICE && length == 4) {
+                    return (buffer, message) -> divideDouble(ITCHVisitorDecode.correctIfNegative(buffer.getInt()), PRICE4_DEVIDER);
+                }
+                if(length != 8) {
+                    return null;
+                }
+                int priceDivider = type == ProtocolType.PRICE ? PRICE_DEVIDER : PRICE4_DEVIDER;
+                return (buffer, message) -> divide(ITCHVisitorDecode.correctIfNegative(buffer.getLong()), priceDivider);
+            case UINT16:
+                if(length != 2) {
+                    return null;
+                }
+                int decimals = impliedDecimals != null ? impliedDecimals : 0;
+                return (buffer, message) -> movePointLeft(buffer.getUnsignedShort(), decimals).doubleValue();
+            default:
+                return null;
+            }
+        }
+
+        private FieldDecoder compileBigDecimal(ProtocolType type, int length, Integer impliedDecimals) {
+            int decimals = impliedDecimals != null ? impliedDecimals : 0;
+
+            switch(type) {
+            case UINT64:
+                return length <= Long.BYTES ? (buffer, message) -> toBigDecimal(readUnsigned(buffer, length), decimals) : null;
+            case INT32:
+                return length == 4 ? (buffer, message) -> movePointLeft(buffer.getInt(), decimals) : null;
+            case UINT32:
+                return length == 4 ? (buffer, message) -> movePointLeft(buffer.getUnsignedInt(), decimals) : null;
+            case SIZE:
+            case SIZE4:
+                int sizeDecimals = type == ProtocolType.SIZE ? SIZE_DECIMALS : SIZE4_DECIMALS;
+                return length <= Long.BYTES ? (buffer, message) -> toBigDecimal(readUnsigned(buffer, length), sizeDecimals) : null;
+            case PRICE:
+            case PRICE4:
+                if(type == ProtocolType.PRICE && length == 4) {
+                    return (buffer, message) -> movePointLeft(ITCHVisitorDecode.correctIfNegative(buffer.getInt()), PRICE4_DECIMALS);
+                }
+                if(length != 8) {
+                    return null;
+                }
+                int priceDecimals = type == ProtocolType.PRICE ? PRICE_DECIMALS : PRICE4_DECIMALS;
+                return (buffer, message) -> movePointLeft(ITCHVisitorDecode.correctIfNegative(buffer.getLong()), priceDecimals);
+            case UDT:
+                return length == 8 ? (buffer, message) -> movePointLeft(buffer.getLong(), UDT_DECIMALS) : null;
+            case UINTXX:
+                return (buffer, message) -> {
+                    byte[] parts = new byte[length];
+
+                    for(int i = length - 1; i >= 0; i--) {
+                        parts[i] = buffer.get();
+                    }
+
+                    return new BigDecimal(new BigInteger(1, parts));
+                };
+            default:
+                return null;
+            }
+        }
+
+        private FieldDecoder compileDateTime(ProtocolType type, int length, IFieldStructure field) {
+            switch(type) {
+            case STUB:
+                return skip(length);
+            case UDT:
+                return length == 8 ? (buffer, message) -> DateTimeUtility.toLocalDateTime(buffer.getLong() / UDT_MILLIS_DIVIDER) : null;
+            case DATE_TIME:
+                DateTimeFormatter formatter = DateTimeUtility.createFormatter(getAttributeValue(field, DATE_TIME_FORMAT));
+                return (buffer, message) -> DateTimeUtility.toLocalDateTime(parse(buffer, length, formatter));
+            default:
+                return null;
+            }
+        }
+
+        private FieldDecoder compileDate(ProtocolType type, int length, IFieldStructure field) {
+            switch(type) {
+            case DAYS:
+                return length == 2 ? (buffer, message) -> DateTimeUtility.toLocalDate(MILLIS_IN_DAY * buffer.getShort()) : null;
+            case DATE:
+                DateTimeFormatter formatter = DateTimeUtility.createFormatter(getAttributeValue(field, DATE_TIME_FORMAT));
+                return (buffer, message) -> DateTimeUtility.toLocalDate(parse(buffer, length, formatter));
+            case UINT32:
+                if(length != 4) {
+                    return null;
+                }
+                return (buffer, message) -> {
+                    long value = buffer.getUnsignedInt();
+                    return value != 0 ? LocalDate.parse(String.valueOf(value), DATE_AS_INT) : null;
+                };
+            default:
+                return null;
+            }
+        }
+    }
+}
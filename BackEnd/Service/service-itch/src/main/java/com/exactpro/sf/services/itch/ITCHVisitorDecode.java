@@ -551,7 +551,7 @@ public class ITCHVisitorDecode extends ITCHVisitorBase {
         msg.addField(fieldName, subMessage);
 	}
 
-    private static int correctIfNegative(int val) {
+    static int correctIfNegative(int val) {
         boolean isNegative = (byte)(val >> 31) != 0;
         if (isNegative) {
             val &= INT_MASK;
@@ -559,7 +559,7 @@ public class ITCHVisitorDecode extends ITCHVisitorBase {
         }
         return val;
     }
-	private static long correctIfNegative(long val) {
+	static long correctIfNegative(long val) {
 		boolean isNegative = (byte)(val >> 63) != 0;
 		if (isNegative) {
 			val &= LONG_MASK;
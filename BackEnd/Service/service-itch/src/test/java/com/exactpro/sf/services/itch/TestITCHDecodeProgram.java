@@ -0,0 +1,165 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.exactpro.sf.services.itch;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import org.apache.mina.core.buffer.IoBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.exactpro.sf.common.impl.messages.DefaultMessageFactory;
+import com.exactpro.sf.common.messages.IMessage;
+import com.exactpro.sf.common.messages.IMessageFactory;
+import com.exactpro.sf.common.messages.MessageStructureWriter;
+import com.exactpro.sf.common.messages.structures.IDictionaryStructure;
+import com.exactpro.sf.common.messages.structures.IMessageStructure;
+import com.exactpro.sf.common.messages.structures.StructureUtils;
+import com.exactpro.sf.util.TestITCHHelper;
+
+public class TestITCHDecodeProgram extends TestITCHHelper {
+    private static final IMessageFactory FACTORY = DefaultMessageFactory.getFactory();
+    private static final int ATTEMPTS = 200;
+    private static final int DATA_SIZE = 512;
+
+    @Test
+    public void testSameAsVisitor() throws IOException {
+        checkDictionary(getDictionary(), new ITCHVisitorSettings());
+        checkDictionary(getAdditionalDictionary(), new ITCHVisitorSettings());
+
+        ITCHVisitorSettings settings = new ITCHVisitorSettings();
+        settings.setTrimLeftPaddingEnabled(false);
+        checkDictionary(getDictionary(), settings);
+    }
+
+    @Test
+    public void testMovePointLeft() {
+        long[] values = { 0, 1, 10, 1200, 1234, -1230, 123_456_789_000L, Long.MAX_VALUE, Long.MIN_VALUE + 1 };
+
+        for(long value : values) {
+            for(int decimals = 0; decimals < 10; decimals++) {
+                BigDecimal expected = BigDecimal.valueOf(value);
+
+                for(int i = 0; i < decimals; i++) {
+                    expected = expected.divide(BigDecimal.TEN);
+                }
+
+                Assert.assertEquals(expected, ITCHDecodeProgram.movePointLeft(value, decimals));
+                Assert.assertEquals(expected, ITCHDecodeProgram.movePointLeft(BigDecimal.valueOf(value), decimals));
+            }
+        }
+    }
+
+    private void checkDictionary(IDictionaryStructure dictionary, ITCHVisitorSettings settings) {
+        Random random = new Random(dictionary.getNamespace().hashCode());
+        int compiled = 0;
+
+        for(IMessageStructure structure : dictionary.getMessages().values()) {
+            if(StructureUtils.getAttributeValue(structure, ITCHMessageHelper.ATTRIBUTE_MESSAGE_TYPE) == null) {
+                continue;
+            }
+
+            ITCHDecodeProgram program = ITCHDecodeProgram.compile(structure, FACTORY, settings);
+
+            if(program == null) {
+                continue;
+            }
+
+            compiled++;
+
+            for(int i = 0; i < ATTEMPTS; i++) {
+                byte[] data = new byte[DATA_SIZE];
+                random.nextBytes(data);
+
+                if(i % 2 == 0) {
+                    // small counts and printable text are more likely to be decoded successfully
+                    for(int j = 0; j < data.length; j++) {
+                        data[j] = (byte)(j % 3 == 0 ? random.nextInt(3) : ' ' + random.nextInt(64));
+                    }
+                }
+
+                checkMessage(structure, program, data, settings);
+            }
+        }
+
+        Assert.assertTrue("No compiled messages in " + dictionary.getNamespace(), compiled > 0);
+    }
+
+    private void checkMessage(IMessageStructure structure, ITCHDecodeProgram program, byte[] data, ITCHVisitorSettings settings) {
+        IoBuffer expectedBuffer = IoBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        IoBuffer actualBuffer = IoBuffer.wrap(data.clone()).order(ByteOrder.LITTLE_ENDIAN);
+        IMessage expected = FACTORY.createMessage(structure.getName(), structure.getNamespace());
+        IMessage actual = FACTORY.createMessage(structure.getName(), structure.getNamespace());
+        RuntimeException expectedError = null;
+        RuntimeException actualError = null;
+
+        try {
+            MessageStructureWriter.WRITER.traverse(new ITCHVisitorDecode(expectedBuffer, ByteOrder.LITTLE_ENDIAN, expected, FACTORY, settings), structure);
+        } catch(RuntimeException e) {
+            expectedError = e;
+        }
+
+        try {
+            program.decode(actualBuffer, actual);
+        } catch(RuntimeException e) {
+            actualError = e;
+        }
+
+        if(expectedError != null) {
+            Assert.assertNotNull("Expected error for " + structure.getName() + ": " + expectedError.getMessage(), actualError);
+            return;
+        }
+
+        if(actualError != null) {
+            throw actualError;
+        }
+
+        Assert.assertEquals(structure.getName(), expectedBuffer.position(), actualBuffer.position());
+        assertMessageEquals(structure.getName(), expected, actual);
+    }
+
+    private static void assertMessageEquals(String path, IMessage expected, IMessage actual) {
+        Assert.assertEquals(path, expected.getName(), actual.getName());
+        Assert.assertEquals(path, expected.getFieldNames(), actual.getFieldNames());
+
+        for(String fieldName : expected.getFieldNames()) {
+            assertValueEquals(path + '.' + fieldName, expected.getField(fieldName), actual.getField(fieldName));
+        }
+    }
+
+    private static void assertValueEquals(String path, Object expected, Object actual) {
+        if(expected instanceof IMessage) {
+            Assert.assertTrue(path, actual instanceof IMessage);
+            assertMessageEquals(path, (IMessage)expected, (IMessage)actual);
+        } else if(expected instanceof List<?>) {
+            List<?> expectedList = (List<?>)expected;
+            List<?> actualList = (List<?>)actual;
+
+            Assert.assertEquals(path, expectedList.size(), actualList.size());
+
+            for(int i = 0; i < expectedList.size(); i++) {
+                assertValueEquals(path + '[' + i + ']', expectedList.get(i), actualList.get(i));
+            }
+        } else {
+            Assert.assertTrue(path + ": " + expected + " != " + actual, Objects.equals(expected, actual));
+        }
+    }
+}
@@ -125,6 +125,7 @@ public class SFAPIClient implements AutoCloseable {
 	private static final String TEST_SCRIPT_RUN_RUN_COMPILED_SCRIPT = "testscriptruns/!id?action=runCompileScript";
 	private static final String TEST_SCRIPT_RUN_REPORT = "testscriptruns/!id?action=report";
 	private static final String TEST_SCRIPT_RUN_SHORTREPORT = "testscriptruns/!id?action=shortreport";
+    private static final String TEST_SCRIPT_RUN_WAIT_SHORTREPORT = "testscriptruns/!id/wait?revision=!revision&timeout=!timeout";
 	private static final String TEST_SCRIPT_RUN_REPORT_ZIP = "testscriptruns/!id?action=reportzip";
 	private static final String TEST_SCRIPT_RUN_AGGREGATE = "testscriptruns/aggregate";
 	private static final String TEST_SCRIPT_RUN_DELETE = "testscriptruns/delete/!id?deleteOnDisk=true";
@@ -890,6 +891,24 @@ public class SFAPIClient implements AutoCloseable {
         return res != null ? res : new XmlTestScriptShortReport();
     }
 
+    /**
+     * Waits until the test script run changes after the known revision (see {@link XmlTestScriptShortReport#getRevision()})
+     * or the timeout expires. The request returns immediately if the revision is negative or already outdated.
+     * Servers which support this request return the revision in every short report.
+     * @param id test script run id
+     * @param revision revision of the last received report
+     * @param timeout maximum time in milliseconds the server waits for a change
+     * @return short report of the test script run
+     */
+    public XmlTestScriptShortReport waitTestScriptRunShortReport(int id, long revision, long timeout) throws APICallException, APIResponseException {
+        String url = TEST_SCRIPT_RUN_WAIT_SHORTREPORT
+                .replace("!id", valueOf(id))
+                .replace("!revision", valueOf(revision))
+                .replace("!timeout", valueOf(timeout));
+        XmlTestScriptShortReport res = getResponse(url, XmlTestScriptShortReport.class);
+        return res != null ? res : new XmlTestScriptShortReport();
+    }
+
     public InputStream getTestScriptRunReport(int id) throws APICallException, APIResponseException {
 		String url = rootUrl + TEST_SCRIPT_RUN_REPORT
                 .replace("!id", valueOf(id));
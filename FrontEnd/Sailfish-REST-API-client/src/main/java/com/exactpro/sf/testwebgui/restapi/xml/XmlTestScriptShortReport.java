@@ -67,6 +67,8 @@ public class XmlTestScriptShortReport {
     
     String cause;
 
+    Long revision;
+
     public String getState() {
         return state;
     }
@@ -218,4 +220,12 @@ public class XmlTestScriptShortReport {
     public void setCause(String cause) {
         this.cause = cause;
     }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
 }
@@ -230,6 +230,10 @@ public class BigButtonBean implements Serializable {
 
 	}
 
+    public String formatDuration(long duration) {
+        return DurationFormatUtils.formatDuration(duration, "HH:mm:ss");
+    }
+
 	public LibraryImportResult getLibraryImportResult() {
 		return libraryImportResult;
 	}
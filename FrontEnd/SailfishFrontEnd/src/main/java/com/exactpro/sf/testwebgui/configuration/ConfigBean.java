@@ -86,6 +86,8 @@ import com.exactpro.sf.embedded.configuration.ServiceStatus;
 import com.exactpro.sf.scriptrunner.EnvironmentSettings;
 import com.exactpro.sf.scriptrunner.EnvironmentSettings.RelevantMessagesSortingMode;
 import com.exactpro.sf.scriptrunner.EnvironmentSettings.StorageType;
+import com.exactpro.sf.services.TaskExecutorType;
+import com.exactpro.sf.storage.OverflowPolicy;
 import com.exactpro.sf.storage.StorageException;
 import com.exactpro.sf.storage.auth.PasswordHasher;
 import com.exactpro.sf.storage.auth.User;
@@ -215,6 +217,20 @@ public class ConfigBean implements Serializable {
                 return RelevantMessagesSortingMode.parse(value.toString());
             }
         }, RelevantMessagesSortingMode.class);
+
+        BeanUtilsBean.getInstance().getConvertUtils().register(new Converter() {
+            @Override
+            public Object convert(@SuppressWarnings("rawtypes") Class type, Object value) {
+                return OverflowPolicy.parse(value.toString());
+            }
+        }, OverflowPolicy.class);
+
+        BeanUtilsBean.getInstance().getConvertUtils().register(new Converter() {
+            @Override
+            public Object convert(@SuppressWarnings("rawtypes") Class type, Object value) {
+                return TaskExecutorType.parse(value.toString());
+            }
+        }, TaskExecutorType.class);
 	}
 
 	public void preRenderView() {
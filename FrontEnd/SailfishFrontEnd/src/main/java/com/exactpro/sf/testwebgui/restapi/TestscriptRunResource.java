@@ -30,6 +30,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -43,6 +45,8 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -58,6 +62,7 @@ import com.exactpro.sf.common.util.EPSCommonException;
 import com.exactpro.sf.configuration.workspace.FolderType;
 import com.exactpro.sf.configuration.workspace.IWorkspaceDispatcher;
 import com.exactpro.sf.scriptrunner.IScriptProgress;
+import com.exactpro.sf.scriptrunner.ScriptRunRevisions;
 import com.exactpro.sf.scriptrunner.StatusType;
 import com.exactpro.sf.scriptrunner.TestScriptDescription;
 import com.exactpro.sf.scriptrunner.impl.jsonreport.beans.Action;
@@ -82,6 +87,7 @@ public class TestscriptRunResource {
 
 	private static final String DATE_FORMAT = "yyyyMMdd_HHmmss";
 	private static final String ARCHIVE_EXTENSION = ".zip";
+	private static final long MAX_WAIT_TIMEOUT = 60000;
 	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     static {
@@ -187,8 +193,11 @@ public class TestscriptRunResource {
                     }
 
                 } else if("shortreport".equals(actionName)) {
+                    long currentRevision = SFLocalContext.getDefault().getScriptRunner().getRevisions().getRevision(testScriptRunId);
                     XmlTestScriptShortReport xmlProp = createShortReport(testScriptRun);
 
+                    xmlProp.setRevision(currentRevision);
+
                     return Response.status(Status.OK)
                             .entity(xmlProp)
                             .build();
@@ -306,6 +315,33 @@ public class TestscriptRunResource {
 
     }
 
+    /**
+     * Long poll: responds with the short report as soon as the script run changes after the revision known by the client
+     * or the timeout expires. The request is suspended while waiting, so it doesn't hold a container thread
+     */
+    @GET
+    @Path("{testscriptrunid}/wait")
+    @Produces(MediaType.APPLICATION_XML)
+    public void waitShortReport(@PathParam("testscriptrunid") long testScriptRunId, @DefaultValue("-1") @QueryParam("revision") long revision,
+            @DefaultValue("30000") @QueryParam("timeout") long timeout, @Suspended AsyncResponse asyncResponse) {
+        ScriptRunRevisions revisions = SFLocalContext.getDefault().getScriptRunner().getRevisions();
+        CompletableFuture<Long> change = revisions.awaitChange(testScriptRunId, revision);
+
+        if(timeout > 0) {
+            asyncResponse.setTimeoutHandler(response -> {
+                change.cancel(false);
+                response.resume(createShortReportResponse(testScriptRunId, revisions.getRevision(testScriptRunId)));
+            });
+            asyncResponse.setTimeout(Math.min(timeout, MAX_WAIT_TIMEOUT), TimeUnit.MILLISECONDS);
+        } else {
+            change.complete(revisions.getRevision(testScriptRunId));
+        }
+
+        // the report is created on the task executor, not on the thread of the script runner which notified about the change
+        change.thenAcceptAsync(currentRevision -> asyncResponse.resume(createShortReportResponse(testScriptRunId, currentRevision)),
+                SFLocalContext.getDefault().getTaskExecutor().getThreadPool());
+    }
+
     @GET
     @Path("delete/{testscriptrunid}")
     @Produces(MediaType.APPLICATION_XML)
@@ -592,6 +628,27 @@ public class TestscriptRunResource {
         return xmlProperties;
     }
 
+    private Response createShortReportResponse(long testScriptRunId, long revision) {
+        try {
+            TestScriptDescription testScriptRun = SFLocalContext.getDefault().getScriptRunner().getTestScriptDescription(testScriptRunId);
+
+            if(testScriptRun == null) {
+                return createBadResponse("unknown testscriptrun", null);
+            }
+
+            XmlTestScriptShortReport xmlProp = createShortReport(testScriptRun);
+
+            xmlProp.setRevision(revision);
+
+            return Response.status(Status.OK)
+                    .entity(xmlProp)
+                    .build();
+        } catch(Exception e) {
+            logger.error(e.getMessage(), e);
+            return createBadResponse(e.getMessage(), getRootCause(e));
+        }
+    }
+
     private Response createBadResponse(String message, String rootCause) {
         XmlResponse xmlResponse = new XmlResponse();
 